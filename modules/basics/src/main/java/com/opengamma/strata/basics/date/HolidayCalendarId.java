@@ -19,6 +19,8 @@ import org.joda.convert.ToString;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.ReferenceDataId;
 import com.opengamma.strata.basics.ReferenceDataNotFoundException;
@@ -93,22 +95,7 @@ public final class HolidayCalendarId
         .sorted(comparing(HolidayCalendarId::getName))
         .collect(toList());
     String normalizedName = Joiner.on('+').join(ids);
-    BiFunction<HolidayCalendarId, ReferenceData, HolidayCalendar> resolver = (id, refData) -> {
-      HolidayCalendar cal = refData.queryValueOrNull(id);
-      if (cal != null) {
-        return cal;
-      }
-      cal = HolidayCalendars.NO_HOLIDAYS;
-      for (HolidayCalendarId splitId : ids) {
-        HolidayCalendar splitCal = refData.queryValueOrNull(splitId);
-        if (splitCal == null) {
-          throw new ReferenceDataNotFoundException(Messages.format(
-              "Reference data not found for '{}' of type 'HolidayCalendarId' when finding '{}'", splitId, id));
-        }
-        cal = cal.combinedWith(splitCal);
-      }
-      return cal;
-    };
+    BiFunction<HolidayCalendarId, ReferenceData, HolidayCalendar> resolver = new CombinedResolver(ids);
     // cache under the normalized and non-normalized names
     HolidayCalendarId id = CACHE.computeIfAbsent(normalizedName, n -> new HolidayCalendarId(normalizedName, resolver));
     CACHE.putIfAbsent(name, id);
@@ -253,4 +240,103 @@ public final class HolidayCalendarId
     return name;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Resolver for a combined identifier.
+   * <p>
+   * The calendars of the individual identifiers are merged once per reference data.
+   * Where they are instances of {@link ImmutableHolidayCalendar}, they are merged into a single
+   * {@link ImmutableHolidayCalendar} using the fast bitmap lookup, otherwise they are combined
+   * using {@link HolidayCalendar#combinedWith(HolidayCalendar)}.
+   * <p>
+   * The merged calendar is cached against the reference data instance, held weakly.
+   * The cached value is only used if the reference data still returns the same calendar instances.
+   */
+  private static final class CombinedResolver
+      implements BiFunction<HolidayCalendarId, ReferenceData, HolidayCalendar> {
+
+    /**
+     * The individual identifiers, sorted.
+     */
+    private final List<HolidayCalendarId> ids;
+    /**
+     * The merged calendars, keyed by reference data identity.
+     */
+    private final Cache<ReferenceData, CombinedEntry> cache = CacheBuilder.newBuilder().weakKeys().build();
+
+    private CombinedResolver(List<HolidayCalendarId> ids) {
+      this.ids = ids;
+    }
+
+    @Override
+    public HolidayCalendar apply(HolidayCalendarId id, ReferenceData refData) {
+      HolidayCalendar cal = refData.queryValueOrNull(id);
+      if (cal != null) {
+        return cal;
+      }
+      HolidayCalendar[] splitCals = new HolidayCalendar[ids.size()];
+      for (int i = 0; i < splitCals.length; i++) {
+        HolidayCalendarId splitId = ids.get(i);
+        HolidayCalendar splitCal = refData.queryValueOrNull(splitId);
+        if (splitCal == null) {
+          throw new ReferenceDataNotFoundException(Messages.format(
+              "Reference data not found for '{}' of type 'HolidayCalendarId' when finding '{}'", splitId, id));
+        }
+        splitCals[i] = splitCal;
+      }
+      CombinedEntry cached = cache.getIfPresent(refData);
+      if (cached != null && cached.matches(splitCals)) {
+        return cached.merged;
+      }
+      HolidayCalendar merged = merge(splitCals);
+      cache.put(refData, new CombinedEntry(splitCals, merged));
+      return merged;
+    }
+
+    // merges the immutable calendars into a single bitmap, combining the others
+    private static HolidayCalendar merge(HolidayCalendar[] splitCals) {
+      ImmutableHolidayCalendar immutable = null;
+      HolidayCalendar other = HolidayCalendars.NO_HOLIDAYS;
+      for (HolidayCalendar splitCal : splitCals) {
+        if (splitCal instanceof ImmutableHolidayCalendar) {
+          ImmutableHolidayCalendar immutableCal = (ImmutableHolidayCalendar) splitCal;
+          immutable = immutable == null ? immutableCal : ImmutableHolidayCalendar.combined(immutable, immutableCal);
+        } else {
+          other = other.combinedWith(splitCal);
+        }
+      }
+      return immutable == null ? other : immutable.combinedWith(other);
+    }
+  }
+
+  /**
+   * Cache entry of a combined calendar.
+   */
+  private static final class CombinedEntry {
+
+    /**
+     * The individual calendars the merged calendar was built from.
+     */
+    private final HolidayCalendar[] splitCals;
+    /**
+     * The merged calendar.
+     */
+    private final HolidayCalendar merged;
+
+    private CombinedEntry(HolidayCalendar[] splitCals, HolidayCalendar merged) {
+      this.splitCals = splitCals;
+      this.merged = merged;
+    }
+
+    // checks whether the entry was built from the same calendar instances
+    private boolean matches(HolidayCalendar[] cals) {
+      for (int i = 0; i < cals.length; i++) {
+        if (cals[i] != splitCals[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
 }
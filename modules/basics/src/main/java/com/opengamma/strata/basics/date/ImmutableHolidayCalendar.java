@@ -8,6 +8,7 @@ package com.opengamma.strata.basics.date;
 import java.io.Serializable;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.BitSet;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -428,6 +429,67 @@ public final class ImmutableHolidayCalendar
     throw new IllegalArgumentException("Date is outside the accepted range (year 0000 to 10,000): " + date);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the business days in a range of dates as a bit set.
+   * <p>
+   * Bit {@code i} of the result is set if the date whose epoch day is {@code startInclusive.toEpochDay() + i}
+   * is a business day. The bit set is formed from the lookup table a month at a time, which allows
+   * a sequence of dates to be adjusted in bulk without querying the calendar for each date.
+   * 
+   * @param startInclusive  the start date, inclusive
+   * @param endExclusive  the end date, exclusive
+   * @return the business days, indexed by the number of days from the start date
+   * @throws IllegalArgumentException if the range is outside the accepted range (year 0000 to 10,000)
+   */
+  public BitSet businessDays(LocalDate startInclusive, LocalDate endExclusive) {
+    ArgChecker.inOrderOrEqual(startInclusive, endExclusive, "startInclusive", "endExclusive");
+    long startEpochDay = startInclusive.toEpochDay();
+    int length = Math.toIntExact(endExclusive.toEpochDay() - startEpochDay);
+    if (length == 0) {
+      return new BitSet();
+    }
+    long[] words = new long[(length + 63) / 64];
+    LocalDate firstOfMonth = startInclusive.withDayOfMonth(1);
+    while (firstOfMonth.isBefore(endExclusive)) {
+      // offset of the first day-of-month from the start, negative for the first month
+      int offset = (int) (firstOfMonth.toEpochDay() - startEpochDay);
+      long monthData = monthData(firstOfMonth) & 0xFFFFFFFFL;
+      if (offset < 0) {
+        monthData >>>= -offset;
+        offset = 0;
+      }
+      // copy the bits of the month, which may span two words
+      int wordIndex = offset >> 6;
+      int bitIndex = offset & 63;
+      words[wordIndex] |= monthData << bitIndex;
+      if (bitIndex != 0 && wordIndex + 1 < words.length) {
+        words[wordIndex + 1] |= monthData >>> (64 - bitIndex);
+      }
+      firstOfMonth = firstOfMonth.plusMonths(1);
+    }
+    // unset the bits beyond the end of the range
+    if ((length & 63) != 0) {
+      words[words.length - 1] &= (1L << (length & 63)) - 1;
+    }
+    return BitSet.valueOf(words);
+  }
+
+  // the lookup data for the month, calculated if outside the lookup table
+  private int monthData(LocalDate firstOfMonth) {
+    int index = (firstOfMonth.getYear() - startYear) * 12 + firstOfMonth.getMonthValue() - 1;
+    if (index >= 0 && index < lookup.length) {
+      return lookup[index];
+    }
+    int monthData = 0;
+    for (int dom = 1; dom <= firstOfMonth.lengthOfMonth(); dom++) {
+      if (!isHolidayOutOfRange(firstOfMonth.withDayOfMonth(dom))) {
+        monthData |= 1 << (dom - 1);
+      }
+    }
+    return monthData;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public boolean equals(Object obj) {
@@ -9,6 +9,7 @@ import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -34,7 +35,10 @@ import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.date.AdjustableDate;
 import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.BusinessDayConvention;
+import com.opengamma.strata.basics.date.BusinessDayConventions;
 import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.ImmutableHolidayCalendar;
 import com.opengamma.strata.collect.ArgChecker;
 
 /**
@@ -115,6 +119,16 @@ import com.opengamma.strata.collect.ArgChecker;
 public final class PeriodicSchedule
     implements ImmutableBean, Serializable {
 
+  /**
+   * The business day conventions that can be applied in bulk.
+   */
+  private static final ImmutableSet<BusinessDayConvention> BULK_CONVENTIONS = ImmutableSet.of(
+      BusinessDayConventions.NO_ADJUST,
+      BusinessDayConventions.FOLLOWING,
+      BusinessDayConventions.MODIFIED_FOLLOWING,
+      BusinessDayConventions.PRECEDING,
+      BusinessDayConventions.MODIFIED_PRECEDING);
+
   /**
    * The start date, which is the start of the first schedule period.
    * <p>
@@ -709,16 +723,81 @@ public final class PeriodicSchedule
   }
 
   // applies the appropriate business day adjustment to each date
+  // the holiday calendar is resolved once for all the intermediate dates
   private List<LocalDate> applyBusinessDayAdjustment(List<LocalDate> unadj, ReferenceData refData) {
     List<LocalDate> adj = new ArrayList<>(unadj.size());
     adj.add(calculatedStartDate().adjusted(refData));
-    for (int i = 1; i < unadj.size() - 1; i++) {
-      adj.add(businessDayAdjustment.adjust(unadj.get(i), refData));
+    if (unadj.size() > 2) {
+      HolidayCalendar calendar = businessDayAdjustment.getCalendar().resolve(refData);
+      BusinessDayConvention convention = businessDayAdjustment.getConvention();
+      LocalDate first = unadj.get(1);
+      LocalDate last = unadj.get(unadj.size() - 2);
+      if (calendar instanceof ImmutableHolidayCalendar && BULK_CONVENTIONS.contains(convention) &&
+          first.getYear() > 0 && last.getYear() < 9999) {
+        applyBusinessDayAdjustmentInBulk(unadj, convention, (ImmutableHolidayCalendar) calendar, adj);
+      } else {
+        for (int i = 1; i < unadj.size() - 1; i++) {
+          adj.add(convention.adjust(unadj.get(i), calendar));
+        }
+      }
     }
     adj.add(calculatedEndDate().adjusted(refData));
     return adj;
   }
 
+  // applies the business day adjustment to the intermediate dates in bulk
+  // the dates are converted to epoch days and adjusted against the business days of the whole schedule
+  // the business days extend a month either side of the dates, which are in ascending order
+  private static void applyBusinessDayAdjustmentInBulk(
+      List<LocalDate> unadj,
+      BusinessDayConvention convention,
+      ImmutableHolidayCalendar calendar,
+      List<LocalDate> adj) {
+
+    int count = unadj.size() - 2;
+    int[] epochDays = new int[count];
+    for (int i = 0; i < count; i++) {
+      epochDays[i] = Math.toIntExact(unadj.get(i + 1).toEpochDay());
+    }
+    LocalDate rangeStart = unadj.get(1).withDayOfMonth(1).minusMonths(1);
+    LocalDate rangeEnd = unadj.get(count).withDayOfMonth(1).plusMonths(2);
+    int baseEpochDay = Math.toIntExact(rangeStart.toEpochDay());
+    BitSet businessDays = calendar.businessDays(rangeStart, rangeEnd);
+    for (int i = 0; i < count; i++) {
+      LocalDate date = unadj.get(i + 1);
+      int index = epochDays[i] - baseEpochDay;
+      int adjusted = adjustedIndex(businessDays, index, date, convention);
+      if (adjusted < 0) {
+        // beyond the business days, such as an extended period of holidays
+        adj.add(convention.adjust(date, calendar));
+      } else {
+        adj.add(adjusted == index ? date : LocalDate.ofEpochDay(baseEpochDay + adjusted));
+      }
+    }
+  }
+
+  // finds the index of the adjusted date in the business days, negative if not found
+  private static int adjustedIndex(BitSet businessDays, int index, LocalDate date, BusinessDayConvention convention) {
+    if (convention.equals(BusinessDayConventions.NO_ADJUST) || businessDays.get(index)) {
+      return index;
+    }
+    if (convention.equals(BusinessDayConventions.FOLLOWING)) {
+      return businessDays.nextSetBit(index);
+    }
+    if (convention.equals(BusinessDayConventions.PRECEDING)) {
+      return businessDays.previousSetBit(index);
+    }
+    int firstOfMonth = index - date.getDayOfMonth() + 1;
+    int lastOfMonth = firstOfMonth + date.lengthOfMonth() - 1;
+    if (convention.equals(BusinessDayConventions.MODIFIED_FOLLOWING)) {
+      int next = businessDays.nextSetBit(index);
+      return next >= 0 && next <= lastOfMonth ? next : businessDays.previousSetBit(index);
+    }
+    // modified preceding
+    int previous = businessDays.previousSetBit(index);
+    return previous >= firstOfMonth ? previous : businessDays.nextSetBit(index);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Gets the applicable roll convention defining how to roll dates.
@@ -12,10 +12,12 @@ import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertSame;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ImmutableReferenceData;
 import com.opengamma.strata.basics.ReferenceData;
@@ -86,6 +88,48 @@ public class HolidayCalendarIdTest {
     assertEquals(refData.getValue(combined), combinedCal);
   }
 
+  public void test_resolve_combined_immutable() {
+    HolidayCalendarId gb = HolidayCalendarId.of("GB");
+    HolidayCalendarId eu = HolidayCalendarId.of("EU");
+    HolidayCalendarId us = HolidayCalendarId.of("US");
+    ImmutableHolidayCalendar gbCal = ImmutableHolidayCalendar.of(
+        gb, ImmutableList.of(LocalDate.of(2016, 8, 29)), DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+    ImmutableHolidayCalendar euCal = ImmutableHolidayCalendar.of(
+        eu, ImmutableList.of(LocalDate.of(2016, 8, 30)), DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+    ImmutableHolidayCalendar usCal = ImmutableHolidayCalendar.of(
+        us, ImmutableList.of(LocalDate.of(2016, 9, 5)), DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+    HolidayCalendarId combined = HolidayCalendarId.of("US+GB+EU");
+    ReferenceData refData = ImmutableReferenceData.of(ImmutableMap.of(gb, gbCal, eu, euCal, us, usCal));
+    HolidayCalendar test = combined.resolve(refData);
+    assertEquals(test, ImmutableHolidayCalendar.combined(ImmutableHolidayCalendar.combined(euCal, gbCal), usCal));
+    assertEquals(test.getId(), combined);
+    assertEquals(test.next(LocalDate.of(2016, 8, 26)), LocalDate.of(2016, 8, 31));
+    assertEquals(test.isHoliday(LocalDate.of(2016, 9, 5)), true);
+    // cached per reference data
+    assertSame(combined.resolve(refData), test);
+    ReferenceData refData2 = ImmutableReferenceData.of(ImmutableMap.of(gb, gbCal, eu, euCal, us, usCal));
+    assertEquals(combined.resolve(refData2), test);
+  }
+
+  public void test_resolve_combined_mixed() {
+    HolidayCalendarId gb = HolidayCalendarId.of("GB");
+    HolidayCalendarId eu = HolidayCalendarId.of("EU");
+    HolidayCalendarId us = HolidayCalendarId.of("US");
+    ImmutableHolidayCalendar gbCal = ImmutableHolidayCalendar.of(
+        gb, ImmutableList.of(LocalDate.of(2016, 8, 29)), DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+    ImmutableHolidayCalendar usCal = ImmutableHolidayCalendar.of(
+        us, ImmutableList.of(LocalDate.of(2016, 9, 5)), DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+    HolidayCalendar euCal = HolidayCalendars.FRI_SAT;
+    HolidayCalendarId combined = HolidayCalendarId.of("US+GB+EU");
+    ReferenceData refData = ImmutableReferenceData.of(ImmutableMap.of(gb, gbCal, eu, euCal, us, usCal));
+    HolidayCalendar test = combined.resolve(refData);
+    assertEquals(test, ImmutableHolidayCalendar.combined(gbCal, usCal).combinedWith(euCal));
+    assertEquals(test.isHoliday(LocalDate.of(2016, 8, 26)), true);
+    assertEquals(test.isHoliday(LocalDate.of(2016, 8, 29)), true);
+    assertEquals(test.isHoliday(LocalDate.of(2016, 9, 5)), true);
+    assertEquals(test.isHoliday(LocalDate.of(2016, 8, 31)), false);
+  }
+
   @Test
   public void testImmutableReferenceDataWithMergedHolidays() {
     HolidayCalendar hc = HolidayCalendars.FRI_SAT.combinedWith(HolidayCalendars.SAT_SUN);
@@ -20,6 +20,7 @@ import static org.testng.Assert.assertSame;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Random;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -369,6 +370,27 @@ public class ImmutableHolidayCalendarTest {
     assertThrowsIllegalArg(() -> test.isBusinessDay(LocalDate.MAX));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_businessDays() {
+    // spans the lookup table and the months either side of it
+    LocalDate start = LocalDate.of(2013, 11, 17);
+    LocalDate end = LocalDate.of(2015, 2, 3);
+    BitSet test = HOLCAL_MON_WED.businessDays(start, end);
+    for (LocalDate date = start; date.isBefore(end); date = date.plusDays(1)) {
+      int index = (int) (date.toEpochDay() - start.toEpochDay());
+      assertEquals(test.get(index), HOLCAL_MON_WED.isBusinessDay(date), date.toString());
+    }
+    assertEquals(test.length() <= end.toEpochDay() - start.toEpochDay(), true);
+  }
+
+  public void test_businessDays_partialMonth() {
+    BitSet test = HOLCAL_MON_WED.businessDays(SAT_2014_07_12, WED_2014_07_16);
+    assertEquals(test, BitSet.valueOf(new long[] {0b0100}));
+    assertEquals(HOLCAL_MON_WED.businessDays(SAT_2014_07_12, SAT_2014_07_12), new BitSet());
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.businessDays(WED_2014_07_16, SAT_2014_07_12));
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.businessDays(LocalDate.MIN, SAT_2014_07_12));
+  }
+
   //-------------------------------------------------------------------------
   @DataProvider(name = "shift")
   static Object[][] data_shift() {
@@ -8,6 +8,8 @@ package com.opengamma.strata.basics.schedule;
 import static com.opengamma.strata.basics.date.BusinessDayConventions.FOLLOWING;
 import static com.opengamma.strata.basics.date.BusinessDayConventions.MODIFIED_FOLLOWING;
 import static com.opengamma.strata.basics.date.BusinessDayConventions.MODIFIED_PRECEDING;
+import static com.opengamma.strata.basics.date.BusinessDayConventions.NEAREST;
+import static com.opengamma.strata.basics.date.BusinessDayConventions.NO_ADJUST;
 import static com.opengamma.strata.basics.date.BusinessDayConventions.PRECEDING;
 import static com.opengamma.strata.basics.date.HolidayCalendarIds.NO_HOLIDAYS;
 import static com.opengamma.strata.basics.date.HolidayCalendarIds.SAT_SUN;
@@ -46,6 +48,7 @@ import static java.time.Month.SEPTEMBER;
 import static org.testng.Assert.assertEquals;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -58,6 +61,7 @@ import com.opengamma.strata.basics.date.AdjustableDate;
 import com.opengamma.strata.basics.date.BusinessDayAdjustment;
 import com.opengamma.strata.basics.date.BusinessDayConvention;
 import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
 
 /**
  * Test {@link PeriodicSchedule}.
@@ -433,6 +437,26 @@ public class PeriodicScheduleTest {
     assertEquals(test.getRollConvention(), expRoll);
   }
 
+  @Test(dataProvider = "generation")
+  public void test_monthly_schedule_bulkAdjustment(
+      LocalDate start, LocalDate end, Frequency freq, StubConvention stubConv, RollConvention rollConv,
+      LocalDate firstReg, LocalDate lastReg, BusinessDayAdjustment startBusDayAdjustment,
+      List<LocalDate> unadjusted, List<LocalDate> adjusted, RollConvention expRoll) {
+    // the intermediate dates are adjusted in bulk, which must match adjusting each date
+    HolidayCalendarId calendar = HolidayCalendarId.of("GBLO").combinedWith(HolidayCalendarId.of("USNY"));
+    List<BusinessDayConvention> conventions = ImmutableList.of(
+        NO_ADJUST, FOLLOWING, MODIFIED_FOLLOWING, PRECEDING, MODIFIED_PRECEDING, NEAREST);
+    for (BusinessDayConvention convention : conventions) {
+      BusinessDayAdjustment bda = BusinessDayAdjustment.of(convention, calendar);
+      PeriodicSchedule defn = of(start, end, freq, bda, stubConv, rollConv, firstReg, lastReg, null, null, null);
+      Schedule test = defn.createSchedule(REF_DATA);
+      for (int i = 1; i < test.size(); i++) {
+        SchedulePeriod period = test.getPeriod(i);
+        assertEquals(period.getStartDate(), bda.adjust(period.getUnadjustedStartDate(), REF_DATA));
+      }
+    }
+  }
+
   @Test(dataProvider = "generation")
   public void test_monthly_schedule_withOverride(
       LocalDate start, LocalDate end, Frequency freq, StubConvention stubConv, RollConvention rollConv,
@@ -850,6 +874,43 @@ public class PeriodicScheduleTest {
     defn.createUnadjustedDates();
   }
 
+  //-------------------------------------------------------------------------
+  @Test(enabled = false)
+  public void performance() {
+    BusinessDayAdjustment bda = BusinessDayAdjustment.of(
+        MODIFIED_FOLLOWING, HolidayCalendarId.of("GBLO").combinedWith(HolidayCalendarId.of("USNY")));
+    List<PeriodicSchedule> defns = new ArrayList<>();
+    for (int i = 0; i < 200_000; i++) {
+      LocalDate start = date(2016, 1, 4).plusDays(i % 250);
+      defns.add(PeriodicSchedule.of(start, start.plusYears(1 + i % 10), P3M, bda, SHORT_INITIAL, false));
+    }
+    for (int looprep = 0; looprep < 3; looprep++) {
+      long count = 0;
+      long startTime = System.currentTimeMillis();
+      List<Schedule> schedules = new ArrayList<>(defns.size());
+      for (PeriodicSchedule defn : defns) {
+        schedules.add(defn.createSchedule(REF_DATA));
+      }
+      long endTime = System.currentTimeMillis();
+      System.out.println("Created: " + defns.size() + " schedules, adjusted in bulk, in " +
+          (endTime - startTime) + " ms.");
+      startTime = System.currentTimeMillis();
+      for (Schedule schedule : schedules) {
+        for (SchedulePeriod period : schedule.getPeriods()) {
+          count += bda.adjust(period.getUnadjustedEndDate(), REF_DATA).getDayOfMonth();
+        }
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println("Adjusted: the same dates, one at a time, in " + (endTime - startTime) + " ms.");
+      for (Schedule schedule : schedules) {
+        for (SchedulePeriod period : schedule.getPeriods()) {
+          count -= period.getEndDate().getDayOfMonth();
+        }
+      }
+      System.out.println("Avoiding hotspot: " + count);
+    }
+  }
+
   //-------------------------------------------------------------------------
   @Test(dataProvider = "generation")
   public void coverage_equals(
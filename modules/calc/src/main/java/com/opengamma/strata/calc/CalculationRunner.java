@@ -10,6 +10,7 @@ import java.util.concurrent.ExecutorService;
 
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.runner.BatchCalculationFunction;
 import com.opengamma.strata.calc.runner.CalculationListener;
 import com.opengamma.strata.calc.runner.CalculationTaskRunner;
 import com.opengamma.strata.data.MarketData;
@@ -66,6 +67,25 @@ public interface CalculationRunner extends AutoCloseable {
     return DefaultCalculationRunner.of(executor);
   }
 
+  /**
+   * Creates a calculation runner capable of performing calculations, specifying the executor
+   * and the maximum number of tasks in a batch.
+   * <p>
+   * Tasks whose function implements {@link BatchCalculationFunction} are calculated in batches.
+   * By default, the batches are sized from the number of tasks and the parallelism of the executor,
+   * such that there are several batches for each thread. This method fixes the maximum batch size instead,
+   * with a size of one disabling batching.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param maxBatchSize  the maximum number of tasks in a batch, one to disable batching
+   * @return the calculation runner
+   */
+  public static CalculationRunner of(ExecutorService executor, int maxBatchSize) {
+    return DefaultCalculationRunner.of(executor, maxBatchSize);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
@@ -59,6 +59,20 @@ class DefaultCalculationRunner implements CalculationRunner {
     return new DefaultCalculationRunner(CalculationTaskRunner.of(executor));
   }
 
+  /**
+   * Creates a calculation runner capable of performing calculations, specifying the executor
+   * and the maximum number of tasks in a batch.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param maxBatchSize  the maximum number of tasks in a batch, one to disable batching
+   * @return the calculation runner
+   */
+  static DefaultCalculationRunner of(ExecutorService executor, int maxBatchSize) {
+    return new DefaultCalculationRunner(CalculationTaskRunner.of(executor, maxBatchSize));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the underlying task runner to use.
@@ -0,0 +1,422 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.columnar;
+
+import static com.opengamma.strata.calc.columnar.ColumnarResultsWriter.MAGIC;
+import static com.opengamma.strata.calc.columnar.ColumnarResultsWriter.ORDER;
+import static com.opengamma.strata.calc.columnar.ColumnarResultsWriter.PREAMBLE_LENGTH;
+import static com.opengamma.strata.calc.columnar.ColumnarResultsWriter.STATUS_FAILURE;
+import static com.opengamma.strata.calc.columnar.ColumnarResultsWriter.STATUS_SUCCESS;
+import static com.opengamma.strata.calc.columnar.ColumnarResultsWriter.VERSION;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.ColumnName;
+import com.opengamma.strata.calc.ImmutableMeasure;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+
+/**
+ * Calculation results read from the columnar binary format.
+ * <p>
+ * The file is written by {@link ColumnarResultsWriter}. The data of each column is memory-mapped
+ * and the values are read directly from the mapped buffers, without copying or parsing the file.
+ * Individual values can be read as primitive doubles, and the values of a column can be obtained
+ * as a read-only {@link DoubleBuffer}. The cells can also be converted back to {@link Result} instances.
+ * <p>
+ * This class is thread-safe. The mapped buffers remain valid after the file has been read.
+ */
+public final class ColumnarResults {
+
+  /**
+   * The number of rows.
+   */
+  private final int rowCount;
+  /**
+   * The column headers.
+   */
+  private final ImmutableList<ColumnHeader> columns;
+  /**
+   * The columns.
+   */
+  private final ImmutableList<ColumnData> columnData;
+  /**
+   * The currency dictionary.
+   */
+  private final ImmutableList<Currency> currencies;
+  /**
+   * The failures, keyed by cell index.
+   */
+  private final Map<Long, Failure> failures;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Reads results from a file.
+   *
+   * @param file  the file written by {@link ColumnarResultsWriter}
+   * @return the results
+   * @throws UncheckedIOException if the file cannot be read
+   * @throws IllegalArgumentException if the file is not in the columnar format
+   */
+  public static ColumnarResults read(Path file) {
+    ArgChecker.notNull(file, "file");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ArgChecker.isTrue(channel.size() >= PREAMBLE_LENGTH, "File is not in the columnar results format: {}", file);
+      ByteBuffer preamble = channel.map(FileChannel.MapMode.READ_ONLY, 0, PREAMBLE_LENGTH).order(ORDER);
+      ArgChecker.isTrue(preamble.getInt() == MAGIC, "File is not in the columnar results format: {}", file);
+      int version = preamble.getInt();
+      ArgChecker.isTrue(version == VERSION, "Unsupported columnar results version {}: {}", version, file);
+      int headerLength = preamble.getInt();
+      ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, headerLength).order(ORDER);
+      header.position(PREAMBLE_LENGTH);
+      return new ColumnarResults(channel, header);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // reads the header and maps the columns
+  private ColumnarResults(FileChannel channel, ByteBuffer header) throws IOException {
+    this.rowCount = header.getInt();
+    int columnCount = header.getInt();
+    int currencyCount = header.getInt();
+    ImmutableList.Builder<Currency> currencyBuilder = ImmutableList.builder();
+    for (int i = 0; i < currencyCount; i++) {
+      currencyBuilder.add(Currency.of(getString(header)));
+    }
+    this.currencies = currencyBuilder.build();
+    ImmutableList.Builder<ColumnHeader> headerBuilder = ImmutableList.builder();
+    ImmutableList.Builder<ColumnData> dataBuilder = ImmutableList.builder();
+    for (int col = 0; col < columnCount; col++) {
+      ColumnName name = ColumnName.of(getString(header));
+      String measureName = getString(header);
+      boolean currencyConvertible = header.get() != 0;
+      String currencyCode = getString(header);
+      ColumnarValueType type = ColumnarValueType.values()[header.get()];
+      int scenarioCount = header.getInt();
+      long offset = header.getLong();
+      int length = header.getInt();
+      Measure measure = measure(measureName, currencyConvertible);
+      headerBuilder.add(currencyCode.isEmpty() ?
+          ColumnHeader.of(name, measure) :
+          ColumnHeader.of(name, measure, Currency.of(currencyCode)));
+      ByteBuffer data = length == 0 ?
+          ByteBuffer.allocate(0) :
+          channel.map(FileChannel.MapMode.READ_ONLY, offset, length).order(ORDER);
+      dataBuilder.add(new ColumnData(type, scenarioCount, rowCount, data));
+    }
+    this.columns = headerBuilder.build();
+    this.columnData = dataBuilder.build();
+    int failureCount = header.getInt();
+    Map<Long, Failure> failureMap = new HashMap<>();
+    for (int i = 0; i < failureCount; i++) {
+      int row = header.getInt();
+      int col = header.getInt();
+      FailureReason reason = FailureReason.valueOf(getString(header));
+      String message = getString(header);
+      failureMap.put(cellIndex(row, col), Failure.of(reason, "{}", message));
+    }
+    this.failures = failureMap;
+  }
+
+  // reads a string
+  private static String getString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  // finds the measure, creating it if not known
+  private static Measure measure(String name, boolean currencyConvertible) {
+    try {
+      return Measure.of(name);
+    } catch (IllegalArgumentException ex) {
+      return ImmutableMeasure.of(name, currencyConvertible);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of rows.
+   *
+   * @return the number of rows
+   */
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Gets the number of columns.
+   *
+   * @return the number of columns
+   */
+  public int getColumnCount() {
+    return columns.size();
+  }
+
+  /**
+   * Gets the column headers.
+   *
+   * @return the column headers
+   */
+  public ImmutableList<ColumnHeader> getColumns() {
+    return columns;
+  }
+
+  /**
+   * Gets the type of the values of a column.
+   *
+   * @param columnIndex  the index of the column
+   * @return the type of the values
+   */
+  public ColumnarValueType getColumnType(int columnIndex) {
+    return column(columnIndex).type;
+  }
+
+  /**
+   * Gets the number of scenarios of a column.
+   * <p>
+   * This is one for single values, and zero if the values are not stored.
+   *
+   * @param columnIndex  the index of the column
+   * @return the number of scenarios
+   */
+  public int getScenarioCount(int columnIndex) {
+    return column(columnIndex).scenarioCount;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if the value of a cell is stored.
+   * <p>
+   * This returns false if the cell is a failure, or if its value is not of the type of the column.
+   *
+   * @param rowIndex  the index of the row
+   * @param columnIndex  the index of the column
+   * @return true if the value is stored
+   */
+  public boolean hasValue(int rowIndex, int columnIndex) {
+    return column(columnIndex).status(checkRow(rowIndex)) == STATUS_SUCCESS;
+  }
+
+  /**
+   * Gets the value of a cell for a scenario.
+   * <p>
+   * For currency amounts, this is the amount, in the currency returned by {@link #getCurrency(int, int)}.
+   *
+   * @param rowIndex  the index of the row
+   * @param columnIndex  the index of the column
+   * @param scenarioIndex  the index of the scenario, zero for single values
+   * @return the value
+   * @throws IllegalArgumentException if the value is not stored
+   */
+  public double getValue(int rowIndex, int columnIndex, int scenarioIndex) {
+    ColumnData column = storedColumn(rowIndex, columnIndex);
+    ArgChecker.inRange(scenarioIndex, 0, column.scenarioCount, "scenarioIndex");
+    return column.values.get(rowIndex * column.scenarioCount + scenarioIndex);
+  }
+
+  /**
+   * Gets the values of a cell, one per scenario.
+   *
+   * @param rowIndex  the index of the row
+   * @param columnIndex  the index of the column
+   * @return the values
+   * @throws IllegalArgumentException if the value is not stored
+   */
+  public DoubleArray getValues(int rowIndex, int columnIndex) {
+    ColumnData column = storedColumn(rowIndex, columnIndex);
+    double[] values = new double[column.scenarioCount];
+    DoubleBuffer buffer = column.values.duplicate();
+    buffer.position(rowIndex * column.scenarioCount);
+    buffer.get(values);
+    return DoubleArray.ofUnsafe(values);
+  }
+
+  /**
+   * Gets the currency of a cell.
+   *
+   * @param rowIndex  the index of the row
+   * @param columnIndex  the index of the column
+   * @return the currency
+   * @throws IllegalArgumentException if the value is not stored or has no currency
+   */
+  public Currency getCurrency(int rowIndex, int columnIndex) {
+    ColumnData column = storedColumn(rowIndex, columnIndex);
+    ArgChecker.isTrue(column.type.hasCurrency(), "Column {} has no currency", columnIndex);
+    return currencies.get(column.currencyIndex(rowIndex));
+  }
+
+  /**
+   * Gets the values of a column as a read-only buffer.
+   * <p>
+   * The buffer is a view of the mapped file, holding the values in row order,
+   * with {@link #getScenarioCount(int)} values per row.
+   * The values of the cells without a stored value are zero.
+   *
+   * @param columnIndex  the index of the column
+   * @return the values of the column
+   */
+  public DoubleBuffer getColumnValues(int columnIndex) {
+    return column(columnIndex).values.duplicate();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the result of a cell.
+   * <p>
+   * The value is converted back to the type it was written from.
+   * A success whose value was not stored is returned as a failure.
+   *
+   * @param rowIndex  the index of the row
+   * @param columnIndex  the index of the column
+   * @return the result
+   */
+  public Result<?> getResult(int rowIndex, int columnIndex) {
+    ColumnData column = column(columnIndex);
+    byte status = column.status(checkRow(rowIndex));
+    if (status == STATUS_FAILURE) {
+      return Result.failure(failures.get(cellIndex(rowIndex, columnIndex)));
+    }
+    if (status != STATUS_SUCCESS) {
+      return Result.failure(FailureReason.UNSUPPORTED, "Value was not stored in the columnar format");
+    }
+    switch (column.type) {
+      case DOUBLE:
+        return Result.success(getValue(rowIndex, columnIndex, 0));
+      case CURRENCY_AMOUNT:
+        return Result.success(
+            CurrencyAmount.of(getCurrency(rowIndex, columnIndex), getValue(rowIndex, columnIndex, 0)));
+      case DOUBLE_SCENARIOS:
+        return Result.success(DoubleScenarioArray.of(getValues(rowIndex, columnIndex)));
+      case CURRENCY_SCENARIOS:
+        return Result.success(
+            CurrencyScenarioArray.of(getCurrency(rowIndex, columnIndex), getValues(rowIndex, columnIndex)));
+      default:
+        throw new IllegalStateException("Unsupported type: " + column.type);
+    }
+  }
+
+  /**
+   * Converts these results to an instance of {@link Results}.
+   *
+   * @return the results
+   */
+  public Results toResults() {
+    List<Result<?>> cells = new ArrayList<>(rowCount * columns.size());
+    for (int row = 0; row < rowCount; row++) {
+      for (int col = 0; col < columns.size(); col++) {
+        cells.add(getResult(row, col));
+      }
+    }
+    return Results.of(columns, cells);
+  }
+
+  //-------------------------------------------------------------------------
+  // checks the row index
+  private int checkRow(int rowIndex) {
+    if (rowIndex < 0 || rowIndex >= rowCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Row index must be greater than or equal to zero and less than the row count ({}), but it was {}",
+          rowCount,
+          rowIndex));
+    }
+    return rowIndex;
+  }
+
+  // finds the column
+  private ColumnData column(int columnIndex) {
+    if (columnIndex < 0 || columnIndex >= columns.size()) {
+      throw new IllegalArgumentException(Messages.format(
+          "Column index must be greater than or equal to zero and less than the column count ({}), but it was {}",
+          columns.size(),
+          columnIndex));
+    }
+    return columnData.get(columnIndex);
+  }
+
+  // finds the column, checking the value of the cell is stored
+  private ColumnData storedColumn(int rowIndex, int columnIndex) {
+    ColumnData column = column(columnIndex);
+    ArgChecker.isTrue(
+        column.status(checkRow(rowIndex)) == STATUS_SUCCESS,
+        "No value stored for row {} and column {}",
+        rowIndex,
+        columnIndex);
+    return column;
+  }
+
+  // the index of a cell
+  private long cellIndex(int rowIndex, int columnIndex) {
+    return ((long) rowIndex) * columns.size() + columnIndex;
+  }
+
+  @Override
+  public String toString() {
+    return Messages.format("ColumnarResults[rows={}, columns={}]", rowCount, columns);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The mapped data of a column.
+   */
+  private static final class ColumnData {
+    private final ColumnarValueType type;
+    private final int scenarioCount;
+    private final ByteBuffer status;
+    private final ByteBuffer currencies;
+    private final DoubleBuffer values;
+
+    private ColumnData(ColumnarValueType type, int scenarioCount, int rowCount, ByteBuffer data) {
+      this.type = type;
+      this.scenarioCount = scenarioCount;
+      int currencyStart = (int) ColumnarResultsWriter.align(rowCount);
+      int valueStart = currencyStart + (type.hasCurrency() ? (int) ColumnarResultsWriter.align(2L * rowCount) : 0);
+      this.status = slice(data, 0, rowCount);
+      this.currencies = type.hasCurrency() ? slice(data, currencyStart, 2 * rowCount) : null;
+      this.values = slice(data, valueStart, 8 * rowCount * scenarioCount).asDoubleBuffer().asReadOnlyBuffer();
+    }
+
+    // slices the buffer, keeping the byte order
+    private static ByteBuffer slice(ByteBuffer data, int start, int length) {
+      ByteBuffer duplicate = data.duplicate();
+      duplicate.limit(start + length).position(start);
+      return duplicate.slice().order(ORDER);
+    }
+
+    private byte status(int rowIndex) {
+      return status.capacity() == 0 ? ColumnarResultsWriter.STATUS_UNSUPPORTED : status.get(rowIndex);
+    }
+
+    private int currencyIndex(int rowIndex) {
+      return currencies.getShort(2 * rowIndex);
+    }
+  }
+
+}
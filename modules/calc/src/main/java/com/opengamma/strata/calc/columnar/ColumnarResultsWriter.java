@@ -0,0 +1,370 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.columnar;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+
+/**
+ * Writes calculation results in a columnar binary format.
+ * <p>
+ * The file has one column per column of the results. The values of a column are stored as primitive doubles,
+ * with one value per scenario for multi-scenario results, see {@link ColumnarValueType}.
+ * The currencies of currency amounts are stored as indices into a dictionary of currencies held in the header.
+ * The header also holds the column headers, and the reason and message of each failure.
+ * <p>
+ * The values of each column are written through a memory-mapped buffer and are read back
+ * without copying by {@link ColumnarResults}. All numbers are little-endian.
+ * <p>
+ * The layout of the file is as follows:
+ * <ul>
+ * <li>the magic number, the format version and the length of the header, as ints
+ * <li>the row count, the column count and the currency dictionary
+ * <li>for each column, the name, the measure, the reporting currency, the value type,
+ *  the scenario count and the offset and length of the data
+ * <li>the failures, each as row index, column index, reason and message
+ * <li>for each column, aligned to 8 bytes, one status byte per row, then one currency index
+ *  per row as a short if the type has a currency, then the values as doubles in row order
+ * </ul>
+ */
+public final class ColumnarResultsWriter {
+
+  /**
+   * The magic number at the start of the file.
+   */
+  static final int MAGIC = 0x4F47434C;
+  /**
+   * The version of the format.
+   */
+  static final int VERSION = 1;
+  /**
+   * The byte order.
+   */
+  static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+  /**
+   * The length of the preamble, holding the magic number, version and header length.
+   */
+  static final int PREAMBLE_LENGTH = 12;
+  /**
+   * The status of a cell that is a success.
+   */
+  static final byte STATUS_SUCCESS = 0;
+  /**
+   * The status of a cell that is a failure.
+   */
+  static final byte STATUS_FAILURE = 1;
+  /**
+   * The status of a cell that is a success whose value is not stored.
+   */
+  static final byte STATUS_UNSUPPORTED = 2;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes the results to a file.
+   * <p>
+   * The type of each column is the type of its first successful value of a supported type,
+   * see {@link ColumnarValueType}. Successful values of unsupported types are skipped when choosing the type.
+   * A successful value of a different type, or with a different number of scenarios,
+   * is recorded as a success whose value is not stored.
+   *
+   * @param results  the results
+   * @param file  the file to write, replaced if it exists
+   * @throws UncheckedIOException if the file cannot be written
+   */
+  public static void write(Results results, Path file) {
+    ArgChecker.notNull(results, "results");
+    ArgChecker.notNull(file, "file");
+    int rowCount = results.getRowCount();
+    int columnCount = results.getColumnCount();
+    Map<Currency, Integer> currencies = new LinkedHashMap<>();
+    List<ColumnLayout> layouts = new ArrayList<>(columnCount);
+    for (int col = 0; col < columnCount; col++) {
+      layouts.add(layout(results, col, currencies));
+    }
+    // the offsets are of fixed size, thus the length of the header does not depend on them
+    int headerLength = header(results, currencies, layouts).position();
+    long offset = align(headerLength);
+    for (ColumnLayout layout : layouts) {
+      layout.offset = offset;
+      offset = align(offset + layout.length);
+    }
+    ByteBuffer header = header(results, currencies, layouts);
+    header.flip();
+
+    try (FileChannel channel = FileChannel.open(
+        file,
+        StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+
+      while (header.hasRemaining()) {
+        channel.write(header, header.position());
+      }
+      for (int col = 0; col < columnCount; col++) {
+        ColumnLayout layout = layouts.get(col);
+        if (layout.length > 0) {
+          MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, layout.offset, layout.length);
+          buffer.order(ORDER);
+          writeColumn(results, col, layout, currencies, buffer);
+          buffer.force();
+        }
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // determines the layout of a column, adding the currencies to the dictionary
+  private static ColumnLayout layout(Results results, int col, Map<Currency, Integer> currencies) {
+    int rowCount = results.getRowCount();
+    ColumnarValueType type = ColumnarValueType.UNSUPPORTED;
+    int scenarioCount = 0;
+    for (int row = 0; row < rowCount && type == ColumnarValueType.UNSUPPORTED; row++) {
+      Result<?> result = results.get(row, col);
+      if (result.isSuccess()) {
+        type = ColumnarValueType.of(result.getValue());
+        scenarioCount = scenarioCount(result.getValue(), type);
+      }
+    }
+    if (type.hasMultipleCurrencies()) {
+      // amounts in multiple currencies are not stored in the file
+      type = ColumnarValueType.UNSUPPORTED;
+      scenarioCount = 0;
+    }
+    if (type.hasCurrency()) {
+      for (int row = 0; row < rowCount; row++) {
+        Result<?> result = results.get(row, col);
+        if (result.isSuccess() && isStored(result.getValue(), type, scenarioCount)) {
+          currencies.putIfAbsent(currency(result.getValue()), currencies.size());
+        }
+      }
+    }
+    long length = align(rowCount);
+    if (type.hasCurrency()) {
+      length += align(2L * rowCount);
+    }
+    length += 8L * rowCount * scenarioCount;
+    ArgChecker.isTrue(length <= Integer.MAX_VALUE, "Column {} is too large to be written", col);
+    return new ColumnLayout(type, scenarioCount, (int) length);
+  }
+
+  // writes the data of a column
+  private static void writeColumn(
+      Results results,
+      int col,
+      ColumnLayout layout,
+      Map<Currency, Integer> currencies,
+      ByteBuffer buffer) {
+
+    int rowCount = results.getRowCount();
+    ColumnarValueType type = layout.type;
+    int scenarioCount = layout.scenarioCount;
+    int currencyStart = (int) align(rowCount);
+    int valueStart = currencyStart + (type.hasCurrency() ? (int) align(2L * rowCount) : 0);
+    for (int row = 0; row < rowCount; row++) {
+      Result<?> result = results.get(row, col);
+      if (result.isFailure()) {
+        buffer.put(row, STATUS_FAILURE);
+      } else if (!isStored(result.getValue(), type, scenarioCount)) {
+        buffer.put(row, STATUS_UNSUPPORTED);
+      } else {
+        Object value = result.getValue();
+        buffer.put(row, STATUS_SUCCESS);
+        if (type.hasCurrency()) {
+          buffer.putShort(currencyStart + 2 * row, currencies.get(currency(value)).shortValue());
+        }
+        int valueIndex = valueStart + 8 * row * scenarioCount;
+        switch (type) {
+          case DOUBLE:
+            buffer.putDouble(valueIndex, (Double) value);
+            break;
+          case CURRENCY_AMOUNT:
+            buffer.putDouble(valueIndex, ((CurrencyAmount) value).getAmount());
+            break;
+          case DOUBLE_SCENARIOS:
+            putDoubles(buffer, valueIndex, ((DoubleScenarioArray) value).getValues().toArrayUnsafe());
+            break;
+          case CURRENCY_SCENARIOS:
+            putDoubles(buffer, valueIndex, ((CurrencyScenarioArray) value).getAmounts().getValues().toArrayUnsafe());
+            break;
+          default:
+            throw new IllegalStateException("Unsupported type: " + type);
+        }
+      }
+    }
+  }
+
+  // bulk writes doubles at a byte index
+  private static void putDoubles(ByteBuffer buffer, int byteIndex, double[] values) {
+    buffer.position(byteIndex);
+    buffer.asDoubleBuffer().put(values);
+  }
+
+  // writes the header, including the preamble
+  private static ByteBuffer header(Results results, Map<Currency, Integer> currencies, List<ColumnLayout> layouts) {
+    HeaderBuffer header = new HeaderBuffer();
+    header.putInt(MAGIC);
+    header.putInt(VERSION);
+    header.putInt(0);  // the header length, set below
+    header.putInt(results.getRowCount());
+    header.putInt(results.getColumnCount());
+    header.putInt(currencies.size());
+    for (Currency currency : currencies.keySet()) {
+      header.putString(currency.getCode());
+    }
+    for (int col = 0; col < layouts.size(); col++) {
+      ColumnHeader columnHeader = results.getColumns().get(col);
+      ColumnLayout layout = layouts.get(col);
+      header.putString(columnHeader.getName().getName());
+      header.putString(columnHeader.getMeasure().getName());
+      header.putByte(columnHeader.getMeasure().isCurrencyConvertible() ? 1 : 0);
+      header.putString(columnHeader.getCurrency().map(Currency::getCode).orElse(""));
+      header.putByte(layout.type.ordinal());
+      header.putInt(layout.scenarioCount);
+      header.putLong(layout.offset);
+      header.putInt(layout.length);
+    }
+    List<int[]> failures = new ArrayList<>();
+    for (int row = 0; row < results.getRowCount(); row++) {
+      for (int col = 0; col < results.getColumnCount(); col++) {
+        if (results.get(row, col).isFailure()) {
+          failures.add(new int[] {row, col});
+        }
+      }
+    }
+    header.putInt(failures.size());
+    for (int[] cell : failures) {
+      Failure failure = results.get(cell[0], cell[1]).getFailure();
+      header.putInt(cell[0]);
+      header.putInt(cell[1]);
+      header.putString(failure.getReason().name());
+      header.putString(failure.getMessage());
+    }
+    ByteBuffer buffer = header.buffer;
+    buffer.putInt(8, buffer.position());
+    return buffer;
+  }
+
+  // checks if the value is stored in a column
+  private static boolean isStored(Object value, ColumnarValueType type, int scenarioCount) {
+    return type != ColumnarValueType.UNSUPPORTED &&
+        ColumnarValueType.of(value) == type &&
+        scenarioCount(value, type) == scenarioCount;
+  }
+
+  // the number of scenarios of a value
+  private static int scenarioCount(Object value, ColumnarValueType type) {
+    switch (type) {
+      case DOUBLE:
+      case CURRENCY_AMOUNT:
+        return 1;
+      case DOUBLE_SCENARIOS:
+        return ((DoubleScenarioArray) value).getScenarioCount();
+      case CURRENCY_SCENARIOS:
+        return ((CurrencyScenarioArray) value).getScenarioCount();
+      default:
+        return 0;
+    }
+  }
+
+  // the currency of a value
+  private static Currency currency(Object value) {
+    if (value instanceof CurrencyAmount) {
+      return ((CurrencyAmount) value).getCurrency();
+    }
+    return ((CurrencyScenarioArray) value).getCurrency();
+  }
+
+  // aligns to 8 bytes
+  static long align(long length) {
+    return (length + 7) & ~7L;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The layout of a column.
+   */
+  private static final class ColumnLayout {
+    private final ColumnarValueType type;
+    private final int scenarioCount;
+    private final int length;
+    private long offset;
+
+    private ColumnLayout(ColumnarValueType type, int scenarioCount, int length) {
+      this.type = type;
+      this.scenarioCount = scenarioCount;
+      this.length = length;
+    }
+  }
+
+  /**
+   * A growable buffer for the header.
+   */
+  private static final class HeaderBuffer {
+    private ByteBuffer buffer = ByteBuffer.allocate(1024).order(ORDER);
+
+    private void ensureCapacity(int extra) {
+      if (buffer.remaining() < extra) {
+        int capacity = Math.max(buffer.capacity() * 2, buffer.position() + extra);
+        ByteBuffer bigger = ByteBuffer.allocate(capacity).order(ORDER);
+        buffer.flip();
+        bigger.put(buffer);
+        buffer = bigger;
+      }
+    }
+
+    private void putByte(int value) {
+      ensureCapacity(1);
+      buffer.put((byte) value);
+    }
+
+    private void putInt(int value) {
+      ensureCapacity(4);
+      buffer.putInt(value);
+    }
+
+    private void putLong(long value) {
+      ensureCapacity(8);
+      buffer.putLong(value);
+    }
+
+    private void putString(String value) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      putInt(bytes.length);
+      ensureCapacity(bytes.length);
+      buffer.put(bytes);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // restricted constructor
+  private ColumnarResultsWriter() {
+  }
+
+}
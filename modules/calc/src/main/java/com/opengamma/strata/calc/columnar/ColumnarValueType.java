@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.columnar;
+
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+
+/**
+ * The type of the values of a column in the columnar format.
+ * <p>
+ * The values of each column are stored as primitive doubles.
+ * The currencies of currency amounts are stored as indices into a dictionary of currencies.
+ * <p>
+ * The ordinal of each type is stored in the binary format, thus new types are added at the end.
+ * The multiple currency types are held by {@link PrimitiveResults} but are not written to files.
+ */
+public enum ColumnarValueType {
+
+  /**
+   * The column contains {@link Double} values, one value per cell.
+   */
+  DOUBLE(false, false),
+  /**
+   * The column contains {@link DoubleScenarioArray} values, one value per scenario in each cell.
+   */
+  DOUBLE_SCENARIOS(false, true),
+  /**
+   * The column contains {@link CurrencyAmount} values, one amount and currency per cell.
+   */
+  CURRENCY_AMOUNT(true, false),
+  /**
+   * The column contains {@link CurrencyScenarioArray} values, one amount per scenario and one currency in each cell.
+   */
+  CURRENCY_SCENARIOS(true, true),
+  /**
+   * The column contains values that cannot be stored.
+   * <p>
+   * Only the success or failure of each cell is stored.
+   */
+  UNSUPPORTED(false, false),
+  /**
+   * The column contains {@link MultiCurrencyAmount} values, one amount per currency in each cell.
+   */
+  MULTI_CURRENCY_AMOUNT(true, false),
+  /**
+   * The column contains {@link MultiCurrencyScenarioArray} values, one amount per scenario and currency in each cell.
+   */
+  MULTI_CURRENCY_SCENARIOS(true, true);
+
+  /**
+   * Whether each cell has a currency.
+   */
+  private final boolean currency;
+  /**
+   * Whether each cell has a value per scenario.
+   */
+  private final boolean scenarios;
+
+  // restricted constructor
+  private ColumnarValueType(boolean currency, boolean scenarios) {
+    this.currency = currency;
+    this.scenarios = scenarios;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Finds the type of a value.
+   *
+   * @param value  the value
+   * @return the type, {@code UNSUPPORTED} if the value cannot be stored
+   */
+  public static ColumnarValueType of(Object value) {
+    if (value instanceof Double) {
+      return DOUBLE;
+    } else if (value instanceof DoubleScenarioArray) {
+      return DOUBLE_SCENARIOS;
+    } else if (value instanceof CurrencyAmount) {
+      return CURRENCY_AMOUNT;
+    } else if (value instanceof CurrencyScenarioArray) {
+      return CURRENCY_SCENARIOS;
+    } else if (value instanceof MultiCurrencyAmount) {
+      return MULTI_CURRENCY_AMOUNT;
+    } else if (value instanceof MultiCurrencyScenarioArray) {
+      return MULTI_CURRENCY_SCENARIOS;
+    }
+    return UNSUPPORTED;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if each cell of a column of this type has a currency.
+   *
+   * @return true if each cell has a currency
+   */
+  public boolean hasCurrency() {
+    return currency;
+  }
+
+  /**
+   * Checks if each cell of a column of this type has a value per scenario.
+   *
+   * @return true if each cell has a value per scenario
+   */
+  public boolean hasScenarios() {
+    return scenarios;
+  }
+
+  /**
+   * Checks if each cell of a column of this type may have amounts in more than one currency.
+   *
+   * @return true if each cell may have more than one currency
+   */
+  public boolean hasMultipleCurrencies() {
+    return this == MULTI_CURRENCY_AMOUNT || this == MULTI_CURRENCY_SCENARIOS;
+  }
+
+}
@@ -0,0 +1,711 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.columnar;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.ColumnName;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+
+/**
+ * Calculation results held in primitive arrays.
+ * <p>
+ * This holds the same grid of results as {@link Results}, one row per target and one column per measure,
+ * but without an object per cell. The numeric values of each column are held in primitive arrays,
+ * indexed by row and scenario, with the currencies indexed by a dictionary shared by all the columns.
+ * Amounts in more than one currency are held in one array per currency.
+ * The types that are held as primitives are defined by {@link ColumnarValueType}.
+ * <p>
+ * The type of each column is defined by the first successful value of the column whose type can be
+ * held as primitives, successful values of other types being skipped.
+ * Failures are held in a sparse table, as are values that are not of the type of their column.
+ * <p>
+ * The cells can be queried using the same methods as {@link Results}, in which case the value
+ * is created from the primitive arrays on each call. The primitive values can also be queried directly.
+ * <p>
+ * Instances are created using {@link #of(Results)} or {@link #builder(List, int)}.
+ * {@link PrimitiveResultsListener} creates an instance as the results of the calculations are received.
+ */
+public final class PrimitiveResults {
+
+  /**
+   * The status of a cell with no result.
+   */
+  private static final byte EMPTY = 0;
+  /**
+   * The status of a cell whose value is held in the primitive arrays.
+   */
+  private static final byte VALUE = 1;
+  /**
+   * The status of a cell with a failure.
+   */
+  private static final byte FAILURE = 2;
+  /**
+   * The status of a cell whose value is not of the type of its column.
+   */
+  private static final byte OTHER = 3;
+
+  /**
+   * The column headers.
+   */
+  private final ImmutableList<ColumnHeader> columns;
+  /**
+   * The number of rows.
+   */
+  private final int rowCount;
+  /**
+   * The columns.
+   */
+  private final ImmutableList<PrimitiveColumn> columnData;
+  /**
+   * The currency dictionary.
+   */
+  private final ImmutableList<Currency> currencies;
+  /**
+   * The failures, keyed by cell index.
+   */
+  private final Map<Integer, Failure> failures;
+  /**
+   * The values that are not of the type of their column, keyed by cell index.
+   */
+  private final Map<Integer, Object> otherValues;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from a set of results.
+   *
+   * @param results  the results
+   * @return the primitive results
+   */
+  public static PrimitiveResults of(Results results) {
+    ArgChecker.notNull(results, "results");
+    Builder builder = builder(results.getColumns(), results.getRowCount());
+    for (int row = 0; row < results.getRowCount(); row++) {
+      for (int col = 0; col < results.getColumnCount(); col++) {
+        builder.set(row, col, results.get(row, col));
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns a builder for a grid of results.
+   * <p>
+   * The primitive arrays of each column are allocated when the first value of the column is set.
+   *
+   * @param columns  the column headers
+   * @param rowCount  the number of rows
+   * @return the builder
+   */
+  public static Builder builder(List<ColumnHeader> columns, int rowCount) {
+    return new Builder(columns, rowCount);
+  }
+
+  // creates an instance from the builder
+  private PrimitiveResults(Builder builder) {
+    this.columns = builder.columns;
+    this.rowCount = builder.rowCount;
+    this.columnData = ImmutableList.copyOf(builder.columnData);
+    this.currencies = ImmutableList.copyOf(builder.currencies);
+    this.failures = builder.failures;
+    this.otherValues = builder.otherValues;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the column headers.
+   *
+   * @return the column headers
+   */
+  public ImmutableList<ColumnHeader> getColumns() {
+    return columns;
+  }
+
+  /**
+   * Gets the number of rows.
+   *
+   * @return the number of rows
+   */
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Gets the number of columns.
+   *
+   * @return the number of columns
+   */
+  public int getColumnCount() {
+    return columns.size();
+  }
+
+  /**
+   * Gets the type of the values held as primitives in a column.
+   * <p>
+   * This is {@code UNSUPPORTED} if the column has no successful value that can be held as primitives.
+   *
+   * @param columnIndex  the index of the column
+   * @return the type of the values
+   */
+  public ColumnarValueType getColumnType(int columnIndex) {
+    return column(columnIndex).type;
+  }
+
+  /**
+   * Gets the number of scenarios of the values of a column.
+   * <p>
+   * This is one for single values, and zero if no values are held as primitives.
+   *
+   * @param columnIndex  the index of the column
+   * @return the number of scenarios
+   */
+  public int getScenarioCount(int columnIndex) {
+    return column(columnIndex).scenarioCount;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the result for a row and column index.
+   * <p>
+   * This matches {@link Results#get(int, int)}. The value is created from the primitive arrays.
+   *
+   * @param rowIndex  the index of the row
+   * @param columnIndex  the index of the column
+   * @return the result
+   * @throws IllegalArgumentException if the row or column index is invalid
+   */
+  public Result<?> get(int rowIndex, int columnIndex) {
+    PrimitiveColumn column = column(columnIndex);
+    int row = checkRow(rowIndex);
+    switch (column.status[row]) {
+      case VALUE:
+        return Result.success(column.value(row, currencies));
+      case FAILURE:
+        return Result.failure(failures.get(cellIndex(row, columnIndex)));
+      case OTHER:
+        return Result.success(otherValues.get(cellIndex(row, columnIndex)));
+      case EMPTY:
+      default:
+        return Result.failure(FailureReason.MISSING_DATA, "No result was calculated");
+    }
+  }
+
+  /**
+   * Returns the result for a row and column index, casting the result to a known type.
+   * <p>
+   * This matches {@link Results#get(int, int, Class)}.
+   *
+   * @param <T>  the result type
+   * @param rowIndex  the index of the row
+   * @param columnIndex  the index of the column
+   * @param type  the result type
+   * @return the result, cast to the specified type
+   * @throws IllegalArgumentException if the row or column index is invalid
+   * @throws ClassCastException if the result is not of the specified type
+   */
+  public <T> Result<T> get(int rowIndex, int columnIndex, Class<T> type) {
+    return cast(get(rowIndex, columnIndex), type);
+  }
+
+  /**
+   * Returns the result for a row and column name.
+   * <p>
+   * This matches {@link Results#get(int, ColumnName)}.
+   *
+   * @param rowIndex  the index of the row
+   * @param columnName  the name of the column
+   * @return the result
+   * @throws IllegalArgumentException if the row index or column name is invalid
+   */
+  public Result<?> get(int rowIndex, ColumnName columnName) {
+    for (int i = 0; i < columns.size(); i++) {
+      if (columns.get(i).getName().equals(columnName)) {
+        return get(rowIndex, i);
+      }
+    }
+    throw new IllegalArgumentException(Messages.format("Column name not found: {}", columnName));
+  }
+
+  /**
+   * Returns the result for a row and column name, casting the result to a known type.
+   * <p>
+   * This matches {@link Results#get(int, ColumnName, Class)}.
+   *
+   * @param <T>  the result type
+   * @param rowIndex  the index of the row
+   * @param columnName  the name of the column
+   * @param type  the result type
+   * @return the result, cast to the specified type
+   * @throws IllegalArgumentException if the row index or column name is invalid
+   * @throws ClassCastException if the result is not of the specified type
+   */
+  public <T> Result<T> get(int rowIndex, ColumnName columnName, Class<T> type) {
+    return cast(get(rowIndex, columnName), type);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Result<T> cast(Result<?> result, Class<T> type) {
+    if (result.isFailure() || type.isInstance(result.getValue())) {
+      return (Result<T>) result;
+    }
+    throw new ClassCastException(Messages.format(
+        "Result queried with type '{}' but was '{}'", type.getName(), result.getValue().getClass().getName()));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if the value of a cell is held in the primitive arrays.
+   *
+   * @param rowIndex  the index of the row
+   * @param columnIndex  the index of the column
+   * @return true if the value is held as primitives
+   */
+  public boolean hasValue(int rowIndex, int columnIndex) {
+    return column(columnIndex).status[checkRow(rowIndex)] == VALUE;
+  }
+
+  /**
+   * Gets the value of a cell for a scenario.
+   * <p>
+   * For single currency amounts, this is the amount in the currency returned by {@link #getCurrencies(int, int)}.
+   *
+   * @param rowIndex  the index of the row
+   * @param columnIndex  the index of the column
+   * @param scenarioIndex  the index of the scenario, zero for single values
+   * @return the value
+   * @throws IllegalArgumentException if the value is not held as primitives or has multiple currencies
+   */
+  public double getValue(int rowIndex, int columnIndex, int scenarioIndex) {
+    PrimitiveColumn column = valueColumn(rowIndex, columnIndex, scenarioIndex);
+    ArgChecker.isFalse(
+        column.type.hasMultipleCurrencies(),
+        "Column {} has multiple currencies, the currency must be specified",
+        columnIndex);
+    return column.values[rowIndex * column.scenarioCount + scenarioIndex];
+  }
+
+  /**
+   * Gets the amount of a cell for a scenario in a currency.
+   * <p>
+   * This returns zero if the cell has no amount in the currency.
+   *
+   * @param rowIndex  the index of the row
+   * @param columnIndex  the index of the column
+   * @param scenarioIndex  the index of the scenario, zero for single values
+   * @param currency  the currency
+   * @return the amount
+   * @throws IllegalArgumentException if the value is not held as primitives or has no currency
+   */
+  public double getValue(int rowIndex, int columnIndex, int scenarioIndex, Currency currency) {
+    PrimitiveColumn column = valueColumn(rowIndex, columnIndex, scenarioIndex);
+    ArgChecker.isTrue(column.type.hasCurrency(), "Column {} has no currency", columnIndex);
+    int currencyIndex = currencies.indexOf(currency);
+    return currencyIndex < 0 ? 0d : column.amount(rowIndex, scenarioIndex, currencyIndex);
+  }
+
+  /**
+   * Gets the currencies of a cell.
+   *
+   * @param rowIndex  the index of the row
+   * @param columnIndex  the index of the column
+   * @return the currencies
+   * @throws IllegalArgumentException if the value is not held as primitives or has no currency
+   */
+  public ImmutableSet<Currency> getCurrencies(int rowIndex, int columnIndex) {
+    PrimitiveColumn column = valueColumn(rowIndex, columnIndex, 0);
+    ArgChecker.isTrue(column.type.hasCurrency(), "Column {} has no currency", columnIndex);
+    return column.currencies(rowIndex, currencies).keySet().stream()
+        .map(currencies::get)
+        .collect(toImmutableSet());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Converts these results to an instance of {@link Results}.
+   * <p>
+   * This creates the value of every cell.
+   *
+   * @return the results
+   */
+  public Results toResults() {
+    List<Result<?>> cells = new ArrayList<>(rowCount * columns.size());
+    for (int row = 0; row < rowCount; row++) {
+      for (int col = 0; col < columns.size(); col++) {
+        cells.add(get(row, col));
+      }
+    }
+    return Results.of(columns, cells);
+  }
+
+  //-------------------------------------------------------------------------
+  // checks the row index
+  private int checkRow(int rowIndex) {
+    if (rowIndex < 0 || rowIndex >= rowCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Row index must be greater than or equal to zero and less than the row count ({}), but it was {}",
+          rowCount,
+          rowIndex));
+    }
+    return rowIndex;
+  }
+
+  // finds the column
+  private PrimitiveColumn column(int columnIndex) {
+    if (columnIndex < 0 || columnIndex >= columns.size()) {
+      throw new IllegalArgumentException(Messages.format(
+          "Column index must be greater than or equal to zero and less than the column count ({}), but it was {}",
+          columns.size(),
+          columnIndex));
+    }
+    return columnData.get(columnIndex);
+  }
+
+  // finds the column, checking the value of the cell is held as primitives
+  private PrimitiveColumn valueColumn(int rowIndex, int columnIndex, int scenarioIndex) {
+    PrimitiveColumn column = column(columnIndex);
+    ArgChecker.isTrue(
+        column.status[checkRow(rowIndex)] == VALUE,
+        "No primitive value for row {} and column {}",
+        rowIndex,
+        columnIndex);
+    ArgChecker.inRange(scenarioIndex, 0, column.scenarioCount, "scenarioIndex");
+    return column;
+  }
+
+  // the index of a cell
+  private int cellIndex(int rowIndex, int columnIndex) {
+    return rowIndex * columns.size() + columnIndex;
+  }
+
+  @Override
+  public String toString() {
+    return Messages.format("PrimitiveResults[rows={}, columns={}]", rowCount, columns);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builder for {@code PrimitiveResults}.
+   * <p>
+   * The values are copied into the primitive arrays as each result is set, thus the results
+   * do not need to be retained. A builder is not thread-safe and can only be built once.
+   */
+  public static final class Builder {
+
+    /**
+     * The column headers.
+     */
+    private final ImmutableList<ColumnHeader> columns;
+    /**
+     * The number of rows.
+     */
+    private final int rowCount;
+    /**
+     * The columns.
+     */
+    private final List<PrimitiveColumn> columnData;
+    /**
+     * The currency dictionary.
+     */
+    private final List<Currency> currencies = new ArrayList<>();
+    /**
+     * The index of each currency in the dictionary.
+     */
+    private final Map<Currency, Integer> currencyIndices = new HashMap<>();
+    /**
+     * The failures, keyed by cell index.
+     */
+    private final Map<Integer, Failure> failures = new HashMap<>();
+    /**
+     * The values that are not of the type of their column, keyed by cell index.
+     */
+    private final Map<Integer, Object> otherValues = new HashMap<>();
+    /**
+     * Whether the results have been built.
+     */
+    private boolean built;
+
+    // creates an instance
+    private Builder(List<ColumnHeader> columns, int rowCount) {
+      this.columns = ImmutableList.copyOf(ArgChecker.notNull(columns, "columns"));
+      this.rowCount = ArgChecker.notNegative(rowCount, "rowCount");
+      ArgChecker.isTrue(
+          (long) rowCount * columns.size() <= Integer.MAX_VALUE, "Too many cells: {} rows", rowCount);
+      this.columnData = new ArrayList<>(columns.size());
+      for (int i = 0; i < columns.size(); i++) {
+        columnData.add(new PrimitiveColumn(rowCount));
+      }
+    }
+
+    /**
+     * Sets the result of a cell.
+     * <p>
+     * Numeric values of the type of the column are copied into the primitive arrays.
+     *
+     * @param rowIndex  the index of the row
+     * @param columnIndex  the index of the column
+     * @param result  the result
+     * @return this builder
+     */
+    public Builder set(int rowIndex, int columnIndex, Result<?> result) {
+      ArgChecker.notNull(result, "result");
+      ArgChecker.isFalse(built, "Results have already been built");
+      ArgChecker.inRange(rowIndex, 0, rowCount, "rowIndex");
+      ArgChecker.inRange(columnIndex, 0, columns.size(), "columnIndex");
+      PrimitiveColumn column = columnData.get(columnIndex);
+      int cellIndex = rowIndex * columns.size() + columnIndex;
+      failures.remove(cellIndex);
+      otherValues.remove(cellIndex);
+      if (result.isFailure()) {
+        column.clear(rowIndex);
+        column.status[rowIndex] = FAILURE;
+        failures.put(cellIndex, result.getFailure());
+      } else if (column.set(rowIndex, result.getValue(), this::currencyIndex)) {
+        column.status[rowIndex] = VALUE;
+      } else {
+        column.clear(rowIndex);
+        column.status[rowIndex] = OTHER;
+        otherValues.put(cellIndex, result.getValue());
+      }
+      return this;
+    }
+
+    /**
+     * Builds the results.
+     * <p>
+     * Cells that have not been set are failures.
+     *
+     * @return the results
+     */
+    public PrimitiveResults build() {
+      ArgChecker.isFalse(built, "Results have already been built");
+      built = true;
+      return new PrimitiveResults(this);
+    }
+
+    // finds the index of a currency, adding it to the dictionary if necessary
+    private int currencyIndex(Currency currency) {
+      return currencyIndices.computeIfAbsent(currency, ccy -> {
+        currencies.add(ccy);
+        return currencies.size() - 1;
+      });
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The primitive arrays of a column.
+   * <p>
+   * The values are held in row order, with one value per scenario in each row.
+   * Single currency values have one currency index per row.
+   * Multiple currency values have one array of values per currency, and a set of the rows with an amount
+   * in each currency, thus the memory used depends on the number of currencies in the column.
+   */
+  private static final class PrimitiveColumn {
+    private final byte[] status;
+    private ColumnarValueType type = ColumnarValueType.UNSUPPORTED;
+    private int scenarioCount;
+    private double[] values;
+    private int[] currencyIndices;
+    private double[][] currencyValues;
+    private BitSet[] currencyRows;
+
+    private PrimitiveColumn(int rowCount) {
+      this.status = new byte[rowCount];
+    }
+
+    // stores the value, returning false if it does not have the type of the column
+    private boolean set(int row, Object value, CurrencyIndexer currencyIndexer) {
+      if (type == ColumnarValueType.UNSUPPORTED) {
+        ColumnarValueType valueType = ColumnarValueType.of(value);
+        if (valueType == ColumnarValueType.UNSUPPORTED) {
+          return false;
+        }
+        allocate(valueType, scenarioCount(value, valueType));
+      }
+      if (ColumnarValueType.of(value) != type || scenarioCount(value, type) != scenarioCount) {
+        return false;
+      }
+      int start = row * scenarioCount;
+      switch (type) {
+        case DOUBLE:
+          values[row] = (Double) value;
+          return true;
+        case DOUBLE_SCENARIOS:
+          ((DoubleScenarioArray) value).getValues().copyInto(values, start);
+          return true;
+        case CURRENCY_AMOUNT: {
+          CurrencyAmount amount = (CurrencyAmount) value;
+          values[row] = amount.getAmount();
+          currencyIndices[row] = currencyIndexer.index(amount.getCurrency());
+          return true;
+        }
+        case CURRENCY_SCENARIOS: {
+          CurrencyScenarioArray array = (CurrencyScenarioArray) value;
+          array.getAmounts().getValues().copyInto(values, start);
+          currencyIndices[row] = currencyIndexer.index(array.getCurrency());
+          return true;
+        }
+        case MULTI_CURRENCY_AMOUNT: {
+          clear(row);
+          for (CurrencyAmount amount : ((MultiCurrencyAmount) value).getAmounts()) {
+            int currencyIndex = currencyIndexer.index(amount.getCurrency());
+            ensureCurrency(currencyIndex);
+            currencyValues[currencyIndex][row] = amount.getAmount();
+            currencyRows[currencyIndex].set(row);
+          }
+          return true;
+        }
+        case MULTI_CURRENCY_SCENARIOS: {
+          clear(row);
+          ((MultiCurrencyScenarioArray) value).getAmounts().getValues().forEach((currency, amounts) -> {
+            int currencyIndex = currencyIndexer.index(currency);
+            ensureCurrency(currencyIndex);
+            amounts.copyInto(currencyValues[currencyIndex], start);
+            currencyRows[currencyIndex].set(row);
+          });
+          return true;
+        }
+        default:
+          throw new IllegalStateException("Unsupported type: " + type);
+      }
+    }
+
+    // allocates the arrays when the first value is set
+    private void allocate(ColumnarValueType valueType, int valueScenarioCount) {
+      int rowCount = status.length;
+      ArgChecker.isTrue(
+          (long) rowCount * valueScenarioCount <= Integer.MAX_VALUE,
+          "Too many values: {} scenarios",
+          valueScenarioCount);
+      this.type = valueType;
+      this.scenarioCount = valueScenarioCount;
+      if (valueType.hasMultipleCurrencies()) {
+        this.currencyValues = new double[0][];
+        this.currencyRows = new BitSet[0];
+      } else {
+        this.values = new double[rowCount * valueScenarioCount];
+        if (valueType.hasCurrency()) {
+          this.currencyIndices = new int[rowCount];
+        }
+      }
+    }
+
+    // ensures the arrays of a currency exist
+    private void ensureCurrency(int currencyIndex) {
+      if (currencyIndex >= currencyValues.length) {
+        int size = currencyValues.length;
+        currencyValues = Arrays.copyOf(currencyValues, currencyIndex + 1);
+        currencyRows = Arrays.copyOf(currencyRows, currencyIndex + 1);
+        for (int i = size; i <= currencyIndex; i++) {
+          currencyValues[i] = new double[status.length * scenarioCount];
+          currencyRows[i] = new BitSet();
+        }
+      }
+    }
+
+    // clears the multiple currency amounts of a row
+    private void clear(int row) {
+      if (currencyRows != null) {
+        for (BitSet rows : currencyRows) {
+          rows.clear(row);
+        }
+      }
+    }
+
+    // the amount in a currency, zero if none
+    private double amount(int row, int scenario, int currencyIndex) {
+      if (type.hasMultipleCurrencies()) {
+        return currencyIndex < currencyRows.length && currencyRows[currencyIndex].get(row) ?
+            currencyValues[currencyIndex][row * scenarioCount + scenario] :
+            0d;
+      }
+      return currencyIndices[row] == currencyIndex ? values[row * scenarioCount + scenario] : 0d;
+    }
+
+    // the values of a row keyed by currency index, in currency index order
+    private Map<Integer, DoubleArray> currencies(int row, List<Currency> currencies) {
+      int start = row * scenarioCount;
+      Map<Integer, DoubleArray> amounts = new TreeMap<>();
+      if (type.hasMultipleCurrencies()) {
+        for (int i = 0; i < currencyRows.length; i++) {
+          if (currencyRows[i].get(row)) {
+            amounts.put(i, DoubleArray.copyOf(currencyValues[i], start, start + scenarioCount));
+          }
+        }
+      } else {
+        amounts.put(currencyIndices[row], DoubleArray.copyOf(values, start, start + scenarioCount));
+      }
+      return amounts;
+    }
+
+    // creates the value of a row
+    private Object value(int row, List<Currency> currencies) {
+      int start = row * scenarioCount;
+      switch (type) {
+        case DOUBLE:
+          return values[row];
+        case DOUBLE_SCENARIOS:
+          return DoubleScenarioArray.of(DoubleArray.copyOf(values, start, start + scenarioCount));
+        case CURRENCY_AMOUNT:
+          return CurrencyAmount.of(currencies.get(currencyIndices[row]), values[row]);
+        case CURRENCY_SCENARIOS:
+          return CurrencyScenarioArray.of(
+              currencies.get(currencyIndices[row]), DoubleArray.copyOf(values, start, start + scenarioCount));
+        case MULTI_CURRENCY_AMOUNT: {
+          List<CurrencyAmount> amounts = new ArrayList<>();
+          currencies(row, currencies).forEach((index, amount) -> amounts.add(
+              CurrencyAmount.of(currencies.get(index), amount.get(0))));
+          return MultiCurrencyAmount.of(amounts);
+        }
+        case MULTI_CURRENCY_SCENARIOS: {
+          Map<Currency, DoubleArray> amounts = new HashMap<>();
+          currencies(row, currencies).forEach((index, amount) -> amounts.put(currencies.get(index), amount));
+          return MultiCurrencyScenarioArray.of(amounts);
+        }
+        default:
+          throw new IllegalStateException("Unsupported type: " + type);
+      }
+    }
+
+    // the number of scenarios of a value of a type
+    private static int scenarioCount(Object value, ColumnarValueType type) {
+      return type.hasScenarios() ? ((ScenarioArray<?>) value).getScenarioCount() : 1;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Finds the index of a currency in the dictionary.
+   */
+  private interface CurrencyIndexer {
+    int index(Currency currency);
+  }
+
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.columnar;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.List;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.runner.AggregatingCalculationListener;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Calculation listener that collects the results of the calculations into {@link PrimitiveResults}.
+ * <p>
+ * The value of each result is copied into the primitive arrays when it is received, thus the
+ * individual results are not retained until the calculations are complete.
+ * <p>
+ * The calculation runner invokes the listener from a single thread at a time.
+ */
+public final class PrimitiveResultsListener extends AggregatingCalculationListener<PrimitiveResults> {
+
+  /**
+   * The builder of the results.
+   */
+  private final PrimitiveResults.Builder builder;
+
+  /**
+   * Creates an instance for a set of targets and columns.
+   *
+   * @param targets  the targets of the calculations
+   * @param columns  the columns of the calculations
+   */
+  public PrimitiveResultsListener(List<? extends CalculationTarget> targets, List<Column> columns) {
+    ArgChecker.notNull(targets, "targets");
+    ArgChecker.notNull(columns, "columns");
+    this.builder = PrimitiveResults.builder(
+        columns.stream().map(Column::toHeader).collect(toImmutableList()),
+        targets.size());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult result) {
+    builder.set(result.getRowIndex(), result.getColumnIndex(), result.getResult());
+  }
+
+  @Override
+  protected PrimitiveResults createAggregateResult() {
+    return builder.build();
+  }
+
+}
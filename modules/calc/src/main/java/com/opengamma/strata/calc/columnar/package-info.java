@@ -0,0 +1,19 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * Columnar storage of calculation results.
+ * <p>
+ * {@link com.opengamma.strata.calc.columnar.ColumnarResultsWriter ColumnarResultsWriter} writes
+ * a set of {@link com.opengamma.strata.calc.Results Results} to a file with one column per measure,
+ * and {@link com.opengamma.strata.calc.columnar.ColumnarResults ColumnarResults} reads the file back
+ * without copying the values.
+ * <p>
+ * {@link com.opengamma.strata.calc.columnar.PrimitiveResults PrimitiveResults} holds a set of results
+ * in memory using primitive arrays, and can be populated as the results are calculated using
+ * {@link com.opengamma.strata.calc.columnar.PrimitiveResultsListener PrimitiveResultsListener}.
+ */
+package com.opengamma.strata.calc.columnar;
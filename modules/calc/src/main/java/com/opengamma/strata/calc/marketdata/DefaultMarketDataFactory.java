@@ -6,20 +6,30 @@
 package com.opengamma.strata.calc.marketdata;
 
 import static com.opengamma.strata.collect.Guavate.not;
-import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.MapStream;
 import com.opengamma.strata.collect.result.Result;
-import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.ObservableId;
@@ -30,6 +40,9 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default market data factory.
  * <p>
  * This uses two providers, one for observable data and one for time-series.
+ * <p>
+ * Non-observable market data is built by scheduling the graph of dependencies on an executor.
+ * Each item is built as soon as the items it depends on are available.
  */
 final class DefaultMarketDataFactory implements MarketDataFactory {
 
@@ -42,6 +55,12 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
   /** Market data functions, keyed by the type of the market data ID they can handle. */
   private final Map<Class<? extends MarketDataId<?>>, MarketDataFunction<?, ?>> functions;
 
+  /** The executor used to build non-observable market data. */
+  private final Executor executor;
+
+  /** The listener that receives the trace of each build. */
+  private final Consumer<MarketDataBuildTrace> traceListener;
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance of the factory based on providers of market data and time-series.
@@ -52,14 +71,39 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param timeSeriesProvider  the provider time-series
    * @param functions  the functions that create the market data
    */
+  DefaultMarketDataFactory(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    this(observableDataProvider, timeSeriesProvider, MoreExecutors.directExecutor(), trace -> { }, functions);
+  }
+
+  /**
+   * Creates an instance of the factory based on providers of market data and time-series.
+   * <p>
+   * The market data functions are used to build the market data.
+   * Items of non-observable market data that do not depend on one another are built concurrently
+   * using the executor. The listener is invoked with the trace of each build once it completes.
+   *
+   * @param observableDataProvider  the provider observable market data
+   * @param timeSeriesProvider  the provider time-series
+   * @param executor  the executor used to build non-observable market data
+   * @param traceListener  the listener that receives the trace of each build
+   * @param functions  the functions that create the market data
+   */
   @SuppressWarnings("unchecked")
   DefaultMarketDataFactory(
       ObservableDataProvider observableDataProvider,
       TimeSeriesProvider timeSeriesProvider,
+      Executor executor,
+      Consumer<MarketDataBuildTrace> traceListener,
       List<MarketDataFunction<?, ?>> functions) {
 
     this.observableDataProvider = observableDataProvider;
     this.timeSeriesProvider = timeSeriesProvider;
+    this.executor = ArgChecker.notNull(executor, "executor");
+    this.traceListener = ArgChecker.notNull(traceListener, "traceListener");
 
     // Use a HashMap instead of an ImmutableMap.Builder so values can be overwritten.
     // If the functions argument includes a missing mapping builder it can overwrite the one inserted below
@@ -102,103 +146,128 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       ReferenceData refData,
       ScenarioDefinition scenarioDefinition) {
 
+    long startNanos = System.nanoTime();
     BuiltScenarioMarketDataBuilder dataBuilder = BuiltScenarioMarketData.builder(suppliedData.getValuationDate());
-    BuiltScenarioMarketData builtData = dataBuilder.build();
 
     // Build a tree of the market data dependencies. The root of the tree represents the calculations.
     // The children of the root represent the market data directly used in the calculations. The children
     // of those nodes represent the market data required to build that data, and so on
     MarketDataNode root = MarketDataNode.buildDependencyTree(requirements, suppliedData, marketDataConfig, functions);
 
-    // The leaf nodes of the dependency tree represent market data with no missing requirements for market data.
-    // This includes:
-    //   * Market data that is already available
-    //   * Observable data whose value can be obtained from a market data provider
-    //   * Market data that can be built from data that is already available
-    //
-    // Therefore the market data represented by the leaf nodes can be built immediately.
-    //
-    // Market data building proceeds in multiple steps. The operations in each step are:
-    //   1) Build the market data represented by the leaf nodes of the dependency tree
-    //   2) Create a copy of the dependency tree without the leaf nodes
-    //   3) If the root of new dependency tree has children, go to step 1 with the new tree
+    // Observable data and time-series have no dependencies, thus they are always leaves of the tree.
+    // They are obtained first, in bulk, so they can be efficiently requested from the providers in one operation.
     //
-    // When the tree has no children it indicates all dependencies have been built and the market data
-    // needed for the calculations is available.
+    // The remaining nodes of the tree form a graph of non-observable market data, such as curve groups,
+    // where each item depends on the items below it in the tree. The same item may occur many times in the tree.
+    // Each item is built once, as soon as all the items it depends on have been built.
+    // Items that do not depend on one another are built concurrently using the executor.
     //
     // The result of this method also contains details of the problems for market data can't be built or found.
 
-    while (!root.isLeaf()) {
-      // Effectively final reference to buildData which can be used in a lambda expression
-      BuiltScenarioMarketData marketData = builtData;
+    MarketDataRequirementsBuilder leafBuilder = MarketDataRequirements.builder();
+    Map<MarketDataId<?>, Set<MarketDataId<?>>> graph = new LinkedHashMap<>();
+    addNode(root, leafBuilder, graph);
+    MarketDataRequirements leafRequirements = leafBuilder.build();
 
-      // The leaves of the dependency tree represent market data with no dependencies that can be built immediately
-      Pair<MarketDataNode, MarketDataRequirements> pair = root.withLeavesRemoved();
+    // Time series of observable data ------------------------------------------------------------
 
-      // The requirements contained in the leaf nodes
-      MarketDataRequirements leafRequirements = pair.getSecond();
+    // Build any time series that are required but not available
+    leafRequirements.getTimeSeries().stream()
+        .filter(id -> suppliedData.getTimeSeries(id).isEmpty())
+        .forEach(id -> dataBuilder.addTimeSeriesResult(id, timeSeriesProvider.provideTimeSeries(id)));
 
-      // Time series of observable data ------------------------------------------------------------
+    // Copy supplied time series to the scenario data
+    leafRequirements.getTimeSeries().stream()
+        .filter(id -> !suppliedData.getTimeSeries(id).isEmpty())
+        .forEach(id -> dataBuilder.addTimeSeries(id, suppliedData.getTimeSeries(id)));
 
-      // Build any time series that are required but not available
-      leafRequirements.getTimeSeries().stream()
-          .filter(id -> marketData.getTimeSeries(id).isEmpty())
-          .filter(id -> suppliedData.getTimeSeries(id).isEmpty())
-          .forEach(id -> dataBuilder.addTimeSeriesResult(id, timeSeriesProvider.provideTimeSeries(id)));
+    // Single values of observable data -----------------------------------------------------------
 
-      // Copy supplied time series to the scenario data
-      leafRequirements.getTimeSeries().stream()
-          .filter(id -> !suppliedData.getTimeSeries(id).isEmpty())
-          .forEach(id -> dataBuilder.addTimeSeries(id, suppliedData.getTimeSeries(id)));
+    // Filter out IDs for the data that is already available
+    Set<ObservableId> observableIds = leafRequirements.getObservables().stream()
+        .filter(not(suppliedData::containsValue))
+        .collect(toImmutableSet());
 
-      // Single values of observable data -----------------------------------------------------------
-
-      // Filter out IDs for the data that is already available
-      Set<ObservableId> observableIds = leafRequirements.getObservables().stream()
-          .filter(not(marketData::containsValue))
-          .filter(not(suppliedData::containsValue))
-          .collect(toImmutableSet());
+    // Observable data is built in bulk so it can be efficiently requested from data provider in one operation
+    if (!observableIds.isEmpty()) {
+      Map<ObservableId, Result<Double>> observableResults = observableDataProvider.provideObservableData(observableIds);
+      MapStream.of(observableResults)
+          .forEach((id, res) -> addObservableResult(id, res, refData, scenarioDefinition, dataBuilder));
+    }
 
-      // Observable data is built in bulk so it can be efficiently requested from data provider in one operation
-      if (!observableIds.isEmpty()) {
-        Map<ObservableId, Result<Double>> observableResults = observableDataProvider.provideObservableData(observableIds);
-        MapStream.of(observableResults)
-            .forEach((id, res) -> addObservableResult(id, res, refData, scenarioDefinition, dataBuilder));
+    // Copy observable data from the supplied data to the builder, applying any matching perturbations
+    leafRequirements.getObservables().stream()
+        .filter(suppliedData::containsValue)
+        .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+
+    // Non-observable data -----------------------------------------------------------------------
+
+    long observableNanos = System.nanoTime();
+    GraphBuild build = new GraphBuild(
+        dataBuilder, marketDataConfig, suppliedData, refData, scenarioDefinition, startNanos);
+
+    // The graph is ordered such that each item occurs after the items it depends on
+    Map<MarketDataId<?>, CompletableFuture<Void>> futures = new HashMap<>();
+    for (Entry<MarketDataId<?>, Set<MarketDataId<?>>> entry : graph.entrySet()) {
+      MarketDataId<?> id = entry.getKey();
+      Set<MarketDataId<?>> dependencies = entry.getValue();
+      CompletableFuture<?>[] inputs = dependencies.stream()
+          .map(futures::get)
+          .toArray(CompletableFuture<?>[]::new);
+      CompletableFuture<Void> future = CompletableFuture.allOf(inputs)
+          .thenRunAsync(() -> build.buildNode(id, dependencies), executor);
+      futures.put(id, future);
+    }
+    try {
+      CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[futures.size()])).join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
       }
+      throw ex;
+    }
 
-      // Copy observable data from the supplied data to the builder, applying any matching perturbations
-      leafRequirements.getObservables().stream()
-          .filter(suppliedData::containsValue)
-          .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
-
-      // Non-observable data -----------------------------------------------------------------------
-
-      // Filter out IDs for the data that is already available and build the rest
-      Set<MarketDataId<?>> nonObservableIds = leafRequirements.getNonObservables().stream()
-          .filter(not(marketData::containsValue))
-          .filter(not(suppliedData::containsValue))
-          .collect(toImmutableSet());
-
-      Map<MarketDataId<?>, Result<MarketDataBox<?>>> nonObservableResults =
-          buildNonObservableData(nonObservableIds, marketDataConfig, marketData, refData);
-
-      MapStream.of(nonObservableResults)
-          .forEach((id, result) -> addResult(id, result, refData, scenarioDefinition, dataBuilder));
-
-      // Copy supplied data to the scenario data after applying perturbations
-      leafRequirements.getNonObservables().stream()
-          .filter(suppliedData::containsValue)
-          .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+    // --------------------------------------------------------------------------------------------
 
-      // --------------------------------------------------------------------------------------------
+    long endNanos = System.nanoTime();
+    traceListener.accept(MarketDataBuildTrace.of(
+        Duration.ofNanos(observableNanos - startNanos), Duration.ofNanos(endNanos - startNanos), build.trace));
+    return dataBuilder.build();
+  }
 
-      // Put the data built so far into an object that will be used in the next phase of building data
-      builtData = dataBuilder.build();
+  /**
+   * Adds a node of the dependency tree, and all its descendants, to the leaf requirements or the graph.
+   * <p>
+   * Observable data and time-series are added to the requirements.
+   * Non-observable data is added to the graph, after the items it depends on.
+   *
+   * @param node  the node to add
+   * @param leafBuilder  the builder of observable data and time-series requirements
+   * @param graph  the graph of non-observable data, mapping each item to the items it depends on
+   */
+  private static void addNode(
+      MarketDataNode node,
+      MarketDataRequirementsBuilder leafBuilder,
+      Map<MarketDataId<?>, Set<MarketDataId<?>>> graph) {
 
-      // A copy of the dependency tree not including the leaf nodes
-      root = pair.getFirst();
+    for (MarketDataNode child : node.getDependencies()) {
+      addNode(child, leafBuilder, graph);
+    }
+    if (node.getId() == null) {
+      return;  // root
+    }
+    if (node.getDataType() == MarketDataNode.DataType.TIME_SERIES) {
+      leafBuilder.addTimeSeries((ObservableId) node.getId());
+    } else if (node.getId() instanceof ObservableId) {
+      leafBuilder.addValues(node.getId());
+    } else {
+      Set<MarketDataId<?>> dependencies = graph.computeIfAbsent(node.getId(), id -> new LinkedHashSet<>());
+      for (MarketDataNode child : node.getDependencies()) {
+        if (child.getDataType() == MarketDataNode.DataType.SINGLE_VALUE && !(child.getId() instanceof ObservableId)) {
+          dependencies.add(child.getId());
+        }
+      }
     }
-    return builtData;
   }
 
   //-------------------------------------------------------------------------
@@ -234,42 +303,29 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     return Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
   }
 
-  @SuppressWarnings("unchecked")
-  private Map<MarketDataId<?>, Result<MarketDataBox<?>>> buildNonObservableData(
-      Set<? extends MarketDataId<?>> ids,
-      MarketDataConfig marketDataConfig,
-      BuiltScenarioMarketData marketData,
-      ReferenceData refData) {
-
-    return ids.stream()
-        .collect(toImmutableMap(id -> id, id -> buildNonObservableData(id, marketDataConfig, marketData, refData)));
-  }
-
   /**
-   * Adds an item of market data to a builder.
+   * Applies the scenario definition to the result of building an item of market data.
    * <p>
-   * If the result is a failure it is added to the list of failures.
+   * If the result is a failure it is returned unchanged.
    * <p>
-   * If the result is a success it is passed to {@link #addValue} where the scenario definition is
-   * applied and the data is added to the builder.
+   * If the result is a success it is passed to {@link #perturb} where the scenario definition is applied.
+   * The builder is not accessed, thus this can be invoked concurrently.
    *
    * @param id  ID of the market data value
    * @param valueResult  a result containing the market data value or details of why it couldn't be built
    * @param scenarioDefinition  definition of a set of scenarios
-   * @param builder  the value or failure details are added to this builder
+   * @return the result to add to the market data
    */
-  private void addResult(
+  private Result<MarketDataBox<?>> applyScenarios(
       MarketDataId<?> id,
       Result<MarketDataBox<?>> valueResult,
       ReferenceData refData,
-      ScenarioDefinition scenarioDefinition,
-      BuiltScenarioMarketDataBuilder builder) {
+      ScenarioDefinition scenarioDefinition) {
 
     if (valueResult.isFailure()) {
-      builder.addResult(id, valueResult);
-    } else {
-      addValue(id, valueResult.getValue(), refData, scenarioDefinition, builder);
+      return valueResult;
     }
+    return perturb(id, valueResult.getValue(), refData, scenarioDefinition);
   }
 
   /**
@@ -310,7 +366,6 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param scenarioDefinition  definition of a set of scenarios
    * @param builder  the market data is added to this builder
    */
-  @SuppressWarnings("unchecked")
   private void addValue(
       MarketDataId<?> id,
       MarketDataBox<?> value,
@@ -318,6 +373,27 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       ScenarioDefinition scenarioDefinition,
       BuiltScenarioMarketDataBuilder builder) {
 
+    builder.addResult(id, perturb(id, value, refData, scenarioDefinition));
+  }
+
+  /**
+   * Applies the mappings from the scenario definition to an item of market data.
+   * <p>
+   * If any of the mappings match the value, the result contains the perturbed values.
+   * Otherwise the result contains the value.
+   *
+   * @param id  ID of the market data value
+   * @param value  the market data value
+   * @param scenarioDefinition  definition of a set of scenarios
+   * @return a result containing the market data or details of why the perturbation failed
+   */
+  @SuppressWarnings("unchecked")
+  private Result<MarketDataBox<?>> perturb(
+      MarketDataId<?> id,
+      MarketDataBox<?> value,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition) {
+
     Optional<PerturbationMapping<?>> optionalMapping = scenarioDefinition.getMappings().stream()
         .filter(m -> m.matches(id, value, refData))
         .findFirst();
@@ -328,10 +404,96 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       PerturbationMapping<Object> mapping = (PerturbationMapping<Object>) optionalMapping.get();
       MarketDataBox<Object> objectValue = ((MarketDataBox<Object>) value);
       // Result.of() catches any exceptions thrown by the mapping and wraps them in a failure
-      Result<MarketDataBox<?>> result = Result.of(() -> mapping.applyPerturbation(objectValue, refData));
-      builder.addResult(id, result);
-    } else {
-      builder.addBox(id, value);
+      return Result.of(() -> mapping.applyPerturbation(objectValue, refData));
+    }
+    return Result.success(value);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The state of building the graph of non-observable market data.
+   * <p>
+   * The builder is shared by the threads building the items of the graph, thus access is synchronized.
+   * Each item is built using a snapshot of the data built so far, which includes the items it depends on.
+   * A snapshot is reused until an item depends on data added after it was created, thus the snapshot
+   * is recreated at most once for each wave of items whose dependencies have been built,
+   * rather than once for each item. Perturbations are applied outside the lock.
+   */
+  private final class GraphBuild {
+
+    private final BuiltScenarioMarketDataBuilder dataBuilder;
+    private final MarketDataConfig marketDataConfig;
+    private final ScenarioMarketData suppliedData;
+    private final ReferenceData refData;
+    private final ScenarioDefinition scenarioDefinition;
+    private final long startNanos;
+    private final List<MarketDataBuildTrace.Node> trace = new ArrayList<>();
+    // the order in which the items were added to the builder
+    private final Map<MarketDataId<?>, Integer> addedOrder = new HashMap<>();
+    private BuiltScenarioMarketData snapshot;
+    // the number of items added to the builder when the snapshot was created
+    private int snapshotSize;
+
+    private GraphBuild(
+        BuiltScenarioMarketDataBuilder dataBuilder,
+        MarketDataConfig marketDataConfig,
+        ScenarioMarketData suppliedData,
+        ReferenceData refData,
+        ScenarioDefinition scenarioDefinition,
+        long startNanos) {
+
+      this.dataBuilder = dataBuilder;
+      this.marketDataConfig = marketDataConfig;
+      this.suppliedData = suppliedData;
+      this.refData = refData;
+      this.scenarioDefinition = scenarioDefinition;
+      this.startNanos = startNanos;
+    }
+
+    // builds a single item, or copies it from the supplied data, then applies perturbations
+    private void buildNode(MarketDataId<?> id, Set<MarketDataId<?>> dependencies) {
+      long nodeStart = System.nanoTime();
+      Result<MarketDataBox<?>> result;
+      if (suppliedData.containsValue(id)) {
+        result = Result.success(suppliedData.getValue(id));
+      } else {
+        result = buildNonObservableData(id, marketDataConfig, snapshot(dependencies), refData);
+      }
+      Result<MarketDataBox<?>> perturbed = applyScenarios(id, result, refData, scenarioDefinition);
+      long nodeEnd = System.nanoTime();
+      add(id, perturbed, MarketDataBuildTrace.Node.of(
+          id,
+          ImmutableList.copyOf(dependencies),
+          Duration.ofNanos(nodeStart - startNanos),
+          Duration.ofNanos(nodeEnd - nodeStart),
+          Thread.currentThread().getName(),
+          perturbed.isSuccess()));
+    }
+
+    // obtains the data built so far, which must include the dependencies
+    private synchronized BuiltScenarioMarketData snapshot(Set<MarketDataId<?>> dependencies) {
+      if (snapshot == null || !includes(dependencies)) {
+        snapshot = dataBuilder.build();
+        snapshotSize = addedOrder.size();
+      }
+      return snapshot;
+    }
+
+    // checks if the snapshot includes the dependencies, which have all been added
+    private boolean includes(Set<MarketDataId<?>> dependencies) {
+      for (MarketDataId<?> dependency : dependencies) {
+        if (addedOrder.get(dependency) >= snapshotSize) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    // adds the result of building an item, after perturbations have been applied
+    private synchronized void add(MarketDataId<?> id, Result<MarketDataBox<?>> result, MarketDataBuildTrace.Node node) {
+      dataBuilder.addResult(id, result);
+      addedOrder.put(id, addedOrder.size());
+      trace.add(node);
     }
   }
 
@@ -0,0 +1,251 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.data.MarketDataId;
+
+/**
+ * A trace of the time taken to build each item of non-observable market data.
+ * <p>
+ * This is produced by the market data factory each time market data is built,
+ * see {@link MarketDataFactory#of(ObservableDataProvider, TimeSeriesProvider,
+ * java.util.concurrent.Executor, java.util.function.Consumer, List)}.
+ * It can be used to find the items that dominate the time taken to build market data,
+ * such as the curve groups on the critical path of the dependency graph.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class MarketDataBuildTrace {
+
+  /**
+   * The time taken to obtain observable data and time-series.
+   */
+  private final Duration observableTime;
+  /**
+   * The total time taken to build the market data.
+   */
+  private final Duration totalTime;
+  /**
+   * The nodes, in the order they were started.
+   */
+  private final ImmutableList<Node> nodes;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param observableTime  the time taken to obtain observable data and time-series
+   * @param totalTime  the total time taken to build the market data
+   * @param nodes  the nodes, in any order
+   * @return the trace
+   */
+  public static MarketDataBuildTrace of(Duration observableTime, Duration totalTime, List<Node> nodes) {
+    ArgChecker.notNull(observableTime, "observableTime");
+    ArgChecker.notNull(totalTime, "totalTime");
+    ArgChecker.noNulls(nodes, "nodes");
+    ImmutableList<Node> sorted = nodes.stream()
+        .sorted(Comparator.comparing(Node::getStartOffset))
+        .collect(toImmutableList());
+    return new MarketDataBuildTrace(observableTime, totalTime, sorted);
+  }
+
+  // restricted constructor
+  private MarketDataBuildTrace(Duration observableTime, Duration totalTime, ImmutableList<Node> nodes) {
+    this.observableTime = observableTime;
+    this.totalTime = totalTime;
+    this.nodes = nodes;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the time taken to obtain observable data and time-series.
+   * <p>
+   * All observable data and time-series are obtained before any other data is built.
+   *
+   * @return the duration
+   */
+  public Duration getObservableTime() {
+    return observableTime;
+  }
+
+  /**
+   * Gets the total time taken to build the market data.
+   *
+   * @return the duration
+   */
+  public Duration getTotalTime() {
+    return totalTime;
+  }
+
+  /**
+   * Gets the nodes of non-observable market data, in the order they were started.
+   *
+   * @return the nodes
+   */
+  public ImmutableList<Node> getNodes() {
+    return nodes;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(64 + nodes.size() * 64);
+    buf.append(Messages.format(
+        "MarketDataBuildTrace[total={}ms, observables={}ms, nodes={}]",
+        totalTime.toMillis(), observableTime.toMillis(), nodes.size()));
+    for (Node node : nodes) {
+      buf.append('\n').append("  ").append(node);
+    }
+    return buf.toString();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The trace of a single item of non-observable market data.
+   */
+  public static final class Node {
+
+    /**
+     * The identifier of the market data.
+     */
+    private final MarketDataId<?> id;
+    /**
+     * The identifiers of the non-observable market data the item was built from.
+     */
+    private final ImmutableList<MarketDataId<?>> dependencies;
+    /**
+     * The offset from the start of building the market data to the start of this item.
+     */
+    private final Duration startOffset;
+    /**
+     * The time taken to build the item.
+     */
+    private final Duration duration;
+    /**
+     * The name of the thread that built the item.
+     */
+    private final String threadName;
+    /**
+     * Whether the item was built successfully.
+     */
+    private final boolean success;
+
+    /**
+     * Obtains an instance.
+     *
+     * @param id  the identifier of the market data
+     * @param dependencies  the identifiers of the non-observable market data the item was built from
+     * @param startOffset  the offset from the start of building the market data to the start of this item
+     * @param duration  the time taken to build the item
+     * @param threadName  the name of the thread that built the item
+     * @param success  whether the item was built successfully
+     * @return the node
+     */
+    public static Node of(
+        MarketDataId<?> id,
+        List<? extends MarketDataId<?>> dependencies,
+        Duration startOffset,
+        Duration duration,
+        String threadName,
+        boolean success) {
+
+      ArgChecker.notNull(id, "id");
+      ArgChecker.noNulls(dependencies, "dependencies");
+      ArgChecker.notNull(startOffset, "startOffset");
+      ArgChecker.notNull(duration, "duration");
+      ArgChecker.notNull(threadName, "threadName");
+      return new Node(id, ImmutableList.copyOf(dependencies), startOffset, duration, threadName, success);
+    }
+
+    // restricted constructor
+    private Node(
+        MarketDataId<?> id,
+        ImmutableList<MarketDataId<?>> dependencies,
+        Duration startOffset,
+        Duration duration,
+        String threadName,
+        boolean success) {
+
+      this.id = id;
+      this.dependencies = dependencies;
+      this.startOffset = startOffset;
+      this.duration = duration;
+      this.threadName = threadName;
+      this.success = success;
+    }
+
+    /**
+     * Gets the identifier of the market data.
+     *
+     * @return the identifier
+     */
+    public MarketDataId<?> getId() {
+      return id;
+    }
+
+    /**
+     * Gets the identifiers of the non-observable market data the item was built from.
+     *
+     * @return the identifiers
+     */
+    public ImmutableList<MarketDataId<?>> getDependencies() {
+      return dependencies;
+    }
+
+    /**
+     * Gets the offset from the start of building the market data to the start of this item.
+     *
+     * @return the offset
+     */
+    public Duration getStartOffset() {
+      return startOffset;
+    }
+
+    /**
+     * Gets the time taken to build the item.
+     *
+     * @return the duration
+     */
+    public Duration getDuration() {
+      return duration;
+    }
+
+    /**
+     * Gets the name of the thread that built the item.
+     *
+     * @return the thread name
+     */
+    public String getThreadName() {
+      return threadName;
+    }
+
+    /**
+     * Checks whether the item was built successfully.
+     *
+     * @return true if the item was built
+     */
+    public boolean isSuccess() {
+      return success;
+    }
+
+    @Override
+    public String toString() {
+      return Messages.format(
+          "{} start={}ms duration={}ms thread={}{}",
+          id, startOffset.toMillis(), duration.toMillis(), threadName, success ? "" : " FAILED");
+    }
+  }
+
+}
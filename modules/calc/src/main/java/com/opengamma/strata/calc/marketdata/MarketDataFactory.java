@@ -6,6 +6,8 @@
 package com.opengamma.strata.calc.marketdata;
 
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
@@ -74,6 +76,34 @@ public interface MarketDataFactory {
     return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, functions);
   }
 
+  /**
+   * Obtains an instance of the factory that builds market data concurrently.
+   * <p>
+   * The market data functions are used to build the market data.
+   * Items of non-observable market data, such as curve groups and surfaces, that do not depend
+   * on one another are built concurrently using the executor. Each item is started as soon as
+   * the items it depends on have been built. Note that the executor is not shut down by the factory.
+   * <p>
+   * Once each set of market data has been built, the listener is invoked with a trace
+   * of the time taken to build each item.
+   *
+   * @param observableDataProvider  the provider of observable market data
+   * @param timeSeriesProvider  the provider of time-series
+   * @param executor  the executor used to build non-observable market data
+   * @param traceListener  the listener that receives the trace of each build
+   * @param functions  the functions that create the market data
+   * @return the market data factory
+   */
+  public static MarketDataFactory of(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      Executor executor,
+      Consumer<MarketDataBuildTrace> traceListener,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, executor, traceListener, functions);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds a set of market data.
@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A calculation function that can calculate measures for many targets at once.
+ * <p>
+ * A {@link CalculationFunction} is normally invoked once for each target.
+ * Where a function implements this interface, the calculation runner may instead group
+ * targets that share the same function, parameters and set of measures into a batch,
+ * see {@link CalculationTaskBatch}. The function is then invoked once for the whole batch.
+ * This allows work that only depends on the parameters and market data, such as creating
+ * the view of the market data for each scenario, to be performed once for many targets.
+ * <p>
+ * The result of a batch calculation must be the same as invoking
+ * {@link #calculate(CalculationTarget, Set, CalculationParameters, ScenarioMarketData, ReferenceData)}
+ * for each target in turn. Failures relating to a single target should be returned as a failure
+ * {@link Result} for that target. If an exception is thrown, the runner calculates each target
+ * of the batch individually, such that the failure is associated with the correct target.
+ *
+ * @param <T>  the type of target handled by this function
+ */
+public interface BatchCalculationFunction<T extends CalculationTarget> extends CalculationFunction<T> {
+
+  /**
+   * Calculates values of multiple measures for many targets using multiple sets of market data.
+   * <p>
+   * The set of measures must only contain measures that the function supports,
+   * as returned by {@link #supportedMeasures()}. The market data must provide at least the
+   * set of data requested by {@link #requirements(CalculationTarget, Set, CalculationParameters, ReferenceData)}
+   * for each target.
+   * <p>
+   * The default implementation invokes
+   * {@link #calculate(CalculationTarget, Set, CalculationParameters, ScenarioMarketData, ReferenceData)}
+   * for each target.
+   *
+   * @param targets  the targets of the calculation
+   * @param measures  the set of measures to calculate
+   * @param parameters  the parameters that affect how the calculation is performed
+   * @param marketData  the multi-scenario market data to be used in the calculation
+   * @param refData  the reference data to be used in the calculation
+   * @return the read-only maps of calculated values keyed by their measure, one for each target in the same order
+   */
+  public default List<Map<Measure, Result<?>>> calculateBatch(
+      List<? extends T> targets,
+      Set<Measure> measures,
+      CalculationParameters parameters,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    ImmutableList.Builder<Map<Measure, Result<?>>> builder = ImmutableList.builder();
+    for (T target : targets) {
+      builder.add(calculate(target, measures, parameters, marketData, refData));
+    }
+    return builder.build();
+  }
+
+}
@@ -10,6 +10,7 @@ import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -145,10 +146,53 @@ public final class CalculationTask implements ImmutableBean {
    * @param refData  the reference data
    * @return requirements specifying the market data the function needs to perform its calculations
    */
-  @SuppressWarnings("unchecked")
   public MarketDataRequirements requirements(ReferenceData refData) {
-    // determine market data requirements of the function
-    FunctionRequirements functionRequirements = function.requirements(target, getMeasures(), parameters, refData);
+    return requirements(functionRequirements(refData), reportingCurrencies(refData));
+  }
+
+  /**
+   * Determines the market data the function needs to perform its calculations.
+   * <p>
+   * Together with {@link #reportingCurrencies(ReferenceData)}, this fully determines
+   * the market data requirements of the task.
+   *
+   * @param refData  the reference data
+   * @return the function requirements
+   */
+  FunctionRequirements functionRequirements(ReferenceData refData) {
+    return function.requirements(target, getMeasures(), parameters, refData);
+  }
+
+  /**
+   * Determines the reporting currencies that currency convertible results will be converted to.
+   *
+   * @param refData  the reference data
+   * @return the reporting currencies
+   */
+  Set<Currency> reportingCurrencies(ReferenceData refData) {
+    Set<Currency> currencies = new HashSet<>();
+    for (CalculationTaskCell cell : cells) {
+      if (cell.getMeasure().isCurrencyConvertible() && !cell.getReportingCurrency().isNone()) {
+        currencies.add(cell.reportingCurrency(this, refData));
+      }
+    }
+    return currencies;
+  }
+
+  /**
+   * Converts function requirements to market data requirements.
+   * <p>
+   * This adds the requirements for the FX rates needed to convert the output values
+   * of the function into each reporting currency.
+   *
+   * @param functionRequirements  the requirements of the function
+   * @param reportingCurrencies  the reporting currencies
+   * @return the market data requirements
+   */
+  static MarketDataRequirements requirements(
+      FunctionRequirements functionRequirements,
+      Set<Currency> reportingCurrencies) {
+
     ObservableSource obsSource = functionRequirements.getObservableSource();
 
     // convert function requirements to market data requirements
@@ -165,16 +209,13 @@ public final class CalculationTask implements ImmutableBean {
     }
 
     // add requirements for the FX rates needed to convert the output values into the reporting currency
-    for (CalculationTaskCell cell : cells) {
-      if (cell.getMeasure().isCurrencyConvertible() && !cell.getReportingCurrency().isNone()) {
-        Currency reportingCurrency = cell.reportingCurrency(this, refData);
-        List<MarketDataId<FxRate>> fxRateIds = functionRequirements.getOutputCurrencies().stream()
-            .filter(outputCurrency -> !outputCurrency.equals(reportingCurrency))
-            .map(outputCurrency -> CurrencyPair.of(outputCurrency, reportingCurrency))
-            .map(pair -> FxRateId.of(pair, obsSource))
-            .collect(toImmutableList());
-        requirementsBuilder.addValues(fxRateIds);
-      }
+    for (Currency reportingCurrency : reportingCurrencies) {
+      List<MarketDataId<FxRate>> fxRateIds = functionRequirements.getOutputCurrencies().stream()
+          .filter(outputCurrency -> !outputCurrency.equals(reportingCurrency))
+          .map(outputCurrency -> CurrencyPair.of(outputCurrency, reportingCurrency))
+          .map(pair -> FxRateId.of(pair, obsSource))
+          .collect(toImmutableList());
+      requirementsBuilder.addValues(fxRateIds);
     }
     return requirementsBuilder.build();
   }
@@ -206,8 +247,28 @@ public final class CalculationTask implements ImmutableBean {
     // calculate the results
     Map<Measure, Result<?>> results = calculate(marketData, refData);
 
+    // convert the results
+    return createResults(results, ScenarioFxRateProvider.of(marketData), refData);
+  }
+
+  /**
+   * Creates the results of the task from values calculated by a batch.
+   * <p>
+   * This is used by {@link CalculationTaskBatch} once the function has calculated
+   * the values for every task in the batch.
+   *
+   * @param calculated  the values calculated by the function for the target of this task
+   * @param fxProvider  the FX rate provider for the market data
+   * @param refData  the reference data
+   * @return results of the calculation, one for every scenario in the market data
+   */
+  CalculationResults createResults(
+      Map<Measure, Result<?>> calculated,
+      ScenarioFxRateProvider fxProvider,
+      ReferenceData refData) {
+
+    Map<Measure, Result<?>> results = checkMissing(calculated);
     // convert the results, using a normal loop for better stack traces
-    ScenarioFxRateProvider fxProvider = ScenarioFxRateProvider.of(marketData);
     ImmutableList.Builder<CalculationResult> resultBuilder = ImmutableList.builder();
     for (CalculationTaskCell cell : cells) {
       resultBuilder.add(cell.createResult(this, target, results, fxProvider, refData));
@@ -217,24 +278,36 @@ public final class CalculationTask implements ImmutableBean {
     return CalculationResults.of(target, resultBuilder.build());
   }
 
+  /**
+   * Gets the set of measures that will be passed to the function.
+   * <p>
+   * This is the set of requested measures that the function supports.
+   *
+   * @return the measures
+   */
+  Set<Measure> calculatedMeasures() {
+    return Sets.intersection(getMeasures(), function.supportedMeasures());
+  }
+
   // calculates the result
   private Map<Measure, Result<?>> calculate(ScenarioMarketData marketData, ReferenceData refData) {
     try {
-      Set<Measure> requestedMeasures = getMeasures();
-      Set<Measure> supportedMeasures = function.supportedMeasures();
-      Set<Measure> measures = Sets.intersection(requestedMeasures, supportedMeasures);
-      Map<Measure, Result<?>> map = function.calculate(target, measures, parameters, marketData, refData);
-      // check if result does not contain all requested measures
-      if (!map.keySet().containsAll(requestedMeasures)) {
-        return handleMissing(requestedMeasures, supportedMeasures, map);
-      }
-      return map;
+      return function.calculate(target, calculatedMeasures(), parameters, marketData, refData);
 
     } catch (RuntimeException ex) {
       return handleFailure(ex);
     }
   }
 
+  // check if result does not contain all requested measures
+  private Map<Measure, Result<?>> checkMissing(Map<Measure, Result<?>> map) {
+    Set<Measure> requestedMeasures = getMeasures();
+    if (!map.keySet().containsAll(requestedMeasures)) {
+      return handleMissing(requestedMeasures, function.supportedMeasures(), map);
+    }
+    return map;
+  }
+
   // populate the result with failures
   private Map<Measure, Result<?>> handleMissing(
       Set<Measure> requestedMeasures,
@@ -0,0 +1,189 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.tuple.Triple;
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A batch of tasks that are calculated by a single invocation of a function.
+ * <p>
+ * Tasks can be batched where the function implements {@link BatchCalculationFunction}.
+ * The tasks of a batch share the same function instance, the same parameters and the same
+ * set of measures, differing only in the target and the cells of the grid of results.
+ * <p>
+ * Tasks whose function does not implement {@code BatchCalculationFunction} are placed in
+ * a batch of their own, which simply executes the task.
+ */
+public final class CalculationTaskBatch {
+
+  /**
+   * The number of batches to aim for per thread when sizing batches automatically.
+   * This allows threads that finish early to pick up further batches.
+   */
+  private static final int BATCHES_PER_THREAD = 4;
+
+  /**
+   * The tasks.
+   */
+  private final ImmutableList<CalculationTask> tasks;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates a suitable maximum batch size for the specified number of tasks and threads.
+   * <p>
+   * The batches are sized such that there are around four batches for each thread,
+   * ensuring the available threads are used even when there are few tasks.
+   * The result is one, meaning no batching, if there are fewer tasks than this.
+   *
+   * @param taskCount  the number of tasks
+   * @param parallelism  the number of threads that execute the batches
+   * @return the maximum batch size, at least one
+   */
+  public static int maxBatchSize(int taskCount, int parallelism) {
+    ArgChecker.notNegative(taskCount, "taskCount");
+    ArgChecker.notNegativeOrZero(parallelism, "parallelism");
+    long batchCount = (long) parallelism * BATCHES_PER_THREAD;
+    return (int) Math.max(1, (taskCount + batchCount - 1) / batchCount);
+  }
+
+  /**
+   * Groups tasks into batches.
+   * <p>
+   * Tasks are grouped where the function implements {@link BatchCalculationFunction} and
+   * the function, parameters and measures are the same. Each group is divided into batches
+   * of no more than the maximum size. All other tasks are placed in a batch of their own.
+   * A maximum size of one disables batching.
+   *
+   * @param tasks  the tasks to group
+   * @param maxBatchSize  the maximum number of tasks in a batch
+   * @return the batches, in the order the first task of each batch was found
+   */
+  public static ImmutableList<CalculationTaskBatch> of(List<CalculationTask> tasks, int maxBatchSize) {
+    ArgChecker.noNulls(tasks, "tasks");
+    ArgChecker.notNegativeOrZero(maxBatchSize, "maxBatchSize");
+
+    Map<Object, List<CalculationTask>> groups = new LinkedHashMap<>();
+    for (CalculationTask task : tasks) {
+      if (maxBatchSize > 1 && task.getFunction() instanceof BatchCalculationFunction) {
+        Triple<CalculationFunction<?>, CalculationParameters, Set<Measure>> key =
+            Triple.of(task.getFunction(), task.getParameters(), task.getMeasures());
+        groups.computeIfAbsent(key, k -> new ArrayList<>()).add(task);
+      } else {
+        groups.put(new Object(), ImmutableList.of(task));
+      }
+    }
+    ImmutableList.Builder<CalculationTaskBatch> builder = ImmutableList.builder();
+    for (List<CalculationTask> group : groups.values()) {
+      for (int start = 0; start < group.size(); start += maxBatchSize) {
+        int end = Math.min(start + maxBatchSize, group.size());
+        builder.add(new CalculationTaskBatch(ImmutableList.copyOf(group.subList(start, end))));
+      }
+    }
+    return builder.build();
+  }
+
+  // restricted constructor
+  private CalculationTaskBatch(ImmutableList<CalculationTask> tasks) {
+    this.tasks = tasks;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the tasks in the batch.
+   *
+   * @return the tasks
+   */
+  public ImmutableList<CalculationTask> getTasks() {
+    return tasks;
+  }
+
+  /**
+   * Gets the number of tasks in the batch.
+   *
+   * @return the number of tasks
+   */
+  public int size() {
+    return tasks.size();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Executes the batch, performing calculations for each task using multiple sets of market data.
+   * <p>
+   * Where the batch contains more than one task, the function is invoked once for all the targets.
+   * If the batch calculation throws an exception, each task is executed individually,
+   * such that any failure is associated with the correct target.
+   *
+   * @param marketData  the market data used in the calculation
+   * @param refData  the reference data
+   * @return results of the calculation, one for each task in the same order as the tasks
+   */
+  public ImmutableList<CalculationResults> execute(ScenarioMarketData marketData, ReferenceData refData) {
+    if (tasks.size() == 1) {
+      return ImmutableList.of(tasks.get(0).execute(marketData, refData));
+    }
+    List<Map<Measure, Result<?>>> calculated = calculate(marketData, refData);
+    if (calculated == null) {
+      return executeIndividually(marketData, refData);
+    }
+    // convert the results, using a normal loop for better stack traces
+    ScenarioFxRateProvider fxProvider = ScenarioFxRateProvider.of(marketData);
+    ImmutableList.Builder<CalculationResults> builder = ImmutableList.builder();
+    for (int i = 0; i < tasks.size(); i++) {
+      builder.add(tasks.get(i).createResults(calculated.get(i), fxProvider, refData));
+    }
+    return builder.build();
+  }
+
+  // calculates the results of the batch, null if the batch calculation failed
+  @SuppressWarnings("unchecked")
+  private List<Map<Measure, Result<?>>> calculate(ScenarioMarketData marketData, ReferenceData refData) {
+    CalculationTask first = tasks.get(0);
+    BatchCalculationFunction<CalculationTarget> function =
+        (BatchCalculationFunction<CalculationTarget>) first.getFunction();
+    List<CalculationTarget> targets = tasks.stream().map(CalculationTask::getTarget).collect(toImmutableList());
+    try {
+      List<Map<Measure, Result<?>>> calculated = function.calculateBatch(
+          targets, first.calculatedMeasures(), first.getParameters(), marketData, refData);
+      return calculated.size() == tasks.size() ? calculated : null;
+
+    } catch (RuntimeException ex) {
+      return null;
+    }
+  }
+
+  // executes each task separately
+  private ImmutableList<CalculationResults> executeIndividually(ScenarioMarketData marketData, ReferenceData refData) {
+    return tasks.stream()
+        .map(task -> task.execute(marketData, refData))
+        .collect(toImmutableList());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("CalculationTaskBatch[size={}, function={}]",
+        tasks.size(), tasks.get(0).getFunction().getClass().getSimpleName());
+  }
+
+}
@@ -79,6 +79,25 @@ public interface CalculationTaskRunner extends AutoCloseable {
     return DefaultCalculationTaskRunner.of(executor);
   }
 
+  /**
+   * Creates a calculation task runner capable of performing calculations, specifying the executor
+   * and the maximum number of tasks in a batch.
+   * <p>
+   * Tasks whose function implements {@link BatchCalculationFunction} are calculated in batches.
+   * By default, the batches are sized from the number of tasks and the parallelism of the executor,
+   * such that there are several batches for each thread. This method fixes the maximum batch size instead,
+   * with a size of one disabling batching.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param maxBatchSize  the maximum number of tasks in a batch, one to disable batching
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner of(ExecutorService executor, int maxBatchSize) {
+    return DefaultCalculationTaskRunner.of(executor, maxBatchSize);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
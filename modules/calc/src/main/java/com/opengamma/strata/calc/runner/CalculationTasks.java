@@ -7,6 +7,7 @@ package com.opengamma.strata.calc.runner;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -23,6 +24,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ListMultimap;
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.calc.CalculationRules;
 import com.opengamma.strata.calc.CalculationRunner;
 import com.opengamma.strata.calc.Column;
@@ -31,6 +33,7 @@ import com.opengamma.strata.calc.ReportingCurrency;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirementsBuilder;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.tuple.Pair;
 
 /**
  * The tasks that will be used to perform the calculations.
@@ -195,6 +198,12 @@ public final class CalculationTasks implements ImmutableBean {
    * Gets the market data that is required to perform the calculations.
    * <p>
    * This can be used to pass into the market data system to obtain and calibrate data.
+   * <p>
+   * The function requirements are determined for every task, as they depend on the target.
+   * Only their conversion to market data requirements, and the merge, are deduplicated.
+   * Many tasks typically have identical requirements, for example trades of the same type
+   * in the same currency, thus each distinct combination of function requirements and
+   * reporting currencies is only converted and merged once.
    *
    * @param refData  the reference data
    * @return the market data required for all calculations
@@ -202,9 +211,14 @@ public final class CalculationTasks implements ImmutableBean {
    */
   public MarketDataRequirements requirements(ReferenceData refData) {
     // use for loop not streams for shorter stack traces
+    Set<Pair<FunctionRequirements, Set<Currency>>> distinct = new HashSet<>();
     MarketDataRequirementsBuilder builder = MarketDataRequirements.builder();
     for (CalculationTask task : tasks) {
-      builder.addRequirements(task.requirements(refData));
+      FunctionRequirements functionRequirements = task.functionRequirements(refData);
+      Set<Currency> reportingCurrencies = task.reportingCurrencies(refData);
+      if (distinct.add(Pair.of(functionRequirements, reportingCurrencies))) {
+        builder.addRequirements(CalculationTask.requirements(functionRequirements, reportingCurrencies));
+      }
     }
     return builder.build();
   }
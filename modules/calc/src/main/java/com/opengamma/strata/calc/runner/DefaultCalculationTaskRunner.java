@@ -13,7 +13,9 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -41,6 +43,10 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * This will typically be multi-threaded, but single or direct executors also work.
    */
   private final ExecutorService executor;
+  /**
+   * The maximum number of tasks in a batch, zero to size the batches from the number of tasks.
+   */
+  private final int maxBatchSize;
 
   //-------------------------------------------------------------------------
   /**
@@ -57,7 +63,7 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner ofMultiThreaded() {
-    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()));
+    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()), 0);
   }
 
   /**
@@ -69,7 +75,22 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner of(ExecutorService executor) {
-    return new DefaultCalculationTaskRunner(executor);
+    return new DefaultCalculationTaskRunner(executor, 0);
+  }
+
+  /**
+   * Creates a calculation task runner capable of performing calculations, specifying the executor
+   * and the maximum number of tasks in a batch.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param maxBatchSize  the maximum number of tasks in a batch, one to disable batching
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner of(ExecutorService executor, int maxBatchSize) {
+    ArgChecker.notNegativeOrZero(maxBatchSize, "maxBatchSize");
+    return new DefaultCalculationTaskRunner(executor, maxBatchSize);
   }
 
   // create an executor with daemon threads
@@ -89,9 +110,11 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * Creates an instance specifying the executor to use.
    * 
    * @param executor  the executor that is used to perform the calculations
+   * @param maxBatchSize  the maximum number of tasks in a batch, zero to size the batches from the number of tasks
    */
-  private DefaultCalculationTaskRunner(ExecutorService executor) {
+  private DefaultCalculationTaskRunner(ExecutorService executor, int maxBatchSize) {
     this.executor = ArgChecker.notNull(executor, "executor");
+    this.maxBatchSize = maxBatchSize;
   }
 
   //-------------------------------------------------------------------------
@@ -180,21 +203,37 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     // the wrapper ensures thread-safety for the listener
     // it also calls the listener with single CalculationResult cells, not CalculationResults
     Consumer<CalculationResults> consumer = new ListenerWrapper(listener, taskList.size());
-    // run each task using the executor
-    taskList.stream().forEach(task -> runTask(task, marketData, refData, consumer));
+    // group tasks whose function can calculate many targets at once
+    List<CalculationTaskBatch> batches = CalculationTaskBatch.of(taskList, maxBatchSize(taskList.size()));
+    // run each batch using the executor
+    batches.stream().forEach(batch -> runBatch(batch, marketData, refData, consumer));
+  }
+
+  // the maximum batch size, based on the parallelism of the executor if not specified
+  private int maxBatchSize(int taskCount) {
+    if (maxBatchSize > 0) {
+      return maxBatchSize;
+    }
+    int parallelism = Runtime.getRuntime().availableProcessors();
+    if (executor instanceof ThreadPoolExecutor) {
+      parallelism = ((ThreadPoolExecutor) executor).getMaximumPoolSize();
+    } else if (executor instanceof ForkJoinPool) {
+      parallelism = ((ForkJoinPool) executor).getParallelism();
+    }
+    return CalculationTaskBatch.maxBatchSize(taskCount, Math.max(parallelism, 1));
   }
 
-  // submits a task to the executor to be run
-  private void runTask(
-      CalculationTask task,
+  // submits a batch of tasks to the executor to be run
+  private void runBatch(
+      CalculationTaskBatch batch,
       ScenarioMarketData marketData,
       ReferenceData refData,
       Consumer<CalculationResults> consumer) {
 
-    // the task is executed, with the result passed to the consumer
+    // the batch is executed, with the result of each task passed to the consumer
     // the consumer wraps the listener to ensure thread-safety
-    Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, refData);
-    CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
+    Supplier<List<CalculationResults>> batchExecutor = () -> batch.execute(marketData, refData);
+    CompletableFuture.supplyAsync(batchExecutor, executor).thenAccept(results -> results.forEach(consumer));
   }
 
   //-------------------------------------------------------------------------
@@ -0,0 +1,184 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.columnar;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.ColumnName;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+
+/**
+ * Test {@link ColumnarResultsWriter} and {@link ColumnarResults}.
+ */
+@Test
+public class ColumnarResultsTest {
+
+  private static final ColumnHeader HEADER_PV =
+      ColumnHeader.of(ColumnName.of("PV"), TestingMeasures.PRESENT_VALUE, USD);
+  private static final ColumnHeader HEADER_RATE = ColumnHeader.of(ColumnName.of("Rate"), TestingMeasures.PAR_RATE);
+  private static final ColumnHeader HEADER_PV_SCENARIOS =
+      ColumnHeader.of(ColumnName.of("PV Scenarios"), TestingMeasures.PRESENT_VALUE);
+  private static final ColumnHeader HEADER_RATE_SCENARIOS =
+      ColumnHeader.of(ColumnName.of("Rate Scenarios"), TestingMeasures.PAR_RATE);
+  private static final ColumnHeader HEADER_OTHER = ColumnHeader.of(ColumnName.of("Other"), TestingMeasures.CASH_FLOWS);
+
+  //-------------------------------------------------------------------------
+  public void test_roundTrip() throws Exception {
+    Results results = Results.of(
+        ImmutableList.of(HEADER_PV, HEADER_RATE, HEADER_PV_SCENARIOS, HEADER_RATE_SCENARIOS, HEADER_OTHER),
+        ImmutableList.of(
+            Result.success(CurrencyAmount.of(GBP, 1d)),
+            Result.success(0.01d),
+            Result.success(CurrencyScenarioArray.of(GBP, DoubleArray.of(1, 2, 3))),
+            Result.success(DoubleScenarioArray.of(DoubleArray.of(4, 5, 6))),
+            Result.success("A"),
+            Result.success(CurrencyAmount.of(EUR, 2d)),
+            Result.failure(FailureReason.CALCULATION_FAILED, "Failed {}", "here"),
+            Result.success(CurrencyScenarioArray.of(USD, DoubleArray.of(7, 8, 9))),
+            Result.success(DoubleScenarioArray.of(DoubleArray.of(10, 11))),
+            Result.failure(FailureReason.MISSING_DATA, "Missing"),
+            Result.success(CurrencyAmount.of(GBP, 3d)),
+            Result.success(0.03d),
+            Result.failure(FailureReason.ERROR, "Error"),
+            Result.success(DoubleScenarioArray.of(DoubleArray.of(12, 13, 14))),
+            Result.success("C")));
+    Path file = Files.createTempFile("results", ".bin");
+    try {
+      ColumnarResultsWriter.write(results, file);
+      ColumnarResults test = ColumnarResults.read(file);
+      assertEquals(test.getRowCount(), 3);
+      assertEquals(test.getColumnCount(), 5);
+      assertEquals(test.getColumns(), results.getColumns());
+      assertEquals(test.getColumnType(0), ColumnarValueType.CURRENCY_AMOUNT);
+      assertEquals(test.getColumnType(1), ColumnarValueType.DOUBLE);
+      assertEquals(test.getColumnType(2), ColumnarValueType.CURRENCY_SCENARIOS);
+      assertEquals(test.getColumnType(3), ColumnarValueType.DOUBLE_SCENARIOS);
+      assertEquals(test.getColumnType(4), ColumnarValueType.UNSUPPORTED);
+      assertEquals(test.getScenarioCount(0), 1);
+      assertEquals(test.getScenarioCount(2), 3);
+
+      // primitive access
+      assertEquals(test.getValue(1, 0, 0), 2d);
+      assertEquals(test.getCurrency(1, 0), EUR);
+      assertEquals(test.getValue(2, 1, 0), 0.03d);
+      assertEquals(test.getValues(1, 2), DoubleArray.of(7, 8, 9));
+      assertEquals(test.getCurrency(1, 2), USD);
+      assertTrue(test.hasValue(0, 3));
+      assertFalse(test.hasValue(1, 3));
+      assertFalse(test.hasValue(1, 1));
+      assertThrowsIllegalArg(() -> test.getValue(1, 1, 0));
+      assertThrowsIllegalArg(() -> test.getCurrency(0, 1));
+      assertThrowsIllegalArg(() -> test.getValue(0, 2, 3));
+
+      // column access
+      DoubleBuffer column = test.getColumnValues(2);
+      assertEquals(column.remaining(), 9);
+      assertEquals(column.get(4), 8d);
+      assertTrue(column.isReadOnly());
+
+      // results
+      assertEquals(test.getResult(0, 0), results.get(0, 0));
+      assertEquals(test.getResult(1, 2), results.get(1, 2));
+      assertEquals(test.getResult(2, 3), results.get(2, 3));
+      assertEquals(test.getResult(1, 1).getFailure().getReason(), FailureReason.CALCULATION_FAILED);
+      assertEquals(test.getResult(1, 1).getFailure().getMessage(), "Failed here");
+      assertEquals(test.getResult(1, 3).getFailure().getReason(), FailureReason.UNSUPPORTED);
+      assertEquals(test.getResult(0, 4).getFailure().getReason(), FailureReason.UNSUPPORTED);
+      assertEquals(test.getResult(1, 4).getFailure().getReason(), FailureReason.MISSING_DATA);
+      Results converted = test.toResults();
+      assertEquals(converted.getColumns(), results.getColumns());
+      assertEquals(converted.get(2, 0), results.get(2, 0));
+      assertEquals(converted.get(0, 1), results.get(0, 1));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  public void test_empty() throws Exception {
+    Results results = Results.of(ImmutableList.of(HEADER_PV), ImmutableList.of());
+    Path file = Files.createTempFile("results", ".bin");
+    try {
+      ColumnarResultsWriter.write(results, file);
+      ColumnarResults test = ColumnarResults.read(file);
+      assertEquals(test.getRowCount(), 0);
+      assertEquals(test.getColumns(), ImmutableList.of(HEADER_PV));
+      assertEquals(test.getColumnType(0), ColumnarValueType.UNSUPPORTED);
+      assertThrows(
+          () -> test.getResult(0, 0), IllegalArgumentException.class, "Row index must be greater than or.*");
+      assertThrows(
+          () -> test.getResult(-1, 1), IllegalArgumentException.class, "Column index must be greater than or.*");
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  public void test_notColumnar() throws Exception {
+    Path file = Files.createTempFile("results", ".bin");
+    try {
+      Files.write(file, new byte[16]);
+      assertThrowsIllegalArg(() -> ColumnarResults.read(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Test(enabled = false)
+  public void performance() throws Exception {
+    int rowCount = 100_000;
+    int scenarioCount = 100;
+    List<Result<?>> cells = new ArrayList<>();
+    for (int i = 0; i < rowCount; i++) {
+      cells.add(Result.success(CurrencyAmount.of(GBP, i)));
+      cells.add(Result.success(CurrencyScenarioArray.of(USD, DoubleArray.of(scenarioCount, j -> i + j))));
+    }
+    Results results = Results.of(ImmutableList.of(HEADER_PV, HEADER_PV_SCENARIOS), cells);
+    Path file = Files.createTempFile("results", ".bin");
+    try {
+      for (int i = 0; i < 5; i++) {
+        long start = System.nanoTime();
+        ColumnarResultsWriter.write(results, file);
+        long written = System.nanoTime();
+        ColumnarResults test = ColumnarResults.read(file);
+        DoubleBuffer values = test.getColumnValues(1);
+        double total = 0;
+        while (values.hasRemaining()) {
+          total += values.get();
+        }
+        long end = System.nanoTime();
+        System.out.println("Write: " + ((written - start) / 1_000_000) + "ms, read and sum: " +
+            ((end - written) / 1_000_000) + "ms, size: " + Files.size(file) + ", total: " + total);
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+}
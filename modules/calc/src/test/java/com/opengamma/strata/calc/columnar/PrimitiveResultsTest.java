@@ -0,0 +1,207 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.columnar;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.JPY;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.ColumnName;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+
+/**
+ * Test {@link PrimitiveResults} and {@link PrimitiveResultsListener}.
+ */
+@Test
+public class PrimitiveResultsTest {
+
+  private static final ColumnName NAME_PV = ColumnName.of("PV");
+  private static final ColumnHeader HEADER_PV = ColumnHeader.of(NAME_PV, TestingMeasures.PRESENT_VALUE);
+  private static final ColumnHeader HEADER_RATE = ColumnHeader.of(ColumnName.of("Rate"), TestingMeasures.PAR_RATE);
+  private static final ColumnHeader HEADER_MULTI =
+      ColumnHeader.of(ColumnName.of("Multi"), TestingMeasures.PRESENT_VALUE_MULTI_CCY);
+  private static final ColumnHeader HEADER_MULTI_SCENARIOS =
+      ColumnHeader.of(ColumnName.of("Multi Scenarios"), TestingMeasures.PRESENT_VALUE_MULTI_CCY);
+  private static final ColumnHeader HEADER_SCENARIOS =
+      ColumnHeader.of(ColumnName.of("Scenarios"), TestingMeasures.PRESENT_VALUE);
+  private static final ColumnHeader HEADER_OTHER = ColumnHeader.of(ColumnName.of("Other"), TestingMeasures.CASH_FLOWS);
+
+  private static final Results RESULTS = Results.of(
+      ImmutableList.of(HEADER_PV, HEADER_RATE, HEADER_MULTI, HEADER_MULTI_SCENARIOS, HEADER_SCENARIOS, HEADER_OTHER),
+      ImmutableList.of(
+          Result.success(CurrencyAmount.of(GBP, 1d)),
+          Result.success(0.01d),
+          Result.success(MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 1d), CurrencyAmount.of(USD, 2d))),
+          Result.success(MultiCurrencyScenarioArray.of(ImmutableMap.of(
+              EUR, DoubleArray.of(1, 2), JPY, DoubleArray.of(3, 4)))),
+          Result.success(CurrencyScenarioArray.of(USD, DoubleArray.of(5, 6, 7))),
+          Result.success("A"),
+          Result.success(CurrencyAmount.of(EUR, 2d)),
+          Result.failure(FailureReason.CALCULATION_FAILED, "Failed"),
+          Result.success(MultiCurrencyAmount.of(CurrencyAmount.of(USD, 0d))),
+          Result.success(MultiCurrencyScenarioArray.of(ImmutableMap.of(GBP, DoubleArray.of(8, 9)))),
+          Result.success(DoubleScenarioArray.of(DoubleArray.of(1, 2, 3))),
+          Result.failure(FailureReason.MISSING_DATA, "Missing"),
+          Result.success(CurrencyAmount.of(GBP, 3d)),
+          Result.success(0.03d),
+          Result.success(MultiCurrencyAmount.empty()),
+          Result.success(MultiCurrencyScenarioArray.of(ImmutableMap.of(GBP, DoubleArray.of(1, 2, 3)))),
+          Result.success(CurrencyScenarioArray.of(JPY, DoubleArray.of(8, 9, 10))),
+          Result.success("C")));
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    PrimitiveResults test = PrimitiveResults.of(RESULTS);
+    assertEquals(test.getRowCount(), 3);
+    assertEquals(test.getColumnCount(), 6);
+    assertEquals(test.getColumns(), RESULTS.getColumns());
+    assertEquals(test.getColumnType(0), ColumnarValueType.CURRENCY_AMOUNT);
+    assertEquals(test.getColumnType(1), ColumnarValueType.DOUBLE);
+    assertEquals(test.getColumnType(2), ColumnarValueType.MULTI_CURRENCY_AMOUNT);
+    assertEquals(test.getColumnType(3), ColumnarValueType.MULTI_CURRENCY_SCENARIOS);
+    assertEquals(test.getColumnType(4), ColumnarValueType.CURRENCY_SCENARIOS);
+    assertEquals(test.getColumnType(5), ColumnarValueType.UNSUPPORTED);
+    assertEquals(test.getScenarioCount(3), 2);
+    assertEquals(test.getScenarioCount(5), 0);
+    for (int row = 0; row < RESULTS.getRowCount(); row++) {
+      for (int col = 0; col < RESULTS.getColumnCount(); col++) {
+        assertEquals(test.get(row, col), RESULTS.get(row, col));
+      }
+    }
+    assertEquals(test.toResults(), RESULTS);
+  }
+
+  public void test_get() {
+    PrimitiveResults test = PrimitiveResults.of(RESULTS);
+    assertEquals(test.get(1, 0, CurrencyAmount.class).getValue(), CurrencyAmount.of(EUR, 2d));
+    assertEquals(test.get(2, NAME_PV), RESULTS.get(2, NAME_PV));
+    assertEquals(test.get(2, NAME_PV, CurrencyAmount.class).getValue(), CurrencyAmount.of(GBP, 3d));
+    assertEquals(test.get(1, 1, Double.class).getFailure().getMessage(), "Failed");
+    assertThrows(() -> test.get(0, 0, Double.class), ClassCastException.class);
+    assertThrows(() -> test.get(3, 0), IllegalArgumentException.class, "Row index must be greater than or.*");
+    assertThrows(() -> test.get(0, 6), IllegalArgumentException.class, "Column index must be greater than or.*");
+    assertThrows(() -> test.get(0, ColumnName.of("X")), IllegalArgumentException.class, "Column name not found.*");
+  }
+
+  public void test_primitives() {
+    PrimitiveResults test = PrimitiveResults.of(RESULTS);
+    assertEquals(test.getValue(1, 0, 0), 2d);
+    assertEquals(test.getValue(1, 0, 0, EUR), 2d);
+    assertEquals(test.getValue(1, 0, 0, GBP), 0d);
+    assertEquals(test.getCurrencies(1, 0), ImmutableSet.of(EUR));
+    assertEquals(test.getValue(2, 1, 0), 0.03d);
+    assertEquals(test.getValue(0, 2, 0, USD), 2d);
+    assertEquals(test.getValue(0, 2, 0, EUR), 0d);
+    assertEquals(test.getCurrencies(0, 2), ImmutableSet.of(GBP, USD));
+    assertEquals(test.getCurrencies(1, 2), ImmutableSet.of(USD));
+    assertEquals(test.getCurrencies(2, 2), ImmutableSet.of());
+    assertEquals(test.getValue(0, 3, 1, JPY), 4d);
+    assertEquals(test.getValue(2, 4, 2), 10d);
+    assertTrue(test.hasValue(0, 3));
+    assertFalse(test.hasValue(2, 3));
+    assertFalse(test.hasValue(1, 1));
+    assertFalse(test.hasValue(0, 5));
+    assertThrowsIllegalArg(() -> test.getValue(0, 2, 0));
+    assertThrowsIllegalArg(() -> test.getValue(1, 1, 0));
+    assertThrowsIllegalArg(() -> test.getValue(0, 4, 3));
+    assertThrowsIllegalArg(() -> test.getCurrencies(0, 1));
+  }
+
+  public void test_builder() {
+    PrimitiveResults.Builder builder = PrimitiveResults.builder(ImmutableList.of(HEADER_PV, HEADER_RATE), 2);
+    builder.set(0, 0, Result.success(CurrencyAmount.of(GBP, 1d)));
+    builder.set(0, 0, Result.failure(FailureReason.ERROR, "Error"));
+    builder.set(1, 0, Result.success("B"));
+    builder.set(1, 0, Result.success(CurrencyAmount.of(USD, 2d)));
+    builder.set(1, 1, Result.success(0.02d));
+    PrimitiveResults test = builder.build();
+    assertEquals(test.get(0, 0).getFailure().getReason(), FailureReason.ERROR);
+    assertEquals(test.get(1, 0).getValue(), CurrencyAmount.of(USD, 2d));
+    assertEquals(test.get(0, 1).getFailure().getReason(), FailureReason.MISSING_DATA);
+    assertEquals(test.get(1, 1).getValue(), 0.02d);
+    assertThrowsIllegalArg(() -> builder.build());
+    assertThrowsIllegalArg(() -> builder.set(0, 1, Result.success(0.01d)));
+  }
+
+  public void test_listener() {
+    List<Column> columns =
+        ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE), Column.of(TestingMeasures.PAR_RATE));
+    List<TestTarget> targets = ImmutableList.of(new TestTarget(), new TestTarget());
+    PrimitiveResultsListener listener = new PrimitiveResultsListener(targets, columns);
+    listener.resultReceived(targets.get(1), CalculationResult.of(1, 1, Result.success(0.02d)));
+    listener.resultReceived(targets.get(0), CalculationResult.of(0, 0, Result.success(CurrencyAmount.of(GBP, 1d))));
+    listener.resultReceived(targets.get(1), CalculationResult.of(1, 0, Result.success(CurrencyAmount.of(USD, 2d))));
+    listener.resultReceived(targets.get(0), CalculationResult.of(0, 1, Result.success(0.01d)));
+    listener.calculationsComplete();
+    PrimitiveResults test = listener.result();
+    assertEquals(test.getColumns(), ImmutableList.of(columns.get(0).toHeader(), columns.get(1).toHeader()));
+    assertEquals(test.getValue(0, 0, 0, GBP), 1d);
+    assertEquals(test.getValue(1, 0, 0, USD), 2d);
+    assertEquals(test.getValue(0, 1, 0), 0.01d);
+    assertEquals(test.getValue(1, 1, 0), 0.02d);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test(enabled = false)
+  public void performance() {
+    int rowCount = 10_000;
+    int scenarioCount = 250;
+    List<Result<?>> cells = new ArrayList<>();
+    for (int i = 0; i < rowCount; i++) {
+      int row = i;
+      cells.add(Result.success(CurrencyScenarioArray.of(USD, DoubleArray.of(scenarioCount, j -> row + j))));
+      cells.add(Result.success(MultiCurrencyScenarioArray.of(ImmutableMap.of(
+          GBP, DoubleArray.of(scenarioCount, j -> row), USD, DoubleArray.of(scenarioCount, j -> j)))));
+    }
+    Results results = Results.of(ImmutableList.of(HEADER_SCENARIOS, HEADER_MULTI_SCENARIOS), cells);
+    for (int i = 0; i < 5; i++) {
+      long start = System.nanoTime();
+      PrimitiveResults test = PrimitiveResults.of(results);
+      long built = System.nanoTime();
+      double total = 0;
+      for (int row = 0; row < rowCount; row++) {
+        for (int scenario = 0; scenario < scenarioCount; scenario++) {
+          total += test.getValue(row, 0, scenario) + test.getValue(row, 1, scenario, GBP);
+        }
+      }
+      long end = System.nanoTime();
+      System.out.println("Build: " + ((built - start) / 1_000_000) + "ms, sum: " +
+          ((end - built) / 1_000_000) + "ms, total: " + total);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class TestTarget implements CalculationTarget {
+  }
+
+}
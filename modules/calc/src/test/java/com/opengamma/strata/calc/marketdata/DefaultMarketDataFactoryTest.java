@@ -5,14 +5,19 @@
  */
 package com.opengamma.strata.calc.marketdata;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.TestHelper.assertThrows;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.testng.annotations.Test;
 
@@ -355,6 +360,59 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketData.getValue(new TestIdC("2"))).isEqualTo(expectedC2);
   }
 
+  /**
+   * Tests building intermediate values concurrently, checking the trace of the build.
+   */
+  public void buildConcurrentlyWithTrace() {
+    Map<TestIdA, LocalDateDoubleTimeSeries> timeSeriesMap = ImmutableMap.of(
+        new TestIdA("1"), LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 1),
+        new TestIdA("2"), LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 10));
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"))
+        .build();
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      AtomicReference<MarketDataBuildTrace> traceRef = new AtomicReference<>();
+      MarketDataFactory factory = MarketDataFactory.of(
+          new TestObservableDataProvider(),
+          new TestTimeSeriesProvider(timeSeriesMap),
+          executor,
+          traceRef::set,
+          ImmutableList.of(new TestMarketDataFunctionB(), new TestMarketDataFunctionC()));
+
+      MarketData suppliedData = MarketData.empty(date(2011, 3, 8));
+      BuiltMarketData marketData = factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+      assertThat(marketData.getValueFailures()).isEmpty();
+      TestMarketDataC expectedC1 = new TestMarketDataC(timeSeriesMap.get(new TestIdA("1")));
+      assertThat(marketData.getValue(new TestIdB("1"))).isEqualTo(new TestMarketDataB(1, expectedC1));
+      assertThat(marketData.getValue(new TestIdC("1"))).isEqualTo(expectedC1);
+
+      // each item built once, after the items it depends on
+      MarketDataBuildTrace trace = traceRef.get();
+      List<MarketDataId<?>> builtIds = trace.getNodes().stream()
+          .map(MarketDataBuildTrace.Node::getId)
+          .collect(toImmutableList());
+      assertThat(builtIds).containsOnly(new TestIdB("1"), new TestIdB("2"), new TestIdC("1"), new TestIdC("2"));
+      assertThat(builtIds).hasSize(4);
+      for (MarketDataBuildTrace.Node node : trace.getNodes()) {
+        assertThat(node.isSuccess()).isTrue();
+        if (node.getId() instanceof TestIdB) {
+          String index = ((TestIdB) node.getId()).str;
+          assertThat(node.getDependencies()).containsExactly(new TestIdC(index));
+          MarketDataBuildTrace.Node input = trace.getNodes().get(builtIds.indexOf(new TestIdC(index)));
+          assertThat(node.getStartOffset()).isGreaterThanOrEqualTo(input.getStartOffset().plus(input.getDuration()));
+        } else {
+          assertThat(node.getDependencies()).isEmpty();
+        }
+      }
+      assertThat(trace.getTotalTime()).isGreaterThanOrEqualTo(trace.getObservableTime());
+      assertThat(trace.toString()).startsWith("MarketDataBuildTrace[");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   /**
    * Tests building multiple observable values for scenarios where the values aren't perturbed.
    */
@@ -695,6 +753,37 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketData.getValue(id2)).isEqualTo(MarketDataBox.ofSingleValue("2.0"));
   }
 
+  /**
+   * Tests that the trace records a failure when the value is built but cannot be perturbed.
+   */
+  public void perturbationFailureWithTrace() {
+    AtomicReference<MarketDataBuildTrace> traceRef = new AtomicReference<>();
+    MarketDataFactory factory = MarketDataFactory.of(
+        new TestObservableDataProvider(),
+        new TestTimeSeriesProvider(ImmutableMap.of()),
+        Runnable::run,
+        traceRef::set,
+        ImmutableList.of(new NonObservableMarketDataFunction()));
+    BuiltScenarioMarketData suppliedData = BuiltScenarioMarketData.builder(date(2011, 3, 8)).build();
+
+    NonObservableId id1 = new NonObservableId("a");
+    NonObservableId id2 = new NonObservableId("b");
+    MarketDataRequirements requirements = MarketDataRequirements.builder().addValues(id1, id2).build();
+    PerturbationMapping<String> mapping =
+        PerturbationMapping.of(String.class, new ExactIdFilter<>(id1), new FailingPerturbation());
+    ScenarioDefinition scenarioDefinition = ScenarioDefinition.ofMappings(ImmutableList.of(mapping));
+    BuiltScenarioMarketData marketData = factory.createMultiScenario(
+        requirements,
+        MARKET_DATA_CONFIG,
+        suppliedData,
+        REF_DATA, scenarioDefinition);
+
+    assertThat(marketData.getValueFailures()).containsOnlyKeys(id1);
+    Map<MarketDataId<?>, Boolean> success = traceRef.get().getNodes().stream()
+        .collect(toImmutableMap(MarketDataBuildTrace.Node::getId, MarketDataBuildTrace.Node::isSuccess));
+    assertThat(success).isEqualTo(ImmutableMap.of(id1, false, id2, true));
+  }
+
   /**
    * Tests that non-observable data is only perturbed once, even if there are two applicable perturbation mappings.
    */
@@ -1311,6 +1400,22 @@ public class DefaultMarketDataFactoryTest {
     }
   }
 
+  /**
+   * Perturbation that always fails.
+   */
+  private static final class FailingPerturbation implements ScenarioPerturbation<String> {
+
+    @Override
+    public MarketDataBox<String> applyTo(MarketDataBox<String> marketData, ReferenceData refData) {
+      throw new IllegalStateException("Perturbation failed");
+    }
+
+    @Override
+    public int getScenarioCount() {
+      return 2;
+    }
+  }
+
   /**
    * Perturbation that perturbs TestMarketDataC by scaling its time series.
    */
@@ -0,0 +1,283 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link CalculationTaskBatch} and {@link BatchCalculationFunction}.
+ */
+@Test
+public class CalculationTaskBatchTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ScenarioMarketData MARKET_DATA = ScenarioMarketData.of(1, MarketData.empty(date(2011, 3, 8)));
+  private static final Measure PV = TestingMeasures.PRESENT_VALUE;
+  private static final Measure PAR_RATE = TestingMeasures.PAR_RATE;
+
+  //-------------------------------------------------------------------------
+  public void test_of_grouping() {
+    BatchFunction batchFn = new BatchFunction();
+    BatchFunction batchFn2 = new BatchFunction();
+    CalculationTaskTest.TestFunction plainFn = new CalculationTaskTest.TestFunction();
+    CalculationTask task0 = task(0, batchFn, PV);
+    CalculationTask task1 = task(1, plainFn, PV);
+    CalculationTask task2 = task(2, batchFn, PV);
+    CalculationTask task3 = task(3, batchFn, PAR_RATE);
+    CalculationTask task4 = task(4, batchFn2, PV);
+    CalculationTask task5 = task(5, plainFn, PV);
+    CalculationTask task6 = task(6, batchFn, PV);
+
+    List<CalculationTaskBatch> test = CalculationTaskBatch.of(
+        ImmutableList.of(task0, task1, task2, task3, task4, task5, task6), 10);
+    assertEquals(test.size(), 5);
+    assertEquals(test.get(0).getTasks(), ImmutableList.of(task0, task2, task6));
+    assertEquals(test.get(1).getTasks(), ImmutableList.of(task1));
+    assertEquals(test.get(2).getTasks(), ImmutableList.of(task3));
+    assertEquals(test.get(3).getTasks(), ImmutableList.of(task4));
+    assertEquals(test.get(4).getTasks(), ImmutableList.of(task5));
+  }
+
+  public void test_of_maxBatchSize() {
+    BatchFunction batchFn = new BatchFunction();
+    List<CalculationTask> tasks = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      tasks.add(task(i, batchFn, PV));
+    }
+    List<CalculationTaskBatch> test = CalculationTaskBatch.of(tasks, 2);
+    assertEquals(test.size(), 3);
+    assertEquals(test.get(0).getTasks(), tasks.subList(0, 2));
+    assertEquals(test.get(1).getTasks(), tasks.subList(2, 4));
+    assertEquals(test.get(2).getTasks(), tasks.subList(4, 5));
+    assertEquals(test.get(2).size(), 1);
+    assertEquals(CalculationTaskBatch.of(tasks, 1).size(), 5);
+    assertThrowsIllegalArg(() -> CalculationTaskBatch.of(tasks, 0));
+  }
+
+  public void test_maxBatchSize() {
+    assertEquals(CalculationTaskBatch.maxBatchSize(0, 4), 1);
+    assertEquals(CalculationTaskBatch.maxBatchSize(16, 4), 1);
+    assertEquals(CalculationTaskBatch.maxBatchSize(17, 4), 2);
+    assertEquals(CalculationTaskBatch.maxBatchSize(400, 8), 13);
+    assertEquals(CalculationTaskBatch.maxBatchSize(400, 1), 100);
+    assertThrowsIllegalArg(() -> CalculationTaskBatch.maxBatchSize(-1, 4));
+    assertThrowsIllegalArg(() -> CalculationTaskBatch.maxBatchSize(10, 0));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_execute() {
+    BatchFunction batchFn = new BatchFunction();
+    CalculationTask task0 = task(0, batchFn, PV);
+    CalculationTask task1 = task(1, batchFn, PV);
+    CalculationTaskBatch test = CalculationTaskBatch.of(ImmutableList.of(task0, task1), 2).get(0);
+
+    List<CalculationResults> results = test.execute(MARKET_DATA, REF_DATA);
+    assertEquals(batchFn.batchCount, 1);
+    assertEquals(batchFn.singleCount, 0);
+    assertEquals(results.size(), 2);
+    assertEquals(results.get(0).getTarget(), task0.getTarget());
+    assertEquals(results.get(1).getTarget(), task1.getTarget());
+    assertThat(results.get(0).getCells().get(0).getResult()).hasValue(ScenarioArray.of("0"));
+    assertThat(results.get(1).getCells().get(0).getResult()).hasValue(ScenarioArray.of("1"));
+  }
+
+  public void test_execute_missingMeasure() {
+    BatchFunction batchFn = new BatchFunction();
+    CalculationTask task0 = task(0, batchFn, PV, PAR_RATE);
+    CalculationTask task1 = task(1, batchFn, PV, PAR_RATE);
+    CalculationTaskBatch test = CalculationTaskBatch.of(ImmutableList.of(task0, task1), 2).get(0);
+
+    List<CalculationResults> results = test.execute(MARKET_DATA, REF_DATA);
+    assertEquals(batchFn.batchCount, 1);
+    assertThat(results.get(1).getCells().get(0).getResult()).hasValue(ScenarioArray.of("1"));
+    assertThat(results.get(1).getCells().get(1).getResult()).hasFailureMessageMatching(
+        "Measure 'ParRate' is not supported by function 'BatchFunction'");
+  }
+
+  public void test_execute_batchFailure() {
+    BatchFunction batchFn = new BatchFunction();
+    TestTarget badTarget = new TestTarget();
+    batchFn.badTarget = badTarget;
+    CalculationTask task0 = task(0, batchFn, PV);
+    CalculationTask task1 = CalculationTask.of(
+        badTarget, batchFn, CalculationParameters.empty(), ImmutableList.of(CalculationTaskCell.of(1, 0, PV, NATURAL)));
+    CalculationTaskBatch test = CalculationTaskBatch.of(ImmutableList.of(task0, task1), 2).get(0);
+
+    List<CalculationResults> results = test.execute(MARKET_DATA, REF_DATA);
+    assertEquals(batchFn.batchCount, 1);
+    assertEquals(batchFn.singleCount, 2);
+    assertThat(results.get(0).getCells().get(0).getResult()).hasValue(ScenarioArray.of("0"));
+    assertThat(results.get(1).getCells().get(0).getResult()).hasFailureMessageMatching(
+        "Error when invoking function 'BatchFunction': Bad target: for target '.*'");
+    assertEquals(
+        results.get(1).getCells().get(0).getResult().getFailure().getReason(), FailureReason.CALCULATION_FAILED);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_runner() {
+    BatchFunction batchFn = new BatchFunction();
+    List<CalculationTask> taskList = new ArrayList<>();
+    for (int i = 0; i < 250; i++) {
+      taskList.add(task(i, batchFn, PV));
+    }
+    CalculationTasks tasks = CalculationTasks.of(taskList, ImmutableList.of(Column.of(PV)));
+
+    // using the direct executor means there is no need to close/shutdown the runner
+    CalculationTaskRunner runner = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService(), 100);
+    Results results = runner.calculateMultiScenario(tasks, MARKET_DATA, REF_DATA);
+    assertEquals(batchFn.batchCount, 3);
+    assertEquals(results.getRowCount(), 250);
+    for (int i = 0; i < 250; i++) {
+      assertThat(results.get(i, 0)).hasValue(ScenarioArray.of(Integer.toString(i)));
+    }
+  }
+
+  public void test_runner_noBatching() {
+    BatchFunction batchFn = new BatchFunction();
+    List<CalculationTask> taskList = new ArrayList<>();
+    for (int i = 0; i < 250; i++) {
+      taskList.add(task(i, batchFn, PV));
+    }
+    CalculationTasks tasks = CalculationTasks.of(taskList, ImmutableList.of(Column.of(PV)));
+
+    CalculationTaskRunner runner = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService(), 1);
+    Results results = runner.calculateMultiScenario(tasks, MARKET_DATA, REF_DATA);
+    assertEquals(batchFn.batchCount, 0);
+    assertEquals(batchFn.singleCount, 250);
+    assertEquals(results.getRowCount(), 250);
+  }
+
+  public void test_runner_automatic() {
+    BatchFunction batchFn = new BatchFunction();
+    List<CalculationTask> taskList = new ArrayList<>();
+    for (int i = 0; i < 250; i++) {
+      taskList.add(task(i, batchFn, PV));
+    }
+    CalculationTasks tasks = CalculationTasks.of(taskList, ImmutableList.of(Column.of(PV)));
+
+    CalculationTaskRunner runner = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+    Results results = runner.calculateMultiScenario(tasks, MARKET_DATA, REF_DATA);
+    assertEquals(results.getRowCount(), 250);
+    for (int i = 0; i < 250; i++) {
+      assertThat(results.get(i, 0)).hasValue(ScenarioArray.of(Integer.toString(i)));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static CalculationTask task(int row, CalculationFunction<TestTarget> fn, Measure... measures) {
+    List<CalculationTaskCell> cells = new ArrayList<>();
+    for (int i = 0; i < measures.length; i++) {
+      cells.add(CalculationTaskCell.of(row, i, measures[i], NATURAL));
+    }
+    return CalculationTask.of(new IndexedTarget(row), fn, CalculationParameters.empty(), cells);
+  }
+
+  private static final class IndexedTarget extends TestTarget {
+    private final int index;
+
+    private IndexedTarget(int index) {
+      this.index = index;
+    }
+  }
+
+  // function that calculates the index of the target, failing for the bad target
+  private static final class BatchFunction implements BatchCalculationFunction<TestTarget> {
+    private int batchCount;
+    private int singleCount;
+    private TestTarget badTarget;
+
+    @Override
+    public Class<TestTarget> targetType() {
+      return TestTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(PV);
+    }
+
+    @Override
+    public Currency naturalCurrency(TestTarget target, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public List<Map<Measure, Result<?>>> calculateBatch(
+        List<? extends TestTarget> targets,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      batchCount++;
+      ImmutableList.Builder<Map<Measure, Result<?>>> builder = ImmutableList.builder();
+      for (TestTarget target : targets) {
+        builder.add(calculateTarget(target));
+      }
+      return builder.build();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      singleCount++;
+      return calculateTarget(target);
+    }
+
+    private Map<Measure, Result<?>> calculateTarget(TestTarget target) {
+      if (target == badTarget) {
+        throw new IllegalStateException("Bad target");
+      }
+      String value = Integer.toString(((IndexedTarget) target).index);
+      return ImmutableMap.of(PV, Result.success(ScenarioArray.of(value)));
+    }
+  }
+
+}
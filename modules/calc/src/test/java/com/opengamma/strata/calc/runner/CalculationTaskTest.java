@@ -721,7 +721,7 @@ public class CalculationTaskTest {
   /**
    * Function that returns requirements containing output currencies.
    */
-  private static final class OutputCurrenciesFunction implements CalculationFunction<TestTarget> {
+  static final class OutputCurrenciesFunction implements CalculationFunction<TestTarget> {
 
     @Override
     public Class<TestTarget> targetType() {
@@ -5,11 +5,14 @@
  */
 package com.opengamma.strata.calc.runner;
 
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.testng.Assert.assertNotNull;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -23,10 +26,13 @@ import com.opengamma.strata.calc.CalculationRules;
 import com.opengamma.strata.calc.Column;
 import com.opengamma.strata.calc.TestingMeasures;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirementsBuilder;
 import com.opengamma.strata.calc.marketdata.TestId;
 import com.opengamma.strata.calc.marketdata.TestObservableId;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.OutputCurrenciesFunction;
 import com.opengamma.strata.calc.runner.CalculationTaskTest.TestFunction;
 import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.data.FxRateId;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.ObservableId;
 
@@ -102,6 +108,33 @@ public class CalculationTasksTest {
     assertThat(timeSeries.iterator().next()).isEqualTo(timeSeriesId);
   }
 
+  public void test_requirements_manyTargets() {
+    CalculationFunctions functions =
+        CalculationFunctions.of(ImmutableMap.of(TestTarget.class, new OutputCurrenciesFunction()));
+    CalculationRules calculationRules = CalculationRules.of(functions, USD);
+    List<TestTarget> targets = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      targets.add(new TestTarget());
+    }
+    List<Column> columns = ImmutableList.of(
+        Column.of(TestingMeasures.PRESENT_VALUE),
+        Column.of(TestingMeasures.PRESENT_VALUE, GBP));
+
+    CalculationTasks test = CalculationTasks.of(calculationRules, targets, columns);
+    MarketDataRequirements requirements = test.requirements(REF_DATA);
+
+    MarketDataRequirementsBuilder expected = MarketDataRequirements.builder();
+    for (CalculationTask task : test.getTasks()) {
+      expected.addRequirements(task.requirements(REF_DATA));
+    }
+    assertThat(requirements).isEqualTo(expected.build());
+    assertThat(requirements.getNonObservables()).containsOnly(
+        FxRateId.of(GBP, USD, CalculationTaskTest.OBS_SOURCE),
+        FxRateId.of(EUR, USD, CalculationTaskTest.OBS_SOURCE),
+        FxRateId.of(EUR, GBP, CalculationTaskTest.OBS_SOURCE),
+        FxRateId.of(USD, GBP, CalculationTaskTest.OBS_SOURCE));
+  }
+
   //-------------------------------------------------------------------------
   public void testToString() {
     List<TestTarget> targets = ImmutableList.of(TARGET1, TARGET1);
@@ -64,6 +64,11 @@ import com.opengamma.strata.collect.Unchecked;
  * 'com.opengamma.strata.config.directories'.
  * This must be a comma separated list, such as 'base,base1,base2,override,application'.
  * <p>
+ * Searching the classpath for each configuration file is slow when many files are loaded by a cold JVM.
+ * An index of all the configuration files can be created by a build-time step, see {@link ResourceConfigIndex}.
+ * The index is used when it is referred to by the system property 'com.opengamma.strata.config.index'.
+ * Alternatively, all the configuration files can be loaded at startup using {@link #preload()}.
+ * <p>
  * In general, the configuration managed by this class will be in INI format.
  * The {@link #combinedIniFile(String)} method is the main entry point, returning a single
  * INI file merged from all available configuration files.
@@ -77,7 +82,7 @@ public final class ResourceConfig {
   /**
    * The package/folder location for the configuration.
    */
-  private static final String CONFIG_PACKAGE = "com/opengamma/strata/config/";
+  static final String CONFIG_PACKAGE = "com/opengamma/strata/config/";
   /**
    * The default set of directories to query configuration files in.
    */
@@ -144,6 +149,37 @@ public final class ResourceConfig {
     log.config("Using directories: " + dirs);
     RESOURCE_DIRS = ImmutableList.copyOf(dirs);
   }
+  /**
+   * The system property defining the location of the index of the configuration files.
+   * This must be a resource locator, such as 'classpath:strata-config.index', see {@link ResourceLocator#of(String)}.
+   */
+  public static final String INDEX_PROPERTY = "com.opengamma.strata.config.index";
+  /**
+   * The index of the configuration files, null if the classpath is searched for each file.
+   * Always falls back to searching the classpath in case of error.
+   */
+  private static volatile ResourceConfigIndex index;
+  static {
+    String property = null;
+    try {
+      property = System.getProperty(INDEX_PROPERTY);
+    } catch (Exception ex) {
+      log.warning("Unable to access system property: " + ex.toString());
+    }
+    if (property != null && !property.isEmpty()) {
+      try {
+        ResourceConfigIndex loaded = ResourceConfigIndex.load(ResourceLocator.of(property).getByteSource());
+        if (loaded.getDirectories().equals(RESOURCE_DIRS)) {
+          log.config("Using index: " + property + ": " + loaded);
+          index = loaded;
+        } else {
+          log.warning("Index ignored as directories do not match: " + property + ": " + loaded.getDirectories());
+        }
+      } catch (RuntimeException ex) {
+        log.warning("Unable to load index: " + property + ": " + ex.toString());
+      }
+    }
+  }
   /**
    * INI section name used for chaining.
    */
@@ -241,6 +277,14 @@ public final class ResourceConfig {
 
   // find the list of resources
   private static List<ResourceLocator> orderedResources0(String classpathResourceName) throws IOException {
+    ResourceConfigIndex currentIndex = index;
+    if (currentIndex != null && currentIndex.isIndexed(classpathResourceName)) {
+      List<ResourceLocator> indexed = currentIndex.orderedResources(classpathResourceName);
+      if (!indexed.isEmpty()) {
+        log.config(() -> "Resources found in index: " + indexed);
+        return indexed;
+      }
+    }
     ClassLoader classLoader = ResourceLocator.classLoader();
     List<String> names = new ArrayList<>();
     List<ResourceLocator> result = new ArrayList<>();
@@ -277,6 +321,51 @@ public final class ResourceConfig {
     return result;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Preloads all the configuration files.
+   * <p>
+   * This searches the classpath once for all the files in the configuration directories,
+   * with the directories searched in parallel, see {@link ResourceConfigIndex#ofClasspath(List)}.
+   * Subsequent requests for configuration files are then served from memory,
+   * rather than searching the classpath for each file.
+   * Files that could not be indexed continue to be searched for on the classpath.
+   * <p>
+   * This has no effect if an index has already been loaded, such as by the system property.
+   * If preloading fails, a warning is logged and the classpath continues to be searched for each file.
+   */
+  public static synchronized void preload() {
+    if (index == null) {
+      try {
+        ResourceConfigIndex created = ResourceConfigIndex.ofClasspath(RESOURCE_DIRS);
+        log.config(() -> "Preloaded configuration: " + created);
+        index = created;
+      } catch (RuntimeException ex) {
+        log.warning("Unable to preload configuration: " + ex.toString());
+      }
+    }
+  }
+
+  /**
+   * Sets the index of the configuration files, replacing any existing index.
+   * <p>
+   * This is intended for testing, such as to discard the index loaded by {@link #preload()}.
+   * 
+   * @param newIndex  the index, null to search the classpath for each file
+   */
+  public static synchronized void setIndex(ResourceConfigIndex newIndex) {
+    index = newIndex;
+  }
+
+  /**
+   * Gets the configuration directories, from lowest to highest priority.
+   * 
+   * @return the configuration directories
+   */
+  static ImmutableList<String> directories() {
+    return RESOURCE_DIRS;
+  }
+
   //-------------------------------------------------------------------------
   private ResourceConfig() {
   }
@@ -0,0 +1,447 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.Guavate.toImmutableSet;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteSource;
+import com.google.common.io.ByteStreams;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.Unchecked;
+
+/**
+ * An index of the configuration files, holding the content of every file in the configuration directories.
+ * <p>
+ * By default, {@link ResourceConfig} searches the classpath separately in each configuration directory
+ * for each file that is requested. When a cold JVM loads many configuration files, such as when the
+ * extended enums are first used, the searches are slow. The index is formed by searching each
+ * configuration directory once for all the files it contains.
+ * <p>
+ * The index can be written in a compact binary format, typically as a build-time step using
+ * {@link #main(String[])}, and later loaded in a single read. It is used by {@code ResourceConfig}
+ * when the system property {@link ResourceConfig#INDEX_PROPERTY} refers to it.
+ * Alternatively, the index can be created at startup using {@link ResourceConfig#preload()}.
+ * <p>
+ * The index must be created from the same classpath and configuration directories as the application,
+ * as a file that is in the index hides any file of the same name that is not.
+ * The configuration directories may be directories on the file system or in jar files.
+ * A file that cannot be indexed reliably is recorded by name, and requesting a file of that name
+ * from {@code ResourceConfig} will search the classpath. This is the case if the file is found more than once
+ * in a directory with different content, or if it is in a jar file that has no entry for the directory,
+ * as the class loader does not find such directories. Jar files without directory entries are found
+ * using their manifest, thus a file in a jar file without directory entries or a manifest is not found.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class ResourceConfigIndex {
+
+  /**
+   * The logger.
+   */
+  private static final Logger log = Logger.getLogger(ResourceConfigIndex.class.getName());
+  /**
+   * The header identifying the binary format.
+   */
+  private static final int MAGIC = 0x53434649;
+  /**
+   * The version of the binary format.
+   */
+  private static final int VERSION = 2;
+
+  /**
+   * The configuration directories, from lowest to highest priority.
+   */
+  private final ImmutableList<String> directories;
+  /**
+   * The content of the files, keyed by the directory and file name separated by '/'.
+   * The arrays are never exposed, thus the index is immutable.
+   */
+  private final ImmutableMap<String, byte[]> files;
+  /**
+   * The files that were found but not indexed, keyed by the directory and file name separated by '/'.
+   */
+  private final ImmutableSet<String> unindexed;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an index by searching the classpath for all the files in the configuration directories.
+   * <p>
+   * The directories are searched in parallel.
+   * If the same file is found more than once in a directory with different content, it is not indexed.
+   * Nor is a file in a jar file that has no entry for the directory.
+   * Requesting such a file from {@link ResourceConfig} will search the classpath, reporting any error.
+   *
+   * @param directories  the configuration directories, from lowest to highest priority
+   * @return the index
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalStateException if a configuration directory cannot be searched
+   */
+  public static ResourceConfigIndex ofClasspath(List<String> directories) {
+    ArgChecker.noNulls(directories, "directories");
+    // the class loader is selected by this thread, not the threads of the parallel stream
+    ClassLoader classLoader = ResourceLocator.classLoader();
+    Map<String, Set<String>> jarEntries = Unchecked.wrap(() -> listJarEntries(classLoader));
+    List<ResourceConfigIndex> found = directories.parallelStream()
+        .map(dir -> Unchecked.wrap(() -> scanDirectory(classLoader, dir, jarEntries)))
+        .collect(toImmutableList());
+    ImmutableMap.Builder<String, byte[]> files = ImmutableMap.builder();
+    ImmutableSet.Builder<String> unindexed = ImmutableSet.builder();
+    for (ResourceConfigIndex dirIndex : found) {
+      files.putAll(dirIndex.files);
+      unindexed.addAll(dirIndex.unindexed);
+    }
+    return new ResourceConfigIndex(ImmutableList.copyOf(directories), files.build(), unindexed.build());
+  }
+
+  // lists the configuration files in each jar file on the classpath that has a manifest, keyed by jar file URL
+  private static Map<String, Set<String>> listJarEntries(ClassLoader classLoader) throws IOException {
+    Map<String, Set<String>> result = new HashMap<>();
+    for (URL url : Collections.list(classLoader.getResources(JarFile.MANIFEST_NAME))) {
+      if (url.getProtocol().equals("jar")) {
+        JarURLConnection connection = (JarURLConnection) url.openConnection();
+        connection.setUseCaches(false);
+        Set<String> names = new HashSet<>();
+        try (JarFile jar = connection.getJarFile()) {
+          for (Enumeration<JarEntry> entries = jar.entries(); entries.hasMoreElements();) {
+            JarEntry entry = entries.nextElement();
+            if (!entry.isDirectory() && entry.getName().startsWith(ResourceConfig.CONFIG_PACKAGE)) {
+              names.add(entry.getName());
+            }
+          }
+        }
+        if (!names.isEmpty()) {
+          result.put(connection.getJarFileURL().toString(), names);
+        }
+      }
+    }
+    return result;
+  }
+
+  // searches the classpath for the files in a directory, returning an index of the single directory
+  private static ResourceConfigIndex scanDirectory(
+      ClassLoader classLoader,
+      String dir,
+      Map<String, Set<String>> jarEntries) throws IOException {
+
+    String dirName = ResourceConfig.CONFIG_PACKAGE + dir;
+    Map<String, byte[]> found = new TreeMap<>();
+    Set<String> unindexed = new TreeSet<>();
+    Set<String> listedJars = new HashSet<>();
+    for (URL url : Collections.list(classLoader.getResources(dirName))) {
+      if (url.getProtocol().equals("jar")) {
+        listedJars.add(((JarURLConnection) url.openConnection()).getJarFileURL().toString());
+      }
+      for (Entry<String, byte[]> entry : listFiles(url, dirName).entrySet()) {
+        // handle case where Strata is on the classpath more than once
+        byte[] existing = found.putIfAbsent(entry.getKey(), entry.getValue());
+        if (existing != null && !Arrays.equals(existing, entry.getValue())) {
+          log.warning("More than one file found on the classpath, file not indexed: " + dirName + "/" + entry.getKey());
+          unindexed.add(entry.getKey());
+        }
+      }
+    }
+    // the class loader does not find the directory in a jar file without directory entries
+    String prefix = dirName + "/";
+    for (Entry<String, Set<String>> entry : jarEntries.entrySet()) {
+      if (!listedJars.contains(entry.getKey())) {
+        for (String name : entry.getValue()) {
+          if (name.startsWith(prefix) && name.indexOf('/', prefix.length()) < 0) {
+            log.warning("Directory entry not found in jar file, file not indexed: " + entry.getKey() + "!/" + name);
+            unindexed.add(name.substring(prefix.length()));
+          }
+        }
+      }
+    }
+    found.keySet().removeAll(unindexed);
+    ImmutableMap.Builder<String, byte[]> files = ImmutableMap.builder();
+    found.forEach((name, content) -> files.put(dir + "/" + name, content));
+    ImmutableSet<String> unindexedKeys = unindexed.stream().map(name -> dir + "/" + name).collect(toImmutableSet());
+    return new ResourceConfigIndex(ImmutableList.of(dir), files.build(), unindexedKeys);
+  }
+
+  // lists the files directly within the directory at the URL, keyed by file name
+  private static Map<String, byte[]> listFiles(URL url, String dirName) throws IOException {
+    Map<String, byte[]> result = new TreeMap<>();
+    switch (url.getProtocol()) {
+      case "file": {
+        Path dirPath;
+        try {
+          dirPath = Paths.get(url.toURI());
+        } catch (URISyntaxException ex) {
+          throw new IllegalStateException("Unable to index configuration directory: " + url, ex);
+        }
+        try (Stream<Path> paths = Files.list(dirPath)) {
+          for (Path path : (Iterable<Path>) paths::iterator) {
+            if (Files.isRegularFile(path)) {
+              result.put(path.getFileName().toString(), Files.readAllBytes(path));
+            }
+          }
+        }
+        return result;
+      }
+      case "jar": {
+        JarURLConnection connection = (JarURLConnection) url.openConnection();
+        connection.setUseCaches(false);
+        String prefix = dirName + "/";
+        try (JarFile jar = connection.getJarFile()) {
+          for (Enumeration<JarEntry> entries = jar.entries(); entries.hasMoreElements();) {
+            JarEntry entry = entries.nextElement();
+            String name = entry.getName();
+            if (!entry.isDirectory() && name.startsWith(prefix) && name.indexOf('/', prefix.length()) < 0) {
+              try (InputStream in = jar.getInputStream(entry)) {
+                result.put(name.substring(prefix.length()), ByteStreams.toByteArray(in));
+              }
+            }
+          }
+        }
+        return result;
+      }
+      default:
+        throw new IllegalStateException("Unable to index configuration directory, unsupported URL: " + url);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads an index from its binary format.
+   * <p>
+   * The source is read once, in full.
+   *
+   * @param source  the source of the binary format, as written by {@link #write(OutputStream)}
+   * @return the index
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the binary format is invalid
+   */
+  public static ResourceConfigIndex load(ByteSource source) {
+    ArgChecker.notNull(source, "source");
+    byte[] bytes = Unchecked.wrap(() -> source.read());
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+      if (bytes.length < 8 || in.readInt() != MAGIC) {
+        throw new IllegalArgumentException("Invalid configuration index, incorrect header");
+      }
+      int version = in.readInt();
+      if (version != VERSION) {
+        throw new IllegalArgumentException(Messages.format(
+            "Invalid configuration index, version {} is not supported, expected {}", version, VERSION));
+      }
+      int directoryCount = in.readInt();
+      List<String> directories = new ArrayList<>(directoryCount);
+      for (int i = 0; i < directoryCount; i++) {
+        directories.add(in.readUTF());
+      }
+      int fileCount = in.readInt();
+      ImmutableMap.Builder<String, byte[]> files = ImmutableMap.builder();
+      for (int i = 0; i < fileCount; i++) {
+        String key = in.readUTF();
+        byte[] content = new byte[in.readInt()];
+        in.readFully(content);
+        files.put(key, content);
+      }
+      int unindexedCount = in.readInt();
+      ImmutableSet.Builder<String> unindexed = ImmutableSet.builder();
+      for (int i = 0; i < unindexedCount; i++) {
+        unindexed.add(in.readUTF());
+      }
+      return new ResourceConfigIndex(ImmutableList.copyOf(directories), files.build(), unindexed.build());
+
+    } catch (IOException | NegativeArraySizeException ex) {
+      throw new IllegalArgumentException("Invalid configuration index, unable to read: " + ex.toString(), ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the index of the configuration files on the classpath, writing it to a file.
+   * <p>
+   * This is intended to be run as a build-time step, using the classpath of the application.
+   * The configuration directories are those used by {@link ResourceConfig}, thus the system property
+   * {@link ResourceConfig#RESOURCE_DIRS_PROPERTY} must be set as it will be for the application.
+   * The file can then be packaged with the application, with the system property
+   * {@link ResourceConfig#INDEX_PROPERTY} referring to it.
+   *
+   * @param args  the arguments, a single argument defining the file to write
+   * @throws IOException if an IO exception occurs
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1) {
+      throw new IllegalArgumentException("Usage: ResourceConfigIndex <output file>");
+    }
+    ResourceConfigIndex index = ofClasspath(ResourceConfig.directories());
+    try (OutputStream out = Files.newOutputStream(Paths.get(args[0]))) {
+      index.write(out);
+    }
+    System.out.println("Wrote " + index + " to " + args[0]);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the content of the files.
+   * <p>
+   * This is intended for testing.
+   *
+   * @param directories  the configuration directories, from lowest to highest priority
+   * @param files  the content of the files, keyed by directory and file name
+   * @param unindexed  the files that were found but not indexed, keyed by directory and file name
+   * @return the index
+   */
+  static ResourceConfigIndex of(List<String> directories, Map<String, byte[]> files, Set<String> unindexed) {
+    ImmutableMap.Builder<String, byte[]> copied = ImmutableMap.builder();
+    files.forEach((key, content) -> copied.put(key, content.clone()));
+    return new ResourceConfigIndex(ImmutableList.copyOf(directories), copied.build(), ImmutableSet.copyOf(unindexed));
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param directories  the configuration directories
+   * @param files  the content of the files, keyed by directory and file name
+   * @param unindexed  the files that were found but not indexed, keyed by directory and file name
+   */
+  private ResourceConfigIndex(
+      ImmutableList<String> directories,
+      ImmutableMap<String, byte[]> files,
+      ImmutableSet<String> unindexed) {
+
+    this.directories = directories;
+    this.files = files;
+    this.unindexed = unindexed;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the configuration directories that were indexed, from lowest to highest priority.
+   *
+   * @return the configuration directories
+   */
+  public ImmutableList<String> getDirectories() {
+    return directories;
+  }
+
+  /**
+   * Gets the number of files in the index.
+   *
+   * @return the number of files
+   */
+  public int size() {
+    return files.size();
+  }
+
+  /**
+   * Checks whether the files with the specified name are fully indexed.
+   * <p>
+   * This returns false if a file with the name was found in any of the directories but not indexed,
+   * in which case the classpath must be searched for the name.
+   *
+   * @param resourceName  the resource name
+   * @return true if the files are fully indexed, including if there are no files with the name
+   */
+  boolean isIndexed(String resourceName) {
+    for (String dir : directories) {
+      if (unindexed.contains(dir + "/" + resourceName)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Obtains an ordered list of resource locators for the indexed files with the specified name.
+   * <p>
+   * The result is ordered from the lowest priority file to the highest priority file,
+   * matching {@link ResourceConfig#orderedResources(String)}.
+   * The locators read the content held by the index, and do not access the classpath.
+   *
+   * @param resourceName  the resource name
+   * @return the resource locators, empty if the file is not in the index
+   */
+  List<ResourceLocator> orderedResources(String resourceName) {
+    List<ResourceLocator> result = new ArrayList<>();
+    for (String dir : directories) {
+      String key = dir + "/" + resourceName;
+      byte[] content = files.get(key);
+      if (content != null) {
+        result.add(ResourceLocator.ofClasspathContent(ResourceConfig.CONFIG_PACKAGE + key, ByteSource.wrap(content)));
+      }
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes the index in its binary format.
+   * <p>
+   * The binary format can be read using {@link #load(ByteSource)}.
+   * The stream is not closed.
+   *
+   * @param out  the stream to write to
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  public void write(OutputStream out) {
+    ArgChecker.notNull(out, "out");
+    Unchecked.wrap(() -> {
+      DataOutputStream data = new DataOutputStream(out);
+      data.writeInt(MAGIC);
+      data.writeInt(VERSION);
+      data.writeInt(directories.size());
+      for (String dir : directories) {
+        data.writeUTF(dir);
+      }
+      data.writeInt(files.size());
+      for (Entry<String, byte[]> entry : files.entrySet()) {
+        data.writeUTF(entry.getKey());
+        data.writeInt(entry.getValue().length);
+        data.write(entry.getValue());
+      }
+      data.writeInt(unindexed.size());
+      for (String key : unindexed) {
+        data.writeUTF(key);
+      }
+      data.flush();
+    });
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("ResourceConfigIndex[directories={}, files={}]", directories.size(), files.size());
+  }
+
+}
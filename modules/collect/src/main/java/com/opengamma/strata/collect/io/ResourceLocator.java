@@ -187,6 +187,19 @@ public final class ResourceLocator {
     return new ResourceLocator(locator, Resources.asByteSource(url));
   }
 
+  /**
+   * Creates a resource from a classpath resource name and its content.
+   * <p>
+   * This is used where the content has already been read from the classpath.
+   *
+   * @param resourceName  the classpath resource name
+   * @param content  the content of the resource
+   * @return the resource locator
+   */
+  static ResourceLocator ofClasspathContent(String resourceName, ByteSource content) {
+    return new ResourceLocator(CLASSPATH_URL_PREFIX + resourceName, content);
+  }
+
   /**
    * Selects a suitable class loader.
    * 
@@ -7,8 +7,13 @@ package com.opengamma.strata.collect.io;
 
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamConstants;
@@ -101,6 +106,68 @@ public final class XmlFile {
     });
   }
 
+  /**
+   * Parses the specified source as an XML file, streaming the selected elements to a consumer.
+   * <p>
+   * This parses the specified byte source expecting an XML file format, without creating
+   * the DOM-like structure for the whole file. Instead, the selector is invoked for each element
+   * with the path to the element, being the names of the enclosing elements from the root,
+   * followed by the name of the element itself. Each selected element is parsed, including
+   * its children, and passed to the consumer together with the references found within it.
+   * The selector is not invoked for the elements within a selected element.
+   * All other elements are skipped without being parsed, thus the memory used depends on
+   * the size of the largest selected element rather than the size of the file.
+   * <p>
+   * The path passed to the selector is only valid during the call and must be copied if retained.
+   * The references are captured in the same way as {@link #of(ByteSource, String)}, but only
+   * within each selected element.
+   * 
+   * @param source  the XML source data
+   * @param refAttrName  the attribute name that should be parsed as a reference
+   * @param elementPathSelector  the selector of the elements to parse, invoked with the path to the element
+   * @param consumer  the consumer of each parsed element and the references within it
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static void parseElements(
+      ByteSource source,
+      String refAttrName,
+      Predicate<List<String>> elementPathSelector,
+      BiConsumer<XmlElement, ImmutableMap<String, XmlElement>> consumer) {
+
+    ArgChecker.notNull(source, "source");
+    ArgChecker.notNull(refAttrName, "refAttrName");
+    ArgChecker.notNull(elementPathSelector, "elementPathSelector");
+    ArgChecker.notNull(consumer, "consumer");
+    Unchecked.wrap(() -> {
+      try (InputStream in = source.openBufferedStream()) {
+        XMLStreamReader xmlReader = xmlInputFactory().createXMLStreamReader(in);
+        try {
+          List<String> path = new ArrayList<>();
+          List<String> pathView = Collections.unmodifiableList(path);
+          while (xmlReader.hasNext()) {
+            int event = xmlReader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+              path.add(xmlReader.getLocalName());
+              if (elementPathSelector.test(pathView)) {
+                HashMap<String, XmlElement> refs = new HashMap<>();
+                XmlElement element = parse(xmlReader, refAttrName, refs);
+                consumer.accept(element, ImmutableMap.copyOf(refs));
+                path.remove(path.size() - 1);
+              }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+              path.remove(path.size() - 1);
+            }
+          }
+        } catch (XMLStreamException ex) {
+          throw new IllegalArgumentException(ex);
+        } finally {
+          xmlReader.close();
+        }
+      }
+    });
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Parses the tree from the StAX stream reader, capturing references.
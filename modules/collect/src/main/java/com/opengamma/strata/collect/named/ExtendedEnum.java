@@ -9,9 +9,11 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 import org.joda.convert.RenameHandler;
@@ -142,6 +144,34 @@ public final class ExtendedEnum<T extends Named> {
     }
   }
 
+  /**
+   * Eagerly loads a set of extended enums.
+   * <p>
+   * Extended enums are normally loaded on first use, each searching the classpath for its configuration.
+   * This method allows them to be loaded at startup, such as before the first calculation.
+   * <p>
+   * All the configuration files are first loaded in parallel, see {@link ResourceConfig#preload()}.
+   * Each extended enum is then obtained from its supplier and all its instances are looked up.
+   * This typically triggers static initialization, which also loads any resources used by the providers.
+   * The extended enums are obtained in turn, as static initialization in parallel could deadlock
+   * where the providers of one extended enum refer to another.
+   * <p>
+   * The suppliers are typically references to the static {@code extendedEnum()} methods,
+   * such as {@code DayCount::extendedEnum}.
+   * 
+   * @param extendedEnums  the suppliers of the extended enums to load
+   * @return the number of instances that were loaded
+   */
+  public static int warmUp(List<Supplier<ExtendedEnum<?>>> extendedEnums) {
+    ArgChecker.noNulls(extendedEnums, "extendedEnums");
+    ResourceConfig.preload();
+    int count = 0;
+    for (Supplier<ExtendedEnum<?>> supplier : extendedEnums) {
+      count += supplier.get().lookupAll().size();
+    }
+    return count;
+  }
+
   // parses the alternate names
   @SuppressWarnings("unchecked")
   private static <R extends Named> ImmutableList<NamedLookup<R>> parseProviders(
@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteSource;
+
+/**
+ * Test {@link ResourceConfigIndex}.
+ */
+@Test
+public class ResourceConfigIndexTest {
+
+  private static final List<String> DIRECTORIES = ImmutableList.of("base", "base1", "application");
+
+  //-------------------------------------------------------------------------
+  public void test_ofClasspath() throws Exception {
+    ResourceConfigIndex test = ResourceConfigIndex.ofClasspath(DIRECTORIES);
+    assertEquals(test.getDirectories(), DIRECTORIES);
+    assertTrue(test.size() > 0);
+    List<ResourceLocator> list = test.orderedResources("TestFile.txt");
+    assertEquals(list.size(), 1);
+    assertEquals(list.get(0).getLocator(), "classpath:com/opengamma/strata/config/base/TestFile.txt");
+    assertEquals(list.get(0).getCharSource().readLines(), ImmutableList.of("HelloWorld"));
+    assertEquals(test.toString(), "ResourceConfigIndex[directories=3, files=" + test.size() + "]");
+  }
+
+  public void test_ofClasspath_ordered() {
+    ResourceConfigIndex test = ResourceConfigIndex.ofClasspath(DIRECTORIES);
+    List<ResourceLocator> list = test.orderedResources("TestChain5.ini");
+    assertEquals(list.size(), 3);
+    assertTrue(list.get(0).getLocator().endsWith("config/base/TestChain5.ini"));
+    assertTrue(list.get(1).getLocator().endsWith("config/base1/TestChain5.ini"));
+    assertTrue(list.get(2).getLocator().endsWith("config/application/TestChain5.ini"));
+    assertEquals(test.orderedResources("NotFound.txt"), ImmutableList.of());
+  }
+
+  public void test_ofClasspath_matchesResourceConfig() throws Exception {
+    ResourceConfigIndex test = ResourceConfigIndex.ofClasspath(ResourceConfig.directories());
+    List<ResourceLocator> indexed = test.orderedResources("TestChain5.ini");
+    List<ResourceLocator> searched = ResourceConfig.orderedResources("TestChain5.ini");
+    assertEquals(indexed.size(), searched.size());
+    for (int i = 0; i < indexed.size(); i++) {
+      assertTrue(indexed.get(i).getByteSource().contentEquals(searched.get(i).getByteSource()));
+    }
+    assertEquals(
+        ResourceConfig.combinedIniFile(indexed),
+        ResourceConfig.combinedIniFile(searched));
+  }
+
+  public void test_isIndexed() {
+    ResourceConfigIndex test = ResourceConfigIndex.of(
+        DIRECTORIES,
+        ImmutableMap.of("base/TestFile.txt", new byte[] {1}),
+        ImmutableSet.of("application/TestFile.txt", "base1/TestChain1.ini"));
+    assertEquals(test.isIndexed("TestFile.txt"), false);
+    assertEquals(test.isIndexed("TestChain1.ini"), false);
+    assertEquals(test.isIndexed("TestChain5.ini"), true);
+    assertEquals(test.orderedResources("TestFile.txt").size(), 1);
+    assertEquals(ResourceConfigIndex.ofClasspath(DIRECTORIES).isIndexed("TestFile.txt"), true);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_writeLoad() throws Exception {
+    ResourceConfigIndex base = ResourceConfigIndex.ofClasspath(DIRECTORIES);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    base.write(out);
+    ResourceConfigIndex test = ResourceConfigIndex.load(ByteSource.wrap(out.toByteArray()));
+    assertEquals(test.getDirectories(), DIRECTORIES);
+    assertEquals(test.size(), base.size());
+    for (String name : ImmutableList.of("TestFile.txt", "TestChain1.ini", "TestChain5.ini")) {
+      List<ResourceLocator> expected = base.orderedResources(name);
+      List<ResourceLocator> loaded = test.orderedResources(name);
+      assertEquals(loaded, expected);
+      for (int i = 0; i < loaded.size(); i++) {
+        assertTrue(loaded.get(i).getByteSource().contentEquals(expected.get(i).getByteSource()));
+      }
+    }
+  }
+
+  public void test_writeLoad_unindexed() {
+    ResourceConfigIndex base = ResourceConfigIndex.of(
+        DIRECTORIES,
+        ImmutableMap.of("base/TestFile.txt", new byte[] {1, 2}),
+        ImmutableSet.of("application/TestFile.txt"));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    base.write(out);
+    ResourceConfigIndex test = ResourceConfigIndex.load(ByteSource.wrap(out.toByteArray()));
+    assertEquals(test.size(), 1);
+    assertEquals(test.isIndexed("TestFile.txt"), false);
+    assertEquals(test.isIndexed("TestChain5.ini"), true);
+  }
+
+  public void test_load_invalid() throws Exception {
+    assertThrowsIllegalArg(() -> ResourceConfigIndex.load(ByteSource.empty()));
+    assertThrowsIllegalArg(() -> ResourceConfigIndex.load(ByteSource.wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, 8})));
+
+    ByteArrayOutputStream badVersion = new ByteArrayOutputStream();
+    DataOutputStream data = new DataOutputStream(badVersion);
+    data.writeInt(0x53434649);
+    data.writeInt(99);
+    assertThrowsIllegalArg(() -> ResourceConfigIndex.load(ByteSource.wrap(badVersion.toByteArray())));
+
+    ByteArrayOutputStream truncated = new ByteArrayOutputStream();
+    ResourceConfigIndex.ofClasspath(DIRECTORIES).write(truncated);
+    byte[] bytes = truncated.toByteArray();
+    assertThrowsIllegalArg(() -> ResourceConfigIndex.load(ByteSource.wrap(bytes).slice(0, bytes.length - 1)));
+  }
+
+}
@@ -19,6 +19,7 @@ import org.testng.annotations.Test;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 
 /**
@@ -89,6 +90,47 @@ public class ResourceConfigTest {
         ImmutableMap.of("one", PropertySet.of(keyValues1), "two", PropertySet.of(keyValues2)));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_preload() {
+    IniFile before = ResourceConfig.combinedIniFile("TestChain5.ini");
+    try {
+      ResourceConfig.preload();
+      ResourceConfig.preload();
+      assertEquals(ResourceConfig.combinedIniFile("TestChain5.ini"), before);
+      List<ResourceLocator> list = ResourceConfig.orderedResources("TestFile.txt");
+      assertEquals(list.size(), 1);
+      assertEquals(list.get(0).getLocator(), "classpath:com/opengamma/strata/config/base/TestFile.txt");
+      // files not in the index are searched for on the classpath
+      String captured = caputureSystemErr(
+          () -> assertThrows(IllegalStateException.class, () -> ResourceConfig.orderedResources("NotFound.txt")));
+      assertTrue(captured.contains("No resource files found on the classpath"));
+    } finally {
+      ResourceConfig.setIndex(null);
+    }
+  }
+
+  public void test_index_unindexed() throws Exception {
+    List<String> dirs = ResourceConfig.directories();
+    byte[] content = "Indexed".getBytes(StandardCharsets.UTF_8);
+    try {
+      ResourceConfig.setIndex(ResourceConfigIndex.of(
+          dirs, ImmutableMap.of(dirs.get(0) + "/TestFile.txt", content), ImmutableSet.of()));
+      List<ResourceLocator> indexed = ResourceConfig.orderedResources("TestFile.txt");
+      assertEquals(indexed.size(), 1);
+      assertEquals(indexed.get(0).getCharSource().readLines(), ImmutableList.of("Indexed"));
+      // a file that was not indexed in any directory causes the classpath to be searched
+      ResourceConfig.setIndex(ResourceConfigIndex.of(
+          dirs,
+          ImmutableMap.of(dirs.get(0) + "/TestFile.txt", content),
+          ImmutableSet.of(dirs.get(dirs.size() - 1) + "/TestFile.txt")));
+      List<ResourceLocator> searched = ResourceConfig.orderedResources("TestFile.txt");
+      assertEquals(searched.size(), 1);
+      assertEquals(searched.get(0).getCharSource().readLines(), ImmutableList.of("HelloWorld"));
+    } finally {
+      ResourceConfig.setIndex(null);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     coverPrivateConstructor(ResourceConfig.class);
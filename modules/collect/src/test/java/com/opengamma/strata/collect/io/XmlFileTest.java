@@ -13,6 +13,7 @@ import static org.testng.Assert.assertFalse;
 import java.io.File;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -130,6 +131,46 @@ public class XmlFileTest {
     assertThrows(() -> XmlFile.of(source, "key"), UncheckedIOException.class);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_parseElements() {
+    ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
+    List<List<String>> paths = new ArrayList<>();
+    List<XmlElement> elements = new ArrayList<>();
+    List<Map<String, XmlElement>> refs = new ArrayList<>();
+    XmlFile.parseElements(
+        source,
+        "key",
+        path -> {
+          paths.add(ImmutableList.copyOf(path));
+          return path.get(path.size() - 1).equals("test");
+        },
+        (el, elRefs) -> {
+          elements.add(el);
+          refs.add(elRefs);
+        });
+    assertEquals(paths, ImmutableList.of(ImmutableList.of("base"), ImmutableList.of("base", "test")));
+    assertEquals(elements, ImmutableList.of(XmlElement.ofChildren("test", ATTR_MAP, CHILD_LIST_MULTI)));
+    assertEquals(refs, ImmutableList.of(ImmutableMap.of("value", elements.get(0))));
+  }
+
+  public void test_parseElements_nested() {
+    ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
+    List<XmlElement> elements = new ArrayList<>();
+    XmlFile.parseElements(
+        source, "", path -> path.get(path.size() - 1).startsWith("leaf"), (el, refs) -> elements.add(el));
+    assertEquals(elements, CHILD_LIST_MULTI);
+  }
+
+  public void test_parseElements_badEnd() {
+    ByteSource source = ByteSource.wrap(SAMPLE_BAD_END.getBytes(StandardCharsets.UTF_8));
+    assertThrowsIllegalArg(() -> XmlFile.parseElements(source, "", path -> false, (el, refs) -> {}));
+  }
+
+  public void test_parseElements_ioException() {
+    ByteSource source = Files.asByteSource(new File("/oh-dear-no-such-file"));
+    assertThrows(() -> XmlFile.parseElements(source, "", path -> false, (el, refs) -> {}), UncheckedIOException.class);
+  }
+
   //-------------------------------------------------------------------------
   public void test_equalsHashCodeToString() {
     ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
@@ -8,14 +8,18 @@ package com.opengamma.strata.collect.named;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.Assert.assertEquals;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.io.ResourceConfig;
 import com.opengamma.strata.collect.named.ExtendedEnum.ExternalEnumNames;
 
 /**
@@ -85,6 +89,19 @@ public class ExtendedEnumTest {
     assertEquals(test.toString(), "ExtendedEnum[SampleOther]");
   }
 
+  public void test_warmUp() {
+    List<Supplier<ExtendedEnum<?>>> extendedEnums = ImmutableList.of(
+        () -> ExtendedEnum.of(SampleNamed.class),
+        () -> ExtendedEnum.of(SampleOther.class));
+    try {
+      assertEquals(ExtendedEnum.warmUp(extendedEnums), 5);
+      assertEquals(ExtendedEnum.warmUp(ImmutableList.of()), 0);
+      assertThrowsIllegalArg(() -> ExtendedEnum.warmUp(null));
+    } finally {
+      ResourceConfig.setIndex(null);
+    }
+  }
+
   public void test_enum_invalid() {
     Logger logger = Logger.getLogger(ExtendedEnum.class.getName());
     Level level = logger.getLevel();
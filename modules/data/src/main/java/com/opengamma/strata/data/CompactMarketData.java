@@ -0,0 +1,309 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data;
+
+import static java.util.stream.Collectors.toList;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+
+/**
+ * A set of market data where the values of observable identifiers are held in a primitive array.
+ * <p>
+ * The observable values, such as quotes, are held in a {@code double[]} indexed by an
+ * {@link ObservableIdDictionary}. The dictionary can be shared by the market data of many dates,
+ * thus the identifiers are only held once. A value of {@code NaN} denotes that the identifier
+ * has no value in this market data.
+ * <p>
+ * All other market data, and all time-series, are obtained from an underlying instance.
+ * Where an observable identifier has a value in the array, it takes precedence over the underlying data.
+ * <p>
+ * In addition to the standard {@link MarketData} methods, bulk access to the observable values
+ * is available, see {@link #getValues(int[])}. This avoids a hash lookup and a boxed value
+ * for each identifier, for example when extracting the quotes of the nodes of a curve.
+ * <p>
+ * This class is a standalone utility for applications that hold the quotes of many dates directly.
+ * It is not created by the calculation engine, which builds its own market data from the underlying
+ * data, thus holding market data in this form does not change the memory used during calculations.
+ * Since {@code NaN} denotes an absent value, a {@code NaN} quote cannot be held.
+ */
+public final class CompactMarketData implements MarketData {
+
+  /**
+   * The dictionary of observable identifiers.
+   */
+  private final ObservableIdDictionary dictionary;
+  /**
+   * The observable values, indexed by the dictionary.
+   */
+  private final double[] values;
+  /**
+   * The underlying market data.
+   */
+  private final MarketData underlying;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from a dictionary, the matching values and the underlying market data.
+   * <p>
+   * The values array must have one element for each identifier in the dictionary,
+   * with {@code NaN} used where an identifier has no value.
+   *
+   * @param dictionary  the dictionary of observable identifiers
+   * @param values  the observable values, in the order of the dictionary
+   * @param underlying  the underlying market data, providing the valuation date, other values and time-series
+   * @return the market data
+   */
+  public static CompactMarketData of(ObservableIdDictionary dictionary, DoubleArray values, MarketData underlying) {
+    ArgChecker.notNull(dictionary, "dictionary");
+    ArgChecker.notNull(values, "values");
+    ArgChecker.notNull(underlying, "underlying");
+    ArgChecker.isTrue(
+        values.size() == dictionary.size(),
+        "Values must match size of dictionary, expected {} but was {}", dictionary.size(), values.size());
+    return new CompactMarketData(dictionary, values.toArray(), underlying);
+  }
+
+  /**
+   * Obtains an instance by converting an immutable set of market data.
+   * <p>
+   * All observable values are moved into a new dictionary and array.
+   *
+   * @param marketData  the market data to convert
+   * @return the market data
+   * @throws IllegalArgumentException if an observable value is {@code NaN}
+   */
+  public static CompactMarketData of(ImmutableMarketData marketData) {
+    ObservableIdDictionary dictionary = ObservableIdDictionary.of(
+        marketData.getValues().keySet().stream()
+            .filter(ObservableId.class::isInstance)
+            .map(ObservableId.class::cast)
+            .collect(toList()));
+    return of(marketData, dictionary);
+  }
+
+  /**
+   * Obtains an instance by converting an immutable set of market data using an existing dictionary.
+   * <p>
+   * The values of those observable identifiers in the dictionary are moved into the array.
+   * Any observable identifier that is not in the dictionary remains in the underlying market data.
+   * This allows a single dictionary to be shared by the market data of many dates.
+   *
+   * @param marketData  the market data to convert
+   * @param dictionary  the dictionary of observable identifiers
+   * @return the market data
+   * @throws IllegalArgumentException if a value in the dictionary is {@code NaN}
+   */
+  public static CompactMarketData of(ImmutableMarketData marketData, ObservableIdDictionary dictionary) {
+    ArgChecker.notNull(marketData, "marketData");
+    ArgChecker.notNull(dictionary, "dictionary");
+    double[] values = new double[dictionary.size()];
+    Arrays.fill(values, Double.NaN);
+    Map<MarketDataId<?>, Object> others = new HashMap<>();
+    for (Entry<MarketDataId<?>, Object> entry : marketData.getValues().entrySet()) {
+      int index = dictionary.indexOf(entry.getKey());
+      if (index >= 0) {
+        values[index] = checkNotNaN(entry.getKey(), (Double) entry.getValue());
+      } else {
+        others.put(entry.getKey(), entry.getValue());
+      }
+    }
+    ImmutableMarketData underlying = ImmutableMarketData.builder(marketData.getValuationDate())
+        .values(others)
+        .timeSeries(marketData.getTimeSeries())
+        .build();
+    return new CompactMarketData(dictionary, values, underlying);
+  }
+
+  // checks that a value to be held is not NaN, as NaN denotes an absent value
+  private static double checkNotNaN(MarketDataId<?> id, double value) {
+    if (Double.isNaN(value)) {
+      throw new IllegalArgumentException(Messages.format("Value for identifier '{}' must not be NaN", id));
+    }
+    return value;
+  }
+
+  // restricted constructor
+  private CompactMarketData(ObservableIdDictionary dictionary, double[] values, MarketData underlying) {
+    this.dictionary = dictionary;
+    this.values = values;
+    this.underlying = underlying;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the dictionary of observable identifiers.
+   *
+   * @return the dictionary
+   */
+  public ObservableIdDictionary getDictionary() {
+    return dictionary;
+  }
+
+  /**
+   * Gets the underlying market data.
+   *
+   * @return the underlying market data
+   */
+  public MarketData getUnderlying() {
+    return underlying;
+  }
+
+  /**
+   * Gets the observable values at the specified dictionary indices.
+   * <p>
+   * The indices are typically obtained once using {@link ObservableIdDictionary#indicesOf(List)}
+   * and then used against the market data of each date sharing the dictionary.
+   *
+   * @param indices  the dictionary indices
+   * @return the values, in the order of the indices
+   * @throws MarketDataNotFoundException if any index has no value
+   */
+  public DoubleArray getValues(int[] indices) {
+    double[] result = new double[indices.length];
+    for (int i = 0; i < indices.length; i++) {
+      int index = indices[i];
+      double value = index >= 0 ? values[index] : Double.NaN;
+      if (Double.isNaN(value)) {
+        throw new MarketDataNotFoundException(msgIndexNotFound(index));
+      }
+      result[i] = value;
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Gets the values of a list of observable identifiers.
+   *
+   * @param ids  the observable identifiers
+   * @return the values, in the order of the identifiers
+   * @throws MarketDataNotFoundException if any identifier has no value
+   */
+  public DoubleArray getValues(List<? extends ObservableId> ids) {
+    ArgChecker.notNull(ids, "ids");
+    double[] result = new double[ids.size()];
+    for (int i = 0; i < result.length; i++) {
+      ObservableId id = ids.get(i);
+      int index = findIndex(id);
+      result[i] = index >= 0 ? values[index] : underlying.getValue(id);
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  // extracted to aid inlining performance
+  private String msgIndexNotFound(int index) {
+    return index >= 0 ?
+        Messages.format("Market data not found for identifier '{}'", dictionary.getId(index)) :
+        "Market data not found for identifier not in dictionary";
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDate getValuationDate() {
+    return underlying.getValuationDate();
+  }
+
+  @Override
+  public boolean containsValue(MarketDataId<?> id) {
+    return findIndex(id) >= 0 || underlying.containsValue(id);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T getValue(MarketDataId<T> id) {
+    int index = findIndex(id);
+    if (index >= 0) {
+      return (T) Double.valueOf(values[index]);
+    }
+    return underlying.getValue(id);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Optional<T> findValue(MarketDataId<T> id) {
+    int index = findIndex(id);
+    if (index >= 0) {
+      return Optional.of((T) Double.valueOf(values[index]));
+    }
+    return underlying.findValue(id);
+  }
+
+  // finds the index of an identifier that has a value, -1 if not found
+  private int findIndex(MarketDataId<?> id) {
+    int index = dictionary.indexOf(id);
+    return index >= 0 && !Double.isNaN(values[index]) ? index : -1;
+  }
+
+  @Override
+  public Set<MarketDataId<?>> getIds() {
+    ImmutableSet.Builder<MarketDataId<?>> builder = ImmutableSet.builder();
+    for (int i = 0; i < values.length; i++) {
+      if (!Double.isNaN(values[i])) {
+        builder.add(dictionary.getId(i));
+      }
+    }
+    return builder.addAll(underlying.getIds()).build();
+  }
+
+  @Override
+  public <T> Set<MarketDataId<T>> findIds(MarketDataName<T> name) {
+    // observable identifiers are not named
+    return underlying.findIds(name);
+  }
+
+  @Override
+  public Set<ObservableId> getTimeSeriesIds() {
+    return underlying.getTimeSeriesIds();
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries getTimeSeries(ObservableId id) {
+    return underlying.getTimeSeries(id);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof CompactMarketData) {
+      CompactMarketData other = (CompactMarketData) obj;
+      return dictionary.equals(other.dictionary) &&
+          Arrays.equals(values, other.values) &&
+          underlying.equals(other.underlying);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + dictionary.hashCode();
+    hash = hash * 31 + Arrays.hashCode(values);
+    return hash * 31 + underlying.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return Messages.format(
+        "CompactMarketData[valuationDate={}, dictionary={}, underlying={}]",
+        getValuationDate(), dictionary, underlying);
+  }
+
+}
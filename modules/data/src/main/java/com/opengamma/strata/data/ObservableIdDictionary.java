@@ -0,0 +1,145 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * A dictionary assigning a dense index to each of a set of observable identifiers.
+ * <p>
+ * This allows the values of many observable identifiers to be held in a primitive array,
+ * see {@link CompactMarketData}. A single dictionary is intended to be shared by
+ * every date or scenario of a set of market data, thus the identifiers are only held once.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class ObservableIdDictionary {
+
+  /**
+   * The identifiers, in index order.
+   */
+  private final ImmutableList<ObservableId> ids;
+  /**
+   * The index of each identifier.
+   */
+  private final Map<ObservableId, Integer> indices;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from a collection of identifiers.
+   * <p>
+   * The index of each identifier is its position in the iteration order of the collection.
+   *
+   * @param ids  the identifiers
+   * @return the dictionary
+   * @throws IllegalArgumentException if the identifiers contain duplicates
+   */
+  public static ObservableIdDictionary of(Collection<? extends ObservableId> ids) {
+    ArgChecker.noNulls(ids, "ids");
+    ImmutableList<ObservableId> list = ImmutableList.copyOf(ids);
+    Map<ObservableId, Integer> indices = new HashMap<>(list.size() * 4 / 3 + 1);
+    for (int i = 0; i < list.size(); i++) {
+      if (indices.put(list.get(i), i) != null) {
+        throw new IllegalArgumentException(Messages.format("Duplicate identifier in dictionary: {}", list.get(i)));
+      }
+    }
+    return new ObservableIdDictionary(list, indices);
+  }
+
+  // restricted constructor
+  private ObservableIdDictionary(ImmutableList<ObservableId> ids, Map<ObservableId, Integer> indices) {
+    this.ids = ids;
+    this.indices = indices;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of identifiers in the dictionary.
+   *
+   * @return the size
+   */
+  public int size() {
+    return ids.size();
+  }
+
+  /**
+   * Gets the identifiers, in index order.
+   *
+   * @return the identifiers
+   */
+  public ImmutableList<ObservableId> getIds() {
+    return ids;
+  }
+
+  /**
+   * Gets the identifier at the specified index.
+   *
+   * @param index  the index
+   * @return the identifier
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public ObservableId getId(int index) {
+    return ids.get(index);
+  }
+
+  /**
+   * Finds the index of an identifier.
+   *
+   * @param id  the identifier
+   * @return the index, -1 if the identifier is not in the dictionary
+   */
+  public int indexOf(MarketDataId<?> id) {
+    Integer index = indices.get(id);
+    return index != null ? index : -1;
+  }
+
+  /**
+   * Finds the indices of a list of identifiers.
+   * <p>
+   * The result can be retained and used for repeated bulk lookups against
+   * any market data sharing this dictionary.
+   *
+   * @param ids  the identifiers
+   * @return the indices, in the order of the identifiers, -1 where an identifier is not in the dictionary
+   */
+  public int[] indicesOf(List<? extends MarketDataId<?>> ids) {
+    int[] result = new int[ids.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = indexOf(ids.get(i));
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof ObservableIdDictionary) {
+      return ids.equals(((ObservableIdDictionary) obj).ids);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return ids.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return Messages.format("ObservableIdDictionary[size={}]", ids.size());
+  }
+
+}
@@ -0,0 +1,426 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static java.util.stream.Collectors.toList;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.CompactMarketData;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.data.MarketDataNotFoundException;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.ObservableIdDictionary;
+
+/**
+ * A set of market data across scenarios where the values of observable identifiers
+ * are held in a primitive matrix.
+ * <p>
+ * The observable values, such as quotes, are held in a single {@code double[]}, with the
+ * values of all scenarios for one identifier being contiguous. The identifiers are indexed
+ * by an {@link ObservableIdDictionary}, which can be shared with other market data.
+ * This avoids a map entry, a box and a scenario array for each identifier.
+ * <p>
+ * An identifier either has a value in every scenario or in none, with {@code NaN}
+ * in every scenario denoting that the identifier has no value.
+ * A value that was a single value when converted from {@link ImmutableScenarioMarketData} is repeated
+ * in every scenario of the matrix, but is still returned as a single value by {@link #getValue(MarketDataId)}.
+ * <p>
+ * All other market data, and all time-series, are obtained from an underlying instance,
+ * which must have the same number of scenarios.
+ * Where an observable identifier has a value in the matrix, it takes precedence over the underlying data.
+ * <p>
+ * In addition to the standard {@link ScenarioMarketData} methods, bulk access to the observable
+ * values is available, see {@link #getValues(List)}. This is intended for extracting the quotes
+ * of the nodes of a curve for all scenarios at once.
+ * <p>
+ * This class is a standalone utility for applications that hold the quotes of many scenarios directly.
+ * It is not created by the calculation engine, which builds its own market data from the underlying
+ * data, thus holding market data in this form does not change the memory used during calculations.
+ * Since {@code NaN} denotes an absent value, a {@code NaN} quote cannot be held.
+ */
+public final class CompactScenarioMarketData implements ScenarioMarketData {
+
+  /**
+   * The dictionary of observable identifiers.
+   */
+  private final ObservableIdDictionary dictionary;
+  /**
+   * The number of scenarios.
+   */
+  private final int scenarioCount;
+  /**
+   * The observable values, with the scenarios of each identifier contiguous.
+   */
+  private final double[] values;
+  /**
+   * The dictionary indices that have values.
+   */
+  private final BitSet present;
+  /**
+   * The dictionary indices whose values are single values, the same in every scenario.
+   */
+  private final BitSet single;
+  /**
+   * The underlying market data.
+   */
+  private final ScenarioMarketData underlying;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from a dictionary, the matching values and the underlying market data.
+   * <p>
+   * The matrix has one row for each identifier in the dictionary and one column for each scenario.
+   * A row of {@code NaN} is used where an identifier has no value.
+   * Each row is treated as a scenario value, even if the values are the same in every scenario.
+   *
+   * @param dictionary  the dictionary of observable identifiers
+   * @param values  the observable values, a row for each identifier and a column for each scenario
+   * @param underlying  the underlying market data, providing the valuation dates, other values and time-series
+   * @return the market data
+   * @throws IllegalArgumentException if the sizes do not match or a row is only partly {@code NaN}
+   */
+  public static CompactScenarioMarketData of(
+      ObservableIdDictionary dictionary,
+      DoubleMatrix values,
+      ScenarioMarketData underlying) {
+
+    ArgChecker.notNull(dictionary, "dictionary");
+    ArgChecker.notNull(values, "values");
+    ArgChecker.notNull(underlying, "underlying");
+    int scenarioCount = underlying.getScenarioCount();
+    ArgChecker.isTrue(
+        values.rowCount() == dictionary.size(),
+        "Values must have one row for each identifier, expected {} but was {}", dictionary.size(), values.rowCount());
+    ArgChecker.isTrue(
+        dictionary.size() == 0 || values.columnCount() == scenarioCount,
+        "Values must have one column for each scenario, expected {} but was {}", scenarioCount, values.columnCount());
+    double[] array = new double[dictionary.size() * scenarioCount];
+    for (int i = 0; i < dictionary.size(); i++) {
+      System.arraycopy(values.rowArray(i), 0, array, i * scenarioCount, scenarioCount);
+    }
+    return new CompactScenarioMarketData(dictionary, scenarioCount, array, new BitSet(), underlying);
+  }
+
+  /**
+   * Obtains an instance by converting an immutable set of scenario market data.
+   * <p>
+   * All observable values are moved into a new dictionary and matrix.
+   * Single values are repeated for each scenario, and remain single values when queried.
+   *
+   * @param marketData  the market data to convert
+   * @return the market data
+   * @throws IllegalArgumentException if an observable value is {@code NaN}
+   */
+  public static CompactScenarioMarketData of(ImmutableScenarioMarketData marketData) {
+    ObservableIdDictionary dictionary = ObservableIdDictionary.of(
+        marketData.getValues().keySet().stream()
+            .filter(ObservableId.class::isInstance)
+            .map(ObservableId.class::cast)
+            .collect(toList()));
+    return of(marketData, dictionary);
+  }
+
+  /**
+   * Obtains an instance by converting an immutable set of scenario market data using an existing dictionary.
+   * <p>
+   * The values of those observable identifiers in the dictionary are moved into the matrix.
+   * Single values are repeated for each scenario, and remain single values when queried.
+   * Any observable identifier that is not in the dictionary remains in the underlying market data.
+   *
+   * @param marketData  the market data to convert
+   * @param dictionary  the dictionary of observable identifiers
+   * @return the market data
+   * @throws IllegalArgumentException if a value in the dictionary is {@code NaN}
+   */
+  public static CompactScenarioMarketData of(
+      ImmutableScenarioMarketData marketData,
+      ObservableIdDictionary dictionary) {
+
+    ArgChecker.notNull(marketData, "marketData");
+    ArgChecker.notNull(dictionary, "dictionary");
+    int scenarioCount = marketData.getScenarioCount();
+    double[] values = new double[dictionary.size() * scenarioCount];
+    Arrays.fill(values, Double.NaN);
+    BitSet single = new BitSet(dictionary.size());
+    Map<MarketDataId<?>, MarketDataBox<?>> others = new HashMap<>();
+    for (Entry<MarketDataId<?>, MarketDataBox<?>> entry : marketData.getValues().entrySet()) {
+      int index = dictionary.indexOf(entry.getKey());
+      if (index >= 0) {
+        MarketDataBox<?> box = entry.getValue();
+        single.set(index, box.isSingleValue());
+        for (int s = 0; s < scenarioCount; s++) {
+          values[index * scenarioCount + s] = checkNotNaN(entry.getKey(), (Double) box.getValue(s));
+        }
+      } else {
+        others.put(entry.getKey(), entry.getValue());
+      }
+    }
+    ImmutableScenarioMarketData underlying = ImmutableScenarioMarketData.of(
+        scenarioCount, marketData.getValuationDate(), others, marketData.getTimeSeries());
+    return new CompactScenarioMarketData(dictionary, scenarioCount, values, single, underlying);
+  }
+
+  // checks that a value to be held is not NaN, as NaN denotes an absent value
+  private static double checkNotNaN(MarketDataId<?> id, double value) {
+    if (Double.isNaN(value)) {
+      throw new IllegalArgumentException(Messages.format("Value for identifier '{}' must not be NaN", id));
+    }
+    return value;
+  }
+
+  // restricted constructor
+  private CompactScenarioMarketData(
+      ObservableIdDictionary dictionary,
+      int scenarioCount,
+      double[] values,
+      BitSet single,
+      ScenarioMarketData underlying) {
+
+    this.dictionary = dictionary;
+    this.scenarioCount = scenarioCount;
+    this.values = values;
+    this.single = single;
+    this.underlying = underlying;
+    this.present = new BitSet(dictionary.size());
+    for (int i = 0; i < dictionary.size(); i++) {
+      int nanCount = 0;
+      for (int s = 0; s < scenarioCount; s++) {
+        if (Double.isNaN(values[i * scenarioCount + s])) {
+          nanCount++;
+        }
+      }
+      if (nanCount == 0) {
+        present.set(i);
+      } else if (nanCount != scenarioCount) {
+        throw new IllegalArgumentException(Messages.format(
+            "Value for identifier '{}' must be present in all scenarios or none", dictionary.getId(i)));
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the dictionary of observable identifiers.
+   *
+   * @return the dictionary
+   */
+  public ObservableIdDictionary getDictionary() {
+    return dictionary;
+  }
+
+  /**
+   * Gets the underlying market data.
+   *
+   * @return the underlying market data
+   */
+  public ScenarioMarketData getUnderlying() {
+    return underlying;
+  }
+
+  /**
+   * Gets the values of an observable identifier for all scenarios.
+   *
+   * @param id  the observable identifier
+   * @return the values, one for each scenario
+   * @throws MarketDataNotFoundException if the identifier has no value
+   */
+  public DoubleArray getValues(ObservableId id) {
+    int index = findIndex(id);
+    if (index < 0) {
+      MarketDataBox<Double> box = underlying.getValue(id);
+      return DoubleArray.of(scenarioCount, s -> box.getValue(s));
+    }
+    return DoubleArray.copyOf(values, index * scenarioCount, (index + 1) * scenarioCount);
+  }
+
+  /**
+   * Gets the values of a list of observable identifiers for all scenarios.
+   * <p>
+   * The result has one row for each scenario and one column for each identifier.
+   * Each row is thus the complete set of inputs for one scenario, such as the quotes of the nodes of a curve.
+   *
+   * @param ids  the observable identifiers
+   * @return the values, a row for each scenario and a column for each identifier
+   * @throws MarketDataNotFoundException if any identifier has no value
+   */
+  public DoubleMatrix getValues(List<? extends ObservableId> ids) {
+    ArgChecker.notNull(ids, "ids");
+    double[][] result = new double[scenarioCount][ids.size()];
+    for (int j = 0; j < ids.size(); j++) {
+      ObservableId id = ids.get(j);
+      int index = findIndex(id);
+      if (index >= 0) {
+        int offset = index * scenarioCount;
+        for (int s = 0; s < scenarioCount; s++) {
+          result[s][j] = values[offset + s];
+        }
+      } else {
+        MarketDataBox<Double> box = underlying.getValue(id);
+        for (int s = 0; s < scenarioCount; s++) {
+          result[s][j] = box.getValue(s);
+        }
+      }
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+  // finds the index of an identifier that has a value, -1 if not found
+  private int findIndex(MarketDataId<?> id) {
+    int index = dictionary.indexOf(id);
+    return index >= 0 && present.get(index) ? index : -1;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public MarketDataBox<LocalDate> getValuationDate() {
+    return underlying.getValuationDate();
+  }
+
+  @Override
+  public int getScenarioCount() {
+    return scenarioCount;
+  }
+
+  @Override
+  public Stream<MarketData> scenarios() {
+    return IntStream.range(0, scenarioCount).mapToObj(this::scenario);
+  }
+
+  /**
+   * Returns market data for a single scenario.
+   * <p>
+   * The observable values of the scenario are copied into a {@link CompactMarketData}
+   * that shares the dictionary of this instance.
+   *
+   * @param scenarioIndex  the scenario index
+   * @return the market data for the specified scenario
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  @Override
+  public MarketData scenario(int scenarioIndex) {
+    if (scenarioIndex < 0 || scenarioIndex >= scenarioCount) {
+      throw new IndexOutOfBoundsException(Messages.format(
+          "Scenario index must be from 0 to {} but was {}", scenarioCount - 1, scenarioIndex));
+    }
+    double[] scenarioValues = new double[dictionary.size()];
+    for (int i = 0; i < scenarioValues.length; i++) {
+      scenarioValues[i] = values[i * scenarioCount + scenarioIndex];
+    }
+    return CompactMarketData.of(dictionary, DoubleArray.ofUnsafe(scenarioValues), underlying.scenario(scenarioIndex));
+  }
+
+  @Override
+  public boolean containsValue(MarketDataId<?> id) {
+    return findIndex(id) >= 0 || underlying.containsValue(id);
+  }
+
+  @Override
+  public <T> MarketDataBox<T> getValue(MarketDataId<T> id) {
+    int index = findIndex(id);
+    if (index >= 0) {
+      return box(index);
+    }
+    return underlying.getValue(id);
+  }
+
+  @Override
+  public <T> Optional<MarketDataBox<T>> findValue(MarketDataId<T> id) {
+    int index = findIndex(id);
+    if (index >= 0) {
+      return Optional.of(box(index));
+    }
+    return underlying.findValue(id);
+  }
+
+  // creates a box for the values at an index, matching the kind of box the values were created from
+  @SuppressWarnings("unchecked")
+  private <T> MarketDataBox<T> box(int index) {
+    if (single.get(index)) {
+      return (MarketDataBox<T>) MarketDataBox.ofSingleValue(values[index * scenarioCount]);
+    }
+    DoubleArray scenarioValues = DoubleArray.copyOf(values, index * scenarioCount, (index + 1) * scenarioCount);
+    return (MarketDataBox<T>) MarketDataBox.ofScenarioValue(DoubleScenarioArray.of(scenarioValues));
+  }
+
+  @Override
+  public Set<MarketDataId<?>> getIds() {
+    ImmutableSet.Builder<MarketDataId<?>> builder = ImmutableSet.builder();
+    for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+      builder.add(dictionary.getId(i));
+    }
+    return builder.addAll(underlying.getIds()).build();
+  }
+
+  @Override
+  public <T> Set<MarketDataId<T>> findIds(MarketDataName<T> name) {
+    // observable identifiers are not named
+    return underlying.findIds(name);
+  }
+
+  @Override
+  public Set<ObservableId> getTimeSeriesIds() {
+    return underlying.getTimeSeriesIds();
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries getTimeSeries(ObservableId id) {
+    return underlying.getTimeSeries(id);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof CompactScenarioMarketData) {
+      CompactScenarioMarketData other = (CompactScenarioMarketData) obj;
+      return scenarioCount == other.scenarioCount &&
+          dictionary.equals(other.dictionary) &&
+          Arrays.equals(values, other.values) &&
+          single.equals(other.single) &&
+          underlying.equals(other.underlying);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + scenarioCount;
+    hash = hash * 31 + dictionary.hashCode();
+    hash = hash * 31 + Arrays.hashCode(values);
+    hash = hash * 31 + single.hashCode();
+    return hash * 31 + underlying.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return Messages.format(
+        "CompactScenarioMarketData[scenarioCount={}, dictionary={}, underlying={}]",
+        scenarioCount, dictionary, underlying);
+  }
+
+}
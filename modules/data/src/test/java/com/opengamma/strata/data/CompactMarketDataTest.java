@@ -0,0 +1,137 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+
+/**
+ * Test {@link CompactMarketData} and {@link ObservableIdDictionary}.
+ */
+@Test
+public class CompactMarketDataTest {
+
+  private static final LocalDate VAL_DATE = date(2015, 6, 30);
+  private static final TestingNamedId ID1 = new TestingNamedId("1");
+  private static final TestingObservableId ID2 = new TestingObservableId("2");
+  private static final TestingObservableId ID3 = new TestingObservableId("3");
+  private static final TestingObservableId ID4 = new TestingObservableId("4");
+  private static final LocalDateDoubleTimeSeries TIME_SERIES = LocalDateDoubleTimeSeries.builder()
+      .put(date(2011, 3, 8), 1.1)
+      .put(date(2011, 3, 10), 1.2)
+      .build();
+  private static final ImmutableMarketData BASE_DATA = ImmutableMarketData.builder(VAL_DATE)
+      .addValue(ID1, "1")
+      .addValue(ID2, 2d)
+      .addValue(ID3, 3d)
+      .addTimeSeries(ID4, TIME_SERIES)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_dictionary() {
+    ObservableIdDictionary test = ObservableIdDictionary.of(ImmutableList.of(ID3, ID2));
+    assertEquals(test.size(), 2);
+    assertEquals(test.getIds(), ImmutableList.of(ID3, ID2));
+    assertEquals(test.getId(1), ID2);
+    assertEquals(test.indexOf(ID3), 0);
+    assertEquals(test.indexOf(ID4), -1);
+    assertEquals(test.indexOf(ID1), -1);
+    assertEquals(test.indicesOf(ImmutableList.of(ID2, ID4, ID3)), new int[] {1, -1, 0});
+    assertEquals(test, ObservableIdDictionary.of(ImmutableList.of(ID3, ID2)));
+    assertNotEquals(test, ObservableIdDictionary.of(ImmutableList.of(ID2, ID3)));
+    assertThrowsIllegalArg(() -> ObservableIdDictionary.of(ImmutableList.of(ID3, ID3)));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_of_immutable() {
+    CompactMarketData test = CompactMarketData.of(BASE_DATA);
+    assertEquals(test.getValuationDate(), VAL_DATE);
+    assertEquals(test.getDictionary().size(), 2);
+    assertEquals(test.getUnderlying().getIds(), ImmutableSet.of(ID1));
+    assertTrue(test.containsValue(ID1));
+    assertTrue(test.containsValue(ID2));
+    assertFalse(test.containsValue(ID4));
+    assertEquals(test.getValue(ID1), "1");
+    assertEquals(test.getValue(ID2), 2d);
+    assertEquals(test.findValue(ID3), Optional.of(3d));
+    assertEquals(test.findValue(ID4), Optional.empty());
+    assertThrows(() -> test.getValue(ID4), MarketDataNotFoundException.class);
+    assertEquals(test.getIds(), ImmutableSet.of(ID1, ID2, ID3));
+    assertEquals(test.findIds(ID1.getMarketDataName()), ImmutableSet.of(ID1));
+    assertEquals(test.getTimeSeriesIds(), ImmutableSet.of(ID4));
+    assertEquals(test.getTimeSeries(ID4), TIME_SERIES);
+    assertEquals(test.getValues(ImmutableList.of(ID3, ID2)), DoubleArray.of(3d, 2d));
+    assertThrows(() -> test.getValues(ImmutableList.of(ID4)), MarketDataNotFoundException.class);
+  }
+
+  public void test_of_sharedDictionary() {
+    ObservableIdDictionary dictionary = ObservableIdDictionary.of(ImmutableList.of(ID4, ID3));
+    CompactMarketData test = CompactMarketData.of(BASE_DATA, dictionary);
+    assertEquals(test.getDictionary(), dictionary);
+    // ID2 not in the dictionary, ID4 in the dictionary without a value
+    assertEquals(test.getUnderlying().getIds(), ImmutableSet.of(ID1, ID2));
+    assertEquals(test.getValue(ID2), 2d);
+    assertEquals(test.getValue(ID3), 3d);
+    assertFalse(test.containsValue(ID4));
+    assertEquals(test.getIds(), ImmutableSet.of(ID1, ID2, ID3));
+    assertEquals(test.getValues(ImmutableList.of(ID2, ID3)), DoubleArray.of(2d, 3d));
+
+    int[] indices = dictionary.indicesOf(ImmutableList.of(ID3));
+    assertEquals(test.getValues(indices), DoubleArray.of(3d));
+    assertThrows(() -> test.getValues(new int[] {0}), MarketDataNotFoundException.class);
+    assertThrows(() -> test.getValues(new int[] {-1}), MarketDataNotFoundException.class);
+  }
+
+  public void test_of_values() {
+    ObservableIdDictionary dictionary = ObservableIdDictionary.of(ImmutableList.of(ID2, ID4));
+    CompactMarketData test = CompactMarketData.of(dictionary, DoubleArray.of(5d, 6d), BASE_DATA);
+    // compact values take precedence
+    assertEquals(test.getValue(ID2), 5d);
+    assertEquals(test.getValue(ID3), 3d);
+    assertEquals(test.getValue(ID4), 6d);
+    assertEquals(test.getValues(dictionary.indicesOf(ImmutableList.of(ID4, ID2))), DoubleArray.of(6d, 5d));
+    assertThrowsIllegalArg(() -> CompactMarketData.of(dictionary, DoubleArray.of(5d), BASE_DATA));
+  }
+
+  public void test_of_nan() {
+    ImmutableMarketData marketData = ImmutableMarketData.builder(VAL_DATE)
+        .addValue(ID2, 2d)
+        .addValue(ID3, Double.NaN)
+        .build();
+    assertThrowsIllegalArg(() -> CompactMarketData.of(marketData), "Value for identifier '.*3.*' must not be NaN");
+    // a NaN value not held in the array is unaffected
+    ObservableIdDictionary dictionary = ObservableIdDictionary.of(ImmutableList.of(ID2));
+    CompactMarketData test = CompactMarketData.of(marketData, dictionary);
+    assertTrue(Double.isNaN(test.getValue(ID3)));
+  }
+
+  public void test_equalsHashCode() {
+    CompactMarketData test = CompactMarketData.of(BASE_DATA);
+    CompactMarketData test2 = CompactMarketData.of(BASE_DATA);
+    CompactMarketData test3 = CompactMarketData.of(BASE_DATA, ObservableIdDictionary.of(ImmutableList.of(ID3)));
+    assertEquals(test, test2);
+    assertEquals(test.hashCode(), test2.hashCode());
+    assertNotEquals(test, test3);
+    assertNotEquals(test, BASE_DATA);
+    assertTrue(test.toString().startsWith("CompactMarketData["));
+  }
+
+}
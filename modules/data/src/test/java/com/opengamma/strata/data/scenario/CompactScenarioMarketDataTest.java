@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.CompactMarketData;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataNotFoundException;
+import com.opengamma.strata.data.ObservableIdDictionary;
+
+/**
+ * Test {@link CompactScenarioMarketData}.
+ */
+@Test
+public class CompactScenarioMarketDataTest {
+
+  private static final LocalDate VAL_DATE = date(2015, 6, 30);
+  private static final TestObservableId ID1 = TestObservableId.of("1");
+  private static final TestObservableId ID2 = TestObservableId.of("2");
+  private static final TestObservableId ID3 = TestObservableId.of("3");
+  private static final TestId ID4 = new TestId("4");
+  private static final LocalDateDoubleTimeSeries TIME_SERIES = LocalDateDoubleTimeSeries.builder()
+      .put(date(2011, 3, 8), 1.1)
+      .put(date(2011, 3, 10), 1.2)
+      .build();
+  private static final ImmutableScenarioMarketData BASE_DATA = ImmutableScenarioMarketData.builder(VAL_DATE)
+      .addBox(ID1, MarketDataBox.ofScenarioValues(1d, 2d, 3d))
+      .addValue(ID2, 4d)
+      .addBox(ID4, MarketDataBox.ofScenarioValues("a", "b", "c"))
+      .addTimeSeries(ID3, TIME_SERIES)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_of_immutable() {
+    CompactScenarioMarketData test = CompactScenarioMarketData.of(BASE_DATA);
+    assertEquals(test.getScenarioCount(), 3);
+    assertEquals(test.getValuationDate(), MarketDataBox.ofSingleValue(VAL_DATE));
+    assertEquals(test.getDictionary().getIds().size(), 2);
+    assertEquals(test.getUnderlying().getIds(), ImmutableSet.of(ID4));
+    assertTrue(test.containsValue(ID1));
+    assertTrue(test.containsValue(ID4));
+    assertFalse(test.containsValue(ID3));
+    assertEquals(test.getValue(ID1).getValue(2), 3d);
+    assertEquals(test.getValue(ID2).getValue(1), 4d);
+    assertEquals(test.getValue(ID4).getValue(1), "b");
+    assertEquals(test.findValue(ID1).get().getScenarioValue(), DoubleScenarioArray.of(DoubleArray.of(1d, 2d, 3d)));
+    // the kind of box is preserved
+    assertTrue(test.getValue(ID1).isScenarioValue());
+    assertTrue(test.getValue(ID2).isSingleValue());
+    assertEquals(test.getValue(ID2), MarketDataBox.ofSingleValue(4d));
+    assertEquals(test.findValue(ID2), Optional.of(MarketDataBox.ofSingleValue(4d)));
+    assertFalse(test.findValue(ID3).isPresent());
+    assertThrows(() -> test.getValue(ID3), MarketDataNotFoundException.class);
+    assertEquals(test.getIds(), ImmutableSet.of(ID1, ID2, ID4));
+    assertEquals(test.getTimeSeriesIds(), ImmutableSet.of(ID3));
+    assertEquals(test.getTimeSeries(ID3), TIME_SERIES);
+  }
+
+  public void test_bulkValues() {
+    CompactScenarioMarketData test = CompactScenarioMarketData.of(BASE_DATA);
+    assertEquals(test.getValues(ID1), DoubleArray.of(1d, 2d, 3d));
+    assertEquals(test.getValues(ID2), DoubleArray.of(4d, 4d, 4d));
+    assertEquals(
+        test.getValues(ImmutableList.of(ID2, ID1)),
+        DoubleMatrix.of(3, 2, 4d, 1d, 4d, 2d, 4d, 3d));
+    assertThrows(() -> test.getValues(ID3), MarketDataNotFoundException.class);
+    assertThrows(() -> test.getValues(ImmutableList.of(ID3)), MarketDataNotFoundException.class);
+  }
+
+  public void test_scenarios() {
+    CompactScenarioMarketData test = CompactScenarioMarketData.of(BASE_DATA);
+    MarketData scenario = test.scenario(1);
+    assertTrue(scenario instanceof CompactMarketData);
+    assertEquals(scenario.getValuationDate(), VAL_DATE);
+    assertEquals(scenario.getValue(ID1), 2d);
+    assertEquals(scenario.getValue(ID2), 4d);
+    assertEquals(scenario.getValue(ID4), "b");
+    List<Double> values = test.scenarios().map(md -> md.getValue(ID1)).collect(toList());
+    assertEquals(values, ImmutableList.of(1d, 2d, 3d));
+    assertThrows(() -> test.scenario(3), IndexOutOfBoundsException.class);
+  }
+
+  public void test_of_values() {
+    ObservableIdDictionary dictionary = ObservableIdDictionary.of(ImmutableList.of(ID3, ID1));
+    DoubleMatrix values = DoubleMatrix.of(2, 3, 7d, 8d, 9d, Double.NaN, Double.NaN, Double.NaN);
+    CompactScenarioMarketData test = CompactScenarioMarketData.of(dictionary, values, BASE_DATA);
+    assertEquals(test.getValues(ID3), DoubleArray.of(7d, 8d, 9d));
+    // no value in the matrix, so found in the underlying data
+    assertEquals(test.getValues(ID1), DoubleArray.of(1d, 2d, 3d));
+    assertEquals(test.getValue(ID1).getValue(0), 1d);
+    assertTrue(test.getValue(ID3).isScenarioValue());
+    assertEquals(test.scenario(2).getValue(ID3), 9d);
+
+    DoubleMatrix partial = DoubleMatrix.of(2, 3, 7d, 8d, 9d, Double.NaN, 1d, Double.NaN);
+    assertThrowsIllegalArg(() -> CompactScenarioMarketData.of(dictionary, partial, BASE_DATA));
+    DoubleMatrix oneRow = DoubleMatrix.of(1, 3, 1d, 2d, 3d);
+    assertThrowsIllegalArg(() -> CompactScenarioMarketData.of(dictionary, oneRow, BASE_DATA));
+    assertThrowsIllegalArg(() -> CompactScenarioMarketData.of(dictionary, DoubleMatrix.filled(2, 2), BASE_DATA));
+  }
+
+  public void test_of_nan() {
+    ImmutableScenarioMarketData marketData = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addBox(ID1, MarketDataBox.ofScenarioValues(1d, Double.NaN, 3d))
+        .addValue(ID2, 4d)
+        .build();
+    assertThrowsIllegalArg(
+        () -> CompactScenarioMarketData.of(marketData), "Value for identifier '.*1.*' must not be NaN");
+    ImmutableScenarioMarketData singleNaN = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addValue(ID2, Double.NaN)
+        .build();
+    assertThrowsIllegalArg(() -> CompactScenarioMarketData.of(singleNaN));
+  }
+
+  public void test_equalsHashCode() {
+    CompactScenarioMarketData test = CompactScenarioMarketData.of(BASE_DATA);
+    CompactScenarioMarketData test2 = CompactScenarioMarketData.of(BASE_DATA);
+    CompactScenarioMarketData test3 =
+        CompactScenarioMarketData.of(BASE_DATA, ObservableIdDictionary.of(ImmutableList.of(ID1)));
+    assertEquals(test, test2);
+    assertEquals(test.hashCode(), test2.hashCode());
+    assertNotEquals(test, test3);
+    assertNotEquals(test, BASE_DATA);
+    assertTrue(test.toString().startsWith("CompactScenarioMarketData["));
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class TestId implements MarketDataId<String> {
+    private final String id;
+
+    private TestId(String id) {
+      this.id = id;
+    }
+
+    @Override
+    public Class<String> getMarketDataType() {
+      return String.class;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof TestId && id.equals(((TestId) obj).id);
+    }
+
+    @Override
+    public int hashCode() {
+      return id.hashCode();
+    }
+  }
+
+}
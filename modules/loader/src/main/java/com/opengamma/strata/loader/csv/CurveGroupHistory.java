@@ -0,0 +1,198 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.csv;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveGroup;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.CurveName;
+
+/**
+ * A history of rates curves, held compactly for many dates.
+ * <p>
+ * This is the result of {@link RatesCurvesCsvLoader#loadHistory}.
+ * The nodes of each curve on each date are held in primitive arrays.
+ * Curves and curve groups are only created when requested for a specific date,
+ * see {@link #getCurveGroups(LocalDate)}. They are not cached, thus the caller
+ * should retain the groups of a date for as long as they are needed.
+ * <p>
+ * The settings of every curve are checked when the history is loaded.
+ * The node values themselves are only validated when the curves are created.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class CurveGroupHistory {
+
+  /**
+   * The curve group definitions.
+   */
+  private final ImmutableList<CurveGroupDefinition> groupDefinitions;
+  /**
+   * The curve settings.
+   */
+  private final ImmutableMap<CurveName, LoadedCurveSettings> settings;
+  /**
+   * The curve nodes, keyed by date and curve name.
+   */
+  private final ImmutableSortedMap<LocalDate, ImmutableMap<CurveName, CurveNodes>> nodes;
+
+  //-------------------------------------------------------------------------
+  // restricted constructor
+  CurveGroupHistory(
+      List<CurveGroupDefinition> groupDefinitions,
+      Map<CurveName, LoadedCurveSettings> settings,
+      Map<LocalDate, ? extends Map<CurveName, CurveNodes>> nodes) {
+
+    this.groupDefinitions = ImmutableList.copyOf(groupDefinitions);
+    this.settings = ImmutableMap.copyOf(settings);
+    ImmutableSortedMap.Builder<LocalDate, ImmutableMap<CurveName, CurveNodes>> builder =
+        ImmutableSortedMap.naturalOrder();
+    for (Entry<LocalDate, ? extends Map<CurveName, CurveNodes>> entry : nodes.entrySet()) {
+      for (CurveName curveName : entry.getValue().keySet()) {
+        if (!settings.containsKey(curveName)) {
+          throw new IllegalArgumentException(
+              Messages.format("Missing settings for curve: {}", LoadedCurveKey.of(entry.getKey(), curveName)));
+        }
+      }
+      builder.put(entry.getKey(), ImmutableMap.copyOf(entry.getValue()));
+    }
+    this.nodes = builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the dates that have curves, in ascending order.
+   *
+   * @return the dates
+   */
+  public ImmutableSortedSet<LocalDate> getDates() {
+    return nodes.keySet();
+  }
+
+  /**
+   * Gets the curve group definitions.
+   *
+   * @return the definitions
+   */
+  public ImmutableList<CurveGroupDefinition> getGroupDefinitions() {
+    return groupDefinitions;
+  }
+
+  /**
+   * Gets the names of the curves available on the specified date.
+   *
+   * @param date  the date
+   * @return the curve names, empty if the date is not present
+   */
+  public ImmutableSortedSet<CurveName> getCurveNames(LocalDate date) {
+    ImmutableMap<CurveName, CurveNodes> dateNodes = nodes.get(ArgChecker.notNull(date, "date"));
+    return dateNodes != null ? ImmutableSortedSet.copyOf(dateNodes.keySet()) : ImmutableSortedSet.of();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the curve groups for the specified date.
+   * <p>
+   * One group is returned for each group definition, built from the curves of the date.
+   *
+   * @param date  the date
+   * @return the curve groups, empty if the date is not present
+   * @throws IllegalArgumentException if a curve cannot be created from its nodes
+   */
+  public ImmutableList<CurveGroup> getCurveGroups(LocalDate date) {
+    ImmutableMap<CurveName, CurveNodes> dateNodes = nodes.get(ArgChecker.notNull(date, "date"));
+    if (dateNodes == null) {
+      return ImmutableList.of();
+    }
+    List<Curve> curves = new ArrayList<>(dateNodes.size());
+    for (Entry<CurveName, CurveNodes> entry : dateNodes.entrySet()) {
+      curves.add(entry.getValue().createCurve(date, settings.get(entry.getKey())));
+    }
+    ImmutableList.Builder<CurveGroup> builder = ImmutableList.builder();
+    for (CurveGroupDefinition groupDefinition : groupDefinitions) {
+      builder.add(CurveGroup.ofCurves(groupDefinition, curves));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Creates a single curve for the specified date.
+   *
+   * @param date  the date
+   * @param curveName  the curve name
+   * @return the curve
+   * @throws IllegalArgumentException if the curve is not present on the date or cannot be created
+   */
+  public Curve getCurve(LocalDate date, CurveName curveName) {
+    ArgChecker.notNull(curveName, "curveName");
+    ImmutableMap<CurveName, CurveNodes> dateNodes = nodes.get(ArgChecker.notNull(date, "date"));
+    CurveNodes curveNodes = dateNodes != null ? dateNodes.get(curveName) : null;
+    if (curveNodes == null) {
+      throw new IllegalArgumentException(Messages.format("No curve found named {} on {}", curveName, date));
+    }
+    return curveNodes.createCurve(date, settings.get(curveName));
+  }
+
+  /**
+   * Creates the curve groups for every date.
+   * <p>
+   * This is the form returned by {@link RatesCurvesCsvLoader#loadAllDates}.
+   * All curves are created, thus this should only be used for short histories.
+   *
+   * @return the curve groups, keyed by date
+   */
+  public ImmutableListMultimap<LocalDate, CurveGroup> toMultimap() {
+    ImmutableListMultimap.Builder<LocalDate, CurveGroup> builder = ImmutableListMultimap.builder();
+    for (LocalDate date : nodes.keySet()) {
+      builder.putAll(date, getCurveGroups(date));
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("CurveGroupHistory[dates={}, groups={}]", nodes.size(), groupDefinitions.size());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The nodes of a single curve on a single date, held as primitive arrays.
+   */
+  static final class CurveNodes {
+    private final int[] epochDays;
+    private final double[] values;
+    private final String[] labels;
+
+    CurveNodes(int[] epochDays, double[] values, String[] labels) {
+      this.epochDays = epochDays;
+      this.values = values;
+      this.labels = labels;
+    }
+
+    private Curve createCurve(LocalDate date, LoadedCurveSettings curveSettings) {
+      List<LoadedCurveNode> curveNodes = new ArrayList<>(values.length);
+      for (int i = 0; i < values.length; i++) {
+        curveNodes.add(LoadedCurveNode.of(LocalDate.ofEpochDay(epochDays[i]), values[i], labels[i]));
+      }
+      return curveSettings.createCurve(date, curveNodes);
+    }
+  }
+
+}
@@ -8,12 +8,15 @@ package com.opengamma.strata.loader.csv;
 import static java.util.stream.Collectors.toList;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import com.google.common.collect.ImmutableMap;
@@ -24,6 +27,7 @@ import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.io.CsvFile;
 import com.opengamma.strata.collect.io.CsvRow;
 import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.FieldName;
 import com.opengamma.strata.market.observable.QuoteId;
 
@@ -52,6 +56,10 @@ import com.opengamma.strata.market.observable.QuoteId;
  * 2014-01-22, OG-Future, CME-ED-Mar14, MarketValue, 99.620
  * </pre>
  * Note that Microsoft Excel prefers the CSV file to have no space after the comma.
+ * <p>
+ * When loading a long history, such as several years of daily quotes, use
+ * {@link #loadHistory(Collection)}. This parses the files in parallel and returns
+ * a {@link QuotesHistory} that holds the quotes in a compact form.
  */
 public final class QuotesCsvLoader {
 
@@ -231,6 +239,135 @@ public final class QuotesCsvLoader {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Loads one or more CSV format quote files into a compact history.
+   * <p>
+   * All dates that are found will be returned.
+   * The files are parsed in parallel, see {@link #parseHistory(Predicate, Collection)}.
+   * <p>
+   * If the files contain a duplicate entry an exception will be thrown.
+   * 
+   * @param resources  the CSV resources
+   * @return the loaded history of quotes
+   * @throws IllegalArgumentException if the files contain a duplicate entry
+   */
+  public static QuotesHistory loadHistory(Collection<ResourceLocator> resources) {
+    Collection<CharSource> charSources = resources.stream().map(r -> r.getCharSource()).collect(toList());
+    return parseHistory(d -> true, charSources);
+  }
+
+  /**
+   * Parses one or more CSV format quote files into a compact history.
+   * <p>
+   * A predicate is specified that is used to filter the dates that are returned.
+   * This could match a single date, a set of dates or all dates.
+   * The predicate may be invoked from multiple threads.
+   * <p>
+   * The files are parsed in parallel. Each distinct quote identifier is only created once,
+   * shared across all files and dates. The result is the same as {@link #parse(Predicate, Collection)}
+   * but is held in far less memory.
+   * <p>
+   * If the files contain a duplicate entry an exception will be thrown.
+   * 
+   * @param datePredicate  the predicate used to select the dates
+   * @param charSources  the CSV character sources
+   * @return the loaded history of quotes
+   * @throws IllegalArgumentException if the files contain a duplicate entry
+   */
+  public static QuotesHistory parseHistory(Predicate<LocalDate> datePredicate, Collection<CharSource> charSources) {
+    QuoteIdInterner interner = new QuoteIdInterner();
+    List<ParsedQuotes> parsed = new ArrayList<>(charSources).parallelStream()
+        .map(charSource -> parseSingle(datePredicate, charSource, interner))
+        .collect(toList());
+    // merge in file order, so the dictionary order is independent of thread scheduling
+    QuotesHistory.Builder builder = QuotesHistory.builder();
+    for (ParsedQuotes fileQuotes : parsed) {
+      for (int i = 0; i < fileQuotes.size; i++) {
+        builder.add(fileQuotes.dates.get(i), fileQuotes.quoteIds.get(i), fileQuotes.values[i]);
+      }
+    }
+    return builder.build();
+  }
+
+  // loads a single CSV file, filtering by date, into a columnar form
+  private static ParsedQuotes parseSingle(
+      Predicate<LocalDate> datePredicate,
+      CharSource resource,
+      QuoteIdInterner interner) {
+
+    try {
+      CsvFile csv = CsvFile.of(resource, true);
+      ParsedQuotes parsed = new ParsedQuotes(csv.rowCount());
+      // files are typically grouped by date, so the previous date is reused where possible
+      String lastDateText = null;
+      LocalDate lastDate = null;
+      boolean lastDateMatched = false;
+      for (CsvRow row : csv.rows()) {
+        String dateText = row.getField(DATE_FIELD);
+        if (!dateText.equals(lastDateText)) {
+          lastDate = LocalDate.parse(dateText);
+          lastDateText = dateText;
+          lastDateMatched = datePredicate.test(lastDate);
+        }
+        if (lastDateMatched) {
+          String symbologyStr = row.getField(SYMBOLOGY_FIELD);
+          String tickerStr = row.getField(TICKER_FIELD);
+          String fieldNameStr = row.getField(FIELD_NAME_FIELD);
+          String valueStr = row.getField(VALUE_FIELD);
+
+          double value = Double.parseDouble(valueStr);
+          parsed.add(lastDate, interner.intern(symbologyStr, tickerStr, fieldNameStr), value);
+        }
+      }
+      return parsed;
+    } catch (RuntimeException ex) {
+      throw new IllegalArgumentException(
+          Messages.format("Error processing resource as CSV file: {}", resource), ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Interns quote identifiers, ensuring that the same textual identifier
+   * results in the same instance across all files and dates.
+   */
+  private static final class QuoteIdInterner {
+    private final Map<Pair<String, String>, StandardId> standardIds = new ConcurrentHashMap<>();
+    private final Map<Pair<StandardId, String>, QuoteId> quoteIds = new ConcurrentHashMap<>();
+
+    private QuoteId intern(String symbology, String ticker, String fieldName) {
+      StandardId id = standardIds.computeIfAbsent(Pair.of(symbology, ticker), p -> StandardId.of(symbology, ticker));
+      String field = fieldName.isEmpty() ? FieldName.MARKET_VALUE.getName() : fieldName;
+      return quoteIds.computeIfAbsent(Pair.of(id, field), p -> QuoteId.of(id, FieldName.of(field)));
+    }
+  }
+
+  /**
+   * The quotes parsed from a single file, held by column.
+   */
+  private static final class ParsedQuotes {
+    private final List<LocalDate> dates;
+    private final List<QuoteId> quoteIds;
+    private double[] values;
+    private int size;
+
+    private ParsedQuotes(int capacity) {
+      this.dates = new ArrayList<>(capacity);
+      this.quoteIds = new ArrayList<>(capacity);
+      this.values = new double[capacity];
+    }
+
+    private void add(LocalDate date, QuoteId quoteId, double value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, Math.max(16, size * 2));
+      }
+      dates.add(date);
+      quoteIds.add(quoteId);
+      values[size++] = value;
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Restricted constructor.
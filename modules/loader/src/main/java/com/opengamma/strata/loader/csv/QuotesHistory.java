@@ -0,0 +1,348 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.csv;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.OptionalDouble;
+import java.util.TreeMap;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.market.observable.QuoteId;
+
+/**
+ * A history of quotes, held compactly for many dates.
+ * <p>
+ * This is the result of {@link QuotesCsvLoader#loadHistory(java.util.Collection)}.
+ * Each distinct {@link QuoteId} is held once in a shared dictionary.
+ * The quotes of each date are held as a pair of primitive arrays, the dictionary
+ * indices in ascending order and the matching values.
+ * This avoids the boxed map of quotes per date that is otherwise needed,
+ * which matters when loading many years of daily data.
+ * <p>
+ * Maps of quotes are only created when requested, see {@link #getQuotes(LocalDate)}.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class QuotesHistory {
+
+  /**
+   * The empty instance.
+   */
+  private static final QuotesHistory EMPTY =
+      new QuotesHistory(ImmutableList.of(), ImmutableMap.of(), ImmutableSortedMap.of());
+
+  /**
+   * The dictionary of quote identifiers.
+   */
+  private final ImmutableList<QuoteId> quoteIds;
+  /**
+   * The index of each quote identifier in the dictionary.
+   */
+  private final ImmutableMap<QuoteId, Integer> quoteIndices;
+  /**
+   * The quotes, keyed by date.
+   */
+  private final ImmutableSortedMap<LocalDate, DateQuotes> quotes;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an empty instance.
+   *
+   * @return the empty history
+   */
+  public static QuotesHistory empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Creates a builder.
+   * <p>
+   * The builder is not thread-safe.
+   *
+   * @return the builder
+   */
+  static Builder builder() {
+    return new Builder();
+  }
+
+  // restricted constructor
+  private QuotesHistory(
+      ImmutableList<QuoteId> quoteIds,
+      ImmutableMap<QuoteId, Integer> quoteIndices,
+      ImmutableSortedMap<LocalDate, DateQuotes> quotes) {
+
+    this.quoteIds = quoteIds;
+    this.quoteIndices = quoteIndices;
+    this.quotes = quotes;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the dates that have quotes, in ascending order.
+   *
+   * @return the dates
+   */
+  public ImmutableSortedSet<LocalDate> getDates() {
+    return quotes.keySet();
+  }
+
+  /**
+   * Gets the dictionary of quote identifiers, each of which has a value on at least one date.
+   *
+   * @return the quote identifiers, in the order first seen
+   */
+  public ImmutableList<QuoteId> getQuoteIds() {
+    return quoteIds;
+  }
+
+  /**
+   * Checks if the history contains quotes for the specified date.
+   *
+   * @param date  the date
+   * @return true if there are quotes for the date
+   */
+  public boolean containsDate(LocalDate date) {
+    return quotes.containsKey(date);
+  }
+
+  /**
+   * Gets the number of quotes for the specified date.
+   *
+   * @param date  the date
+   * @return the number of quotes, zero if the date is not present
+   */
+  public int getQuoteCount(LocalDate date) {
+    DateQuotes dateQuotes = quotes.get(ArgChecker.notNull(date, "date"));
+    return dateQuotes != null ? dateQuotes.indices.length : 0;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the quotes for the specified date as a map.
+   * <p>
+   * The map is created on demand from the compact form.
+   *
+   * @param date  the date
+   * @return the quotes, empty if the date is not present
+   */
+  public ImmutableMap<QuoteId, Double> getQuotes(LocalDate date) {
+    DateQuotes dateQuotes = quotes.get(ArgChecker.notNull(date, "date"));
+    if (dateQuotes == null) {
+      return ImmutableMap.of();
+    }
+    ImmutableMap.Builder<QuoteId, Double> builder = ImmutableMap.builder();
+    for (int i = 0; i < dateQuotes.indices.length; i++) {
+      builder.put(quoteIds.get(dateQuotes.indices[i]), dateQuotes.values[i]);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Finds the value of a quote on the specified date.
+   *
+   * @param date  the date
+   * @param quoteId  the quote identifier
+   * @return the value, empty if there is no quote for the identifier on the date
+   */
+  public OptionalDouble findValue(LocalDate date, QuoteId quoteId) {
+    ArgChecker.notNull(quoteId, "quoteId");
+    DateQuotes dateQuotes = quotes.get(ArgChecker.notNull(date, "date"));
+    Integer index = quoteIndices.get(quoteId);
+    if (dateQuotes == null || index == null) {
+      return OptionalDouble.empty();
+    }
+    int pos = Arrays.binarySearch(dateQuotes.indices, index);
+    return pos >= 0 ? OptionalDouble.of(dateQuotes.values[pos]) : OptionalDouble.empty();
+  }
+
+  /**
+   * Gets the values of a set of quotes on the specified date.
+   * <p>
+   * This is intended for extracting the inputs of a calculation, such as the nodes of a curve,
+   * for each date of a history in turn.
+   *
+   * @param date  the date
+   * @param quoteIds  the quote identifiers
+   * @return the values, in the order of the identifiers
+   * @throws IllegalArgumentException if any quote is not present on the date
+   */
+  public DoubleArray getValues(LocalDate date, List<QuoteId> quoteIds) {
+    ArgChecker.notNull(quoteIds, "quoteIds");
+    DateQuotes dateQuotes = quotes.get(ArgChecker.notNull(date, "date"));
+    if (dateQuotes == null) {
+      throw new IllegalArgumentException(Messages.format("No quotes available for date: {}", date));
+    }
+    double[] result = new double[quoteIds.size()];
+    for (int i = 0; i < result.length; i++) {
+      QuoteId quoteId = quoteIds.get(i);
+      Integer index = quoteIndices.get(quoteId);
+      int pos = index != null ? Arrays.binarySearch(dateQuotes.indices, index) : -1;
+      if (pos < 0) {
+        throw new IllegalArgumentException(Messages.format("No quote available for {} on {}", quoteId, date));
+      }
+      result[i] = dateQuotes.values[pos];
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Gets the time-series of a single quote.
+   *
+   * @param quoteId  the quote identifier
+   * @return the time-series, empty if the quote is unknown
+   */
+  public LocalDateDoubleTimeSeries getTimeSeries(QuoteId quoteId) {
+    Integer index = quoteIndices.get(ArgChecker.notNull(quoteId, "quoteId"));
+    if (index == null) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (Entry<LocalDate, DateQuotes> entry : quotes.entrySet()) {
+      DateQuotes dateQuotes = entry.getValue();
+      int pos = Arrays.binarySearch(dateQuotes.indices, index);
+      if (pos >= 0) {
+        builder.put(entry.getKey(), dateQuotes.values[pos]);
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Converts this history to a map of quotes keyed by date.
+   * <p>
+   * This is the form returned by {@link QuotesCsvLoader#loadAllDates(java.util.Collection)}.
+   *
+   * @return the quotes, mapped by date and quote identifier
+   */
+  public ImmutableMap<LocalDate, ImmutableMap<QuoteId, Double>> toMap() {
+    ImmutableMap.Builder<LocalDate, ImmutableMap<QuoteId, Double>> builder = ImmutableMap.builder();
+    for (LocalDate date : quotes.keySet()) {
+      builder.put(date, getQuotes(date));
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("QuotesHistory[dates={}, quoteIds={}]", quotes.size(), quoteIds.size());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The quotes of a single date, sorted by dictionary index.
+   */
+  private static final class DateQuotes {
+    private final int[] indices;
+    private final double[] values;
+
+    private DateQuotes(int[] indices, double[] values) {
+      this.indices = indices;
+      this.values = values;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builder for the history, which assigns dictionary indices in the order quotes are added.
+   */
+  static final class Builder {
+    private final Map<QuoteId, Integer> quoteIndices = new HashMap<>();
+    private final ImmutableList.Builder<QuoteId> quoteIds = ImmutableList.builder();
+    private final Map<LocalDate, DateBuilder> dates = new TreeMap<>();
+
+    private Builder() {
+    }
+
+    /**
+     * Adds a quote.
+     *
+     * @param date  the date
+     * @param quoteId  the quote identifier
+     * @param value  the value
+     * @return this builder
+     */
+    Builder add(LocalDate date, QuoteId quoteId, double value) {
+      Integer index = quoteIndices.get(quoteId);
+      if (index == null) {
+        index = quoteIndices.size();
+        quoteIndices.put(quoteId, index);
+        quoteIds.add(quoteId);
+      }
+      dates.computeIfAbsent(date, d -> new DateBuilder()).add(index, value);
+      return this;
+    }
+
+    /**
+     * Builds the history.
+     *
+     * @return the history
+     * @throws IllegalArgumentException if a quote was added more than once for the same date
+     */
+    QuotesHistory build() {
+      ImmutableList<QuoteId> ids = quoteIds.build();
+      ImmutableSortedMap.Builder<LocalDate, DateQuotes> built = ImmutableSortedMap.naturalOrder();
+      for (Entry<LocalDate, DateBuilder> entry : dates.entrySet()) {
+        built.put(entry.getKey(), entry.getValue().build(entry.getKey(), ids));
+      }
+      return new QuotesHistory(ids, ImmutableMap.copyOf(quoteIndices), built.build());
+    }
+  }
+
+  /**
+   * Mutable builder of the quotes of a single date.
+   */
+  private static final class DateBuilder {
+    private int[] indices = new int[16];
+    private double[] values = new double[16];
+    private int size;
+
+    private void add(int index, double value) {
+      if (size == indices.length) {
+        indices = Arrays.copyOf(indices, size * 2);
+        values = Arrays.copyOf(values, size * 2);
+      }
+      indices[size] = index;
+      values[size] = value;
+      size++;
+    }
+
+    // sorts by index using a packed key of index and insertion position, rejecting duplicates
+    private DateQuotes build(LocalDate date, List<QuoteId> ids) {
+      long[] keys = new long[size];
+      for (int i = 0; i < size; i++) {
+        keys[i] = (((long) indices[i]) << 32) | i;
+      }
+      Arrays.sort(keys);
+      int[] sortedIndices = new int[size];
+      double[] sortedValues = new double[size];
+      for (int i = 0; i < size; i++) {
+        int index = (int) (keys[i] >>> 32);
+        if (i > 0 && sortedIndices[i - 1] == index) {
+          throw new IllegalArgumentException(
+              Messages.format("Multiple values found for quote {} on {}", ids.get(index), date));
+        }
+        sortedIndices[i] = index;
+        sortedValues[i] = values[(int) keys[i]];
+      }
+      return new DateQuotes(sortedIndices, sortedValues);
+    }
+  }
+
+}
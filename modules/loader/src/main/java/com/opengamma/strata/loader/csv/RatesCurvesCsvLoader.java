@@ -17,6 +17,7 @@ import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -97,6 +98,10 @@ import com.opengamma.strata.market.param.DatedParameterMetadata;
  * <p>
  * Each curve must be contained entirely within a single file, but each file may contain more than
  * one curve. The curve points do not need to be ordered.
+ * <p>
+ * When loading a long history, such as several years of daily curves, use {@link #loadHistory}.
+ * This parses the files in parallel and returns a {@link CurveGroupHistory} that creates
+ * the curve groups of each date on demand.
  */
 public final class RatesCurvesCsvLoader {
 
@@ -218,6 +223,134 @@ public final class RatesCurvesCsvLoader {
     return builder.build();
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Loads one or more CSV format curve files for all available dates into a compact history.
+   * <p>
+   * The curve files are parsed in parallel, see {@link #parseHistory}.
+   * <p>
+   * If the files contain a duplicate entry an exception will be thrown.
+   *
+   * @param groupsResource  the curve groups CSV resource
+   * @param settingsResource  the curve settings CSV resource
+   * @param curveValueResources  the CSV resources for curves
+   * @return the loaded history of curves
+   * @throws IllegalArgumentException if the files contain a duplicate entry
+   */
+  public static CurveGroupHistory loadHistory(
+      ResourceLocator groupsResource,
+      ResourceLocator settingsResource,
+      Collection<ResourceLocator> curveValueResources) {
+
+    Collection<CharSource> curveCharSources = curveValueResources.stream().map(r -> r.getCharSource()).collect(toList());
+    return parseHistory(d -> true, groupsResource.getCharSource(), settingsResource.getCharSource(), curveCharSources);
+  }
+
+  /**
+   * Parses one or more CSV format curve files into a compact history.
+   * <p>
+   * A predicate is specified that is used to filter the dates that are returned.
+   * This could match a single date, a set of dates or all dates.
+   * The predicate may be invoked from multiple threads.
+   * <p>
+   * The curve files are parsed in parallel, with the nodes held in primitive arrays.
+   * No curves are created until the history is queried, thus any error in the node values
+   * is only reported when the curves of the affected date are requested.
+   * <p>
+   * If the files contain a duplicate entry an exception will be thrown.
+   *
+   * @param datePredicate  the predicate used to select the dates
+   * @param groupsCharSource  the curve groups CSV character source
+   * @param settingsCharSource  the curve settings CSV character source
+   * @param curveValueCharSources  the CSV character sources for curves
+   * @return the loaded history of curves
+   * @throws IllegalArgumentException if the files contain a duplicate entry
+   */
+  public static CurveGroupHistory parseHistory(
+      Predicate<LocalDate> datePredicate,
+      CharSource groupsCharSource,
+      CharSource settingsCharSource,
+      Collection<CharSource> curveValueCharSources) {
+
+    List<CurveGroupDefinition> curveGroups = CurveGroupDefinitionCsvLoader.parseCurveGroupDefinitions(groupsCharSource);
+    Map<CurveName, LoadedCurveSettings> settingsMap = parseCurveSettings(settingsCharSource);
+    List<Map<LocalDate, Map<CurveName, CurveNodesBuilder>>> parsed = new ArrayList<>(curveValueCharSources)
+        .parallelStream()
+        .map(charSource -> parseSingleNodes(datePredicate, charSource))
+        .collect(toList());
+
+    // merge in file order, ensuring curves only be seen once within a date
+    Map<LocalDate, Map<CurveName, CurveGroupHistory.CurveNodes>> resultMap = new TreeMap<>();
+    for (Map<LocalDate, Map<CurveName, CurveNodesBuilder>> fileNodes : parsed) {
+      for (Entry<LocalDate, Map<CurveName, CurveNodesBuilder>> dateEntry : fileNodes.entrySet()) {
+        Map<CurveName, CurveGroupHistory.CurveNodes> resultCurves =
+            resultMap.computeIfAbsent(dateEntry.getKey(), d -> new HashMap<>());
+        for (Entry<CurveName, CurveNodesBuilder> curveEntry : dateEntry.getValue().entrySet()) {
+          if (resultCurves.put(curveEntry.getKey(), curveEntry.getValue().build()) != null) {
+            throw new IllegalArgumentException(
+                "Rates curve loader found multiple curves with the same name: " + curveEntry.getKey());
+          }
+        }
+      }
+    }
+    return new CurveGroupHistory(curveGroups, settingsMap, resultMap);
+  }
+
+  // loads the nodes of a single curves CSV file, without creating the curves
+  private static Map<LocalDate, Map<CurveName, CurveNodesBuilder>> parseSingleNodes(
+      Predicate<LocalDate> datePredicate,
+      CharSource curvesResource) {
+
+    CsvFile csv = CsvFile.of(curvesResource, true);
+    Map<LocalDate, Map<CurveName, CurveNodesBuilder>> allNodes = new HashMap<>();
+    Map<String, LocalDate> dates = new HashMap<>();
+    Map<String, CurveName> curveNames = new HashMap<>();
+    Map<String, String> labels = new HashMap<>();
+    for (CsvRow row : csv.rows()) {
+      String dateStr = row.getField(CURVE_DATE);
+      String curveNameStr = row.getField(CURVE_NAME);
+      String pointDateStr = row.getField(CURVE_POINT_DATE);
+      String pointValueStr = row.getField(CURVE_POINT_VALUE);
+      String pointLabel = row.getField(CURVE_POINT_LABEL);
+
+      LocalDate date = dates.computeIfAbsent(dateStr, LocalDate::parse);
+      if (datePredicate.test(date)) {
+        LocalDate pointDate = dates.computeIfAbsent(pointDateStr, LocalDate::parse);
+        double pointValue = Double.parseDouble(pointValueStr);
+
+        CurveName curveName = curveNames.computeIfAbsent(curveNameStr, CurveName::of);
+        allNodes.computeIfAbsent(date, d -> new HashMap<>())
+            .computeIfAbsent(curveName, n -> new CurveNodesBuilder())
+            .add(pointDate, pointValue, labels.computeIfAbsent(pointLabel, l -> l));
+      }
+    }
+    return allNodes;
+  }
+
+  // mutable builder of the nodes of a single curve on a single date
+  private static final class CurveNodesBuilder {
+    private int[] epochDays = new int[16];
+    private double[] values = new double[16];
+    private final List<String> labels = new ArrayList<>();
+
+    private void add(LocalDate pointDate, double value, String label) {
+      int size = labels.size();
+      if (size == values.length) {
+        epochDays = Arrays.copyOf(epochDays, size * 2);
+        values = Arrays.copyOf(values, size * 2);
+      }
+      epochDays[size] = (int) pointDate.toEpochDay();
+      values[size] = value;
+      labels.add(label);
+    }
+
+    private CurveGroupHistory.CurveNodes build() {
+      int size = labels.size();
+      return new CurveGroupHistory.CurveNodes(
+          Arrays.copyOf(epochDays, size), Arrays.copyOf(values, size), labels.toArray(new String[size]));
+    }
+  }
+
   //-------------------------------------------------------------------------
   // loads the curves, filtering by date
   private static Map<LocalDate, Map<CurveName, Curve>> parseCurves(
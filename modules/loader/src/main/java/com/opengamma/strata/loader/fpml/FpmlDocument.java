@@ -13,6 +13,7 @@ import java.time.Period;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -214,6 +215,43 @@ public final class FpmlDocument {
     this.refData = refData;
   }
 
+  // creates an instance with the specified state
+  private FpmlDocument(
+      XmlElement fpmlRootEl,
+      ImmutableMap<String, XmlElement> references,
+      ImmutableListMultimap<String, String> parties,
+      String ourPartyHrefId,
+      FpmlTradeInfoParserPlugin tradeInfoParser,
+      ReferenceData refData) {
+
+    this.fpmlRoot = fpmlRootEl;
+    this.references = references;
+    this.parties = parties;
+    this.ourPartyHrefId = ourPartyHrefId;
+    this.tradeInfoParser = tradeInfoParser;
+    this.refData = refData;
+  }
+
+  /**
+   * Returns a copy of this document with additional references.
+   * <p>
+   * This is used when the trades are streamed from the document, where the references within
+   * each trade are only known once the trade has been parsed. The parties are not parsed again.
+   * A reference within the trade takes precedence over a reference in this document.
+   * 
+   * @param tradeReferences  the map of id/href to referenced element within the trade
+   * @return the document including the references of the trade
+   */
+  FpmlDocument withTradeReferences(Map<String, XmlElement> tradeReferences) {
+    if (tradeReferences.isEmpty()) {
+      return this;
+    }
+    Map<String, XmlElement> merged = new HashMap<>(references);
+    merged.putAll(tradeReferences);
+    return new FpmlDocument(
+        fpmlRoot, ImmutableMap.copyOf(merged), parties, ourPartyHrefId, tradeInfoParser, refData);
+  }
+
   // parse all the root-level party elements
   private static ImmutableListMultimap<String, String> parseParties(XmlElement root) {
     ListMultimap<String, String> parties = ArrayListMultimap.create();
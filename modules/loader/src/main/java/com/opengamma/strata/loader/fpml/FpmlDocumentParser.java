@@ -5,15 +5,24 @@
  */
 package com.opengamma.strata.loader.fpml;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteSource;
 import com.opengamma.strata.basics.ReferenceData;
@@ -34,7 +43,24 @@ import com.opengamma.strata.product.Trade;
 public final class FpmlDocumentParser {
   // Notes: Streaming trades directly from the file is difficult due to the
   // need to parse the party element at the root, which is after the trades
+  // thus streaming reads the source twice, once for the parties and once for the trades
 
+  /**
+   * The number of trades converted in parallel when streaming.
+   */
+  private static final int STREAMING_BATCH_SIZE = 256;
+  /**
+   * The name of the party element.
+   */
+  private static final String PARTY = "party";
+  /**
+   * The name of the account element.
+   */
+  private static final String ACCOUNT = "account";
+  /**
+   * The name of the trade element.
+   */
+  private static final String TRADE = "trade";
   /**
    * The lookup of trade parsers.
    */
@@ -194,6 +220,68 @@ public final class FpmlDocumentParser {
     return parseTrades(root, xmlFile.getReferences());
   }
 
+  /**
+   * Parses FpML from the specified source, streaming the trades.
+   * <p>
+   * This parses the specified byte source which must be an XML document.
+   * The result is the same as {@link #parseTrades(ByteSource)}, but the document is not held in memory,
+   * making this suitable for large documents containing many trades.
+   * <p>
+   * The source is read twice. The first pass captures the {@code <party>} and {@code <account>}
+   * elements, which FpML places after the trades, and finds the FpML root in the same way as
+   * {@link #parseTrades(ByteSource)}, without parsing the trades. The second pass cuts the document
+   * at each {@code <trade>} element of the FpML root, parsing only that element. The href/id references
+   * of a trade are resolved against the elements within the trade and the parties and accounts of the root.
+   * References from one trade to an element elsewhere in the document are not supported.
+   * <p>
+   * The trades are converted by the matching {@link FpmlParserPlugin} in parallel, in batches of trades.
+   * The memory used is therefore proportional to the size of a batch of trades, not the size of the document.
+   * The trades are returned in the order of the document.
+   * 
+   * @param source  the source of the FpML XML document
+   * @return the parsed trades
+   * @throws RuntimeException if a parse error occurred
+   */
+  public List<Trade> parseTradesStreaming(ByteSource source) {
+    // first pass, find the FpML root from the location of the parties and trades, capturing the parties
+    StreamedRoot root = new StreamedRoot();
+    XmlFile.parseElements(source, FpmlDocument.ID, root::select, root::capture);
+    List<String> tradeParentPath = root.findTradeParentPath();
+    FpmlDocument document = new FpmlDocument(
+        root.getFpmlRoot(), root.getReferences(), ourPartySelector, tradeInfoParser, refData);
+
+    // second pass, the trades within the FpML root
+    ImmutableList.Builder<Trade> builder = ImmutableList.builder();
+    List<FpmlDocument> batchDocuments = new ArrayList<>(STREAMING_BATCH_SIZE);
+    List<XmlElement> batchTrades = new ArrayList<>(STREAMING_BATCH_SIZE);
+    Predicate<List<String>> tradeSelector = path -> path.size() == tradeParentPath.size() + 1 &&
+        path.get(tradeParentPath.size()).equals(TRADE) &&
+        path.subList(0, tradeParentPath.size()).equals(tradeParentPath);
+    XmlFile.parseElements(source, FpmlDocument.ID, tradeSelector, (tradeEl, refs) -> {
+      batchDocuments.add(document.withTradeReferences(refs));
+      batchTrades.add(tradeEl);
+      if (batchTrades.size() == STREAMING_BATCH_SIZE) {
+        builder.addAll(parseBatch(batchDocuments, batchTrades));
+      }
+    });
+    builder.addAll(parseBatch(batchDocuments, batchTrades));
+    return builder.build();
+  }
+
+  // parses a batch of trades in parallel, clearing the batch
+  private List<Trade> parseBatch(List<FpmlDocument> documents, List<XmlElement> tradeEls) {
+    if (tradeEls.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<Trade> trades = IntStream.range(0, tradeEls.size())
+        .parallel()
+        .mapToObj(i -> parseTrade(documents.get(i), tradeEls.get(i)))
+        .collect(toImmutableList());
+    documents.clear();
+    tradeEls.clear();
+    return trades;
+  }
+
   // intelligently finds the FpML root element
   private static XmlElement findFpmlRoot(XmlElement root) {
     XmlElement fpmlRoot = getFpmlRoot(root);
@@ -293,4 +381,91 @@ public final class FpmlDocumentParser {
     throw new FpmlParseException("Unknown product type: " + childNames);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * The first pass of streaming a document.
+   * <p>
+   * This captures the parties and accounts, and the location of the trades, without parsing the trades.
+   * The FpML root is then found using the same rules as {@link #findFpmlRoot(XmlElement)},
+   * except that elements are identified by the names of the elements on their path.
+   */
+  private static final class StreamedRoot {
+    private final Set<List<String>> tradeParentPaths = new LinkedHashSet<>();
+    private final List<List<String>> capturedParentPaths = new ArrayList<>();
+    private final List<XmlElement> captured = new ArrayList<>();
+    private final List<ImmutableMap<String, XmlElement>> capturedReferences = new ArrayList<>();
+    private List<String> rootPath;
+
+    // selects the parties and accounts, recording the location of the trades
+    private boolean select(List<String> path) {
+      String name = path.get(path.size() - 1);
+      List<String> parentPath = path.subList(0, path.size() - 1);
+      if (name.equals(TRADE)) {
+        if (!tradeParentPaths.contains(parentPath)) {
+          tradeParentPaths.add(ImmutableList.copyOf(parentPath));
+        }
+        return false;
+      }
+      if (name.equals(PARTY) || name.equals(ACCOUNT)) {
+        capturedParentPaths.add(ImmutableList.copyOf(parentPath));
+        return true;
+      }
+      return false;
+    }
+
+    // captures a party or account
+    private void capture(XmlElement element, ImmutableMap<String, XmlElement> references) {
+      captured.add(element);
+      capturedReferences.add(references);
+    }
+
+    // finds the path of the element containing the trades, setting the FpML root
+    private List<String> findTradeParentPath() {
+      // the FpML root contains parties, and is the root element, a child or a grandchild
+      List<List<String>> candidates = new ArrayList<>();
+      for (int i = 0; i < captured.size(); i++) {
+        List<String> parentPath = capturedParentPaths.get(i);
+        if (captured.get(i).getName().equals(PARTY) && parentPath.size() <= 3 && !candidates.contains(parentPath)) {
+          candidates.add(parentPath);
+        }
+      }
+      candidates.sort(Comparator.comparingInt(List::size));
+      for (List<String> candidate : candidates) {
+        // trades are siblings of the parties, or within a child or grandchild alongside the parties
+        for (int depth = 0; depth <= 2; depth++) {
+          for (List<String> tradeParentPath : tradeParentPaths) {
+            if (tradeParentPath.size() == candidate.size() + depth &&
+                tradeParentPath.subList(0, candidate.size()).equals(candidate)) {
+              rootPath = candidate;
+              return tradeParentPath;
+            }
+          }
+        }
+      }
+      throw new FpmlParseException("Unable to find FpML root element");
+    }
+
+    // the FpML root, containing the parties and accounts of the root
+    private XmlElement getFpmlRoot() {
+      List<XmlElement> children = new ArrayList<>();
+      for (int i = 0; i < captured.size(); i++) {
+        if (capturedParentPaths.get(i).equals(rootPath)) {
+          children.add(captured.get(i));
+        }
+      }
+      return XmlElement.ofChildren(rootPath.get(rootPath.size() - 1), ImmutableMap.of(), children);
+    }
+
+    // the references within the parties and accounts of the root
+    private Map<String, XmlElement> getReferences() {
+      Map<String, XmlElement> references = new HashMap<>();
+      for (int i = 0; i < captured.size(); i++) {
+        if (capturedParentPaths.get(i).equals(rootPath)) {
+          references.putAll(capturedReferences.get(i));
+        }
+      }
+      return references;
+    }
+  }
+
 }
@@ -10,17 +10,23 @@ import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.Map;
+import java.util.OptionalDouble;
 
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
 import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.market.observable.QuoteId;
 
@@ -102,6 +108,71 @@ public class QuotesCsvLoaderTest {
     assertFile1Date2(map.get(DATE2));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_loadHistory_file1file2() {
+    QuotesHistory test = QuotesCsvLoader.loadHistory(ImmutableList.of(QUOTES_1, QUOTES_2));
+    assertEquals(test.getDates(), ImmutableSet.of(DATE1, DATE2));
+    assertEquals(test.getQuoteIds(), ImmutableList.of(FGBL_MAR14, ED_MAR14, FGBL_JUN14));
+    assertEquals(test.getQuoteCount(DATE1), 3);
+    assertEquals(test.getQuoteCount(DATE2), 2);
+    assertEquals(test.getQuoteCount(date(2014, 1, 24)), 0);
+    assertTrue(test.containsDate(DATE1));
+    assertFalse(test.containsDate(date(2014, 1, 24)));
+    assertFile1Date1(test.getQuotes(DATE1));
+    assertFile2Date1(test.getQuotes(DATE1));
+    assertFile1Date2(test.getQuotes(DATE2));
+    assertEquals(test.getQuotes(date(2014, 1, 24)), ImmutableMap.of());
+    assertEquals(test.toMap(), QuotesCsvLoader.loadAllDates(QUOTES_1, QUOTES_2));
+    assertEquals(test.findValue(DATE2, ED_MAR14), OptionalDouble.of(99.63));
+    assertEquals(test.findValue(DATE2, FGBL_JUN14), OptionalDouble.empty());
+    assertEquals(test.getValues(DATE1, ImmutableList.of(FGBL_JUN14, ED_MAR14)), DoubleArray.of(150.99, 99.62));
+    assertThrowsIllegalArg(() -> test.getValues(DATE2, ImmutableList.of(FGBL_JUN14)));
+    assertThrowsIllegalArg(() -> test.getValues(date(2014, 1, 24), ImmutableList.of(ED_MAR14)));
+    assertEquals(
+        test.getTimeSeries(FGBL_MAR14),
+        LocalDateDoubleTimeSeries.builder().put(DATE1, 150.43).put(DATE2, 150.5).build());
+    QuoteId unknown = QuoteId.of(StandardId.of("OG-Future", "Unknown"));
+    assertEquals(test.getTimeSeries(unknown), LocalDateDoubleTimeSeries.empty());
+  }
+
+  public void test_loadHistory_interned() {
+    QuotesHistory test = QuotesCsvLoader.loadHistory(ImmutableList.of(QUOTES_1, QUOTES_2));
+    QuoteId fgblMar14 = test.getQuoteIds().get(0);
+    QuoteId fgblJun14 = test.getQuoteIds().get(2);
+    assertEquals(fgblJun14, FGBL_JUN14);
+    assertSame(Iterables.getFirst(test.getQuotes(DATE1).keySet(), null), fgblMar14);
+    assertSame(Iterables.getFirst(test.getQuotes(DATE2).keySet(), null), fgblMar14);
+  }
+
+  public void test_parseHistory_filtered() {
+    QuotesHistory test = QuotesCsvLoader.parseHistory(
+        d -> d.equals(DATE2), ImmutableList.of(QUOTES_1.getCharSource(), QUOTES_2.getCharSource()));
+    assertEquals(test.getDates(), ImmutableSet.of(DATE2));
+    assertEquals(test.getQuoteIds(), ImmutableList.of(FGBL_MAR14, ED_MAR14));
+    assertFile1Date2(test.getQuotes(DATE2));
+  }
+
+  public void test_loadHistory_empty() {
+    QuotesHistory test = QuotesCsvLoader.loadHistory(ImmutableList.of());
+    assertEquals(test.getDates(), ImmutableSet.of());
+    assertEquals(test.toMap(), QuotesHistory.empty().toMap());
+  }
+
+  public void test_loadHistory_invalid() {
+    assertThrows(
+        () -> QuotesCsvLoader.loadHistory(ImmutableList.of(QUOTES_INVALID_DATE)),
+        IllegalArgumentException.class,
+        "Error processing resource as CSV file: .*");
+    assertThrows(
+        () -> QuotesCsvLoader.loadHistory(ImmutableList.of(QUOTES_INVALID_DUPLICATE)),
+        IllegalArgumentException.class,
+        "Multiple values found for quote .*");
+    assertThrows(
+        () -> QuotesCsvLoader.loadHistory(ImmutableList.of(QUOTES_1, QUOTES_1)),
+        IllegalArgumentException.class,
+        "Multiple values found for quote .*");
+  }
+
   //-------------------------------------------------------------------------
   private void assertFile1Date1(Map<QuoteId, Double> map) {
     assertTrue(map.containsKey(FGBL_MAR14));
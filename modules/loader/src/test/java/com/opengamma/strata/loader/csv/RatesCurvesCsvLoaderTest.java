@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.loader.csv;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
@@ -20,6 +22,7 @@ import java.util.List;
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.ListMultimap;
 import com.opengamma.strata.basics.currency.Currency;
@@ -245,6 +248,67 @@ public class RatesCurvesCsvLoaderTest {
     assertCurves(curves);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_loadHistory() {
+    List<ResourceLocator> curveResources =
+        ImmutableList.of(ResourceLocator.of(CURVES_1), ResourceLocator.of(CURVES_2), ResourceLocator.of(CURVES_3));
+    CurveGroupHistory test = RatesCurvesCsvLoader.loadHistory(
+        ResourceLocator.of(GROUPS_1), ResourceLocator.of(SETTINGS_1), curveResources);
+
+    assertEquals(test.getDates(), ImmutableSet.of(CURVE_DATE_CURVES_3, CURVE_DATE));
+    assertEquals(test.getGroupDefinitions().size(), 1);
+    assertEquals(
+        test.getCurveNames(CURVE_DATE),
+        ImmutableSet.of(CurveName.of("USD-3ML"), CurveName.of("USD-Disc")));
+    assertEquals(test.getCurveNames(LocalDate.of(2009, 8, 1)), ImmutableSet.of());
+    assertCurves(test.getCurveGroups(CURVE_DATE));
+    assertEquals(test.getCurveGroups(LocalDate.of(2009, 8, 1)), ImmutableList.of());
+    assertUsdDisc(test.getCurve(CURVE_DATE, CurveName.of("USD-Disc")));
+    assertThrowsIllegalArg(() -> test.getCurve(CURVE_DATE, CurveName.of("Unknown")));
+    assertEquals(
+        test.toMultimap(),
+        RatesCurvesCsvLoader.loadAllDates(
+            ResourceLocator.of(GROUPS_1), ResourceLocator.of(SETTINGS_1), curveResources));
+  }
+
+  public void test_parseHistory_filtered() {
+    CurveGroupHistory test = RatesCurvesCsvLoader.parseHistory(
+        d -> d.equals(CURVE_DATE_CURVES_3),
+        ResourceLocator.of(GROUPS_1).getCharSource(),
+        ResourceLocator.of(SETTINGS_1).getCharSource(),
+        ImmutableList.of(
+            ResourceLocator.of(CURVES_1_AND_2).getCharSource(),
+            ResourceLocator.of(CURVES_3).getCharSource()));
+
+    assertEquals(test.getDates(), ImmutableSet.of(CURVE_DATE_CURVES_3));
+    CurveGroup group = Iterables.getOnlyElement(test.getCurveGroups(CURVE_DATE_CURVES_3));
+    InterpolatedNodalCurve usdDisc = (InterpolatedNodalCurve) group.findDiscountCurve(Currency.USD).get();
+    assertTrue(usdDisc.getYValues().equalZeroWithTolerance(0d));
+  }
+
+  public void test_loadHistory_invalid() {
+    assertThrows(
+        () -> RatesCurvesCsvLoader.loadHistory(
+            ResourceLocator.of(GROUPS_1),
+            ResourceLocator.of(SETTINGS_EMPTY),
+            ImmutableList.of(ResourceLocator.of(CURVES_1))),
+        IllegalArgumentException.class,
+        "Missing settings for curve: .*");
+    assertThrows(
+        () -> RatesCurvesCsvLoader.loadHistory(
+            ResourceLocator.of(GROUPS_1),
+            ResourceLocator.of(SETTINGS_1),
+            ImmutableList.of(ResourceLocator.of(CURVES_1), ResourceLocator.of(CURVES_1_AND_2))),
+        IllegalArgumentException.class,
+        "Rates curve loader found multiple curves with the same name: .*");
+    // node values are only validated when the curves are created
+    CurveGroupHistory test = RatesCurvesCsvLoader.loadHistory(
+        ResourceLocator.of(GROUPS_1),
+        ResourceLocator.of(SETTINGS_1),
+        ImmutableList.of(ResourceLocator.of(CURVES_INVALID_DUPLICATE_POINTS)));
+    assertThrowsIllegalArg(() -> test.getCurveGroups(CURVE_DATE));
+  }
+
   //-------------------------------------------------------------------------
   private void assertCurves(List<CurveGroup> curveGroups) {
     assertNotNull(curveGroups);
@@ -41,6 +41,7 @@ import static com.opengamma.strata.product.common.PayReceive.RECEIVE;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.fail;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.Period;
@@ -50,6 +51,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.joda.beans.Bean;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
@@ -1268,6 +1270,71 @@ public class FpmlDocumentParserTest {
         "Unable to find FpML root element.*");
   }
 
+  //-------------------------------------------------------------------------
+  @DataProvider(name = "streaming")
+  Object[][] data_streaming() {
+    return new Object[][] {
+        {"fx-ex01-fx-spot.xml"},
+        {"fx-ex03-fx-fwd.xml"},
+        {"fx-ex07-non-deliverable-forward.xml"},
+        {"fx-ex08-fx-swap.xml"},
+        {"inflation-swap-ex01-yoy.xml"},
+        {"ird-ex01-vanilla-swap.xml"},
+        {"ird-ex02-stub-amort-swap.xml"},
+        {"ird-ex03-compound-swap.xml"},
+        {"ird-ex06-xccy-swap.xml"},
+        {"ird-ex07-ois-swap.xml"},
+        {"ird-ex08-fra.xml"},
+        {"ird-ex08-fra-namespace.xml"},
+        {"ird-ex08-fra-wrapper1.xml"},
+        {"ird-ex08-fra-wrapper2.xml"},
+        {"ird-ex08-fra-wrapper-clearing-status.xml"},
+        {"ird-ex10-euro-swaption-relative.xml"},
+        {"ird-ex28-bullet-payments.xml"},
+        {"ird-ex30-swap-comp-avg-relative-date.xml"},
+        {"td-ex01-simple-term-deposit.xml"},
+    };
+  }
+
+  @Test(dataProvider = "streaming")
+  public void streaming(String fileName) {
+    String location = "classpath:com/opengamma/strata/loader/fpml/" + fileName;
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.matching("Party1"));
+    List<Trade> expected = parser.parseTrades(resource);
+    List<Trade> trades = parser.parseTradesStreaming(resource);
+    assertEquals(trades, expected);
+  }
+
+  public void streaming_manyTrades() throws Exception {
+    String location = "classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra.xml";
+    String xml = ResourceLocator.of(location).getCharSource().read();
+    int tradeStart = xml.indexOf("<trade>");
+    int tradeEnd = xml.indexOf("</trade>") + "</trade>".length();
+    String tradeXml = xml.substring(tradeStart, tradeEnd);
+    StringBuilder buf = new StringBuilder(xml.substring(0, tradeEnd));
+    for (int i = 0; i < 600; i++) {
+      buf.append(tradeXml);
+    }
+    buf.append(xml.substring(tradeEnd));
+    ByteSource resource = ByteSource.wrap(buf.toString().getBytes(StandardCharsets.UTF_8));
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.matching("Party2"));
+    List<Trade> expected = parser.parseTrades(resource);
+    List<Trade> trades = parser.parseTradesStreaming(resource);
+    assertEquals(trades.size(), 601);
+    assertEquals(trades, expected);
+  }
+
+  public void streaming_notFpml() {
+    String location = "classpath:com/opengamma/strata/loader/fpml/not-fpml.xml";
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.any());
+    assertThrows(
+        () -> parser.parseTradesStreaming(resource),
+        FpmlParseException.class,
+        "Unable to find FpML root element.*");
+  }
+
   //-------------------------------------------------------------------------
   public void document() {
     XmlElement tradeDateEl = XmlElement.ofContent("tradeDate", "2000-06-30");
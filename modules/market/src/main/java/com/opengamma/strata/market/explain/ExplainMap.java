@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.market.explain;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +30,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import org.joda.convert.StringConvert;
 
 import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.ArgChecker;
 
 /**
  * A map of explanatory values.
@@ -76,6 +79,39 @@ public final class ExplainMap
     return (Optional<R>) Optional.ofNullable(map.get(key));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a copy of this map limited to the specified depth.
+   * <p>
+   * The entries of this map are at depth one, the entries of the maps held in its lists
+   * are at depth two, and so on. Lists whose maps would be deeper than the specified depth are removed.
+   * Any lazily populated list that is removed is not populated by this method.
+   * <p>
+   * This provides a compact form of the explanation, for example to be serialized
+   * where only the upper levels are displayed.
+   * 
+   * @param maxDepth  the maximum depth of the entries, one or greater
+   * @return the explanatory map limited to the depth
+   */
+  public ExplainMap limitDepth(int maxDepth) {
+    ArgChecker.notNegativeOrZero(maxDepth, "maxDepth");
+    ImmutableMap.Builder<ExplainKey<?>, Object> builder = ImmutableMap.builder();
+    for (Entry<ExplainKey<?>, Object> entry : map.entrySet()) {
+      if (entry.getValue() instanceof List) {
+        if (maxDepth > 1) {
+          @SuppressWarnings("unchecked")
+          List<ExplainMap> list = (List<ExplainMap>) entry.getValue();
+          builder.put(entry.getKey(), list.stream()
+              .map(child -> child.limitDepth(maxDepth - 1))
+              .collect(toImmutableList()));
+        }
+      } else {
+        builder.put(entry.getKey(), entry.getValue());
+      }
+    }
+    return new ExplainMap(builder.build());
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Gets the explanation as a string.
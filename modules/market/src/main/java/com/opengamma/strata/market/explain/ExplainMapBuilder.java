@@ -9,8 +9,10 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.collect.ArgChecker;
 
 /**
@@ -142,6 +144,85 @@ public final class ExplainMapBuilder {
     return child.closeListEntry(key);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Adds a list of entries that are populated lazily.
+   * <p>
+   * This adds one list entry for each item, in the same way as calling
+   * {@link #addListEntry(ExplainKey, Consumer)} for each item in turn.
+   * However, the entries are not populated when they are added. Instead, the consumer is invoked
+   * the first time each entry is accessed, and the resulting entry is cached.
+   * This avoids the cost of building the explanation for entries that are never accessed.
+   * <p>
+   * The consumer retains a reference to any state it captures, typically the market data,
+   * until every entry has been accessed. It must produce the same result whenever it is invoked.
+   * Any exception thrown by the consumer occurs when the entry is accessed.
+   * <p>
+   * If the key already exists, the value will be replaced.
+   * If there are no items, nothing is added.
+   * 
+   * @param <T>  the type of the items
+   * @param <R>  the type of the value
+   * @param key  the list key to add
+   * @param items  the items, one for each list entry
+   * @param consumer  the consumer that receives an item and the list entry builder and adds to it
+   * @return this builder
+   */
+  public <T, R extends List<?>> ExplainMapBuilder addLazyListEntries(
+      ExplainKey<R> key,
+      List<T> items,
+      BiConsumer<? super T, ExplainMapBuilder> consumer) {
+
+    return addLazyListEntries(key, items, false, consumer);
+  }
+
+  /**
+   * Adds a list of entries that are populated lazily, including the list index.
+   * <p>
+   * This adds one list entry for each item, in the same way as calling
+   * {@link #addListEntryWithIndex(ExplainKey, Consumer)} for each item in turn.
+   * The entries are populated lazily, as described in {@link #addLazyListEntries(ExplainKey, List, BiConsumer)}.
+   * 
+   * @param <T>  the type of the items
+   * @param <R>  the type of the value
+   * @param key  the list key to add
+   * @param items  the items, one for each list entry
+   * @param consumer  the consumer that receives an item and the list entry builder and adds to it
+   * @return this builder
+   */
+  public <T, R extends List<?>> ExplainMapBuilder addLazyListEntriesWithIndex(
+      ExplainKey<R> key,
+      List<T> items,
+      BiConsumer<? super T, ExplainMapBuilder> consumer) {
+
+    return addLazyListEntries(key, items, true, consumer);
+  }
+
+  // adds the lazy list
+  private <T, R extends List<?>> ExplainMapBuilder addLazyListEntries(
+      ExplainKey<R> key,
+      List<T> items,
+      boolean withIndex,
+      BiConsumer<? super T, ExplainMapBuilder> consumer) {
+
+    ArgChecker.notNull(key, "key");
+    ArgChecker.notNull(items, "items");
+    ArgChecker.notNull(consumer, "consumer");
+    if (items.isEmpty()) {
+      return this;
+    }
+    ImmutableList<T> copy = ImmutableList.copyOf(items);
+    map.put(key, new LazyExplainList(copy.size(), index -> {
+      ExplainMapBuilder child = new ExplainMapBuilder();
+      if (withIndex) {
+        child.put(ExplainKey.ENTRY_INDEX, index);
+      }
+      consumer.accept(copy.get(index), child);
+      return child.build();
+    }));
+    return this;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Puts a single value into the map.
@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.explain;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A list of explanatory maps that are evaluated lazily.
+ * <p>
+ * Each entry is generated the first time it is accessed, and is then cached.
+ * Once every entry has been generated, the generator is released, together with any
+ * state it refers to, such as the trade and market data used to create the explanation.
+ * <p>
+ * When serialized, the list is fully evaluated and replaced by an immutable list.
+ * <p>
+ * This class is thread-safe. If an entry is accessed concurrently before it has been cached,
+ * it may be generated more than once, with only one of the results retained.
+ */
+final class LazyExplainList
+    extends AbstractList<ExplainMap>
+    implements RandomAccess, Serializable {
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The entries that have been generated, null if not yet generated.
+   */
+  private final AtomicReferenceArray<ExplainMap> entries;
+  /**
+   * The number of entries that have been generated.
+   */
+  private final AtomicInteger generatedCount = new AtomicInteger();
+  /**
+   * The generator of the entries, null once all the entries have been generated.
+   */
+  private volatile IntFunction<ExplainMap> generator;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   *
+   * @param size  the number of entries
+   * @param generator  the generator of the entry at each index
+   */
+  LazyExplainList(int size, IntFunction<ExplainMap> generator) {
+    ArgChecker.notNegative(size, "size");
+    this.entries = new AtomicReferenceArray<>(size);
+    ArgChecker.notNull(generator, "generator");
+    this.generator = size == 0 ? null : generator;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int size() {
+    return entries.length();
+  }
+
+  @Override
+  public ExplainMap get(int index) {
+    ArgChecker.inRange(index, 0, entries.length(), "index");
+    // the generator is read before the entry, as it is only released once all entries are visible
+    IntFunction<ExplainMap> gen = generator;
+    ExplainMap entry = entries.get(index);
+    if (entry == null) {
+      ExplainMap generated = ArgChecker.notNull(gen.apply(index), "entry");
+      if (entries.compareAndSet(index, null, generated)) {
+        entry = generated;
+        if (generatedCount.incrementAndGet() == entries.length()) {
+          generator = null;
+        }
+      } else {
+        entry = entries.get(index);
+      }
+    }
+    return entry;
+  }
+
+  /**
+   * Checks whether all the entries have been generated.
+   *
+   * @return true if all the entries have been generated
+   */
+  boolean isEvaluated() {
+    return generatedCount.get() == entries.length();
+  }
+
+  //-------------------------------------------------------------------------
+  // serialize the evaluated entries
+  private Object writeReplace() {
+    return ImmutableList.copyOf(this);
+  }
+
+}
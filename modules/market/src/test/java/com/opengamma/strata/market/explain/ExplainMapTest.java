@@ -8,10 +8,12 @@ package com.opengamma.strata.market.explain;
 import static com.opengamma.strata.basics.currency.Currency.GBP;
 import static com.opengamma.strata.collect.TestHelper.assertSerialization;
 import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -20,6 +22,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.testng.annotations.Test;
 
@@ -106,6 +109,95 @@ public class ExplainMapTest {
     assertEquals(test.get(ExplainKey.LEGS).get().get(1).get(ExplainKey.ACCRUAL_DAYS), Optional.of(3));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_builder_addLazyListEntries() {
+    AtomicInteger calls = new AtomicInteger();
+    ExplainMap test = ExplainMap.builder()
+        .put(ExplainKey.ENTRY_TYPE, "Leg")
+        .addLazyListEntries(ExplainKey.PAYMENT_PERIODS, ImmutableList.of(2, 3, 4), (days, child) -> {
+          calls.incrementAndGet();
+          child.put(ExplainKey.ACCRUAL_DAYS, days);
+        })
+        .build();
+    assertEquals(calls.get(), 0);
+    List<ExplainMap> list = test.get(ExplainKey.PAYMENT_PERIODS).get();
+    assertEquals(list.size(), 3);
+    assertEquals(calls.get(), 0);
+    assertEquals(list.get(1).get(ExplainKey.ACCRUAL_DAYS), Optional.of(3));
+    assertEquals(calls.get(), 1);
+    assertSame(list.get(1), list.get(1));
+    assertEquals(calls.get(), 1);
+    assertEquals(((LazyExplainList) list).isEvaluated(), false);
+
+    // equal to the eager form
+    ExplainMap expected = ExplainMap.builder()
+        .put(ExplainKey.ENTRY_TYPE, "Leg")
+        .addListEntry(ExplainKey.PAYMENT_PERIODS, child -> child.put(ExplainKey.ACCRUAL_DAYS, 2))
+        .addListEntry(ExplainKey.PAYMENT_PERIODS, child -> child.put(ExplainKey.ACCRUAL_DAYS, 3))
+        .addListEntry(ExplainKey.PAYMENT_PERIODS, child -> child.put(ExplainKey.ACCRUAL_DAYS, 4))
+        .build();
+    assertEquals(test, expected);
+    assertEquals(test.hashCode(), expected.hashCode());
+    assertEquals(test.explanationString(), expected.explanationString());
+    assertEquals(calls.get(), 3);
+    assertEquals(((LazyExplainList) list).isEvaluated(), true);
+    assertThrowsIllegalArg(() -> list.get(3));
+  }
+
+  public void test_builder_addLazyListEntriesWithIndex() {
+    ExplainMap test = ExplainMap.builder()
+        .addLazyListEntriesWithIndex(
+            ExplainKey.LEGS, ImmutableList.of(2, 3), (days, child) -> child.put(ExplainKey.ACCRUAL_DAYS, days))
+        .build();
+    ExplainMap expected = ExplainMap.builder()
+        .addListEntryWithIndex(ExplainKey.LEGS, child -> child.put(ExplainKey.ACCRUAL_DAYS, 2))
+        .addListEntryWithIndex(ExplainKey.LEGS, child -> child.put(ExplainKey.ACCRUAL_DAYS, 3))
+        .build();
+    assertEquals(test, expected);
+  }
+
+  public void test_builder_addLazyListEntries_empty() {
+    ExplainMap test = ExplainMap.builder()
+        .addLazyListEntries(ExplainKey.LEGS, ImmutableList.of(), (item, child) -> child.put(ExplainKey.ACCRUAL_DAYS, 2))
+        .build();
+    assertEquals(test.getMap().size(), 0);
+  }
+
+  public void test_serialization_lazy() {
+    ExplainMap test = ExplainMap.builder()
+        .addLazyListEntries(
+            ExplainKey.LEGS, ImmutableList.of(2, 3), (days, child) -> child.put(ExplainKey.ACCRUAL_DAYS, days))
+        .build();
+    assertSerialization(test);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_limitDepth() {
+    AtomicInteger calls = new AtomicInteger();
+    ExplainMap test = ExplainMap.builder()
+        .put(ExplainKey.ENTRY_TYPE, "Swap")
+        .addLazyListEntries(ExplainKey.LEGS, ImmutableList.of(2, 3), (days, child) -> {
+          calls.incrementAndGet();
+          child.put(ExplainKey.ACCRUAL_DAYS, days);
+          child.addListEntry(ExplainKey.PAYMENT_PERIODS, period -> period.put(ExplainKey.DAYS, days));
+        })
+        .build();
+
+    ExplainMap depth1 = test.limitDepth(1);
+    assertEquals(depth1, ExplainMap.builder().put(ExplainKey.ENTRY_TYPE, "Swap").build());
+    assertEquals(calls.get(), 0);
+
+    ExplainMap depth2 = test.limitDepth(2);
+    assertEquals(depth2, ExplainMap.builder()
+        .put(ExplainKey.ENTRY_TYPE, "Swap")
+        .addListEntry(ExplainKey.LEGS, child -> child.put(ExplainKey.ACCRUAL_DAYS, 2))
+        .addListEntry(ExplainKey.LEGS, child -> child.put(ExplainKey.ACCRUAL_DAYS, 3))
+        .build());
+    assertEquals(calls.get(), 2);
+    assertEquals(test.limitDepth(3), test);
+    assertThrowsIllegalArg(() -> test.limitDepth(0));
+  }
+
   //-------------------------------------------------------------------------
   public void test_explanationString() {
     Map<ExplainKey<?>, Object> child1map = new LinkedHashMap<>();
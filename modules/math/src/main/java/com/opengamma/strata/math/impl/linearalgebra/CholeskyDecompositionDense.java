@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Cholesky decomposition performed in place on a flat row-major array by {@link DenseMatrixKernel}.
+ * <p>
+ * The symmetry and positivity checks use the same thresholds as {@link CholeskyDecompositionOpenGamma}.
+ */
+public class CholeskyDecompositionDense extends Decomposition<CholeskyDecompositionResult> {
+
+  @Override
+  public CholeskyDecompositionResult apply(DoubleMatrix x) {
+    return evaluate(
+        x,
+        CholeskyDecompositionOpenGamma.DEFAULT_SYMMETRY_THRESHOLD,
+        CholeskyDecompositionOpenGamma.DEFAULT_POSITIVITY_THRESHOLD);
+  }
+
+  /**
+   * Performs the decomposition with a given symmetry and positivity threshold.
+   *
+   * @param matrix  the matrix to decompose
+   * @param symmetryThreshold  the symmetry threshold
+   * @param positivityThreshold  the positivity threshold
+   * @return the Cholesky decomposition
+   */
+  public CholeskyDecompositionResult evaluate(
+      DoubleMatrix matrix,
+      double symmetryThreshold,
+      double positivityThreshold) {
+
+    ArgChecker.notNull(matrix, "matrix");
+    int n = matrix.rowCount();
+    ArgChecker.isTrue(n == matrix.columnCount(), "Matrix not square");
+    double[] l = DenseMatrixKernel.toRowMajor(matrix);
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < i; j++) {
+        double ij = l[i * n + j];
+        double ji = l[j * n + i];
+        ArgChecker.isTrue(
+            Math.abs(ij - ji) <= Math.max(Math.abs(ij), Math.abs(ji)) * symmetryThreshold, "Matrix not symmetrical");
+      }
+    }
+    DenseMatrixKernel.choleskyDecompose(l, n, positivityThreshold);
+    return new CholeskyDecompositionDenseResult(l, n);
+  }
+
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Results of the dense implementation of Cholesky decomposition ({@link CholeskyDecompositionDense}).
+ * <p>
+ * The matrix L is held in a row-major array. The matrices are only created when requested.
+ */
+public class CholeskyDecompositionDenseResult implements CholeskyDecompositionResult {
+
+  /**
+   * The matrix L, row-major.
+   */
+  private final double[] l;
+  /**
+   * The size of the matrix.
+   */
+  private final int size;
+  /**
+   * The determinant of the original matrix A = L L^T.
+   */
+  private final double determinant;
+
+  /**
+   * Creates an instance.
+   *
+   * @param l  the matrix L, as produced by {@link DenseMatrixKernel#choleskyDecompose(double[], int, double)}
+   * @param size  the size of the matrix
+   */
+  CholeskyDecompositionDenseResult(double[] l, int size) {
+    this.l = l;
+    this.size = size;
+    double det = 1d;
+    for (int i = 0; i < size; i++) {
+      double diag = l[i * size + i];
+      det *= diag * diag;
+    }
+    this.determinant = det;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DoubleMatrix getL() {
+    return DenseMatrixKernel.toMatrix(l, size, size);
+  }
+
+  @Override
+  public DoubleMatrix getLT() {
+    return DenseMatrixKernel.toMatrix(DenseMatrixKernel.transpose(l, size, size), size, size);
+  }
+
+  @Override
+  public double getDeterminant() {
+    return determinant;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DoubleArray solve(DoubleArray b) {
+    ArgChecker.notNull(b, "b");
+    return DoubleArray.ofUnsafe(solve(b.toArrayUnsafe()));
+  }
+
+  @Override
+  public double[] solve(double[] b) {
+    ArgChecker.notNull(b, "b");
+    ArgChecker.isTrue(b.length == size, "b array of incorrect size");
+    double[] x = b.clone();
+    DenseMatrixKernel.choleskySolve(l, size, x, 1);
+    return x;
+  }
+
+  @Override
+  public DoubleMatrix solve(DoubleMatrix b) {
+    ArgChecker.notNull(b, "b");
+    ArgChecker.isTrue(b.rowCount() == size, "b array of incorrect size");
+    double[] x = DenseMatrixKernel.toRowMajor(b);
+    DenseMatrixKernel.choleskySolve(l, size, x, b.columnCount());
+    return DenseMatrixKernel.toMatrix(x, size, b.columnCount());
+  }
+
+}
@@ -19,12 +19,20 @@ public final class DecompositionFactory {
   public static final String QR_COMMONS_NAME = "QR_COMMONS";
   /** Commons SV decomposition */
   public static final String SV_COMMONS_NAME = "SV_COMMONS";
+  /** Dense LU decomposition */
+  public static final String LU_DENSE_NAME = "LU_DENSE";
+  /** Dense QR decomposition */
+  public static final String QR_DENSE_NAME = "QR_DENSE";
   /** {@link LUDecompositionCommons} */
   public static final Decomposition<?> LU_COMMONS = new LUDecompositionCommons();
   /** {@link QRDecompositionCommons} */
   public static final Decomposition<?> QR_COMMONS = new QRDecompositionCommons();
   /** {@link SVDecompositionCommons} */
   public static final Decomposition<?> SV_COMMONS = new SVDecompositionCommons();
+  /** {@link LUDecompositionDense} */
+  public static final Decomposition<?> LU_DENSE = new LUDecompositionDense();
+  /** {@link QRDecompositionDense} */
+  public static final Decomposition<?> QR_DENSE = new QRDecompositionDense();
   private static final Map<String, Decomposition<?>> s_staticInstances;
   private static final Map<Class<?>, String> s_instanceNames;
 
@@ -33,10 +41,14 @@ public final class DecompositionFactory {
     s_staticInstances.put(LU_COMMONS_NAME, LU_COMMONS);
     s_staticInstances.put(QR_COMMONS_NAME, QR_COMMONS);
     s_staticInstances.put(SV_COMMONS_NAME, SV_COMMONS);
+    s_staticInstances.put(LU_DENSE_NAME, LU_DENSE);
+    s_staticInstances.put(QR_DENSE_NAME, QR_DENSE);
     s_instanceNames = new HashMap<>();
     s_instanceNames.put(LU_COMMONS.getClass(), LU_COMMONS_NAME);
     s_instanceNames.put(QR_COMMONS.getClass(), QR_COMMONS_NAME);
     s_instanceNames.put(SV_COMMONS.getClass(), SV_COMMONS_NAME);
+    s_instanceNames.put(LU_DENSE.getClass(), LU_DENSE_NAME);
+    s_instanceNames.put(QR_DENSE.getClass(), QR_DENSE_NAME);
   }
 
   private DecompositionFactory() {
@@ -0,0 +1,581 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Dense linear algebra kernels operating on matrices stored in flat row-major arrays.
+ * <p>
+ * A matrix with {@code m} rows and {@code n} columns is stored in a {@code double[]} of size {@code m * n},
+ * the element at row {@code i} and column {@code j} being at index {@code i * n + j}.
+ * Storing the matrix in a single array avoids the indirection of {@code double[][]} and keeps
+ * consecutive elements of a row adjacent in memory.
+ * <p>
+ * The multiplication and transposition are blocked such that the working set of the inner loops
+ * fits in the processor cache. The decompositions are performed in place, overwriting the input array.
+ * <p>
+ * The methods do not validate their inputs beyond the array sizes. They are intended to be used
+ * by the decompositions and the matrix algebra built on them.
+ */
+public final class DenseMatrixKernel {
+
+  /**
+   * The size of the square blocks used by the blocked algorithms.
+   * <p>
+   * A block of 64 by 64 doubles occupies 32kB.
+   */
+  static final int BLOCK_SIZE = 64;
+  /**
+   * The threshold under which a pivot is considered as zero in the LU decomposition.
+   * <p>
+   * This is the default threshold of the Commons implementation.
+   */
+  public static final double DEFAULT_SINGULARITY_THRESHOLD = 1e-11;
+
+  // restricted constructor
+  private DenseMatrixKernel() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Copies a matrix into a new row-major array.
+   *
+   * @param matrix  the matrix
+   * @return the row-major array
+   */
+  public static double[] toRowMajor(DoubleMatrix matrix) {
+    ArgChecker.notNull(matrix, "matrix");
+    int nRows = matrix.rowCount();
+    int nCols = matrix.columnCount();
+    double[] result = new double[nRows * nCols];
+    double[][] array = matrix.toArrayUnsafe();
+    for (int i = 0; i < nRows; i++) {
+      System.arraycopy(array[i], 0, result, i * nCols, nCols);
+    }
+    return result;
+  }
+
+  /**
+   * Creates a matrix from a row-major array.
+   *
+   * @param data  the row-major array
+   * @param nRows  the number of rows
+   * @param nCols  the number of columns
+   * @return the matrix
+   */
+  public static DoubleMatrix toMatrix(double[] data, int nRows, int nCols) {
+    checkSize(data, nRows, nCols, "data");
+    double[][] array = new double[nRows][nCols];
+    for (int i = 0; i < nRows; i++) {
+      System.arraycopy(data, i * nCols, array[i], 0, nCols);
+    }
+    return DoubleMatrix.ofUnsafe(array);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Multiplies two matrices.
+   * <p>
+   * The product of the matrix {@code a}, of size {@code m x k}, and the matrix {@code b}, of size {@code k x n},
+   * is computed by blocks, the innermost loop running along a row of {@code b} and a row of the result.
+   *
+   * @param a  the first matrix, row-major
+   * @param b  the second matrix, row-major
+   * @param m  the number of rows of {@code a}
+   * @param k  the number of columns of {@code a} and rows of {@code b}
+   * @param n  the number of columns of {@code b}
+   * @return the product, row-major of size {@code m x n}
+   */
+  public static double[] multiply(double[] a, double[] b, int m, int k, int n) {
+    checkSize(a, m, k, "a");
+    checkSize(b, k, n, "b");
+    double[] c = new double[m * n];
+    for (int i0 = 0; i0 < m; i0 += BLOCK_SIZE) {
+      int i1 = Math.min(i0 + BLOCK_SIZE, m);
+      for (int p0 = 0; p0 < k; p0 += BLOCK_SIZE) {
+        int p1 = Math.min(p0 + BLOCK_SIZE, k);
+        for (int j0 = 0; j0 < n; j0 += BLOCK_SIZE) {
+          int j1 = Math.min(j0 + BLOCK_SIZE, n);
+          for (int i = i0; i < i1; i++) {
+            int rowA = i * k;
+            int rowC = i * n;
+            for (int p = p0; p < p1; p++) {
+              double aip = a[rowA + p];
+              if (aip == 0d) {
+                continue;
+              }
+              int rowB = p * n;
+              for (int j = j0; j < j1; j++) {
+                c[rowC + j] += aip * b[rowB + j];
+              }
+            }
+          }
+        }
+      }
+    }
+    return c;
+  }
+
+  /**
+   * Multiplies a matrix by a vector.
+   *
+   * @param a  the matrix, row-major
+   * @param x  the vector
+   * @param m  the number of rows of {@code a}
+   * @param n  the number of columns of {@code a} and size of {@code x}
+   * @return the product, of size {@code m}
+   */
+  public static double[] multiplyVector(double[] a, double[] x, int m, int n) {
+    checkSize(a, m, n, "a");
+    ArgChecker.isTrue(x.length == n, "Vector size {} must equal the number of columns {}", x.length, n);
+    double[] y = new double[m];
+    for (int i = 0; i < m; i++) {
+      int row = i * n;
+      double sum = 0d;
+      for (int j = 0; j < n; j++) {
+        sum += a[row + j] * x[j];
+      }
+      y[i] = sum;
+    }
+    return y;
+  }
+
+  /**
+   * Transposes a matrix.
+   * <p>
+   * The transposition is blocked such that both the reads and the writes stay within a few cache lines.
+   *
+   * @param a  the matrix, row-major
+   * @param m  the number of rows of {@code a}
+   * @param n  the number of columns of {@code a}
+   * @return the transpose, row-major of size {@code n x m}
+   */
+  public static double[] transpose(double[] a, int m, int n) {
+    checkSize(a, m, n, "a");
+    double[] t = new double[m * n];
+    for (int i0 = 0; i0 < m; i0 += BLOCK_SIZE) {
+      int i1 = Math.min(i0 + BLOCK_SIZE, m);
+      for (int j0 = 0; j0 < n; j0 += BLOCK_SIZE) {
+        int j1 = Math.min(j0 + BLOCK_SIZE, n);
+        for (int i = i0; i < i1; i++) {
+          for (int j = j0; j < j1; j++) {
+            t[j * m + i] = a[i * n + j];
+          }
+        }
+      }
+    }
+    return t;
+  }
+
+  /**
+   * Computes the product of the transpose of a matrix with itself, {@code A^T A}.
+   * <p>
+   * The rank-one updates of each row of {@code a} run along contiguous rows of the result.
+   * Only the upper triangle is computed, the lower triangle being filled by symmetry.
+   *
+   * @param a  the matrix, row-major
+   * @param m  the number of rows of {@code a}
+   * @param n  the number of columns of {@code a}
+   * @return the product, row-major of size {@code n x n}
+   */
+  public static double[] transposeMultiply(double[] a, int m, int n) {
+    checkSize(a, m, n, "a");
+    double[] c = new double[n * n];
+    for (int p = 0; p < m; p++) {
+      int rowA = p * n;
+      for (int i = 0; i < n; i++) {
+        double api = a[rowA + i];
+        if (api == 0d) {
+          continue;
+        }
+        int rowC = i * n;
+        for (int j = i; j < n; j++) {
+          c[rowC + j] += api * a[rowA + j];
+        }
+      }
+    }
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < i; j++) {
+        c[i * n + j] = c[j * n + i];
+      }
+    }
+    return c;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Performs the LU decomposition of a square matrix in place, with partial pivoting.
+   * <p>
+   * On return, the strictly lower triangle of {@code a} contains the multipliers of the unit lower-triangular
+   * matrix L and the upper triangle contains U, such that {@code P A = L U}.
+   * Row {@code i} of {@code P A} is row {@code pivot[i]} of {@code A}.
+   * <p>
+   * The returned value is the sign of the permutation, or zero if the matrix is singular,
+   * in which case the content of {@code a} is undefined.
+   *
+   * @param a  the matrix, row-major, overwritten by the decomposition
+   * @param n  the size of the matrix
+   * @param pivot  the array of size {@code n} to be filled with the pivot permutation
+   * @param singularityThreshold  the threshold under which a pivot is considered as zero
+   * @return the sign of the permutation, zero if singular
+   */
+  public static int luDecompose(double[] a, int n, int[] pivot, double singularityThreshold) {
+    checkSize(a, n, n, "a");
+    ArgChecker.isTrue(pivot.length == n, "Pivot size {} must equal the matrix size {}", pivot.length, n);
+    for (int i = 0; i < n; i++) {
+      pivot[i] = i;
+    }
+    int sign = 1;
+    for (int col = 0; col < n; col++) {
+      // find the pivot
+      int max = col;
+      double largest = Math.abs(a[col * n + col]);
+      for (int row = col + 1; row < n; row++) {
+        double value = Math.abs(a[row * n + col]);
+        if (value > largest) {
+          largest = value;
+          max = row;
+        }
+      }
+      if (largest < singularityThreshold) {
+        return 0;
+      }
+      if (max != col) {
+        swapRows(a, n, max, col);
+        int tmp = pivot[max];
+        pivot[max] = pivot[col];
+        pivot[col] = tmp;
+        sign = -sign;
+      }
+      // eliminate, updating the trailing rows along their contiguous storage
+      int rowCol = col * n;
+      double inverse = 1d / a[rowCol + col];
+      for (int row = col + 1; row < n; row++) {
+        int rowRow = row * n;
+        double factor = a[rowRow + col] * inverse;
+        a[rowRow + col] = factor;
+        if (factor != 0d) {
+          for (int j = col + 1; j < n; j++) {
+            a[rowRow + j] -= factor * a[rowCol + j];
+          }
+        }
+      }
+    }
+    return sign;
+  }
+
+  /**
+   * Solves the system {@code A X = B} using an LU decomposition, in place.
+   * <p>
+   * The right-hand side {@code b} has {@code n} rows and {@code nRhs} columns.
+   * On return, it contains the solution {@code X}.
+   *
+   * @param lu  the LU decomposition, as produced by {@link #luDecompose(double[], int, int[], double)}
+   * @param n  the size of the matrix
+   * @param pivot  the pivot permutation
+   * @param b  the right-hand side, row-major, overwritten by the solution
+   * @param nRhs  the number of columns of the right-hand side
+   */
+  public static void luSolve(double[] lu, int n, int[] pivot, double[] b, int nRhs) {
+    checkSize(b, n, nRhs, "b");
+    // apply the permutation
+    double[] permuted = new double[n * nRhs];
+    for (int i = 0; i < n; i++) {
+      System.arraycopy(b, pivot[i] * nRhs, permuted, i * nRhs, nRhs);
+    }
+    System.arraycopy(permuted, 0, b, 0, n * nRhs);
+    // forward substitution with unit diagonal
+    for (int col = 0; col < n; col++) {
+      int rowCol = col * nRhs;
+      for (int row = col + 1; row < n; row++) {
+        double factor = lu[row * n + col];
+        if (factor != 0d) {
+          int rowRow = row * nRhs;
+          for (int j = 0; j < nRhs; j++) {
+            b[rowRow + j] -= factor * b[rowCol + j];
+          }
+        }
+      }
+    }
+    // back substitution
+    for (int col = n - 1; col >= 0; col--) {
+      int rowCol = col * nRhs;
+      double inverse = 1d / lu[col * n + col];
+      for (int j = 0; j < nRhs; j++) {
+        b[rowCol + j] *= inverse;
+      }
+      for (int row = 0; row < col; row++) {
+        double factor = lu[row * n + col];
+        if (factor != 0d) {
+          int rowRow = row * nRhs;
+          for (int j = 0; j < nRhs; j++) {
+            b[rowRow + j] -= factor * b[rowCol + j];
+          }
+        }
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Performs the Cholesky decomposition of a symmetric positive-definite matrix in place.
+   * <p>
+   * Only the lower triangle of {@code a} is read. On return, the lower triangle contains the matrix L
+   * such that {@code A = L L^T} and the strict upper triangle is set to zero.
+   *
+   * @param a  the matrix, row-major, overwritten by the decomposition
+   * @param n  the size of the matrix
+   * @param positivityThreshold  the threshold under which a diagonal element is considered non-positive
+   * @throws IllegalArgumentException if the matrix is not positive-definite
+   */
+  public static void choleskyDecompose(double[] a, int n, double positivityThreshold) {
+    checkSize(a, n, n, "a");
+    // row-oriented algorithm, each element of L being the dot product of two contiguous row prefixes
+    for (int i = 0; i < n; i++) {
+      int rowI = i * n;
+      for (int j = 0; j <= i; j++) {
+        int rowJ = j * n;
+        double sum = a[rowI + j];
+        for (int k = 0; k < j; k++) {
+          sum -= a[rowI + k] * a[rowJ + k];
+        }
+        if (i == j) {
+          ArgChecker.isTrue(sum > positivityThreshold, "Matrix not positive");
+          a[rowI + i] = Math.sqrt(sum);
+        } else {
+          a[rowI + j] = sum / a[rowJ + j];
+        }
+      }
+      for (int j = i + 1; j < n; j++) {
+        a[rowI + j] = 0d;
+      }
+    }
+  }
+
+  /**
+   * Solves the system {@code A X = B} using a Cholesky decomposition, in place.
+   * <p>
+   * The right-hand side {@code b} has {@code n} rows and {@code nRhs} columns.
+   * On return, it contains the solution {@code X}.
+   *
+   * @param l  the Cholesky decomposition, as produced by {@link #choleskyDecompose(double[], int, double)}
+   * @param n  the size of the matrix
+   * @param b  the right-hand side, row-major, overwritten by the solution
+   * @param nRhs  the number of columns of the right-hand side
+   */
+  public static void choleskySolve(double[] l, int n, double[] b, int nRhs) {
+    checkSize(b, n, nRhs, "b");
+    // L Y = B
+    for (int i = 0; i < n; i++) {
+      int rowI = i * nRhs;
+      for (int k = 0; k < i; k++) {
+        double factor = l[i * n + k];
+        if (factor != 0d) {
+          int rowK = k * nRhs;
+          for (int j = 0; j < nRhs; j++) {
+            b[rowI + j] -= factor * b[rowK + j];
+          }
+        }
+      }
+      double inverse = 1d / l[i * n + i];
+      for (int j = 0; j < nRhs; j++) {
+        b[rowI + j] *= inverse;
+      }
+    }
+    // L^T X = Y
+    for (int i = n - 1; i >= 0; i--) {
+      int rowI = i * nRhs;
+      double inverse = 1d / l[i * n + i];
+      for (int j = 0; j < nRhs; j++) {
+        b[rowI + j] *= inverse;
+      }
+      for (int k = 0; k < i; k++) {
+        double factor = l[i * n + k];
+        if (factor != 0d) {
+          int rowK = k * nRhs;
+          for (int j = 0; j < nRhs; j++) {
+            b[rowK + j] -= factor * b[rowI + j];
+          }
+        }
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Performs the QR decomposition of a matrix in place, using Householder reflections.
+   * <p>
+   * The decomposition works on the transpose of the matrix, such that the columns of the matrix,
+   * which the reflections operate on, are contiguous in memory.
+   * The input {@code at} is the transpose of the {@code m x n} matrix to decompose, of size {@code n x m}.
+   * On return, for each {@code k < min(m, n)}, row {@code k} of {@code at} contains from index {@code k}
+   * the Householder vector of step {@code k}, and before index {@code k} the column {@code k} of R
+   * above the diagonal. The diagonal of R is stored in {@code rDiag}.
+   * <p>
+   * This is the same storage as the Commons implementation.
+   *
+   * @param at  the transpose of the matrix, row-major, overwritten by the decomposition
+   * @param m  the number of rows of the matrix
+   * @param n  the number of columns of the matrix
+   * @param rDiag  the array of size {@code min(m, n)} to be filled with the diagonal of R
+   */
+  public static void qrDecompose(double[] at, int m, int n, double[] rDiag) {
+    checkSize(at, n, m, "at");
+    int nSteps = Math.min(m, n);
+    ArgChecker.isTrue(rDiag.length == nSteps, "Diagonal size {} must equal {}", rDiag.length, nSteps);
+    for (int minor = 0; minor < nSteps; minor++) {
+      int rowMinor = minor * m;
+      double xNormSqr = 0d;
+      for (int row = minor; row < m; row++) {
+        double c = at[rowMinor + row];
+        xNormSqr += c * c;
+      }
+      double alpha = at[rowMinor + minor] > 0 ? -Math.sqrt(xNormSqr) : Math.sqrt(xNormSqr);
+      rDiag[minor] = alpha;
+      if (alpha != 0d) {
+        at[rowMinor + minor] -= alpha;
+        double scale = alpha * at[rowMinor + minor];
+        for (int col = minor + 1; col < n; col++) {
+          int rowCol = col * m;
+          double dot = 0d;
+          for (int row = minor; row < m; row++) {
+            dot += at[rowCol + row] * at[rowMinor + row];
+          }
+          double factor = dot / scale;
+          for (int row = minor; row < m; row++) {
+            at[rowCol + row] += factor * at[rowMinor + row];
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Extracts the matrix R from a QR decomposition.
+   *
+   * @param qrt  the QR decomposition, as produced by {@link #qrDecompose(double[], int, int, double[])}
+   * @param m  the number of rows of the matrix
+   * @param n  the number of columns of the matrix
+   * @param rDiag  the diagonal of R
+   * @return the upper-triangular matrix R, row-major of size {@code m x n}
+   */
+  public static double[] qrR(double[] qrt, int m, int n, double[] rDiag) {
+    double[] r = new double[m * n];
+    for (int row = 0; row < Math.min(m, n); row++) {
+      r[row * n + row] = rDiag[row];
+      for (int col = row + 1; col < n; col++) {
+        r[row * n + col] = qrt[col * m + row];
+      }
+    }
+    return r;
+  }
+
+  /**
+   * Extracts the transpose of the matrix Q from a QR decomposition.
+   *
+   * @param qrt  the QR decomposition, as produced by {@link #qrDecompose(double[], int, int, double[])}
+   * @param m  the number of rows of the matrix
+   * @param n  the number of columns of the matrix
+   * @param rDiag  the diagonal of R
+   * @return the orthogonal matrix Q^T, row-major of size {@code m x m}
+   */
+  public static double[] qrQT(double[] qrt, int m, int n, double[] rDiag) {
+    double[] qt = new double[m * m];
+    int nSteps = Math.min(m, n);
+    for (int minor = m - 1; minor >= nSteps; minor--) {
+      qt[minor * m + minor] = 1d;
+    }
+    for (int minor = nSteps - 1; minor >= 0; minor--) {
+      int rowMinor = minor * m;
+      qt[rowMinor + minor] = 1d;
+      double v = qrt[rowMinor + minor];
+      if (v != 0d) {
+        double scale = rDiag[minor] * v;
+        for (int col = minor; col < m; col++) {
+          int rowCol = col * m;
+          double dot = 0d;
+          for (int row = minor; row < m; row++) {
+            dot += qt[rowCol + row] * qrt[rowMinor + row];
+          }
+          double factor = dot / scale;
+          for (int row = minor; row < m; row++) {
+            qt[rowCol + row] += factor * qrt[rowMinor + row];
+          }
+        }
+      }
+    }
+    return qt;
+  }
+
+  /**
+   * Solves the system {@code A x = b} in the least squares sense using a QR decomposition.
+   * <p>
+   * The matrix must have at least as many rows as columns, and must have full rank.
+   *
+   * @param qrt  the QR decomposition, as produced by {@link #qrDecompose(double[], int, int, double[])}
+   * @param m  the number of rows of the matrix
+   * @param n  the number of columns of the matrix
+   * @param rDiag  the diagonal of R
+   * @param b  the right-hand side, of size {@code m}
+   * @return the solution, of size {@code n}
+   * @throws IllegalArgumentException if the matrix is rank-deficient
+   */
+  public static double[] qrSolve(double[] qrt, int m, int n, double[] rDiag, double[] b) {
+    ArgChecker.isTrue(m >= n, "Least squares solve requires at least as many rows as columns");
+    ArgChecker.isTrue(b.length == m, "Vector size {} must equal the number of rows {}", b.length, m);
+    double[] y = b.clone();
+    // apply Q^T
+    for (int minor = 0; minor < n; minor++) {
+      int rowMinor = minor * m;
+      double v = qrt[rowMinor + minor];
+      if (v != 0d) {
+        double dot = 0d;
+        for (int row = minor; row < m; row++) {
+          dot += y[row] * qrt[rowMinor + row];
+        }
+        double factor = dot / (rDiag[minor] * v);
+        for (int row = minor; row < m; row++) {
+          y[row] += factor * qrt[rowMinor + row];
+        }
+      }
+    }
+    // solve R x = Q^T b
+    double[] x = new double[n];
+    for (int row = n - 1; row >= 0; row--) {
+      ArgChecker.isTrue(rDiag[row] != 0d, "Matrix is singular");
+      y[row] /= rDiag[row];
+      double yRow = y[row];
+      x[row] = yRow;
+      int rowStart = row * m;
+      for (int i = 0; i < row; i++) {
+        y[i] -= yRow * qrt[rowStart + i];
+      }
+    }
+    return x;
+  }
+
+  //-------------------------------------------------------------------------
+  // swaps two rows of a row-major matrix
+  private static void swapRows(double[] a, int n, int row1, int row2) {
+    int start1 = row1 * n;
+    int start2 = row2 * n;
+    for (int j = 0; j < n; j++) {
+      double tmp = a[start1 + j];
+      a[start1 + j] = a[start2 + j];
+      a[start2 + j] = tmp;
+    }
+  }
+
+  // checks the size of a row-major matrix
+  private static void checkSize(double[] data, int nRows, int nCols, String name) {
+    ArgChecker.notNull(data, name);
+    ArgChecker.isTrue(data.length == nRows * nCols,
+        "Array {} of size {} does not match dimensions {}x{}", name, data.length, nRows, nCols);
+  }
+
+}
@@ -0,0 +1,31 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * LU decomposition performed in place on a flat row-major array by {@link DenseMatrixKernel}.
+ * <p>
+ * This produces the same decomposition as {@link LUDecompositionCommons}, partial pivoting included,
+ * without converting the matrix to and from the Commons representation.
+ */
+public class LUDecompositionDense extends Decomposition<LUDecompositionResult> {
+
+  @Override
+  public LUDecompositionResult apply(DoubleMatrix x) {
+    ArgChecker.notNull(x, "x");
+    int n = x.rowCount();
+    ArgChecker.isTrue(n == x.columnCount(), "Matrix must be square, was {}x{}", n, x.columnCount());
+    double[] lu = DenseMatrixKernel.toRowMajor(x);
+    int[] pivot = new int[n];
+    int sign = DenseMatrixKernel.luDecompose(lu, n, pivot, DenseMatrixKernel.DEFAULT_SINGULARITY_THRESHOLD);
+    ArgChecker.isTrue(sign != 0, "Matrix is singular; could not perform LU decomposition");
+    return new LUDecompositionDenseResult(lu, n, pivot, sign);
+  }
+
+}
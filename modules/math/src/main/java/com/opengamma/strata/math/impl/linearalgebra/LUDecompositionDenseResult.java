@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Results of the dense implementation of LU decomposition ({@link LUDecompositionDense}).
+ * <p>
+ * The decomposition is held in a single row-major array, L and U sharing the storage.
+ * The matrices are only created when requested.
+ */
+public class LUDecompositionDenseResult implements LUDecompositionResult {
+
+  /**
+   * The decomposition, L below the diagonal and U on and above the diagonal.
+   */
+  private final double[] lu;
+  /**
+   * The size of the matrix.
+   */
+  private final int size;
+  /**
+   * The pivot permutation.
+   */
+  private final int[] pivot;
+  /**
+   * The determinant.
+   */
+  private final double determinant;
+
+  /**
+   * Creates an instance.
+   *
+   * @param lu  the decomposition, as produced by {@link DenseMatrixKernel#luDecompose(double[], int, int[], double)}
+   * @param size  the size of the matrix
+   * @param pivot  the pivot permutation
+   * @param sign  the sign of the permutation
+   */
+  LUDecompositionDenseResult(double[] lu, int size, int[] pivot, int sign) {
+    this.lu = lu;
+    this.size = size;
+    this.pivot = pivot;
+    double det = sign;
+    for (int i = 0; i < size; i++) {
+      det *= lu[i * size + i];
+    }
+    this.determinant = det;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public double getDeterminant() {
+    return determinant;
+  }
+
+  @Override
+  public DoubleMatrix getL() {
+    return DoubleMatrix.of(size, size, (i, j) -> i > j ? lu[i * size + j] : (i == j ? 1d : 0d));
+  }
+
+  @Override
+  public DoubleMatrix getP() {
+    return DoubleMatrix.of(size, size, (i, j) -> pivot[i] == j ? 1d : 0d);
+  }
+
+  @Override
+  public int[] getPivot() {
+    return pivot.clone();
+  }
+
+  @Override
+  public DoubleMatrix getU() {
+    return DoubleMatrix.of(size, size, (i, j) -> i <= j ? lu[i * size + j] : 0d);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DoubleArray solve(DoubleArray b) {
+    ArgChecker.notNull(b, "b");
+    return DoubleArray.ofUnsafe(solve(b.toArrayUnsafe()));
+  }
+
+  @Override
+  public double[] solve(double[] b) {
+    ArgChecker.notNull(b, "b");
+    double[] x = b.clone();
+    DenseMatrixKernel.luSolve(lu, size, pivot, x, 1);
+    return x;
+  }
+
+  @Override
+  public DoubleMatrix solve(DoubleMatrix b) {
+    ArgChecker.notNull(b, "b");
+    double[] x = DenseMatrixKernel.toRowMajor(b);
+    DenseMatrixKernel.luSolve(lu, size, pivot, x, b.columnCount());
+    return DenseMatrixKernel.toMatrix(x, size, b.columnCount());
+  }
+
+}
@@ -0,0 +1,31 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * QR decomposition by Householder reflections performed in place on a flat row-major array
+ * by {@link DenseMatrixKernel}.
+ * <p>
+ * This produces the same decomposition as {@link QRDecompositionCommons},
+ * without converting the matrix to and from the Commons representation.
+ */
+public class QRDecompositionDense extends Decomposition<QRDecompositionResult> {
+
+  @Override
+  public QRDecompositionResult apply(DoubleMatrix x) {
+    ArgChecker.notNull(x, "x");
+    int m = x.rowCount();
+    int n = x.columnCount();
+    double[] qrt = DenseMatrixKernel.transpose(DenseMatrixKernel.toRowMajor(x), m, n);
+    double[] rDiag = new double[Math.min(m, n)];
+    DenseMatrixKernel.qrDecompose(qrt, m, n, rDiag);
+    return new QRDecompositionDenseResult(qrt, m, n, rDiag);
+  }
+
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Results of the dense implementation of QR decomposition ({@link QRDecompositionDense}).
+ * <p>
+ * The Householder vectors and R are held in a single row-major array.
+ * The matrices are only created when requested.
+ * <p>
+ * The solve methods return the least squares solution, which requires the matrix to have
+ * at least as many rows as columns.
+ */
+public class QRDecompositionDenseResult implements QRDecompositionResult {
+
+  /**
+   * The decomposition, stored transposed.
+   */
+  private final double[] qrt;
+  /**
+   * The number of rows of the matrix.
+   */
+  private final int rowCount;
+  /**
+   * The number of columns of the matrix.
+   */
+  private final int columnCount;
+  /**
+   * The diagonal of R.
+   */
+  private final double[] rDiag;
+
+  /**
+   * Creates an instance.
+   *
+   * @param qrt  the decomposition, as produced by {@link DenseMatrixKernel#qrDecompose(double[], int, int, double[])}
+   * @param rowCount  the number of rows of the matrix
+   * @param columnCount  the number of columns of the matrix
+   * @param rDiag  the diagonal of R
+   */
+  QRDecompositionDenseResult(double[] qrt, int rowCount, int columnCount, double[] rDiag) {
+    this.qrt = qrt;
+    this.rowCount = rowCount;
+    this.columnCount = columnCount;
+    this.rDiag = rDiag;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DoubleMatrix getQ() {
+    double[] qt = DenseMatrixKernel.qrQT(qrt, rowCount, columnCount, rDiag);
+    return DenseMatrixKernel.toMatrix(DenseMatrixKernel.transpose(qt, rowCount, rowCount), rowCount, rowCount);
+  }
+
+  @Override
+  public DoubleMatrix getQT() {
+    return DenseMatrixKernel.toMatrix(DenseMatrixKernel.qrQT(qrt, rowCount, columnCount, rDiag), rowCount, rowCount);
+  }
+
+  @Override
+  public DoubleMatrix getR() {
+    return DenseMatrixKernel.toMatrix(DenseMatrixKernel.qrR(qrt, rowCount, columnCount, rDiag), rowCount, columnCount);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DoubleArray solve(DoubleArray b) {
+    ArgChecker.notNull(b, "b");
+    return DoubleArray.ofUnsafe(solve(b.toArrayUnsafe()));
+  }
+
+  @Override
+  public double[] solve(double[] b) {
+    ArgChecker.notNull(b, "b");
+    return DenseMatrixKernel.qrSolve(qrt, rowCount, columnCount, rDiag, b);
+  }
+
+  @Override
+  public DoubleMatrix solve(DoubleMatrix b) {
+    ArgChecker.notNull(b, "b");
+    ArgChecker.isTrue(b.rowCount() == rowCount, "b matrix of incorrect size");
+    int nRhs = b.columnCount();
+    double[][] x = new double[columnCount][nRhs];
+    for (int j = 0; j < nRhs; j++) {
+      double[] column = DenseMatrixKernel.qrSolve(qrt, rowCount, columnCount, rDiag, b.column(j).toArrayUnsafe());
+      for (int i = 0; i < columnCount; i++) {
+        x[i][j] = column[i];
+      }
+    }
+    return DoubleMatrix.ofUnsafe(x);
+  }
+
+}
@@ -0,0 +1,282 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.matrix;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.array.Matrix;
+import com.opengamma.strata.math.impl.linearalgebra.DenseMatrixKernel;
+
+/**
+ * Provides matrix algebra using the pure Java kernels of {@link DenseMatrixKernel}.
+ * <p>
+ * The matrices are copied once into flat row-major arrays, on which the multiplication, transposition
+ * and LU decomposition are performed by cache-blocked loops.
+ * <p>
+ * Unlike {@link CommonsMatrixAlgebra}, the inverse is computed by LU decomposition rather than
+ * singular value decomposition, and is therefore only available for non-singular square matrices.
+ * The condition number, the 2-norm of a matrix and real powers are not supported.
+ */
+public class DenseMatrixAlgebra extends MatrixAlgebra {
+
+  /**
+   * {@inheritDoc}
+   * @throws UnsupportedOperationException always
+   */
+  @Override
+  public double getCondition(Matrix m) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public double getDeterminant(Matrix m) {
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleMatrix) {
+      DoubleMatrix matrix = (DoubleMatrix) m;
+      ArgChecker.isTrue(matrix.isSquare(), "Matrix not square");
+      int n = matrix.rowCount();
+      double[] lu = DenseMatrixKernel.toRowMajor(matrix);
+      int sign = DenseMatrixKernel.luDecompose(lu, n, new int[n], DenseMatrixKernel.DEFAULT_SINGULARITY_THRESHOLD);
+      double det = sign;
+      for (int i = 0; i < n && det != 0d; i++) {
+        det *= lu[i * n + i];
+      }
+      return det;
+    }
+    throw new IllegalArgumentException("Can only find determinant of DoubleMatrix; have " + m.getClass());
+  }
+
+  @Override
+  public double getInnerProduct(Matrix m1, Matrix m2) {
+    ArgChecker.notNull(m1, "m1");
+    ArgChecker.notNull(m2, "m2");
+    if (m1 instanceof DoubleArray && m2 instanceof DoubleArray) {
+      DoubleArray array1 = (DoubleArray) m1;
+      DoubleArray array2 = (DoubleArray) m2;
+      ArgChecker.isTrue(array1.size() == array2.size(), "Arrays must have the same size");
+      double sum = 0d;
+      for (int i = 0; i < array1.size(); i++) {
+        sum += array1.get(i) * array2.get(i);
+      }
+      return sum;
+    }
+    throw new IllegalArgumentException("Can only find inner product of DoubleArray; have " +
+        m1.getClass() + " and " + m2.getClass());
+  }
+
+  /**
+   * {@inheritDoc}
+   * The inverse is computed by LU decomposition.
+   * @throws IllegalArgumentException if the matrix is not square or is singular
+   */
+  @Override
+  public DoubleMatrix getInverse(Matrix m) {
+    ArgChecker.notNull(m, "matrix was null");
+    if (m instanceof DoubleMatrix) {
+      DoubleMatrix matrix = (DoubleMatrix) m;
+      ArgChecker.isTrue(matrix.isSquare(), "Matrix not square");
+      int n = matrix.rowCount();
+      double[] lu = DenseMatrixKernel.toRowMajor(matrix);
+      int[] pivot = new int[n];
+      int sign = DenseMatrixKernel.luDecompose(lu, n, pivot, DenseMatrixKernel.DEFAULT_SINGULARITY_THRESHOLD);
+      ArgChecker.isTrue(sign != 0, "Matrix is singular; could not compute inverse");
+      double[] inverse = new double[n * n];
+      for (int i = 0; i < n; i++) {
+        inverse[i * n + i] = 1d;
+      }
+      DenseMatrixKernel.luSolve(lu, n, pivot, inverse, n);
+      return DenseMatrixKernel.toMatrix(inverse, n, n);
+    }
+    throw new IllegalArgumentException("Can only find inverse of DoubleMatrix; have " + m.getClass());
+  }
+
+  @Override
+  public double getNorm1(Matrix m) {
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleArray) {
+      return ((DoubleArray) m).reduce(0d, (r, v) -> r + Math.abs(v));
+    } else if (m instanceof DoubleMatrix) {
+      DoubleMatrix matrix = (DoubleMatrix) m;
+      int nCols = matrix.columnCount();
+      double[] columnSums = new double[nCols];
+      for (int i = 0; i < matrix.rowCount(); i++) {
+        double[] row = matrix.rowArray(i);
+        for (int j = 0; j < nCols; j++) {
+          columnSums[j] += Math.abs(row[j]);
+        }
+      }
+      double max = 0d;
+      for (int j = 0; j < nCols; j++) {
+        max = Math.max(max, columnSums[j]);
+      }
+      return max;
+    }
+    throw new IllegalArgumentException("Can only find norm1 of DoubleMatrix; have " + m.getClass());
+  }
+
+  /**
+   * {@inheritDoc} This is only implemented for {@link DoubleArray}.
+   * @throws UnsupportedOperationException if the matrix is a {@link DoubleMatrix}
+   */
+  @Override
+  public double getNorm2(Matrix m) {
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleArray) {
+      DoubleArray array = (DoubleArray) m;
+      return Math.sqrt(array.reduce(0d, (r, v) -> r + v * v));
+    } else if (m instanceof DoubleMatrix) {
+      throw new UnsupportedOperationException();
+    }
+    throw new IllegalArgumentException("Can only find norm2 of a DoubleArray; have " + m.getClass());
+  }
+
+  @Override
+  public double getNormInfinity(Matrix m) {
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleArray) {
+      return ((DoubleArray) m).reduce(0d, (r, v) -> Math.max(r, Math.abs(v)));
+    } else if (m instanceof DoubleMatrix) {
+      DoubleMatrix matrix = (DoubleMatrix) m;
+      double max = 0d;
+      for (int i = 0; i < matrix.rowCount(); i++) {
+        double sum = 0d;
+        for (double value : matrix.rowArray(i)) {
+          sum += Math.abs(value);
+        }
+        max = Math.max(max, sum);
+      }
+      return max;
+    }
+    throw new IllegalArgumentException("Can only find normInfinity of DoubleMatrix; have " + m.getClass());
+  }
+
+  @Override
+  public DoubleMatrix getOuterProduct(Matrix m1, Matrix m2) {
+    ArgChecker.notNull(m1, "m1");
+    ArgChecker.notNull(m2, "m2");
+    if (m1 instanceof DoubleArray && m2 instanceof DoubleArray) {
+      DoubleArray array1 = (DoubleArray) m1;
+      DoubleArray array2 = (DoubleArray) m2;
+      return DoubleMatrix.of(array1.size(), array2.size(), (i, j) -> array1.get(i) * array2.get(j));
+    }
+    throw new IllegalArgumentException("Can only find outer product of DoubleArray; have " +
+        m1.getClass() + " and " + m2.getClass());
+  }
+
+  /**
+   * {@inheritDoc}
+   * The power is computed by repeated squaring and must not be negative.
+   */
+  @Override
+  public DoubleMatrix getPower(Matrix m, int p) {
+    ArgChecker.notNull(m, "m");
+    ArgChecker.notNegative(p, "p");
+    if (m instanceof DoubleMatrix) {
+      DoubleMatrix matrix = (DoubleMatrix) m;
+      ArgChecker.isTrue(matrix.isSquare(), "Matrix not square");
+      int n = matrix.rowCount();
+      double[] result = new double[n * n];
+      for (int i = 0; i < n; i++) {
+        result[i * n + i] = 1d;
+      }
+      double[] square = DenseMatrixKernel.toRowMajor(matrix);
+      int remaining = p;
+      while (remaining > 0) {
+        if ((remaining & 1) == 1) {
+          result = DenseMatrixKernel.multiply(result, square, n, n, n);
+        }
+        remaining >>= 1;
+        if (remaining > 0) {
+          square = DenseMatrixKernel.multiply(square, square, n, n, n);
+        }
+      }
+      return DenseMatrixKernel.toMatrix(result, n, n);
+    }
+    throw new IllegalArgumentException("Can only find powers of DoubleMatrix; have " + m.getClass());
+  }
+
+  /**
+   * {@inheritDoc}
+   * @throws UnsupportedOperationException always
+   */
+  @Override
+  public DoubleMatrix getPower(Matrix m, double p) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public double getTrace(Matrix m) {
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleMatrix) {
+      DoubleMatrix matrix = (DoubleMatrix) m;
+      ArgChecker.isTrue(matrix.isSquare(), "Matrix not square");
+      double sum = 0d;
+      for (int i = 0; i < matrix.rowCount(); i++) {
+        sum += matrix.get(i, i);
+      }
+      return sum;
+    }
+    throw new IllegalArgumentException("Can only find trace of DoubleMatrix; have " + m.getClass());
+  }
+
+  @Override
+  public DoubleMatrix getTranspose(Matrix m) {
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleMatrix) {
+      DoubleMatrix matrix = (DoubleMatrix) m;
+      int nRows = matrix.rowCount();
+      int nCols = matrix.columnCount();
+      double[] transpose = DenseMatrixKernel.transpose(DenseMatrixKernel.toRowMajor(matrix), nRows, nCols);
+      return DenseMatrixKernel.toMatrix(transpose, nCols, nRows);
+    }
+    throw new IllegalArgumentException("Can only find transpose of DoubleMatrix; have " + m.getClass());
+  }
+
+  /**
+   * {@inheritDoc}
+   * The following combinations of input matrices m1 and m2 are allowed:
+   * <ul>
+   * <li> m1 = 2-D matrix, m2 = 2-D matrix, returns $\mathbf{C} = \mathbf{AB}$
+   * <li> m1 = 2-D matrix, m2 = 1-D matrix, returns $\mathbf{C} = \mathbf{A}b$
+   * </ul>
+   */
+  @Override
+  public Matrix multiply(Matrix m1, Matrix m2) {
+    ArgChecker.notNull(m1, "m1");
+    ArgChecker.notNull(m2, "m2");
+    ArgChecker.isTrue(!(m1 instanceof DoubleArray), "Cannot have 1D matrix as first argument");
+    if (m1 instanceof DoubleMatrix) {
+      DoubleMatrix matrix1 = (DoubleMatrix) m1;
+      int nRows = matrix1.rowCount();
+      int nInner = matrix1.columnCount();
+      double[] a = DenseMatrixKernel.toRowMajor(matrix1);
+      if (m2 instanceof DoubleArray) {
+        DoubleArray array2 = (DoubleArray) m2;
+        ArgChecker.isTrue(nInner == array2.size(), "Matrix size mismatch");
+        return DoubleArray.ofUnsafe(DenseMatrixKernel.multiplyVector(a, array2.toArrayUnsafe(), nRows, nInner));
+      } else if (m2 instanceof DoubleMatrix) {
+        DoubleMatrix matrix2 = (DoubleMatrix) m2;
+        ArgChecker.isTrue(nInner == matrix2.rowCount(), "Matrix size mismatch");
+        int nCols = matrix2.columnCount();
+        double[] c = DenseMatrixKernel.multiply(a, DenseMatrixKernel.toRowMajor(matrix2), nRows, nInner, nCols);
+        return DenseMatrixKernel.toMatrix(c, nRows, nCols);
+      }
+      throw new IllegalArgumentException("Can only have 1D or 2D matrix as second argument");
+    }
+    throw new IllegalArgumentException("Can only multiply 2D and 1D matrices");
+  }
+
+  @Override
+  public DoubleMatrix matrixTransposeMultiplyMatrix(DoubleMatrix a) {
+    ArgChecker.notNull(a, "a");
+    int nRows = a.rowCount();
+    int nCols = a.columnCount();
+    return DenseMatrixKernel.toMatrix(
+        DenseMatrixKernel.transposeMultiply(DenseMatrixKernel.toRowMajor(a), nRows, nCols), nCols, nCols);
+  }
+
+}
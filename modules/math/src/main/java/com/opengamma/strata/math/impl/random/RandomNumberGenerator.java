@@ -29,4 +29,19 @@ public interface RandomNumberGenerator {
    */
   List<double[]> getVectors(int arraySize, int listSize);
 
+  /**
+   * Fills part of an array with random numbers.
+   * <p>
+   * This allows random numbers to be generated in blocks into a primitive array without an allocation per draw.
+   * The default implementation copies the result of {@link #getVector(int)}.
+   * 
+   * @param array  the array to fill
+   * @param fromIndex  the first index to fill, inclusive
+   * @param toIndex  the last index to fill, exclusive
+   */
+  public default void fill(double[] array, int fromIndex, int toIndex) {
+    double[] vector = getVector(toIndex - fromIndex);
+    System.arraycopy(vector, 0, array, fromIndex, vector.length);
+  }
+
 }
@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.math3.random.SobolSequenceGenerator;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
+
+/**
+ * Generator of quasi-random standard normal numbers based on a Sobol sequence.
+ * <p>
+ * Each vector is a point of the Sobol sequence of the specified dimension,
+ * transformed to standard normal numbers by the inverse cumulative distribution.
+ * The first point of the sequence, which is zero in all dimensions, is skipped.
+ * <p>
+ * The generator can be positioned anywhere in the sequence using {@link #skipTo(int)}.
+ * This allows disjoint blocks of the sequence to be generated in parallel by separate instances
+ * with the same result as a single sequential generator.
+ * <p>
+ * An instance of this class is not thread-safe.
+ */
+public final class SobolNormalRandomNumberGenerator
+    implements RandomNumberGenerator {
+
+  /**
+   * The standard normal distribution.
+   */
+  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
+
+  /**
+   * The dimension.
+   */
+  private final int dimension;
+  /**
+   * The underlying uniform Sobol sequence.
+   */
+  private final SobolSequenceGenerator sequence;
+
+  /**
+   * Creates an instance.
+   * <p>
+   * The dimension must be between 1 and 1000.
+   *
+   * @param dimension  the dimension of the sequence
+   */
+  public SobolNormalRandomNumberGenerator(int dimension) {
+    ArgChecker.inRangeInclusive(dimension, 1, 1000, "dimension");
+    this.dimension = dimension;
+    this.sequence = new SobolSequenceGenerator(dimension);
+    this.sequence.skipTo(1);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the dimension.
+   *
+   * @return the dimension
+   */
+  public int getDimension() {
+    return dimension;
+  }
+
+  /**
+   * Moves the generator such that the next vector is the vector at the specified index.
+   * <p>
+   * The index is zero-based and excludes the skipped first point of the Sobol sequence.
+   *
+   * @param index  the index of the next vector
+   */
+  public void skipTo(int index) {
+    ArgChecker.notNegative(index, "index");
+    sequence.skipTo(index + 1);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the next point of the sequence as standard normal numbers.
+   * <p>
+   * The size must equal the dimension.
+   *
+   * @param size  the size of the resulting array
+   * @return the array of random numbers
+   */
+  @Override
+  public double[] getVector(int size) {
+    ArgChecker.isTrue(size == dimension, "Size must equal dimension {}, but was {}", dimension, size);
+    double[] result = new double[size];
+    fill(result, 0, size);
+    return result;
+  }
+
+  @Override
+  public List<double[]> getVectors(int arraySize, int listSize) {
+    ArgChecker.notNegative(listSize, "listSize");
+    List<double[]> result = new ArrayList<>(listSize);
+    for (int i = 0; i < listSize; i++) {
+      result.add(getVector(arraySize));
+    }
+    return result;
+  }
+
+  /**
+   * Fills part of an array with the next points of the sequence as standard normal numbers.
+   * <p>
+   * The number of elements to fill must be a multiple of the dimension.
+   * The points are stored consecutively.
+   *
+   * @param array  the array to fill
+   * @param fromIndex  the first index to fill, inclusive
+   * @param toIndex  the last index to fill, exclusive
+   */
+  @Override
+  public void fill(double[] array, int fromIndex, int toIndex) {
+    ArgChecker.isTrue(toIndex >= fromIndex && (toIndex - fromIndex) % dimension == 0,
+        "Number of elements must be a multiple of dimension {}", dimension);
+    for (int i = fromIndex; i < toIndex; i += dimension) {
+      double[] uniform = sequence.nextVector();
+      for (int j = 0; j < dimension; j++) {
+        array[i + j] = NORMAL.getInverseCDF(uniform[j]);
+      }
+    }
+  }
+
+}
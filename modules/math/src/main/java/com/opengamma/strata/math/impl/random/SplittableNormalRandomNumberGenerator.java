@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Generator of standard normal random numbers that can be split into independent streams.
+ * <p>
+ * The uniform numbers are produced by {@link SplittableRandom} and transformed to
+ * standard normal numbers using the polar method of Marsaglia.
+ * <p>
+ * Splitting the generator produces a new generator whose stream is statistically independent of this one.
+ * A sequence of splits performed from the same seed always produces the same streams,
+ * which allows parallel simulations to be reproducible independently of the thread scheduling.
+ * <p>
+ * An instance of this class is not thread-safe. Each thread should use its own split generator.
+ */
+public final class SplittableNormalRandomNumberGenerator
+    implements RandomNumberGenerator {
+
+  /**
+   * The underlying uniform generator.
+   */
+  private final SplittableRandom random;
+  /**
+   * The second normal number of the last pair generated, if not yet used.
+   */
+  private double spare;
+  /**
+   * Whether the spare number is available.
+   */
+  private boolean hasSpare;
+
+  /**
+   * Creates an instance from a seed.
+   *
+   * @param seed  the seed
+   */
+  public SplittableNormalRandomNumberGenerator(long seed) {
+    this(new SplittableRandom(seed));
+  }
+
+  private SplittableNormalRandomNumberGenerator(SplittableRandom random) {
+    this.random = random;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Splits this generator, returning a new generator with an independent stream.
+   * <p>
+   * This generator is advanced by the split.
+   *
+   * @return the new generator
+   */
+  public SplittableNormalRandomNumberGenerator split() {
+    return new SplittableNormalRandomNumberGenerator(random.split());
+  }
+
+  /**
+   * Gets the next standard normal random number.
+   *
+   * @return the random number
+   */
+  public double nextNormal() {
+    if (hasSpare) {
+      hasSpare = false;
+      return spare;
+    }
+    double u;
+    double v;
+    double s;
+    do {
+      u = 2d * random.nextDouble() - 1d;
+      v = 2d * random.nextDouble() - 1d;
+      s = u * u + v * v;
+    } while (s >= 1d || s == 0d);
+    double factor = Math.sqrt(-2d * Math.log(s) / s);
+    spare = v * factor;
+    hasSpare = true;
+    return u * factor;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public double[] getVector(int size) {
+    ArgChecker.notNegative(size, "size");
+    double[] result = new double[size];
+    fill(result, 0, size);
+    return result;
+  }
+
+  @Override
+  public List<double[]> getVectors(int arraySize, int listSize) {
+    ArgChecker.notNegative(arraySize, "arraySize");
+    ArgChecker.notNegative(listSize, "listSize");
+    List<double[]> result = new ArrayList<>(listSize);
+    for (int i = 0; i < listSize; i++) {
+      result.add(getVector(arraySize));
+    }
+    return result;
+  }
+
+  @Override
+  public void fill(double[] array, int fromIndex, int toIndex) {
+    ArgChecker.inOrderOrEqual(fromIndex, toIndex, "fromIndex", "toIndex");
+    for (int i = fromIndex; i < toIndex; i++) {
+      array[i] = nextNormal();
+    }
+  }
+
+}
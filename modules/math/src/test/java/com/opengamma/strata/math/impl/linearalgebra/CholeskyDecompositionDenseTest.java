@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.Random;
+
+import org.testng.annotations.Test;
+import org.testng.internal.junit.ArrayAsserts;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.impl.matrix.DenseMatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+import com.opengamma.strata.math.impl.util.AssertMatrix;
+
+/**
+ * Tests the Cholesky decomposition dense implementation.
+ */
+@Test
+public class CholeskyDecompositionDenseTest {
+
+  private static final MatrixAlgebra ALGEBRA = new DenseMatrixAlgebra();
+  private static final CholeskyDecompositionDense CD = new CholeskyDecompositionDense();
+  private static final CholeskyDecompositionOpenGamma CDOG = new CholeskyDecompositionOpenGamma();
+  private static final DoubleMatrix A5 = DoubleMatrix.copyOf(
+      new double[][] {
+          {10.0, 2.0, -1.0, 1.0, 1.0},
+          {2.0, 5.0, -2.0, 0.5, 0.5},
+          {-1.0, -2.0, 15.0, 1.0, 0.5},
+          {1.0, 0.5, 1.0, 10.0, -1.0},
+          {1.0, 0.5, 0.5, -1.0, 25.0}});
+  private static final double EPS = 1e-9;
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNullObjectMatrix() {
+    CD.apply((DoubleMatrix) null);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNotSymmetric() {
+    CD.apply(DoubleMatrix.of(2, 2, 2, 1, 0, 2));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNotPositive() {
+    CD.apply(DoubleMatrix.of(2, 2, 1, 2, 2, 1));
+  }
+
+  public void recoverOrginal() {
+    CholeskyDecompositionResult result = CD.apply(A5);
+    AssertMatrix.assertEqualsMatrix(A5, (DoubleMatrix) ALGEBRA.multiply(result.getL(), result.getLT()), EPS);
+  }
+
+  public void compareOpenGamma() {
+    DoubleMatrix matrix = randomPositiveMatrix(30, new Random(1));
+    CholeskyDecompositionResult dense = CD.apply(matrix);
+    CholeskyDecompositionResult og = CDOG.apply(matrix);
+    AssertMatrix.assertEqualsMatrix(og.getL(), dense.getL(), EPS);
+    AssertMatrix.assertEqualsMatrix(og.getLT(), dense.getLT(), EPS);
+    assertEquals(og.getDeterminant(), dense.getDeterminant(), Math.abs(og.getDeterminant()) * EPS);
+  }
+
+  public void solve() {
+    CholeskyDecompositionResult result = CD.apply(A5);
+    double[] b = new double[] {1.0, 2.0, 3.0, 4.0, -1.0};
+    DoubleArray ax = (DoubleArray) ALGEBRA.multiply(A5, result.solve(DoubleArray.copyOf(b)));
+    ArrayAsserts.assertArrayEquals(b, ax.toArray(), 1.0E-10);
+    ArrayAsserts.assertArrayEquals(result.solve(b), CDOG.apply(A5).solve(b), 1.0E-10);
+    DoubleMatrix bMatrix = DoubleMatrix.copyOf(
+        new double[][] { {1.0, 2.0}, {2.0, 3.0}, {3.0, 4.0}, {4.0, -2.0}, {-1.0, -1.0}});
+    AssertMatrix.assertEqualsMatrix(bMatrix, (DoubleMatrix) ALGEBRA.multiply(A5, result.solve(bMatrix)), 1.0E-10);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test(enabled = false)
+  public void performance() {
+    Random random = new Random(3);
+    for (int size : new int[] {50, 100, 200, 500}) {
+      DoubleMatrix matrix = randomPositiveMatrix(size, random);
+      int nbTests = Math.max(5, 50000000 / (size * size * size));
+      double count = 0;
+      for (int looprep = 0; looprep < 3; looprep++) {
+        long startTime = System.currentTimeMillis();
+        for (int looptest = 0; looptest < nbTests; looptest++) {
+          count += CDOG.apply(matrix).getDeterminant();
+        }
+        long endTime = System.currentTimeMillis();
+        System.out.println("Cholesky OpenGamma: " + nbTests + " decompositions of size " + size + " in " +
+            (endTime - startTime) + " ms.");
+        startTime = System.currentTimeMillis();
+        for (int looptest = 0; looptest < nbTests; looptest++) {
+          count += CD.apply(matrix).getDeterminant();
+        }
+        endTime = System.currentTimeMillis();
+        System.out.println("Cholesky dense: " + nbTests + " decompositions of size " + size + " in " +
+            (endTime - startTime) + " ms.");
+      }
+      System.out.println("Avoiding hotspot: " + count);
+    }
+  }
+
+  // random symmetric positive-definite matrix
+  private static DoubleMatrix randomPositiveMatrix(int size, Random random) {
+    DoubleMatrix matrix = LUDecompositionDenseTest.randomMatrix(size, random);
+    return ALGEBRA.matrixTransposeMultiplyMatrix(matrix).plus(DoubleMatrix.identity(size));
+  }
+
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.Random;
+
+import org.testng.annotations.Test;
+import org.testng.internal.junit.ArrayAsserts;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+import com.opengamma.strata.math.impl.util.AssertMatrix;
+
+/**
+ * Tests the LU decomposition dense implementation.
+ */
+@Test
+public class LUDecompositionDenseTest {
+
+  private static final MatrixAlgebra ALGEBRA = new CommonsMatrixAlgebra();
+  private static final Decomposition<LUDecompositionResult> LU = new LUDecompositionDense();
+  private static final Decomposition<LUDecompositionResult> LU_COMMONS = new LUDecompositionCommons();
+  private static final DoubleMatrix A = DoubleMatrix.copyOf(
+      new double[][] { {1, 2, -1}, {4, 3, 1}, {2, 2, 3}});
+  private static final double EPS = 1e-9;
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNullObjectMatrix() {
+    LU.apply((DoubleMatrix) null);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNotSquare() {
+    LU.apply(DoubleMatrix.of(2, 3, 1, 2, 3, 4, 5, 6));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testSingular() {
+    LU.apply(DoubleMatrix.of(3, 3, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+  }
+
+  public void testRecoverOrginal() {
+    LUDecompositionResult lu = LU.apply(A);
+    DoubleMatrix a = (DoubleMatrix) ALGEBRA.multiply(lu.getL(), lu.getU());
+    AssertMatrix.assertEqualsMatrix((DoubleMatrix) ALGEBRA.multiply(lu.getP(), A), a, EPS);
+  }
+
+  public void compareCommons() {
+    DoubleMatrix matrix = randomMatrix(40, new Random(1));
+    LUDecompositionResult dense = LU.apply(matrix);
+    LUDecompositionResult commons = LU_COMMONS.apply(matrix);
+    AssertMatrix.assertEqualsMatrix(commons.getL(), dense.getL(), EPS);
+    AssertMatrix.assertEqualsMatrix(commons.getU(), dense.getU(), EPS);
+    AssertMatrix.assertEqualsMatrix(commons.getP(), dense.getP(), EPS);
+    int[] commonsPivot = commons.getPivot();
+    int[] densePivot = dense.getPivot();
+    for (int i = 0; i < commonsPivot.length; i++) {
+      assertEquals(commonsPivot[i], densePivot[i]);
+    }
+    assertEquals(commons.getDeterminant(), dense.getDeterminant(), Math.abs(commons.getDeterminant()) * EPS);
+  }
+
+  public void solve() {
+    Random random = new Random(2);
+    DoubleMatrix matrix = randomMatrix(25, random);
+    LUDecompositionResult dense = LU.apply(matrix);
+    LUDecompositionResult commons = LU_COMMONS.apply(matrix);
+    double[] b = randomMatrix(25, random).rowArray(0);
+    ArrayAsserts.assertArrayEquals(commons.solve(b), dense.solve(b), EPS);
+    AssertMatrix.assertEqualsVectors(commons.solve(DoubleArray.ofUnsafe(b)), dense.solve(DoubleArray.ofUnsafe(b)), EPS);
+    DoubleMatrix bMatrix = randomMatrix(25, random);
+    AssertMatrix.assertEqualsMatrix(commons.solve(bMatrix), dense.solve(bMatrix), EPS);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test(enabled = false)
+  public void performance() {
+    Random random = new Random(3);
+    for (int size : new int[] {50, 100, 200, 500}) {
+      DoubleMatrix matrix = randomMatrix(size, random);
+      int nbTests = Math.max(5, 50000000 / (size * size * size));
+      long count = 0;
+      for (int looprep = 0; looprep < 3; looprep++) {
+        long startTime = System.currentTimeMillis();
+        for (int looptest = 0; looptest < nbTests; looptest++) {
+          count += LU_COMMONS.apply(matrix).getPivot()[0];
+        }
+        long endTime = System.currentTimeMillis();
+        System.out.println("LU commons: " + nbTests + " decompositions of size " + size + " in " +
+            (endTime - startTime) + " ms.");
+        startTime = System.currentTimeMillis();
+        for (int looptest = 0; looptest < nbTests; looptest++) {
+          count += LU.apply(matrix).getPivot()[0];
+        }
+        endTime = System.currentTimeMillis();
+        System.out.println("LU dense: " + nbTests + " decompositions of size " + size + " in " +
+            (endTime - startTime) + " ms.");
+      }
+      System.out.println("Avoiding hotspot: " + count);
+    }
+  }
+
+  // random square matrix with elements in [-0.5, 0.5)
+  static DoubleMatrix randomMatrix(int size, Random random) {
+    return DoubleMatrix.of(size, size, (i, j) -> random.nextDouble() - 0.5);
+  }
+
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import java.util.Random;
+
+import org.testng.annotations.Test;
+import org.testng.internal.junit.ArrayAsserts;
+
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+import com.opengamma.strata.math.impl.util.AssertMatrix;
+
+/**
+ * Tests the QR decomposition dense implementation.
+ */
+@Test
+public class QRDecompositionDenseTest {
+
+  private static final MatrixAlgebra ALGEBRA = new CommonsMatrixAlgebra();
+  private static final Decomposition<QRDecompositionResult> QR = new QRDecompositionDense();
+  private static final Decomposition<QRDecompositionResult> QR_COMMONS = new QRDecompositionCommons();
+  private static final DoubleMatrix A = DoubleMatrix.copyOf(
+      new double[][] { {1, 2, 3}, {4, 5, 6}, {7, 8, 9}});
+  private static final double EPS = 1e-9;
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNullObjectMatrix() {
+    QR.apply((DoubleMatrix) null);
+  }
+
+  public void testRecoverOrginal() {
+    QRDecompositionResult qr = QR.apply(A);
+    AssertMatrix.assertEqualsMatrix(A, (DoubleMatrix) ALGEBRA.multiply(qr.getQ(), qr.getR()), EPS);
+    AssertMatrix.assertEqualsMatrix(ALGEBRA.getTranspose(qr.getQ()), qr.getQT(), EPS);
+  }
+
+  public void compareCommons() {
+    Random random = new Random(1);
+    for (int[] dims : new int[][] { {30, 30}, {40, 25}, {10, 15}}) {
+      DoubleMatrix matrix = DoubleMatrix.of(dims[0], dims[1], (i, j) -> random.nextDouble() - 0.5);
+      QRDecompositionResult dense = QR.apply(matrix);
+      QRDecompositionResult commons = QR_COMMONS.apply(matrix);
+      AssertMatrix.assertEqualsMatrix(commons.getQ(), dense.getQ(), EPS);
+      AssertMatrix.assertEqualsMatrix(commons.getQT(), dense.getQT(), EPS);
+      AssertMatrix.assertEqualsMatrix(commons.getR(), dense.getR(), EPS);
+    }
+  }
+
+  public void solveLeastSquares() {
+    Random random = new Random(2);
+    DoubleMatrix matrix = DoubleMatrix.of(40, 25, (i, j) -> random.nextDouble() - 0.5);
+    DoubleMatrix b = DoubleMatrix.of(40, 2, (i, j) -> random.nextDouble() - 0.5);
+    QRDecompositionResult dense = QR.apply(matrix);
+    QRDecompositionResult commons = QR_COMMONS.apply(matrix);
+    ArrayAsserts.assertArrayEquals(commons.solve(b.column(0).toArray()), dense.solve(b.column(0).toArray()), EPS);
+    AssertMatrix.assertEqualsVectors(commons.solve(b.column(1)), dense.solve(b.column(1)), EPS);
+    AssertMatrix.assertEqualsMatrix(commons.solve(b), dense.solve(b), EPS);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void solveUnderdetermined() {
+    QR.apply(DoubleMatrix.of(2, 3, 1, 2, 3, 4, 5, 7)).solve(new double[] {1, 2});
+  }
+
+  //-------------------------------------------------------------------------
+  @Test(enabled = false)
+  public void performance() {
+    Random random = new Random(3);
+    for (int size : new int[] {50, 100, 200, 500}) {
+      DoubleMatrix matrix = LUDecompositionDenseTest.randomMatrix(size, random);
+      double[] b = matrix.rowArray(0);
+      int nbTests = Math.max(5, 50000000 / (size * size * size));
+      double count = 0;
+      for (int looprep = 0; looprep < 3; looprep++) {
+        long startTime = System.currentTimeMillis();
+        for (int looptest = 0; looptest < nbTests; looptest++) {
+          count += QR_COMMONS.apply(matrix).solve(b)[0];
+        }
+        long endTime = System.currentTimeMillis();
+        System.out.println("QR commons: " + nbTests + " decompositions and solves of size " + size + " in " +
+            (endTime - startTime) + " ms.");
+        startTime = System.currentTimeMillis();
+        for (int looptest = 0; looptest < nbTests; looptest++) {
+          count += QR.apply(matrix).solve(b)[0];
+        }
+        endTime = System.currentTimeMillis();
+        System.out.println("QR dense: " + nbTests + " decompositions and solves of size " + size + " in " +
+            (endTime - startTime) + " ms.");
+      }
+      System.out.println("Avoiding hotspot: " + count);
+    }
+  }
+
+}
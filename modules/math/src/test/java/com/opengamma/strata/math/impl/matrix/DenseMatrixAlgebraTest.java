@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.matrix;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.impl.util.AssertMatrix;
+
+/**
+ * Tests {@link DenseMatrixAlgebra}.
+ */
+@Test
+public class DenseMatrixAlgebraTest {
+
+  private static final MatrixAlgebra ALGEBRA = MatrixAlgebraFactory.getMatrixAlgebra(MatrixAlgebraFactory.DENSE);
+  private static final MatrixAlgebra COMMONS = MatrixAlgebraFactory.COMMONS_ALGEBRA;
+  private static final DoubleMatrix A = DoubleMatrix.copyOf(
+      new double[][] { {1., 2., 3.}, {-1., 1., 0.}, {-2., 1., -2.}});
+  private static final DoubleMatrix B = DoubleMatrix.copyOf(new double[][] { {1, 1}, {2, -2}, {3, 1}});
+  private static final DoubleMatrix C = DoubleMatrix.copyOf(new double[][] { {14, 0}, {1, -3}, {-6, -6}});
+  private static final DoubleArray E = DoubleArray.of(-1, 2, 3);
+  private static final DoubleArray F = DoubleArray.of(2, -2, 1);
+  private static final double EPS = 1e-10;
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testMatrixSizeMismatch() {
+    ALGEBRA.multiply(B, A);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testInverseSingular() {
+    ALGEBRA.getInverse(DoubleMatrix.of(2, 2, 1, 2, 2, 4));
+  }
+
+  @Test(expectedExceptions = UnsupportedOperationException.class)
+  public void testCondition() {
+    ALGEBRA.getCondition(A);
+  }
+
+  public void testMultiply() {
+    AssertMatrix.assertEqualsMatrix(C, (DoubleMatrix) ALGEBRA.multiply(A, B), EPS);
+    AssertMatrix.assertEqualsVectors(DoubleArray.of(12, 3, -2), (DoubleArray) ALGEBRA.multiply(A, E), EPS);
+  }
+
+  public void testVectorOperations() {
+    assertEquals(-3.0, ALGEBRA.getInnerProduct(E, F), EPS);
+    assertEquals(Math.sqrt(14.0), ALGEBRA.getNorm2(E), EPS);
+    assertEquals(6.0, ALGEBRA.getNorm1(E), EPS);
+    assertEquals(3.0, ALGEBRA.getNormInfinity(E), EPS);
+    AssertMatrix.assertEqualsMatrix(COMMONS.getOuterProduct(E, F), ALGEBRA.getOuterProduct(E, F), EPS);
+  }
+
+  public void testMatrixOperations() {
+    assertEquals(COMMONS.getNorm1(A), ALGEBRA.getNorm1(A), EPS);
+    assertEquals(COMMONS.getNormInfinity(A), ALGEBRA.getNormInfinity(A), EPS);
+    assertEquals(COMMONS.getTrace(A), ALGEBRA.getTrace(A), EPS);
+    assertEquals(COMMONS.getDeterminant(A), ALGEBRA.getDeterminant(A), EPS);
+    assertEquals(0d, ALGEBRA.getDeterminant(DoubleMatrix.of(2, 2, 1, 2, 2, 4)), EPS);
+    AssertMatrix.assertEqualsMatrix(COMMONS.getTranspose(B), ALGEBRA.getTranspose(B), EPS);
+    AssertMatrix.assertEqualsMatrix(COMMONS.getInverse(A), ALGEBRA.getInverse(A), EPS);
+    AssertMatrix.assertEqualsMatrix(COMMONS.getPower(A, 5), ALGEBRA.getPower(A, 5), EPS);
+    AssertMatrix.assertEqualsMatrix(DoubleMatrix.identity(3), ALGEBRA.getPower(A, 0), EPS);
+    AssertMatrix.assertEqualsMatrix(
+        COMMONS.matrixTransposeMultiplyMatrix(B), ALGEBRA.matrixTransposeMultiplyMatrix(B), EPS);
+  }
+
+  public void testLargeMatrices() {
+    // sizes not multiple of the block size
+    Random random = new Random(1);
+    DoubleMatrix a = DoubleMatrix.of(150, 77, (i, j) -> random.nextDouble() - 0.5);
+    DoubleMatrix b = DoubleMatrix.of(77, 130, (i, j) -> random.nextDouble() - 0.5);
+    DoubleMatrix s = DoubleMatrix.of(100, 100, (i, j) -> random.nextDouble() - 0.5);
+    AssertMatrix.assertEqualsMatrix((DoubleMatrix) COMMONS.multiply(a, b), (DoubleMatrix) ALGEBRA.multiply(a, b), EPS);
+    AssertMatrix.assertEqualsMatrix(COMMONS.getTranspose(a), ALGEBRA.getTranspose(a), EPS);
+    AssertMatrix.assertEqualsMatrix(
+        COMMONS.matrixTransposeMultiplyMatrix(a), ALGEBRA.matrixTransposeMultiplyMatrix(a), EPS);
+    AssertMatrix.assertEqualsMatrix(COMMONS.getInverse(s), ALGEBRA.getInverse(s), 1e-8);
+    double det = COMMONS.getDeterminant(s);
+    assertEquals(det, ALGEBRA.getDeterminant(s), Math.abs(det) * 1e-10);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test(enabled = false)
+  public void performance() {
+    Random random = new Random(3);
+    for (int size : new int[] {50, 100, 200, 500}) {
+      DoubleMatrix a = DoubleMatrix.of(size, size, (i, j) -> random.nextDouble() - 0.5);
+      DoubleMatrix b = DoubleMatrix.of(size, size, (i, j) -> random.nextDouble() - 0.5);
+      int nbTests = Math.max(5, 50000000 / (size * size * size));
+      double count = 0;
+      for (int looprep = 0; looprep < 3; looprep++) {
+        for (MatrixAlgebra algebra : new MatrixAlgebra[] {COMMONS, MatrixAlgebraFactory.OG_ALGEBRA, ALGEBRA}) {
+          long startTime = System.currentTimeMillis();
+          for (int looptest = 0; looptest < nbTests; looptest++) {
+            count += ((DoubleMatrix) algebra.multiply(a, b)).get(0, 0);
+          }
+          long endTime = System.currentTimeMillis();
+          System.out.println(MatrixAlgebraFactory.getMatrixAlgebraName(algebra) + ": " + nbTests +
+              " multiplications of size " + size + " in " + (endTime - startTime) + " ms.");
+        }
+        long startTime = System.currentTimeMillis();
+        for (int looptest = 0; looptest < nbTests; looptest++) {
+          count += COMMONS.getInverse(a).get(0, 0);
+        }
+        long endTime = System.currentTimeMillis();
+        System.out.println("Commons: " + nbTests + " inversions of size " + size + " in " +
+            (endTime - startTime) + " ms.");
+        startTime = System.currentTimeMillis();
+        for (int looptest = 0; looptest < nbTests; looptest++) {
+          count += ALGEBRA.getInverse(a).get(0, 0);
+        }
+        endTime = System.currentTimeMillis();
+        System.out.println("Dense: " + nbTests + " inversions of size " + size + " in " +
+            (endTime - startTime) + " ms.");
+      }
+      System.out.println("Avoiding hotspot: " + count);
+    }
+  }
+
+}
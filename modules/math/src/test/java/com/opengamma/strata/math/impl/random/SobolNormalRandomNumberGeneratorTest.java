@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link SobolNormalRandomNumberGenerator}.
+ */
+@Test
+public class SobolNormalRandomNumberGeneratorTest {
+
+  public void test_array() {
+    SobolNormalRandomNumberGenerator generator = new SobolNormalRandomNumberGenerator(3);
+    assertEquals(generator.getDimension(), 3);
+    double[] result = generator.getVector(3);
+    assertEquals(result.length, 3);
+    // the second point of the Sobol sequence is one half in all dimensions
+    for (double x : result) {
+      assertEquals(x, 0d, 1e-10);
+    }
+  }
+
+  public void test_list() {
+    List<double[]> result = new SobolNormalRandomNumberGenerator(10).getVectors(10, 50);
+    assertEquals(result.size(), 50);
+    for (double[] d : result) {
+      assertEquals(d.length, 10);
+      for (double x : d) {
+        assertTrue(Double.isFinite(x));
+      }
+    }
+  }
+
+  public void test_skipTo() {
+    SobolNormalRandomNumberGenerator sequential = new SobolNormalRandomNumberGenerator(2);
+    double[] expected = new double[200];
+    sequential.fill(expected, 0, 200);
+    SobolNormalRandomNumberGenerator blocks = new SobolNormalRandomNumberGenerator(2);
+    double[] computed = new double[200];
+    blocks.skipTo(50);
+    blocks.fill(computed, 100, 200);
+    blocks.skipTo(0);
+    blocks.fill(computed, 0, 100);
+    assertTrue(Arrays.equals(computed, expected));
+  }
+
+  public void test_moments() {
+    int nSamples = (1 << 14) - 1;
+    double[] result = new double[nSamples];
+    new SobolNormalRandomNumberGenerator(1).fill(result, 0, nSamples);
+    double sum = 0d;
+    double sum2 = 0d;
+    for (double x : result) {
+      sum += x;
+      sum2 += x * x;
+    }
+    assertEquals(sum / nSamples, 0d, 1e-8);
+    assertEquals(sum2 / nSamples, 1d, 1e-2);
+  }
+
+  public void test_invalid() {
+    SobolNormalRandomNumberGenerator generator = new SobolNormalRandomNumberGenerator(2);
+    assertThrowsIllegalArg(() -> new SobolNormalRandomNumberGenerator(0));
+    assertThrowsIllegalArg(() -> new SobolNormalRandomNumberGenerator(1001));
+    assertThrowsIllegalArg(() -> generator.getVector(3));
+    assertThrowsIllegalArg(() -> generator.getVectors(2, -5));
+    assertThrowsIllegalArg(() -> generator.fill(new double[3], 0, 3));
+    assertThrowsIllegalArg(() -> generator.skipTo(-1));
+  }
+
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link SplittableNormalRandomNumberGenerator}.
+ */
+@Test
+public class SplittableNormalRandomNumberGeneratorTest {
+
+  private static final long SEED = 12345L;
+
+  public void test_array() {
+    double[] result = new SplittableNormalRandomNumberGenerator(SEED).getVector(10);
+    assertEquals(result.length, 10);
+  }
+
+  public void test_list() {
+    List<double[]> result = new SplittableNormalRandomNumberGenerator(SEED).getVectors(10, 50);
+    assertEquals(result.size(), 50);
+    for (double[] d : result) {
+      assertEquals(d.length, 10);
+    }
+  }
+
+  public void test_reproducible() {
+    double[] first = new SplittableNormalRandomNumberGenerator(SEED).getVector(100);
+    double[] second = new SplittableNormalRandomNumberGenerator(SEED).getVector(100);
+    assertTrue(Arrays.equals(first, second));
+    double[] filled = new double[102];
+    new SplittableNormalRandomNumberGenerator(SEED).fill(filled, 2, 102);
+    assertTrue(Arrays.equals(Arrays.copyOfRange(filled, 2, 102), first));
+  }
+
+  public void test_split() {
+    SplittableNormalRandomNumberGenerator root1 = new SplittableNormalRandomNumberGenerator(SEED);
+    SplittableNormalRandomNumberGenerator root2 = new SplittableNormalRandomNumberGenerator(SEED);
+    double[] split1 = root1.split().getVector(100);
+    double[] split2 = root2.split().getVector(100);
+    assertTrue(Arrays.equals(split1, split2));
+    double[] other = root1.split().getVector(100);
+    assertFalse(Arrays.equals(split1, other));
+  }
+
+  public void test_moments() {
+    int nSamples = 200_000;
+    double[] result = new SplittableNormalRandomNumberGenerator(SEED).getVector(nSamples);
+    double sum = 0d;
+    double sum2 = 0d;
+    for (double x : result) {
+      sum += x;
+      sum2 += x * x;
+    }
+    assertEquals(sum / nSamples, 0d, 0.01);
+    assertEquals(sum2 / nSamples, 1d, 0.01);
+  }
+
+  public void test_invalid() {
+    SplittableNormalRandomNumberGenerator generator = new SplittableNormalRandomNumberGenerator(SEED);
+    assertThrowsIllegalArg(() -> generator.getVector(-1));
+    assertThrowsIllegalArg(() -> generator.getVectors(-1, 4));
+    assertThrowsIllegalArg(() -> generator.getVectors(1, -5));
+    assertThrowsIllegalArg(() -> generator.fill(new double[2], 2, 1));
+  }
+
+}
@@ -6,14 +6,30 @@
 package com.opengamma.strata.measure;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.date.BusinessDayConvention;
+import com.opengamma.strata.basics.date.DateSequence;
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.date.HolidayCalendars;
+import com.opengamma.strata.basics.date.PeriodAdditionConvention;
+import com.opengamma.strata.basics.index.FloatingRateName;
+import com.opengamma.strata.basics.index.FxIndex;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.basics.index.PriceIndex;
+import com.opengamma.strata.basics.schedule.RollConvention;
 import com.opengamma.strata.calc.CalculationRunner;
+import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.marketdata.MarketDataFactory;
 import com.opengamma.strata.calc.marketdata.MarketDataFunction;
 import com.opengamma.strata.calc.marketdata.ObservableDataProvider;
 import com.opengamma.strata.calc.marketdata.TimeSeriesProvider;
 import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.collect.named.ExtendedEnum;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
 import com.opengamma.strata.measure.capfloor.IborCapFloorTradeCalculationFunction;
 import com.opengamma.strata.measure.credit.CdsTradeCalculationFunction;
 import com.opengamma.strata.measure.curve.CurveGroupMarketDataFunction;
@@ -40,17 +56,32 @@ import com.opengamma.strata.product.SecurityPosition;
 import com.opengamma.strata.product.SecurityTrade;
 import com.opengamma.strata.product.capfloor.IborCapFloorTrade;
 import com.opengamma.strata.product.credit.CdsTrade;
+import com.opengamma.strata.product.credit.type.CdsConvention;
+import com.opengamma.strata.product.credit.type.IsdaYieldCurveConvention;
 import com.opengamma.strata.product.deposit.TermDepositTrade;
+import com.opengamma.strata.product.deposit.type.IborFixingDepositConvention;
+import com.opengamma.strata.product.deposit.type.TermDepositConvention;
 import com.opengamma.strata.product.dsf.DsfTrade;
 import com.opengamma.strata.product.fra.FraTrade;
+import com.opengamma.strata.product.fra.type.FraConvention;
 import com.opengamma.strata.product.fx.FxNdfTrade;
 import com.opengamma.strata.product.fx.FxSingleTrade;
 import com.opengamma.strata.product.fx.FxSwapTrade;
+import com.opengamma.strata.product.fx.type.FxSwapConvention;
 import com.opengamma.strata.product.fxopt.FxSingleBarrierOptionTrade;
 import com.opengamma.strata.product.fxopt.FxVanillaOptionTrade;
 import com.opengamma.strata.product.index.IborFutureTrade;
+import com.opengamma.strata.product.index.type.IborFutureConvention;
 import com.opengamma.strata.product.payment.BulletPaymentTrade;
+import com.opengamma.strata.product.swap.SwapIndex;
 import com.opengamma.strata.product.swap.SwapTrade;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConvention;
+import com.opengamma.strata.product.swap.type.FixedInflationSwapConvention;
+import com.opengamma.strata.product.swap.type.FixedOvernightSwapConvention;
+import com.opengamma.strata.product.swap.type.IborIborSwapConvention;
+import com.opengamma.strata.product.swap.type.OvernightIborSwapConvention;
+import com.opengamma.strata.product.swap.type.ThreeLegBasisSwapConvention;
+import com.opengamma.strata.product.swap.type.XCcyIborIborSwapConvention;
 import com.opengamma.strata.product.swaption.SwaptionTrade;
 
 /**
@@ -89,6 +120,40 @@ public class StandardComponents {
       new SwaptionTradeCalculationFunction(),
       new TermDepositTradeCalculationFunction());
 
+  /**
+   * The standard extended enums.
+   */
+  private static final List<Supplier<ExtendedEnum<?>>> EXTENDED_ENUMS = ImmutableList.of(
+      BusinessDayConvention::extendedEnum,
+      DateSequence::extendedEnum,
+      DayCount::extendedEnum,
+      HolidayCalendars::extendedEnum,
+      PeriodAdditionConvention::extendedEnum,
+      FloatingRateName::extendedEnum,
+      FxIndex::extendedEnum,
+      IborIndex::extendedEnum,
+      OvernightIndex::extendedEnum,
+      PriceIndex::extendedEnum,
+      RollConvention::extendedEnum,
+      Measure::extendedEnum,
+      CurveExtrapolator::extendedEnum,
+      CurveInterpolator::extendedEnum,
+      CdsConvention::extendedEnum,
+      IsdaYieldCurveConvention::extendedEnum,
+      IborFixingDepositConvention::extendedEnum,
+      TermDepositConvention::extendedEnum,
+      FraConvention::extendedEnum,
+      FxSwapConvention::extendedEnum,
+      IborFutureConvention::extendedEnum,
+      SwapIndex::extendedEnum,
+      FixedIborSwapConvention::extendedEnum,
+      FixedInflationSwapConvention::extendedEnum,
+      FixedOvernightSwapConvention::extendedEnum,
+      IborIborSwapConvention::extendedEnum,
+      OvernightIborSwapConvention::extendedEnum,
+      ThreeLegBasisSwapConvention::extendedEnum,
+      XCcyIborIborSwapConvention::extendedEnum);
+
   /**
    * Restricted constructor.
    */
@@ -179,4 +244,19 @@ public class StandardComponents {
     return STANDARD;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Eagerly loads the standard extended enums.
+   * <p>
+   * The standard extended enums, such as day counts, holiday calendars, indices and conventions,
+   * are normally loaded on first use, which can add a significant delay to the first calculation.
+   * This method allows them to be loaded at startup.
+   * The configuration files are loaded in parallel, see {@link ExtendedEnum#warmUp(List)}.
+   *
+   * @return the number of instances that were loaded
+   */
+  public static int warmUp() {
+    return ExtendedEnum.warmUp(EXTENDED_ENUMS);
+  }
+
 }
@@ -5,6 +5,11 @@
  */
 package com.opengamma.strata.measure.bond;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
@@ -140,9 +145,11 @@ final class BondFutureMeasureCalculations {
       ResolvedBondFutureTrade trade,
       LegalEntityDiscountingScenarioMarketData marketData) {
 
-    return DoubleScenarioArray.of(
-        marketData.getScenarioCount(),
-        i -> unitPrice(trade, marketData.scenario(i).discountingProvider()));
+    // mark to model, pricing the delivery basket of all scenarios in one pass
+    List<LegalEntityDiscountingProvider> discountingProviders = IntStream.range(0, marketData.getScenarioCount())
+        .mapToObj(i -> marketData.scenario(i).discountingProvider())
+        .collect(toImmutableList());
+    return DoubleScenarioArray.of(tradePricer.prices(trade, discountingProviders));
   }
 
   // unit price for one scenario
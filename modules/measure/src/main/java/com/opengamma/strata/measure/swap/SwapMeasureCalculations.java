@@ -39,6 +39,7 @@ import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.param.CrossGammaParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.sensitivity.MutablePointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.measure.rate.RatesMarketData;
 import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
@@ -216,6 +217,95 @@ final class SwapMeasureCalculations {
     return MARKET_QUOTE_SENS.sensitivity(parameterSensitivity, ratesProvider).multipliedBy(ONE_BASIS_POINT);
   }
 
+  //-------------------------------------------------------------------------
+  // calculates calibrated sum PV01 of a portfolio for all scenarios
+  MultiCurrencyScenarioArray pv01CalibratedSum(
+      List<ResolvedSwapTrade> trades,
+      RatesScenarioMarketData marketData) {
+
+    return MultiCurrencyScenarioArray.of(
+        marketData.getScenarioCount(),
+        i -> pv01CalibratedSum(trades, marketData.scenario(i).ratesProvider()));
+  }
+
+  // calibrated sum PV01 of a portfolio for one scenario
+  MultiCurrencyAmount pv01CalibratedSum(
+      List<ResolvedSwapTrade> trades,
+      RatesProvider ratesProvider) {
+
+    return pv01CalibratedBucketed(trades, ratesProvider).total();
+  }
+
+  // calculates calibrated bucketed PV01 of a portfolio for all scenarios
+  ScenarioArray<CurrencyParameterSensitivities> pv01CalibratedBucketed(
+      List<ResolvedSwapTrade> trades,
+      RatesScenarioMarketData marketData) {
+
+    return ScenarioArray.of(
+        marketData.getScenarioCount(),
+        i -> pv01CalibratedBucketed(trades, marketData.scenario(i).ratesProvider()));
+  }
+
+  // calibrated bucketed PV01 of a portfolio for one scenario
+  CurrencyParameterSensitivities pv01CalibratedBucketed(
+      List<ResolvedSwapTrade> trades,
+      RatesProvider ratesProvider) {
+
+    PointSensitivities pointSensitivity = aggregatePointSensitivity(trades, ratesProvider);
+    return ratesProvider.parameterSensitivity(pointSensitivity).multipliedBy(ONE_BASIS_POINT);
+  }
+
+  // calculates market quote sum PV01 of a portfolio for all scenarios
+  MultiCurrencyScenarioArray pv01MarketQuoteSum(
+      List<ResolvedSwapTrade> trades,
+      RatesScenarioMarketData marketData) {
+
+    return MultiCurrencyScenarioArray.of(
+        marketData.getScenarioCount(),
+        i -> pv01MarketQuoteSum(trades, marketData.scenario(i).ratesProvider()));
+  }
+
+  // market quote sum PV01 of a portfolio for one scenario
+  MultiCurrencyAmount pv01MarketQuoteSum(
+      List<ResolvedSwapTrade> trades,
+      RatesProvider ratesProvider) {
+
+    return pv01MarketQuoteBucketed(trades, ratesProvider).total();
+  }
+
+  // calculates market quote bucketed PV01 of a portfolio for all scenarios
+  ScenarioArray<CurrencyParameterSensitivities> pv01MarketQuoteBucketed(
+      List<ResolvedSwapTrade> trades,
+      RatesScenarioMarketData marketData) {
+
+    return ScenarioArray.of(
+        marketData.getScenarioCount(),
+        i -> pv01MarketQuoteBucketed(trades, marketData.scenario(i).ratesProvider()));
+  }
+
+  // market quote bucketed PV01 of a portfolio for one scenario
+  CurrencyParameterSensitivities pv01MarketQuoteBucketed(
+      List<ResolvedSwapTrade> trades,
+      RatesProvider ratesProvider) {
+
+    PointSensitivities pointSensitivity = aggregatePointSensitivity(trades, ratesProvider);
+    CurrencyParameterSensitivities parameterSensitivity = ratesProvider.parameterSensitivity(pointSensitivity);
+    return MARKET_QUOTE_SENS.sensitivity(parameterSensitivity, ratesProvider).multipliedBy(ONE_BASIS_POINT);
+  }
+
+  // sums the point sensitivities of the trades, merging the points on the same curve and date
+  // the sum is projected onto the curve parameters once, rather than once for each trade
+  private PointSensitivities aggregatePointSensitivity(
+      List<ResolvedSwapTrade> trades,
+      RatesProvider ratesProvider) {
+
+    MutablePointSensitivities combined = new MutablePointSensitivities();
+    for (ResolvedSwapTrade trade : trades) {
+      combined.addAll(tradePricer.presentValueSensitivity(trade, ratesProvider).getSensitivities());
+    }
+    return combined.normalize().toImmutable();
+  }
+
   //-------------------------------------------------------------------------
   // calculates semi-parallel gamma PV01 for all scenarios
   ScenarioArray<CurrencyParameterSensitivities> pv01SemiParallelGammaBucketed(
@@ -6,16 +6,18 @@
 package com.opengamma.strata.measure.swap;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.calc.Measure;
-import com.opengamma.strata.calc.runner.CalculationFunction;
+import com.opengamma.strata.calc.runner.BatchCalculationFunction;
 import com.opengamma.strata.calc.runner.CalculationParameters;
 import com.opengamma.strata.calc.runner.FunctionRequirements;
 import com.opengamma.strata.collect.result.FailureReason;
@@ -56,9 +58,12 @@ import com.opengamma.strata.product.swap.SwapTrade;
  * </ul>
  * <p>
  * The "natural" currency is the currency of the swaption, which is limited to be single-currency.
+ * <p>
+ * When a batch of trades is calculated, the view of the market data for each scenario
+ * is created once and shared by all the trades in the batch.
  */
 public class SwapTradeCalculationFunction
-    implements CalculationFunction<SwapTrade> {
+    implements BatchCalculationFunction<SwapTrade> {
 
   /**
    * The calculations by measure.
@@ -154,6 +159,31 @@ public class SwapTradeCalculationFunction
     return results;
   }
 
+  @Override
+  public List<Map<Measure, Result<?>>> calculateBatch(
+      List<? extends SwapTrade> trades,
+      Set<Measure> measures,
+      CalculationParameters parameters,
+      ScenarioMarketData scenarioMarketData,
+      ReferenceData refData) {
+
+    // use lookup to query market data, the view caches the rates provider of each scenario
+    RatesMarketDataLookup ratesLookup = parameters.getParameter(RatesMarketDataLookup.class);
+    RatesScenarioMarketData marketData = ratesLookup.marketDataView(scenarioMarketData);
+
+    // loop around trades, calculating all measures for one trade
+    ImmutableList.Builder<Map<Measure, Result<?>>> builder = ImmutableList.builder();
+    for (SwapTrade trade : trades) {
+      ResolvedSwapTrade resolved = trade.resolve(refData);
+      Map<Measure, Result<?>> results = new HashMap<>();
+      for (Measure measure : measures) {
+        results.put(measure, calculate(measure, resolved, marketData));
+      }
+      builder.add(results);
+    }
+    return builder.build();
+  }
+
   // calculate one measure
   private Result<?> calculate(
       Measure measure,
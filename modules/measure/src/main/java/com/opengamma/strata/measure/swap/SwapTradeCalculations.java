@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.measure.swap;
 
+import java.util.List;
+
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
@@ -289,6 +291,183 @@ public class SwapTradeCalculations {
     return calc.pv01MarketQuoteBucketed(trade, ratesProvider);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value sensitivity of a portfolio across one or more scenarios.
+   * <p>
+   * This is the sensitivity of the total present value of the trades
+   * to a one basis point shift in the calibrated curves.
+   * The result is the sum of the sensitivities of all affected curves.
+   * <p>
+   * The point sensitivities of the trades are summed before being projected onto the curve parameters,
+   * such that the projection is performed once for the portfolio rather than once for each trade.
+   * 
+   * @param trades  the trades
+   * @param lookup  the lookup used to query the market data
+   * @param marketData  the market data
+   * @return the present value sensitivity of the portfolio, one entry per scenario
+   */
+  public MultiCurrencyScenarioArray pv01CalibratedSum(
+      List<ResolvedSwapTrade> trades,
+      RatesMarketDataLookup lookup,
+      ScenarioMarketData marketData) {
+
+    return calc.pv01CalibratedSum(trades, lookup.marketDataView(marketData));
+  }
+
+  /**
+   * Calculates the present value sensitivity of a portfolio for a single set of market data.
+   * <p>
+   * This is the sensitivity of the total present value of the trades
+   * to a one basis point shift in the calibrated curves.
+   * The result is the sum of the sensitivities of all affected curves.
+   * <p>
+   * The point sensitivities of the trades are summed before being projected onto the curve parameters,
+   * such that the projection is performed once for the portfolio rather than once for each trade.
+   * 
+   * @param trades  the trades
+   * @param ratesProvider  the market data
+   * @return the present value sensitivity of the portfolio
+   */
+  public MultiCurrencyAmount pv01CalibratedSum(
+      List<ResolvedSwapTrade> trades,
+      RatesProvider ratesProvider) {
+
+    return calc.pv01CalibratedSum(trades, ratesProvider);
+  }
+
+  /**
+   * Calculates the present value sensitivity of a portfolio across one or more scenarios.
+   * <p>
+   * This is the sensitivity of the total present value of the trades
+   * to a one basis point shift in the calibrated curves.
+   * The result is provided for each affected curve and currency, bucketed by curve node.
+   * <p>
+   * The point sensitivities of the trades are summed before being projected onto the curve parameters,
+   * such that the projection is performed once for the portfolio rather than once for each trade.
+   * 
+   * @param trades  the trades
+   * @param lookup  the lookup used to query the market data
+   * @param marketData  the market data
+   * @return the present value sensitivity of the portfolio, one entry per scenario
+   */
+  public ScenarioArray<CurrencyParameterSensitivities> pv01CalibratedBucketed(
+      List<ResolvedSwapTrade> trades,
+      RatesMarketDataLookup lookup,
+      ScenarioMarketData marketData) {
+
+    return calc.pv01CalibratedBucketed(trades, lookup.marketDataView(marketData));
+  }
+
+  /**
+   * Calculates the present value sensitivity of a portfolio for a single set of market data.
+   * <p>
+   * This is the sensitivity of the total present value of the trades
+   * to a one basis point shift in the calibrated curves.
+   * The result is provided for each affected curve and currency, bucketed by curve node.
+   * <p>
+   * The point sensitivities of the trades are summed before being projected onto the curve parameters,
+   * such that the projection is performed once for the portfolio rather than once for each trade.
+   * 
+   * @param trades  the trades
+   * @param ratesProvider  the market data
+   * @return the present value sensitivity of the portfolio
+   */
+  public CurrencyParameterSensitivities pv01CalibratedBucketed(
+      List<ResolvedSwapTrade> trades,
+      RatesProvider ratesProvider) {
+
+    return calc.pv01CalibratedBucketed(trades, ratesProvider);
+  }
+
+  /**
+   * Calculates the present value sensitivity of a portfolio across one or more scenarios.
+   * <p>
+   * This is the sensitivity of the total present value of the trades
+   * to a one basis point shift in the market quotes used to calibrate the curves.
+   * The result is the sum of the sensitivities of all affected curves.
+   * <p>
+   * The point sensitivities of the trades are summed before being projected onto the curve parameters,
+   * such that the projection is performed once for the portfolio rather than once for each trade.
+   * 
+   * @param trades  the trades
+   * @param lookup  the lookup used to query the market data
+   * @param marketData  the market data
+   * @return the present value sensitivity of the portfolio, one entry per scenario
+   */
+  public MultiCurrencyScenarioArray pv01MarketQuoteSum(
+      List<ResolvedSwapTrade> trades,
+      RatesMarketDataLookup lookup,
+      ScenarioMarketData marketData) {
+
+    return calc.pv01MarketQuoteSum(trades, lookup.marketDataView(marketData));
+  }
+
+  /**
+   * Calculates the present value sensitivity of a portfolio for a single set of market data.
+   * <p>
+   * This is the sensitivity of the total present value of the trades
+   * to a one basis point shift in the market quotes used to calibrate the curves.
+   * The result is the sum of the sensitivities of all affected curves.
+   * <p>
+   * The point sensitivities of the trades are summed before being projected onto the curve parameters,
+   * such that the projection is performed once for the portfolio rather than once for each trade.
+   * 
+   * @param trades  the trades
+   * @param ratesProvider  the market data
+   * @return the present value sensitivity of the portfolio
+   */
+  public MultiCurrencyAmount pv01MarketQuoteSum(
+      List<ResolvedSwapTrade> trades,
+      RatesProvider ratesProvider) {
+
+    return calc.pv01MarketQuoteSum(trades, ratesProvider);
+  }
+
+  /**
+   * Calculates the present value sensitivity of a portfolio across one or more scenarios.
+   * <p>
+   * This is the sensitivity of the total present value of the trades
+   * to a one basis point shift in the market quotes used to calibrate the curves.
+   * The result is provided for each affected curve and currency, bucketed by curve node.
+   * <p>
+   * The point sensitivities of the trades are summed before being projected onto the curve parameters,
+   * such that the projection is performed once for the portfolio rather than once for each trade.
+   * 
+   * @param trades  the trades
+   * @param lookup  the lookup used to query the market data
+   * @param marketData  the market data
+   * @return the present value sensitivity of the portfolio, one entry per scenario
+   */
+  public ScenarioArray<CurrencyParameterSensitivities> pv01MarketQuoteBucketed(
+      List<ResolvedSwapTrade> trades,
+      RatesMarketDataLookup lookup,
+      ScenarioMarketData marketData) {
+
+    return calc.pv01MarketQuoteBucketed(trades, lookup.marketDataView(marketData));
+  }
+
+  /**
+   * Calculates the present value sensitivity of a portfolio for a single set of market data.
+   * <p>
+   * This is the sensitivity of the total present value of the trades
+   * to a one basis point shift in the market quotes used to calibrate the curves.
+   * The result is provided for each affected curve and currency, bucketed by curve node.
+   * <p>
+   * The point sensitivities of the trades are summed before being projected onto the curve parameters,
+   * such that the projection is performed once for the portfolio rather than once for each trade.
+   * 
+   * @param trades  the trades
+   * @param ratesProvider  the market data
+   * @return the present value sensitivity of the portfolio
+   */
+  public CurrencyParameterSensitivities pv01MarketQuoteBucketed(
+      List<ResolvedSwapTrade> trades,
+      RatesProvider ratesProvider) {
+
+    return calc.pv01MarketQuoteBucketed(trades, ratesProvider);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates par rate across one or more scenarios.
@@ -11,6 +11,7 @@ import static org.testng.Assert.assertEquals;
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.collect.io.ResourceConfig;
 import com.opengamma.strata.measure.deposit.TermDepositTradeCalculationFunctionTest;
 import com.opengamma.strata.measure.fra.FraTradeCalculationFunctionTest;
 import com.opengamma.strata.measure.fx.FxNdfTradeCalculationFunctionTest;
@@ -34,6 +35,16 @@ public class StandardComponentsTest {
     assertEquals(test.findFunction(TermDepositTradeCalculationFunctionTest.TRADE).isPresent(), true);
   }
 
+  public void test_warmUp() {
+    try {
+      int count = StandardComponents.warmUp();
+      assertEquals(count > 0, true);
+      assertEquals(StandardComponents.warmUp(), count);
+    } finally {
+      ResourceConfig.setIndex(null);
+    }
+  }
+
   public void coverage() {
     coverPrivateConstructor(StandardComponents.class);
   }
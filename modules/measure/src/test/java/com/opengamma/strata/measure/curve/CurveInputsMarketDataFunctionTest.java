@@ -27,6 +27,7 @@ import com.opengamma.strata.calc.marketdata.MarketDataConfig;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.data.MarketDataNotFoundException;
 import com.opengamma.strata.data.ObservableSource;
+import com.opengamma.strata.data.scenario.CompactScenarioMarketData;
 import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
 import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
@@ -165,6 +166,64 @@ public class CurveInputsMarketDataFunctionTest {
     assertThat(curveInputs.getCurveMetadata().getParameterMetadata()).hasValue(expectedMetadata);
   }
 
+  /**
+   * Test that inputs are correctly built from compact market data.
+   */
+  public void buildCompact() {
+    FraCurveNode node1x4 = fraNode(1, "a");
+    FraCurveNode node2x5 = fraNode(2, "b");
+
+    InterpolatedNodalCurveDefinition curveDefn = InterpolatedNodalCurveDefinition.builder()
+        .name(CurveName.of("curve"))
+        .xValueType(ValueType.YEAR_FRACTION)
+        .yValueType(ValueType.ZERO_RATE)
+        .dayCount(DayCounts.ACT_ACT_ISDA)
+        .interpolator(CurveInterpolators.DOUBLE_QUADRATIC)
+        .extrapolatorLeft(CurveExtrapolators.FLAT)
+        .extrapolatorRight(CurveExtrapolators.FLAT)
+        .nodes(node1x4, node2x5)
+        .build();
+
+    CurveGroupDefinition groupDefn = CurveGroupDefinition.builder()
+        .name(CurveGroupName.of("curve group"))
+        .addDiscountCurve(curveDefn, Currency.USD)
+        .build();
+
+    MarketDataConfig marketDataConfig = MarketDataConfig.builder()
+        .add(groupDefn.getName(), groupDefn)
+        .build();
+
+    QuoteId idA = QuoteId.of(StandardId.of("test", "a"));
+    QuoteId idB = QuoteId.of(StandardId.of("test", "b"));
+
+    CurveInputsMarketDataFunction marketDataFunction = new CurveInputsMarketDataFunction();
+    CurveInputsId curveInputsId = CurveInputsId.of(groupDefn.getName(), curveDefn.getName(), ObservableSource.NONE);
+
+    // quotes vary by scenario
+    ScenarioMarketData marketData = CompactScenarioMarketData.of(ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addScenarioValue(idA, ImmutableList.of(1d, 1.5d))
+        .addValue(idB, 2d)
+        .build());
+    MarketDataBox<CurveInputs> result = marketDataFunction.build(curveInputsId, marketDataConfig, marketData, REF_DATA);
+    assertThat(result.getScenarioCount()).isEqualTo(2);
+    assertThat(result.getValue(0).getMarketData()).isEqualTo(ImmutableMap.of(idA, 1d, idB, 2d));
+    assertThat(result.getValue(1).getMarketData()).isEqualTo(ImmutableMap.of(idA, 1.5d, idB, 2d));
+    List<ParameterMetadata> expectedMetadata = ImmutableList.of(
+        node1x4.metadata(VAL_DATE, REF_DATA),
+        node2x5.metadata(VAL_DATE, REF_DATA));
+    assertThat(result.getValue(1).getCurveMetadata().getParameterMetadata()).hasValue(expectedMetadata);
+
+    // single values remain single values
+    ScenarioMarketData singleData = CompactScenarioMarketData.of(ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addValue(idA, 1d)
+        .addValue(idB, 2d)
+        .build());
+    MarketDataBox<CurveInputs> singleResult =
+        marketDataFunction.build(curveInputsId, marketDataConfig, singleData, REF_DATA);
+    assertThat(singleResult.isSingleValue()).isTrue();
+    assertThat(singleResult.getSingleValue().getMarketData()).isEqualTo(ImmutableMap.of(idA, 1d, idB, 2d));
+  }
+
   /**
    * Test that a failure is returned if there is no config for the curve group.
    */
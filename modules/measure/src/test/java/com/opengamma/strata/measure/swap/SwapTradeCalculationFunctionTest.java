@@ -10,6 +10,8 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.testng.annotations.Test;
@@ -123,6 +125,20 @@ public class SwapTradeCalculationFunctionTest {
             Measures.RESOLVED_TARGET, Result.success(RTRADE));
   }
 
+  public void test_calculateBatch() {
+    SwapTradeCalculationFunction function = new SwapTradeCalculationFunction();
+    ScenarioMarketData md = marketData();
+    SwapTrade trade2 = FixedIborSwapConventions.GBP_FIXED_6M_LIBOR_6M
+        .createTrade(date(2016, 6, 30), Tenor.TENOR_5Y, BuySell.SELL, 2_000_000, 0.015, REF_DATA);
+    Set<Measure> measures = ImmutableSet.of(Measures.PRESENT_VALUE, Measures.PAR_RATE);
+
+    List<Map<Measure, Result<?>>> test =
+        function.calculateBatch(ImmutableList.of(TRADE, trade2), measures, PARAMS, md, REF_DATA);
+    assertThat(test).hasSize(2);
+    assertThat(test.get(0)).isEqualTo(function.calculate(TRADE, measures, PARAMS, md, REF_DATA));
+    assertThat(test.get(1)).isEqualTo(function.calculate(trade2, measures, PARAMS, md, REF_DATA));
+  }
+
   public void test_pv01() {
     SwapTradeCalculationFunction function = new SwapTradeCalculationFunction();
     ScenarioMarketData md = marketData();
@@ -5,24 +5,48 @@
  */
 package com.opengamma.strata.measure.swap;
 
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_6M;
+import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.market.amount.CashFlows;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveInfoType;
+import com.opengamma.strata.market.curve.CurveMetadata;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.CurveParameterSize;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
+import com.opengamma.strata.product.common.BuySell;
 import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
 
 /**
  * Test {@link SwapTradeCalculations}.
@@ -30,8 +54,14 @@ import com.opengamma.strata.product.swap.ResolvedSwapTrade;
 @Test
 public class SwapTradeCalculationsTest {
 
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
   private static final ResolvedSwapTrade RTRADE = SwapTradeCalculationFunctionTest.RTRADE;
+  private static final ResolvedSwapTrade RTRADE2 = FixedIborSwapConventions.GBP_FIXED_6M_LIBOR_6M
+      .createTrade(date(2016, 6, 30), Tenor.TENOR_5Y, BuySell.SELL, 2_500_000, 0.012, REF_DATA)
+      .resolve(REF_DATA);
+  private static final List<ResolvedSwapTrade> PORTFOLIO = ImmutableList.of(RTRADE, RTRADE2);
   private static final RatesMarketDataLookup RATES_LOOKUP = SwapTradeCalculationFunctionTest.RATES_LOOKUP;
+  private static final double TOLERANCE = 1e-8;
 
   //-------------------------------------------------------------------------
   public void test_presentValue() {
@@ -86,4 +116,58 @@ public class SwapTradeCalculationsTest {
         ScenarioArray.of(ImmutableList.of(expectedPv01CalBucketed)));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_pv01_portfolio() {
+    ScenarioMarketData md = SwapTradeCalculationFunctionTest.marketData();
+    RatesProvider provider = RATES_LOOKUP.marketDataView(md.scenario(0)).ratesProvider();
+    SwapTradeCalculations calcs = SwapTradeCalculations.DEFAULT;
+    CurrencyParameterSensitivities expectedBucketed = calcs.pv01CalibratedBucketed(RTRADE, provider)
+        .combinedWith(calcs.pv01CalibratedBucketed(RTRADE2, provider));
+
+    CurrencyParameterSensitivities computedBucketed = calcs.pv01CalibratedBucketed(PORTFOLIO, provider);
+    assertTrue(computedBucketed.equalWithTolerance(expectedBucketed, TOLERANCE));
+    assertEquals(calcs.pv01CalibratedSum(PORTFOLIO, provider), computedBucketed.total());
+    assertEquals(
+        calcs.pv01CalibratedBucketed(PORTFOLIO, RATES_LOOKUP, md),
+        ScenarioArray.of(ImmutableList.of(computedBucketed)));
+    assertEquals(
+        calcs.pv01CalibratedSum(PORTFOLIO, RATES_LOOKUP, md),
+        MultiCurrencyScenarioArray.of(ImmutableList.of(computedBucketed.total())));
+  }
+
+  public void test_pv01MarketQuote_portfolio() {
+    RatesProvider provider = calibratedProvider();
+    SwapTradeCalculations calcs = SwapTradeCalculations.DEFAULT;
+    CurrencyParameterSensitivities expectedBucketed = calcs.pv01MarketQuoteBucketed(RTRADE, provider)
+        .combinedWith(calcs.pv01MarketQuoteBucketed(RTRADE2, provider));
+
+    CurrencyParameterSensitivities computedBucketed = calcs.pv01MarketQuoteBucketed(PORTFOLIO, provider);
+    assertEquals(computedBucketed.size(), 2);
+    assertTrue(computedBucketed.equalWithTolerance(expectedBucketed, TOLERANCE));
+    assertEquals(calcs.pv01MarketQuoteSum(PORTFOLIO, provider), computedBucketed.total());
+    assertTrue(calcs.pv01CalibratedBucketed(PORTFOLIO, provider).equalWithTolerance(
+        calcs.pv01CalibratedBucketed(RTRADE, provider).combinedWith(calcs.pv01CalibratedBucketed(RTRADE2, provider)),
+        TOLERANCE));
+  }
+
+  // zero rate curves with calibration information
+  private static RatesProvider calibratedProvider() {
+    LocalDate valuationDate = RTRADE.getProduct().getStartDate().minusDays(7);
+    DoubleArray times = DoubleArray.of(0.5, 1d, 2d, 5d, 10d, 15d);
+    return ImmutableRatesProvider.builder(valuationDate)
+        .discountCurve(GBP, calibratedCurve("GBP-Discount", times, DoubleArray.of(6, i -> 0.005 + 0.001 * i)))
+        .iborIndexCurve(GBP_LIBOR_6M, calibratedCurve("GBP-Forward", times, DoubleArray.of(6, i -> 0.01 + 0.0015 * i)))
+        .build();
+  }
+
+  private static Curve calibratedCurve(String name, DoubleArray times, DoubleArray rates) {
+    CurveName curveName = CurveName.of(name);
+    int size = times.size();
+    JacobianCalibrationMatrix jacobian = JacobianCalibrationMatrix.of(
+        ImmutableList.of(CurveParameterSize.of(curveName, size)),
+        DoubleMatrix.of(size, size, (i, j) -> i == j ? 1.2 : (j < i ? 0.1 : 0d)));
+    CurveMetadata metadata = Curves.zeroRates(curveName, ACT_365F).withInfo(CurveInfoType.JACOBIAN, jacobian);
+    return InterpolatedNodalCurve.of(metadata, times, rates, CurveInterpolators.LINEAR);
+  }
+
 }
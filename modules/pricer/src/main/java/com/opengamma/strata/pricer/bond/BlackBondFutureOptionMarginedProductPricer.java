@@ -332,8 +332,11 @@ public final class BlackBondFutureOptionMarginedProductPricer {
 
     ArgChecker.isTrue(futureOption.getPremiumStyle().equals(FutureOptionPremiumStyle.DAILY_MARGIN),
         "Premium style should be DAILY_MARGIN");
-    double futurePrice = futurePrice(futureOption, discountingProvider);
-    return priceSensitivityRatesStickyStrike(futureOption, discountingProvider, volatilities, futurePrice);
+    // the basket is priced once, providing both the future price and the cheapest to deliver bond
+    ResolvedBondFuture future = futureOption.getUnderlyingFuture();
+    BondFutureBasketPrices basketPrices = futurePricer.basketPrices(future, discountingProvider);
+    double delta = deltaStickyStrike(futureOption, discountingProvider, volatilities, basketPrices.getPrice());
+    return futurePricer.priceSensitivity(future, discountingProvider, basketPrices).multipliedBy(delta);
   }
 
   /**
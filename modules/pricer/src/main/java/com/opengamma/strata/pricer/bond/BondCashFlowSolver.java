@@ -0,0 +1,172 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import com.opengamma.strata.pricer.CompoundedRateType;
+import com.opengamma.strata.pricer.DiscountFactors;
+
+/**
+ * Derivative-based solvers for the yield and z-spread of a bond.
+ * <p>
+ * The price of a bond is a smooth, decreasing and convex function of its yield or z-spread.
+ * The first and second derivatives are obtained analytically at little extra cost when
+ * the price is computed from the cash flows. Halley's method therefore typically converges
+ * in three or four evaluations of the price, where bracketing the root and applying
+ * Brent's method requires many more.
+ * <p>
+ * The cash flows are extracted into arrays by the caller, such that each iteration only
+ * involves arithmetic on primitive values. If the iteration fails to converge, {@code NaN}
+ * is returned and the caller is expected to fall back to a bracketing root finder.
+ */
+final class BondCashFlowSolver {
+
+  /**
+   * The maximum number of iterations.
+   */
+  private static final int MAX_ITERATIONS = 50;
+  /**
+   * The absolute accuracy of the root.
+   */
+  private static final double ACCURACY = 1e-15;
+  /**
+   * Year fractions smaller than this have a discount factor of one, as in {@link DiscountFactors}.
+   */
+  private static final double EFFECTIVE_ZERO = 1e-10;
+
+  // restricted constructor
+  private BondCashFlowSolver() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Solves for the periodically compounded yield matching the price.
+   * <p>
+   * The price is {@code sum(amounts[i] * (1 + yield / periodsPerYear)^-exponents[i])}.
+   *
+   * @param amounts  the amounts of the cash flows
+   * @param exponents  the discounting exponents of the cash flows, in periods
+   * @param periodsPerYear  the number of periods per year
+   * @param price  the price to match
+   * @param initialGuess  the initial guess of the yield
+   * @return the yield, NaN if the iteration failed to converge
+   */
+  static double yieldFromPrice(
+      double[] amounts,
+      double[] exponents,
+      double periodsPerYear,
+      double price,
+      double initialGuess) {
+
+    double yield = initialGuess;
+    for (int iter = 0; iter < MAX_ITERATIONS; iter++) {
+      double factorOnPeriod = 1d + yield / periodsPerYear;
+      if (!(factorOnPeriod > 0d)) {
+        return Double.NaN;
+      }
+      double value = -price;
+      double first = 0d;
+      double second = 0d;
+      for (int i = 0; i < amounts.length; i++) {
+        double exponent = exponents[i];
+        double pv = amounts[i] * Math.pow(factorOnPeriod, -exponent);
+        value += pv;
+        first -= exponent * pv;
+        second += exponent * (exponent + 1d) * pv;
+      }
+      double periodFactor = periodsPerYear * factorOnPeriod;
+      double step = halleyStep(value, first / periodFactor, second / (periodFactor * periodFactor));
+      if (!Double.isFinite(step)) {
+        return Double.NaN;
+      }
+      yield -= step;
+      if (Math.abs(step) < ACCURACY) {
+        return yield;
+      }
+    }
+    return Double.NaN;
+  }
+
+  /**
+   * Solves for the z-spread matching the present value.
+   * <p>
+   * The present value is {@code sum(amounts[i] * discountFactorWithSpread(yearFractions[i]))},
+   * where the z-spread is a parallel shift applied to continuously compounded rates or periodic
+   * compounded rates of the discount factors.
+   *
+   * @param amounts  the amounts of the cash flows
+   * @param yearFractions  the year fractions of the cash flows, relative to the valuation date
+   * @param discountFactors  the discount factors
+   * @param presentValue  the present value to match
+   * @param compoundedRateType  the compounded rate type
+   * @param periodsPerYear  the number of periods per year
+   * @return the z-spread, NaN if the iteration failed to converge
+   */
+  static double zSpreadFromPresentValue(
+      double[] amounts,
+      double[] yearFractions,
+      DiscountFactors discountFactors,
+      double presentValue,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    // the base used with the z-spread is computed once for each cash flow
+    boolean periodic = compoundedRateType.equals(CompoundedRateType.PERIODIC);
+    int size = amounts.length;
+    double[] bases = new double[size];
+    for (int i = 0; i < size; i++) {
+      double yearFraction = yearFractions[i];
+      if (Math.abs(yearFraction) >= EFFECTIVE_ZERO) {
+        double df = discountFactors.discountFactor(yearFraction);
+        bases[i] = periodic ? Math.pow(df, -1d / periodsPerYear / yearFraction) : df;
+      }
+    }
+    double zSpread = 0d;
+    for (int iter = 0; iter < MAX_ITERATIONS; iter++) {
+      double value = -presentValue;
+      double first = 0d;
+      double second = 0d;
+      for (int i = 0; i < size; i++) {
+        double yearFraction = yearFractions[i];
+        if (Math.abs(yearFraction) < EFFECTIVE_ZERO) {
+          value += amounts[i];
+        } else if (periodic) {
+          double base = bases[i] + zSpread / periodsPerYear;
+          if (!(base > 0d)) {
+            return Double.NaN;
+          }
+          double pv = amounts[i] * Math.pow(base, -periodsPerYear * yearFraction);
+          value += pv;
+          first -= yearFraction * pv / base;
+          second += yearFraction * (yearFraction + 1d / periodsPerYear) * pv / (base * base);
+        } else {
+          double pv = amounts[i] * bases[i] * Math.exp(-zSpread * yearFraction);
+          value += pv;
+          first -= yearFraction * pv;
+          second += yearFraction * yearFraction * pv;
+        }
+      }
+      double step = halleyStep(value, first, second);
+      if (!Double.isFinite(step)) {
+        return Double.NaN;
+      }
+      zSpread -= step;
+      if (Math.abs(step) < ACCURACY) {
+        return zSpread;
+      }
+    }
+    return Double.NaN;
+  }
+
+  // the step of Halley's method, falling back to Newton's method if the correction is degenerate
+  private static double halleyStep(double value, double first, double second) {
+    double denominator = 2d * first * first - value * second;
+    if (denominator == 0d) {
+      return value / first;
+    }
+    return 2d * value * first / denominator;
+  }
+
+}
@@ -0,0 +1,196 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.pricer.CompoundedRateType;
+import com.opengamma.strata.product.bond.FixedCouponBondCashFlows;
+import com.opengamma.strata.product.bond.ResolvedBondFuture;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
+
+/**
+ * Evaluates the prices of all the bonds in the delivery basket of a bond future.
+ * <p>
+ * The bonds in a basket are typically issued by the same issuer and share a repo curve.
+ * The coupons of each bond detached after the last delivery date are therefore selected once,
+ * and the accrued interest at the last delivery date, which does not depend on the market data,
+ * is also computed once. Each scenario then obtains the discount factors of each issuer once for
+ * all the bonds, and the repo discount factor at the last delivery date once for each repo group.
+ * <p>
+ * The coupons and nominal are valued by the period and nominal pricers of the bond pricer,
+ * thus the prices are identical to those obtained by pricing each bond separately using
+ * {@link DiscountingFixedCouponBondProductPricer}.
+ */
+final class BondFutureBasketEvaluator {
+
+  /**
+   * The bond future.
+   */
+  private final ResolvedBondFuture future;
+  /**
+   * The pricer used to value the bonds.
+   */
+  private final DiscountingFixedCouponBondProductPricer bondPricer;
+  /**
+   * The issuer and currency of each distinct issuer curve.
+   */
+  private final ImmutableList<Pair<StandardId, Currency>> issuers;
+  /**
+   * The issuer index of each bond.
+   */
+  private final int[] bondIssuers;
+  /**
+   * The index of each coupon of each bond detached after the last delivery date.
+   */
+  private final int[][] coupons;
+  /**
+   * The accrued interest of each bond at the last delivery date, divided by the notional.
+   */
+  private final double[] accruedInterests;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance for the specified future.
+   *
+   * @param future  the bond future
+   * @param bondPricer  the pricer used to value the bonds
+   * @return the evaluator
+   */
+  static BondFutureBasketEvaluator of(ResolvedBondFuture future, DiscountingFixedCouponBondProductPricer bondPricer) {
+    return new BondFutureBasketEvaluator(future, bondPricer);
+  }
+
+  // restricted constructor
+  private BondFutureBasketEvaluator(ResolvedBondFuture future, DiscountingFixedCouponBondProductPricer bondPricer) {
+    this.future = future;
+    this.bondPricer = bondPricer;
+    ImmutableList<ResolvedFixedCouponBond> basket = future.getDeliveryBasket();
+    LocalDate lastDeliveryDate = future.getLastDeliveryDate();
+    int lastDeliveryDay = FixedCouponBondCashFlows.epochDay(lastDeliveryDate);
+    int size = basket.size();
+    bondIssuers = new int[size];
+    coupons = new int[size][];
+    accruedInterests = new double[size];
+    Map<Pair<StandardId, Currency>, Integer> issuerIndex = new LinkedHashMap<>();
+    for (int i = 0; i < size; i++) {
+      ResolvedFixedCouponBond bond = basket.get(i);
+      FixedCouponBondCashFlows cashFlows = bond.getCashFlows();
+      coupons[i] = IntStream.range(0, cashFlows.getCouponCount())
+          .filter(j -> cashFlows.getDetachmentDay(j) > lastDeliveryDay)
+          .toArray();
+      accruedInterests[i] = bondPricer.accruedInterest(bond, lastDeliveryDate) / bond.getNotional();
+      bondIssuers[i] = issuerIndex.computeIfAbsent(
+          Pair.of(bond.getLegalEntityId(), bond.getCurrency()), k -> issuerIndex.size());
+    }
+    issuers = ImmutableList.copyOf(issuerIndex.keySet());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Evaluates the basket.
+   *
+   * @param provider  the discounting provider
+   * @return the basket prices
+   */
+  BondFutureBasketPrices evaluate(LegalEntityDiscountingProvider provider) {
+    return evaluate(provider, bondPricer::presentValue);
+  }
+
+  /**
+   * Evaluates the basket for each scenario.
+   * <p>
+   * The scenarios are evaluated in parallel.
+   *
+   * @param providers  the discounting provider of each scenario
+   * @return the basket prices of each scenario
+   */
+  ImmutableList<BondFutureBasketPrices> evaluate(List<? extends LegalEntityDiscountingProvider> providers) {
+    return IntStream.range(0, providers.size())
+        .parallel()
+        .mapToObj(i -> evaluate(providers.get(i)))
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Evaluates the basket with z-spread.
+   * <p>
+   * The z-spread is a parallel shift applied to continuously compounded rates or periodic compounded rates
+   * of the issuer discounting curve.
+   *
+   * @param provider  the discounting provider
+   * @param zSpread  the z-spread
+   * @param compoundedRateType  the compounded rate type
+   * @param periodsPerYear  the number of periods per year
+   * @return the basket prices
+   */
+  BondFutureBasketPrices evaluateWithZSpread(
+      LegalEntityDiscountingProvider provider,
+      double zSpread,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    return evaluate(
+        provider,
+        (bond, discountFactors, bondCoupons) -> bondPricer.presentValueWithZSpread(
+            bond, discountFactors, bondCoupons, zSpread, compoundedRateType, periodsPerYear));
+  }
+
+  // evaluates the basket using the specified present value function
+  private BondFutureBasketPrices evaluate(LegalEntityDiscountingProvider provider, PresentValueFunction pvFunction) {
+    // discount factors of each issuer
+    IssuerCurveDiscountFactors[] issuerDiscountFactors = new IssuerCurveDiscountFactors[issuers.size()];
+    for (int k = 0; k < issuerDiscountFactors.length; k++) {
+      Pair<StandardId, Currency> issuer = issuers.get(k);
+      issuerDiscountFactors[k] = provider.issuerCurveDiscountFactors(issuer.getFirst(), issuer.getSecond());
+    }
+
+    // price each bond, sharing the repo discount factor at the last delivery date between bonds of a repo group
+    ImmutableList<ResolvedFixedCouponBond> basket = future.getDeliveryBasket();
+    LocalDate lastDeliveryDate = future.getLastDeliveryDate();
+    Map<Pair<RepoGroup, Currency>, Double> repoDiscountFactors = new HashMap<>();
+    int size = basket.size();
+    double[] dirtyPrices = new double[size];
+    double[] cleanPrices = new double[size];
+    double[] impliedFuturePrices = new double[size];
+    for (int i = 0; i < size; i++) {
+      ResolvedFixedCouponBond bond = basket.get(i);
+      double pv = pvFunction.presentValue(bond, issuerDiscountFactors[bondIssuers[i]], coupons[i]);
+      RepoCurveDiscountFactors repo =
+          provider.repoCurveDiscountFactors(bond.getSecurityId(), bond.getLegalEntityId(), bond.getCurrency());
+      double repoDf = repoDiscountFactors.computeIfAbsent(
+          Pair.of(repo.getRepoGroup(), repo.getCurrency()), k -> repo.discountFactor(lastDeliveryDate));
+      dirtyPrices[i] = pv / repoDf / bond.getNotional();
+      cleanPrices[i] = dirtyPrices[i] - accruedInterests[i];
+      impliedFuturePrices[i] = cleanPrices[i] / future.getConversionFactors().get(i);
+    }
+    return BondFutureBasketPrices.of(
+        future,
+        DoubleArray.ofUnsafe(dirtyPrices),
+        DoubleArray.ofUnsafe(cleanPrices),
+        DoubleArray.ofUnsafe(impliedFuturePrices));
+  }
+
+  //-------------------------------------------------------------------------
+  // the present value of the nominal and the specified coupons of a bond
+  @FunctionalInterface
+  private interface PresentValueFunction {
+    double presentValue(ResolvedFixedCouponBond bond, IssuerCurveDiscountFactors discountFactors, int[] coupons);
+  }
+
+}
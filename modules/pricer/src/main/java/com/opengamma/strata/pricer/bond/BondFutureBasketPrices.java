@@ -0,0 +1,176 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.product.bond.ResolvedBondFuture;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
+
+/**
+ * The prices of the bonds in the delivery basket of a bond future.
+ * <p>
+ * Each bond in the basket is priced at the last delivery date of the future.
+ * The clean price of the bond divided by its conversion factor is the future price implied
+ * by delivering the bond. The bond with the lowest implied future price is the cheapest to deliver,
+ * and its implied future price is the price of the future.
+ * <p>
+ * The arrays are in the order of the delivery basket of the future.
+ * <p>
+ * Strata uses <i>decimal prices</i> for bonds and bond futures.
+ * For example, a price of 99.32% is represented in Strata by 0.9932.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class BondFutureBasketPrices {
+
+  /**
+   * The delivery basket.
+   */
+  private final ImmutableList<ResolvedFixedCouponBond> basket;
+  /**
+   * The dirty prices of the bonds.
+   */
+  private final DoubleArray dirtyPrices;
+  /**
+   * The clean prices of the bonds.
+   */
+  private final DoubleArray cleanPrices;
+  /**
+   * The future prices implied by the bonds.
+   */
+  private final DoubleArray impliedFuturePrices;
+  /**
+   * The index of the cheapest to deliver bond.
+   */
+  private final int cheapestToDeliverIndex;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the prices of the bonds.
+   * <p>
+   * The cheapest to deliver bond is the first bond with the lowest implied future price.
+   *
+   * @param future  the bond future
+   * @param dirtyPrices  the dirty prices of the bonds in the basket
+   * @param cleanPrices  the clean prices of the bonds in the basket
+   * @param impliedFuturePrices  the future prices implied by the bonds in the basket
+   * @return the basket prices
+   */
+  public static BondFutureBasketPrices of(
+      ResolvedBondFuture future,
+      DoubleArray dirtyPrices,
+      DoubleArray cleanPrices,
+      DoubleArray impliedFuturePrices) {
+
+    ArgChecker.notNull(future, "future");
+    ImmutableList<ResolvedFixedCouponBond> basket = future.getDeliveryBasket();
+    int size = basket.size();
+    ArgChecker.isTrue(dirtyPrices.size() == size, "Dirty prices must match the size of the basket");
+    ArgChecker.isTrue(cleanPrices.size() == size, "Clean prices must match the size of the basket");
+    ArgChecker.isTrue(impliedFuturePrices.size() == size, "Implied future prices must match the size of the basket");
+    int indexCtd = 0;
+    for (int i = 1; i < size; i++) {
+      if (impliedFuturePrices.get(i) < impliedFuturePrices.get(indexCtd)) {
+        indexCtd = i;
+      }
+    }
+    return new BondFutureBasketPrices(basket, dirtyPrices, cleanPrices, impliedFuturePrices, indexCtd);
+  }
+
+  // restricted constructor
+  private BondFutureBasketPrices(
+      ImmutableList<ResolvedFixedCouponBond> basket,
+      DoubleArray dirtyPrices,
+      DoubleArray cleanPrices,
+      DoubleArray impliedFuturePrices,
+      int cheapestToDeliverIndex) {
+
+    this.basket = basket;
+    this.dirtyPrices = dirtyPrices;
+    this.cleanPrices = cleanPrices;
+    this.impliedFuturePrices = impliedFuturePrices;
+    this.cheapestToDeliverIndex = cheapestToDeliverIndex;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the delivery basket.
+   *
+   * @return the bonds in the basket
+   */
+  public ImmutableList<ResolvedFixedCouponBond> getBasket() {
+    return basket;
+  }
+
+  /**
+   * Gets the dirty prices of the bonds at the last delivery date.
+   *
+   * @return the dirty prices, in decimal form
+   */
+  public DoubleArray getDirtyPrices() {
+    return dirtyPrices;
+  }
+
+  /**
+   * Gets the clean prices of the bonds at the last delivery date.
+   *
+   * @return the clean prices, in decimal form
+   */
+  public DoubleArray getCleanPrices() {
+    return cleanPrices;
+  }
+
+  /**
+   * Gets the future prices implied by the bonds.
+   * <p>
+   * This is the clean price of each bond divided by its conversion factor.
+   *
+   * @return the implied future prices, in decimal form
+   */
+  public DoubleArray getImpliedFuturePrices() {
+    return impliedFuturePrices;
+  }
+
+  /**
+   * Gets the index of the cheapest to deliver bond in the basket.
+   *
+   * @return the index
+   */
+  public int getCheapestToDeliverIndex() {
+    return cheapestToDeliverIndex;
+  }
+
+  /**
+   * Gets the cheapest to deliver bond.
+   *
+   * @return the bond
+   */
+  public ResolvedFixedCouponBond getCheapestToDeliver() {
+    return basket.get(cheapestToDeliverIndex);
+  }
+
+  /**
+   * Gets the price of the future.
+   * <p>
+   * This is the future price implied by the cheapest to deliver bond.
+   *
+   * @return the price, in decimal form
+   */
+  public double getPrice() {
+    return impliedFuturePrices.get(cheapestToDeliverIndex);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("BondFutureBasketPrices[price={}, cheapestToDeliver={}, impliedFuturePrices={}]",
+        getPrice(), getCheapestToDeliver().getSecurityId(), impliedFuturePrices);
+  }
+
+}
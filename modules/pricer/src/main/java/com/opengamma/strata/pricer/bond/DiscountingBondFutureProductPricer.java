@@ -5,9 +5,10 @@
  */
 package com.opengamma.strata.pricer.bond;
 
-import com.google.common.collect.ImmutableList;
-import com.google.common.primitives.Doubles;
+import java.util.List;
+
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.CompoundedRateType;
@@ -77,6 +78,42 @@ public final class DiscountingBondFutureProductPricer {
     return priceSensitivity.multipliedBy(future.getNotional());
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the prices of the bonds in the delivery basket of the bond future product.
+   * <p>
+   * Each bond is priced at the last delivery date. The result contains the dirty and clean price
+   * of each bond, the future price implied by each bond and the cheapest to deliver bond.
+   * The discount factors of the issuer and repo curves are shared between the bonds of the basket.
+   * 
+   * @param future  the future
+   * @param discountingProvider  the discounting provider
+   * @return the prices of the basket
+   */
+  public BondFutureBasketPrices basketPrices(
+      ResolvedBondFuture future,
+      LegalEntityDiscountingProvider discountingProvider) {
+
+    return BondFutureBasketEvaluator.of(future, bondPricer).evaluate(discountingProvider);
+  }
+
+  /**
+   * Calculates the prices of the bonds in the delivery basket of the bond future product for each scenario.
+   * <p>
+   * The cash flows of the basket are laid out once for all the scenarios, which are then evaluated in parallel.
+   * 
+   * @param future  the future
+   * @param discountingProviders  the discounting provider of each scenario
+   * @return the prices of the basket, one for each scenario
+   */
+  public List<BondFutureBasketPrices> basketPrices(
+      ResolvedBondFuture future,
+      List<? extends LegalEntityDiscountingProvider> discountingProviders) {
+
+    ArgChecker.noNulls(discountingProviders, "discountingProviders");
+    return BondFutureBasketEvaluator.of(future, bondPricer).evaluate(discountingProviders);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the price of the bond future product.
@@ -91,16 +128,24 @@ public final class DiscountingBondFutureProductPricer {
    * @return the price of the product, in decimal form
    */
   public double price(ResolvedBondFuture future, LegalEntityDiscountingProvider discountingProvider) {
-    ImmutableList<ResolvedFixedCouponBond> basket = future.getDeliveryBasket();
-    int size = basket.size();
-    double[] priceBonds = new double[size];
-    for (int i = 0; i < size; ++i) {
-      ResolvedFixedCouponBond bond = basket.get(i);
-      double dirtyPrice = bondPricer.dirtyPriceFromCurves(bond, discountingProvider, future.getLastDeliveryDate());
-      priceBonds[i] = bondPricer.cleanPriceFromDirtyPrice(
-          bond, future.getLastDeliveryDate(), dirtyPrice) / future.getConversionFactors().get(i);
-    }
-    return Doubles.min(priceBonds);
+    return basketPrices(future, discountingProvider).getPrice();
+  }
+
+  /**
+   * Calculates the price of the bond future product for each scenario.
+   * <p>
+   * The price of the product is the price on the valuation date.
+   * 
+   * @param future  the future
+   * @param discountingProviders  the discounting provider of each scenario
+   * @return the price of the product for each scenario, in decimal form
+   */
+  public DoubleArray prices(
+      ResolvedBondFuture future,
+      List<? extends LegalEntityDiscountingProvider> discountingProviders) {
+
+    List<BondFutureBasketPrices> basketPrices = basketPrices(future, discountingProviders);
+    return DoubleArray.of(basketPrices.size(), i -> basketPrices.get(i).getPrice());
   }
 
   /**
@@ -128,17 +173,9 @@ public final class DiscountingBondFutureProductPricer {
       CompoundedRateType compoundedRateType,
       int periodPerYear) {
 
-    ImmutableList<ResolvedFixedCouponBond> basket = future.getDeliveryBasket();
-    int size = basket.size();
-    double[] priceBonds = new double[size];
-    for (int i = 0; i < size; ++i) {
-      ResolvedFixedCouponBond bond = basket.get(i);
-      double dirtyPrice = bondPricer.dirtyPriceFromCurvesWithZSpread(
-          bond, discountingProvider, zSpread, compoundedRateType, periodPerYear, future.getLastDeliveryDate());
-      priceBonds[i] = bondPricer.cleanPriceFromDirtyPrice(
-          bond, future.getLastDeliveryDate(), dirtyPrice) / future.getConversionFactors().get(i);
-    }
-    return Doubles.min(priceBonds);
+    return BondFutureBasketEvaluator.of(future, bondPricer)
+        .evaluateWithZSpread(discountingProvider, zSpread, compoundedRateType, periodPerYear)
+        .getPrice();
   }
 
   //-------------------------------------------------------------------------
@@ -154,22 +191,17 @@ public final class DiscountingBondFutureProductPricer {
    * @return the price curve sensitivity of the product
    */
   public PointSensitivities priceSensitivity(ResolvedBondFuture future, LegalEntityDiscountingProvider discountingProvider) {
-    ImmutableList<ResolvedFixedCouponBond> basket = future.getDeliveryBasket();
-    int size = basket.size();
-    double[] priceBonds = new double[size];
-    int indexCTD = 0;
-    double priceMin = 2d;
-    for (int i = 0; i < size; i++) {
-      ResolvedFixedCouponBond bond = basket.get(i);
-      double dirtyPrice = bondPricer.dirtyPriceFromCurves(bond, discountingProvider, future.getLastDeliveryDate());
-      priceBonds[i] = bondPricer.cleanPriceFromDirtyPrice(
-          bond, future.getLastDeliveryDate(), dirtyPrice) / future.getConversionFactors().get(i);
-      if (priceBonds[i] < priceMin) {
-        priceMin = priceBonds[i];
-        indexCTD = i;
-      }
-    }
-    ResolvedFixedCouponBond bond = basket.get(indexCTD);
+    return priceSensitivity(future, discountingProvider, basketPrices(future, discountingProvider));
+  }
+
+  // calculates the price sensitivity using the previously computed prices of the basket
+  PointSensitivities priceSensitivity(
+      ResolvedBondFuture future,
+      LegalEntityDiscountingProvider discountingProvider,
+      BondFutureBasketPrices basketPrices) {
+
+    int indexCTD = basketPrices.getCheapestToDeliverIndex();
+    ResolvedFixedCouponBond bond = basketPrices.getCheapestToDeliver();
     PointSensitivityBuilder pointSensi = bondPricer.dirtyPriceSensitivity(
         bond, discountingProvider, future.getLastDeliveryDate());
     return pointSensi.multipliedBy(1d / future.getConversionFactors().get(indexCTD)).build();
@@ -199,23 +231,10 @@ public final class DiscountingBondFutureProductPricer {
       CompoundedRateType compoundedRateType,
       int periodPerYear) {
 
-    ImmutableList<ResolvedFixedCouponBond> basket = future.getDeliveryBasket();
-    int size = basket.size();
-    double[] priceBonds = new double[size];
-    int indexCTD = 0;
-    double priceMin = 2d;
-    for (int i = 0; i < size; i++) {
-      ResolvedFixedCouponBond bond = basket.get(i);
-      double dirtyPrice = bondPricer.dirtyPriceFromCurvesWithZSpread(
-          bond, discountingProvider, zSpread, compoundedRateType, periodPerYear, future.getLastDeliveryDate());
-      priceBonds[i] = bondPricer.cleanPriceFromDirtyPrice(
-          bond, future.getLastDeliveryDate(), dirtyPrice) / future.getConversionFactors().get(i);
-      if (priceBonds[i] < priceMin) {
-        priceMin = priceBonds[i];
-        indexCTD = i;
-      }
-    }
-    ResolvedFixedCouponBond bond = basket.get(indexCTD);
+    BondFutureBasketPrices basketPrices = BondFutureBasketEvaluator.of(future, bondPricer)
+        .evaluateWithZSpread(discountingProvider, zSpread, compoundedRateType, periodPerYear);
+    int indexCTD = basketPrices.getCheapestToDeliverIndex();
+    ResolvedFixedCouponBond bond = basketPrices.getCheapestToDeliver();
     PointSensitivityBuilder pointSensi = bondPricer.dirtyPriceSensitivityWithZspread(
         bond, discountingProvider, zSpread, compoundedRateType, periodPerYear, future.getLastDeliveryDate());
     return pointSensi.multipliedBy(1d / future.getConversionFactors().get(indexCTD)).build();
@@ -6,10 +6,12 @@
 package com.opengamma.strata.pricer.bond;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.pricer.CompoundedRateType;
 import com.opengamma.strata.product.bond.BondFuture;
@@ -90,6 +92,23 @@ public final class DiscountingBondFutureTradePricer {
     return productPricer.price(trade.getProduct(), discountingProvider);
   }
 
+  /**
+   * Calculates the price of the bond future trade for each scenario.
+   * <p>
+   * The price of the trade is the price on the valuation date.
+   * The delivery basket is laid out once, and the scenarios are evaluated in parallel.
+   * 
+   * @param trade  the trade
+   * @param discountingProviders  the discounting provider of each scenario
+   * @return the price of the trade for each scenario, in decimal form
+   */
+  public DoubleArray prices(
+      ResolvedBondFutureTrade trade,
+      List<? extends LegalEntityDiscountingProvider> discountingProviders) {
+
+    return productPricer.prices(trade.getProduct(), discountingProviders);
+  }
+
   /**
    * Calculates the price of the bond future trade with z-spread.
    * <p>
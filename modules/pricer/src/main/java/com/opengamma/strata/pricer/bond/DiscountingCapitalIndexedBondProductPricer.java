@@ -11,6 +11,7 @@ import static java.time.temporal.ChronoUnit.MONTHS;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.Arrays;
 import java.util.function.Function;
 
 import com.opengamma.strata.basics.ReferenceData;
@@ -25,6 +26,7 @@ import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
 import com.opengamma.strata.math.impl.rootfinding.BrentSingleRootFinder;
 import com.opengamma.strata.math.impl.rootfinding.RealSingleRootFinder;
 import com.opengamma.strata.pricer.CompoundedRateType;
+import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.Security;
 import com.opengamma.strata.product.bond.CapitalIndexedBondPaymentPeriod;
@@ -715,6 +717,10 @@ public class DiscountingCapitalIndexedBondProductPricer {
    * the implementation of {@link #dirtyPriceFromRealYield(ResolvedCapitalIndexedBond, RatesProvider, LocalDate, double)}.
    * <p>
    * The input price and output are expressed in fraction.
+   * <p>
+   * For the conventions where the dirty price is a sum of discounted cash flows, the yield is found
+   * using Halley's method with the derivatives computed analytically. Otherwise, or if the method
+   * fails to converge, the yield is found by bracketing the root.
    * 
    * @param bond  the product
    * @param ratesProvider  the rates provider, used to determine price index values
@@ -728,6 +734,11 @@ public class DiscountingCapitalIndexedBondProductPricer {
       LocalDate settlementDate,
       double dirtyPrice) {
 
+    double yield = realYieldFromCashFlows(bond, ratesProvider, settlementDate, dirtyPrice);
+    if (!Double.isNaN(yield)) {
+      return yield;
+    }
+    // fall back to bracketing the root
     final Function<Double, Double> priceResidual = new Function<Double, Double>() {
       @Override
       public Double apply(Double y) {
@@ -735,8 +746,70 @@ public class DiscountingCapitalIndexedBondProductPricer {
       }
     };
     double[] range = ROOT_BRACKETER.getBracketedPoints(priceResidual, -0.05, 0.10);
-    double yield = ROOT_FINDER.getRoot(priceResidual, range[0], range[1]);
-    return yield;
+    return ROOT_FINDER.getRoot(priceResidual, range[0], range[1]);
+  }
+
+  // solves for the real yield where the dirty price is a sum of discounted cash flows
+  // the cash flows and exponents match dirtyPriceFromRealYield(), NaN if not applicable or not converged
+  private double realYieldFromCashFlows(
+      ResolvedCapitalIndexedBond bond,
+      RatesProvider ratesProvider,
+      LocalDate settlementDate,
+      double dirtyPrice) {
+
+    if (!settlementDate.isBefore(bond.getUnadjustedEndDate())) {
+      return Double.NaN;
+    }
+    int periodIndex = bond.findPeriodIndex(settlementDate).orElse(-1);
+    if (periodIndex < 0) {
+      return Double.NaN;
+    }
+    CapitalIndexedBondPaymentPeriod period = bond.getPeriodicPayments().get(periodIndex);
+    int nbCoupon = bond.getPeriodicPayments().size() - periodIndex;
+    double couponPerYear = bond.getFrequency().eventsPerYear();
+    double realRate = period.getRealCoupon();
+    CapitalIndexedBondYieldConvention yieldConvention = bond.getYieldConvention();
+    if (yieldConvention.equals(CapitalIndexedBondYieldConvention.JP_IL_SIMPLE)) {
+      double maturity = bond.yearFraction(settlementDate, bond.getEndDate());
+      if (!(maturity > 0d)) {
+        return Double.NaN;
+      }
+      double cleanPrice = cleanRealPriceFromDirtyRealPrice(bond, settlementDate, dirtyPrice);
+      return ((1d + realRate * couponPerYear * maturity) / cleanPrice - 1d) / maturity;
+    }
+    double[] amounts = new double[nbCoupon + 1];
+    double[] exponents = new double[nbCoupon + 1];
+    if (yieldConvention.equals(CapitalIndexedBondYieldConvention.JP_IL_COMPOUND)) {
+      double factorToNext = factorToNextCoupon(bond, settlementDate);
+      for (int loopcpn = 0; loopcpn < nbCoupon; loopcpn++) {
+        amounts[loopcpn] = bond.getPeriodicPayments().get(loopcpn + periodIndex).getRealCoupon();
+        exponents[loopcpn] = loopcpn + factorToNext;
+      }
+      amounts[nbCoupon] = 1d;
+      exponents[nbCoupon] = nbCoupon - 1 + factorToNext;
+    } else if (yieldConvention.equals(CapitalIndexedBondYieldConvention.GB_IL_BOND)) {
+      double indexRatio = indexRatio(bond, ratesProvider, settlementDate);
+      double firstYearFraction = bond.yearFraction(period.getUnadjustedStartDate(), period.getUnadjustedEndDate());
+      double rs = ratioPeriodToNextCoupon(period, settlementDate);
+      amounts[0] = realRate * indexRatio * firstYearFraction * couponPerYear;
+      exponents[0] = rs;
+      if (nbCoupon > 1) {
+        CapitalIndexedBondPaymentPeriod secondPeriod = bond.getPeriodicPayments().get(periodIndex + 1);
+        double secondYearFraction =
+            bond.yearFraction(secondPeriod.getUnadjustedStartDate(), secondPeriod.getUnadjustedEndDate());
+        amounts[1] = realRate * indexRatio * secondYearFraction * couponPerYear;
+        exponents[1] = 1d + rs;
+        for (int loopcpn = 2; loopcpn < nbCoupon; loopcpn++) {
+          amounts[loopcpn] = realRate;
+          exponents[loopcpn] = loopcpn + rs;
+        }
+      }
+      amounts[nbCoupon] = 1d;
+      exponents[nbCoupon] = nbCoupon - 1 + rs;
+    } else {
+      return Double.NaN;
+    }
+    return BondCashFlowSolver.yieldFromPrice(amounts, exponents, couponPerYear, dirtyPrice, realRate * couponPerYear);
   }
 
   /**
@@ -1076,6 +1149,8 @@ public class DiscountingCapitalIndexedBondProductPricer {
    * The z-spread is a parallel shift applied to continuously compounded rates or periodic
    * compounded rates of the discounting curve associated to the bond (Issuer Entity)
    * to match the present value.
+   * <p>
+   * The cash flows are projected once, after which the z-spread is found by Halley's method.
    * 
    * @param bond  the product
    * @param ratesProvider  the rates provider, used to determine price index values
@@ -1097,6 +1172,21 @@ public class DiscountingCapitalIndexedBondProductPricer {
 
     validate(ratesProvider, discountingProvider);
     LocalDate settlementDate = bond.calculateSettlementDateFromValuation(ratesProvider.getValuationDate(), refData);
+    double dirtyNominalPrice;
+    if (bond.getYieldConvention().equals(CapitalIndexedBondYieldConvention.GB_IL_FLOAT)) {
+      dirtyNominalPrice = dirtyNominalPriceFromCleanNominalPrice(bond, ratesProvider, settlementDate, cleanPrice);
+    } else {
+      double dirtyRealPrice = dirtyRealPriceFromCleanRealPrice(bond, settlementDate, cleanPrice);
+      dirtyNominalPrice = nominalPriceFromRealPrice(bond, ratesProvider, settlementDate, dirtyRealPrice);
+    }
+    double repoDf = discountingProvider.repoCurveDiscountFactors(
+        bond.getSecurityId(), bond.getLegalEntityId(), bond.getCurrency()).discountFactor(settlementDate);
+    double zSpread = zSpreadFromCashFlows(bond, ratesProvider, discountingProvider, settlementDate,
+        dirtyNominalPrice * repoDf * bond.getNotional(), compoundedRateType, periodsPerYear);
+    if (!Double.isNaN(zSpread)) {
+      return zSpread;
+    }
+    // fall back to bracketing the root
     final Function<Double, Double> residual = new Function<Double, Double>() {
       @Override
       public Double apply(Double z) {
@@ -1125,6 +1215,8 @@ public class DiscountingCapitalIndexedBondProductPricer {
    * The z-spread is a parallel shift applied to continuously compounded rates or periodic
    * compounded rates of the discounting curve associated to the bond (Issuer Entity)
    * to match the present value.
+   * <p>
+   * The cash flows are projected once, after which the z-spread is found by Halley's method.
    * 
    * @param bond  the product
    * @param ratesProvider  the rates provider, used to determine price index values
@@ -1146,6 +1238,12 @@ public class DiscountingCapitalIndexedBondProductPricer {
 
     validate(ratesProvider, discountingProvider);
     LocalDate settlementDate = bond.calculateSettlementDateFromValuation(ratesProvider.getValuationDate(), refData);
+    double zSpread = zSpreadFromCashFlows(bond, ratesProvider, discountingProvider, settlementDate,
+        presentValue.getAmount(), compoundedRateType, periodsPerYear);
+    if (!Double.isNaN(zSpread)) {
+      return zSpread;
+    }
+    // fall back to bracketing the root
     final Function<Double, Double> residual = new Function<Double, Double>() {
       @Override
       public Double apply(Double z) {
@@ -1157,6 +1255,43 @@ public class DiscountingCapitalIndexedBondProductPricer {
     return ROOT_FINDER.getRoot(residual, range[0], range[1]);
   }
 
+  // solves for the z-spread using the cash flows extracted once, NaN if the solver did not converge
+  // the cash flows match presentValueWithZSpread()
+  private double zSpreadFromCashFlows(
+      ResolvedCapitalIndexedBond bond,
+      RatesProvider ratesProvider,
+      LegalEntityDiscountingProvider discountingProvider,
+      LocalDate referenceDate,
+      double presentValue,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    DiscountFactors discountFactors = discountingProvider.issuerCurveDiscountFactors(
+        bond.getLegalEntityId(), bond.getCurrency()).getDiscountFactors();
+    int nbCoupon = bond.getPeriodicPayments().size();
+    double[] amounts = new double[nbCoupon + 1];
+    double[] yearFractions = new double[nbCoupon + 1];
+    CapitalIndexedBondPaymentPeriod nominal = bond.getNominalPayment();
+    amounts[0] = periodPricer.forecastValue(nominal, ratesProvider);
+    yearFractions[0] = discountFactors.relativeYearFraction(nominal.getPaymentDate());
+    int size = 1;
+    for (CapitalIndexedBondPaymentPeriod period : bond.getPeriodicPayments()) {
+      if ((bond.hasExCouponPeriod() && period.getDetachmentDate().isAfter(referenceDate)) ||
+          (!bond.hasExCouponPeriod() && period.getPaymentDate().isAfter(referenceDate))) {
+        amounts[size] = periodPricer.forecastValue(period, ratesProvider);
+        yearFractions[size] = discountFactors.relativeYearFraction(period.getPaymentDate());
+        size++;
+      }
+    }
+    return BondCashFlowSolver.zSpreadFromPresentValue(
+        Arrays.copyOf(amounts, size),
+        Arrays.copyOf(yearFractions, size),
+        discountFactors,
+        presentValue,
+        compoundedRateType,
+        periodsPerYear);
+  }
+
   //-------------------------------------------------------------------------
   private double ratioPeriodToNextCoupon(CapitalIndexedBondPaymentPeriod bond, LocalDate settlementDate) {
     double nbDayToSpot = DAYS.between(settlementDate, bond.getUnadjustedEndDate());
@@ -16,6 +16,7 @@ import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.CompoundedRateType;
 import com.opengamma.strata.pricer.ZeroRateSensitivity;
+import com.opengamma.strata.product.bond.FixedCouponBondCashFlows;
 import com.opengamma.strata.product.bond.FixedCouponBondPaymentPeriod;
 
 /**
@@ -94,6 +95,62 @@ public class DiscountingFixedCouponBondPaymentPeriodPricer {
     return period.getFixedRate() * period.getNotional() * period.getYearFraction() * df;
   }
 
+  /**
+   * Calculates the present value of a single fixed coupon held in the cash flows of a bond.
+   * <p>
+   * This is equivalent to {@link #presentValue(FixedCouponBondPaymentPeriod, IssuerCurveDiscountFactors)}
+   * for the matching period, but avoids accessing the period bean.
+   * It is used when pricing all the coupons of a bond.
+   * 
+   * @param cashFlows  the cash flows of the bond
+   * @param index  the index of the coupon
+   * @param discountFactors  the discount factor provider
+   * @return the present value of the coupon
+   */
+  public double presentValue(
+      FixedCouponBondCashFlows cashFlows,
+      int index,
+      IssuerCurveDiscountFactors discountFactors) {
+
+    LocalDate paymentDate = cashFlows.getPaymentDate(index);
+    if (paymentDate.isBefore(discountFactors.getValuationDate())) {
+      return 0d;
+    }
+    return cashFlows.getAmount(index) * discountFactors.discountFactor(paymentDate);
+  }
+
+  /**
+   * Calculates the present value of a single fixed coupon held in the cash flows of a bond with z-spread.
+   * <p>
+   * This is equivalent to {@link #presentValueWithSpread(FixedCouponBondPaymentPeriod, IssuerCurveDiscountFactors,
+   * double, CompoundedRateType, int)} for the matching period, but avoids accessing the period bean.
+   * It is used when pricing all the coupons of a bond.
+   * 
+   * @param cashFlows  the cash flows of the bond
+   * @param index  the index of the coupon
+   * @param discountFactors  the discount factor provider
+   * @param zSpread  the z-spread
+   * @param compoundedRateType  the compounded rate type
+   * @param periodsPerYear  the number of periods per year
+   * @return the present value of the coupon
+   */
+  public double presentValueWithSpread(
+      FixedCouponBondCashFlows cashFlows,
+      int index,
+      IssuerCurveDiscountFactors discountFactors,
+      double zSpread,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    LocalDate paymentDate = cashFlows.getPaymentDate(index);
+    if (paymentDate.isBefore(discountFactors.getValuationDate())) {
+      return 0d;
+    }
+    double df = discountFactors.getDiscountFactors()
+        .discountFactorWithSpread(paymentDate, zSpread, compoundedRateType, periodsPerYear);
+    return cashFlows.getAmount(index) * df;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the forecast value of a single fixed coupon payment period.
@@ -173,6 +230,67 @@ public class DiscountingFixedCouponBondPaymentPeriodPricer {
     return dscSensi.multipliedBy(period.getFixedRate() * period.getNotional() * period.getYearFraction());
   }
 
+  /**
+   * Calculates the present value sensitivity of a single fixed coupon held in the cash flows of a bond.
+   * <p>
+   * This is equivalent to
+   * {@link #presentValueSensitivity(FixedCouponBondPaymentPeriod, IssuerCurveDiscountFactors)}
+   * for the matching period, but avoids accessing the period bean.
+   * It is used when pricing all the coupons of a bond.
+   * 
+   * @param cashFlows  the cash flows of the bond
+   * @param index  the index of the coupon
+   * @param discountFactors  the discount factor provider
+   * @return the present value curve sensitivity of the coupon
+   */
+  public PointSensitivityBuilder presentValueSensitivity(
+      FixedCouponBondCashFlows cashFlows,
+      int index,
+      IssuerCurveDiscountFactors discountFactors) {
+
+    LocalDate paymentDate = cashFlows.getPaymentDate(index);
+    if (paymentDate.isBefore(discountFactors.getValuationDate())) {
+      return PointSensitivityBuilder.none();
+    }
+    return discountFactors.zeroRatePointSensitivity(paymentDate).multipliedBy(cashFlows.getAmount(index));
+  }
+
+  /**
+   * Calculates the present value sensitivity of a single fixed coupon held in the cash flows of a bond
+   * with z-spread.
+   * <p>
+   * This is equivalent to {@link #presentValueSensitivityWithSpread(FixedCouponBondPaymentPeriod,
+   * IssuerCurveDiscountFactors, double, CompoundedRateType, int)} for the matching period,
+   * but avoids accessing the period bean.
+   * It is used when pricing all the coupons of a bond.
+   * 
+   * @param cashFlows  the cash flows of the bond
+   * @param index  the index of the coupon
+   * @param discountFactors  the discount factor provider
+   * @param zSpread  the z-spread
+   * @param compoundedRateType  the compounded rate type
+   * @param periodsPerYear  the number of periods per year
+   * @return the present value curve sensitivity of the coupon
+   */
+  public PointSensitivityBuilder presentValueSensitivityWithSpread(
+      FixedCouponBondCashFlows cashFlows,
+      int index,
+      IssuerCurveDiscountFactors discountFactors,
+      double zSpread,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    LocalDate paymentDate = cashFlows.getPaymentDate(index);
+    if (paymentDate.isBefore(discountFactors.getValuationDate())) {
+      return PointSensitivityBuilder.none();
+    }
+    ZeroRateSensitivity zeroSensi = discountFactors.getDiscountFactors().zeroRatePointSensitivityWithSpread(
+        paymentDate, zSpread, compoundedRateType, periodsPerYear);
+    IssuerCurveZeroRateSensitivity dscSensi =
+        IssuerCurveZeroRateSensitivity.of(zeroSensi, discountFactors.getLegalEntityGroup());
+    return dscSensi.multipliedBy(cashFlows.getAmount(index));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the forecast value sensitivity of a single fixed coupon payment period.
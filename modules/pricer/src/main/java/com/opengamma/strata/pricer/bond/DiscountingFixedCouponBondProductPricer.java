@@ -11,7 +11,10 @@ import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.J
 import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.US_STREET;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
@@ -19,14 +22,18 @@ import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.Payment;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.sensitivity.MutablePointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
 import com.opengamma.strata.math.impl.rootfinding.BrentSingleRootFinder;
 import com.opengamma.strata.math.impl.rootfinding.RealSingleRootFinder;
 import com.opengamma.strata.pricer.CompoundedRateType;
+import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.DiscountingPaymentPricer;
 import com.opengamma.strata.pricer.ZeroRateSensitivity;
 import com.opengamma.strata.product.Security;
+import com.opengamma.strata.product.bond.FixedCouponBondCashFlows;
 import com.opengamma.strata.product.bond.FixedCouponBondPaymentPeriod;
 import com.opengamma.strata.product.bond.FixedCouponBondYieldConvention;
 import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
@@ -300,6 +307,10 @@ public class DiscountingFixedCouponBondProductPricer {
    * The z-spread is a parallel shift applied to continuously compounded rates or periodic
    * compounded rates of the discounting curve associated to the bond (Issuer Entity)
    * to match the dirty price.
+   * <p>
+   * The z-spread is found using Halley's method, with the derivatives of the present value
+   * of the cash flows computed analytically, falling back to bracketing the root if the method
+   * fails to converge.
    * 
    * @param bond  the product
    * @param provider  the discounting provider
@@ -317,17 +328,96 @@ public class DiscountingFixedCouponBondProductPricer {
       CompoundedRateType compoundedRateType,
       int periodsPerYear) {
 
+    LocalDate settlementDate = bond.getSettlementDateOffset().adjust(provider.getValuationDate(), refData);
+    double zSpread =
+        zSpreadFromCashFlows(bond, provider, settlementDate, dirtyPrice, compoundedRateType, periodsPerYear);
+    if (!Double.isNaN(zSpread)) {
+      return zSpread;
+    }
+    // fall back to bracketing the root
     final Function<Double, Double> residual = new Function<Double, Double>() {
       @Override
       public Double apply(final Double z) {
         return dirtyPriceFromCurvesWithZSpread(
-            bond, provider, refData, z, compoundedRateType, periodsPerYear) - dirtyPrice;
+            bond, provider, z, compoundedRateType, periodsPerYear, settlementDate) - dirtyPrice;
       }
     };
     double[] range = ROOT_BRACKETER.getBracketedPoints(residual, -0.01, 0.01); // Starting range is [-1%, 1%]
     return ROOT_FINDER.getRoot(residual, range[0], range[1]);
   }
 
+  /**
+   * Calculates the z-spread of each fixed coupon bond from curves and dirty price.
+   * <p>
+   * This is equivalent to calling
+   * {@link #zSpreadFromCurvesAndDirtyPrice(ResolvedFixedCouponBond, LegalEntityDiscountingProvider,
+   * ReferenceData, double, CompoundedRateType, int)} for each bond, with the bonds solved in parallel.
+   * 
+   * @param bonds  the products
+   * @param provider  the discounting provider
+   * @param refData  the reference data used to calculate the settlement date
+   * @param dirtyPrices  the dirty prices, one for each bond
+   * @param compoundedRateType  the compounded rate type
+   * @param periodsPerYear  the number of periods per year
+   * @return the z-spreads, one for each bond
+   */
+  public DoubleArray zSpreadsFromCurvesAndDirtyPrices(
+      List<ResolvedFixedCouponBond> bonds,
+      LegalEntityDiscountingProvider provider,
+      ReferenceData refData,
+      DoubleArray dirtyPrices,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    ArgChecker.isTrue(bonds.size() == dirtyPrices.size(), "Bonds and dirty prices must have the same size");
+    return DoubleArray.ofUnsafe(IntStream.range(0, bonds.size())
+        .parallel()
+        .mapToDouble(i -> zSpreadFromCurvesAndDirtyPrice(
+            bonds.get(i), provider, refData, dirtyPrices.get(i), compoundedRateType, periodsPerYear))
+        .toArray());
+  }
+
+  // solves for the z-spread using the cash flows extracted once, NaN if the solver did not converge
+  private double zSpreadFromCashFlows(
+      ResolvedFixedCouponBond bond,
+      LegalEntityDiscountingProvider provider,
+      LocalDate settlementDate,
+      double dirtyPrice,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    DiscountFactors discountFactors =
+        provider.issuerCurveDiscountFactors(bond.getLegalEntityId(), bond.getCurrency()).getDiscountFactors();
+    FixedCouponBondCashFlows cashFlows = bond.getCashFlows();
+    int settlementDay = FixedCouponBondCashFlows.epochDay(settlementDate);
+    int valuationDay = FixedCouponBondCashFlows.epochDay(discountFactors.getValuationDate());
+    double[] amounts = new double[cashFlows.getCouponCount() + 1];
+    double[] yearFractions = new double[cashFlows.getCouponCount() + 1];
+    int size = 0;
+    for (int i = 0; i < cashFlows.getCouponCount(); i++) {
+      if (cashFlows.getDetachmentDay(i) > settlementDay && cashFlows.getPaymentDay(i) >= valuationDay) {
+        amounts[size] = cashFlows.getAmount(i);
+        yearFractions[size] = discountFactors.relativeYearFraction(cashFlows.getPaymentDate(i));
+        size++;
+      }
+    }
+    if (cashFlows.getNominalPaymentDay() >= valuationDay) {
+      amounts[size] = cashFlows.getNominalAmount();
+      yearFractions[size] = discountFactors.relativeYearFraction(cashFlows.getNominalPaymentDate());
+      size++;
+    }
+    double repoDf = provider.repoCurveDiscountFactors(
+        bond.getSecurityId(), bond.getLegalEntityId(), bond.getCurrency()).discountFactor(settlementDate);
+    double presentValue = dirtyPrice * repoDf * bond.getNotional();
+    return BondCashFlowSolver.zSpreadFromPresentValue(
+        Arrays.copyOf(amounts, size),
+        Arrays.copyOf(yearFractions, size),
+        discountFactors,
+        presentValue,
+        compoundedRateType,
+        periodsPerYear);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the present value sensitivity of the fixed coupon bond product.
@@ -598,6 +688,8 @@ public class DiscountingFixedCouponBondProductPricer {
    * The dirty price must be fractional.
    * If the analytic formula is not available, the yield is computed by solving
    * a root-finding problem with {@link #dirtyPriceFromYield(ResolvedFixedCouponBond, LocalDate, double)}.  
+   * Halley's method is used, with the derivatives of the dirty price computed analytically,
+   * falling back to bracketing the root if the method fails to converge.
    * The result is also expressed in fraction.
    * 
    * @param bond  the product
@@ -612,7 +704,24 @@ public class DiscountingFixedCouponBondProductPricer {
       double maturity = bond.getDayCount().relativeYearFraction(settlementDate, maturityDate);
       return (bond.getFixedRate() + (1d - cleanPrice) / maturity) / cleanPrice;
     }
+    ImmutableList<FixedCouponBondPaymentPeriod> payments = bond.getPeriodicPayments();
+    int nCoupon = payments.size() - couponIndex(payments, settlementDate);
+    FixedCouponBondYieldConvention yieldConv = bond.getYieldConvention();
+    if (nCoupon == 1 && (yieldConv.equals(US_STREET) || yieldConv.equals(DE_BONDS))) {
+      double factor = factorToNextCoupon(bond, settlementDate);
+      if (factor > 0d) {
+        FixedCouponBondPaymentPeriod payment = payments.get(payments.size() - 1);
+        double finalPayment = 1d + payment.getFixedRate() * payment.getYearFraction();
+        return (finalPayment / dirtyPrice - 1d) * bond.getFrequency().eventsPerYear() / factor;
+      }
+    } else if (yieldConv.equals(US_STREET) || yieldConv.equals(GB_BUMP_DMO) || yieldConv.equals(DE_BONDS)) {
+      double yield = yieldFromDirtyPriceStandard(bond, settlementDate, dirtyPrice);
+      if (!Double.isNaN(yield)) {
+        return yield;
+      }
+    }
 
+    // fall back to bracketing the root
     final Function<Double, Double> priceResidual = new Function<Double, Double>() {
       @Override
       public Double apply(final Double y) {
@@ -624,6 +733,62 @@ public class DiscountingFixedCouponBondProductPricer {
     return yield;
   }
 
+  // solves for the yield using Halley's method, NaN if the solver did not converge
+  private double yieldFromDirtyPriceStandard(
+      ResolvedFixedCouponBond bond,
+      LocalDate settlementDate,
+      double dirtyPrice) {
+
+    // the cash flows and exponents match dirtyPriceFromYieldStandard()
+    int nbCoupon = bond.getPeriodicPayments().size();
+    double factorToNextCoupon = factorToNextCoupon(bond, settlementDate);
+    double fixedRate = bond.getFixedRate();
+    double[] amounts = new double[nbCoupon + 1];
+    double[] exponents = new double[nbCoupon + 1];
+    int pow = 0;
+    for (int loopcpn = 0; loopcpn < nbCoupon; loopcpn++) {
+      FixedCouponBondPaymentPeriod period = bond.getPeriodicPayments().get(loopcpn);
+      if ((period.hasExCouponPeriod() && !settlementDate.isAfter(period.getDetachmentDate())) ||
+          (!period.hasExCouponPeriod() && period.getPaymentDate().isAfter(settlementDate))) {
+        amounts[pow] = fixedRate * period.getYearFraction();
+        exponents[pow] = pow + factorToNextCoupon;
+        ++pow;
+      }
+    }
+    amounts[pow] = 1d;
+    exponents[pow] = pow - 1 + factorToNextCoupon;
+    return BondCashFlowSolver.yieldFromPrice(
+        Arrays.copyOf(amounts, pow + 1),
+        Arrays.copyOf(exponents, pow + 1),
+        bond.getFrequency().eventsPerYear(),
+        dirtyPrice,
+        fixedRate);
+  }
+
+  /**
+   * Calculates the yield of each fixed coupon bond product from dirty price.
+   * <p>
+   * This is equivalent to calling {@link #yieldFromDirtyPrice(ResolvedFixedCouponBond, LocalDate, double)}
+   * for each bond, with the bonds solved in parallel.
+   * 
+   * @param bonds  the products
+   * @param settlementDates  the settlement dates, one for each bond
+   * @param dirtyPrices  the dirty prices, one for each bond
+   * @return the yields, one for each bond
+   */
+  public DoubleArray yieldsFromDirtyPrices(
+      List<ResolvedFixedCouponBond> bonds,
+      List<LocalDate> settlementDates,
+      DoubleArray dirtyPrices) {
+
+    ArgChecker.isTrue(bonds.size() == settlementDates.size(), "Bonds and settlement dates must have the same size");
+    ArgChecker.isTrue(bonds.size() == dirtyPrices.size(), "Bonds and dirty prices must have the same size");
+    return DoubleArray.ofUnsafe(IntStream.range(0, bonds.size())
+        .parallel()
+        .mapToDouble(i -> yieldFromDirtyPrice(bonds.get(i), settlementDates.get(i), dirtyPrices.get(i)))
+        .toArray());
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the modified duration of the fixed coupon bond product from yield.
@@ -831,15 +996,19 @@ public class DiscountingFixedCouponBondProductPricer {
   }
 
   //-------------------------------------------------------------------------
+  // the coupons are selected using the cash flows of the bond, avoiding iterating over the periods
+  // a coupon is included if detached after the reference date, and priced by the period pricer
   private CurrencyAmount presentValueCoupon(
       ResolvedFixedCouponBond bond,
       IssuerCurveDiscountFactors discountFactors,
       LocalDate referenceDate) {
 
+    FixedCouponBondCashFlows cashFlows = bond.getCashFlows();
+    int referenceDay = FixedCouponBondCashFlows.epochDay(referenceDate);
     double total = 0d;
-    for (FixedCouponBondPaymentPeriod period : bond.getPeriodicPayments()) {
-      if (period.getDetachmentDate().isAfter(referenceDate)) {
-        total += periodPricer.presentValue(period, discountFactors);
+    for (int i = 0; i < cashFlows.getCouponCount(); i++) {
+      if (cashFlows.getDetachmentDay(i) > referenceDay) {
+        total += periodPricer.presentValue(cashFlows, i, discountFactors);
       }
     }
     return CurrencyAmount.of(bond.getCurrency(), total);
@@ -853,28 +1022,65 @@ public class DiscountingFixedCouponBondProductPricer {
       int periodsPerYear,
       LocalDate referenceDate) {
 
+    FixedCouponBondCashFlows cashFlows = bond.getCashFlows();
+    int referenceDay = FixedCouponBondCashFlows.epochDay(referenceDate);
     double total = 0d;
-    for (FixedCouponBondPaymentPeriod period : bond.getPeriodicPayments()) {
-      if (period.getDetachmentDate().isAfter(referenceDate)) {
-        total += periodPricer.presentValueWithSpread(period, discountFactors, zSpread, compoundedRateType, periodsPerYear);
+    for (int i = 0; i < cashFlows.getCouponCount(); i++) {
+      if (cashFlows.getDetachmentDay(i) > referenceDay) {
+        total += periodPricer.presentValueWithSpread(
+            cashFlows, i, discountFactors, zSpread, compoundedRateType, periodsPerYear);
       }
     }
     return CurrencyAmount.of(bond.getCurrency(), total);
   }
 
+  //-------------------------------------------------------------------------
+  // calculates the present value of the nominal and the specified coupons, used when pricing a delivery basket
+  double presentValue(ResolvedFixedCouponBond bond, IssuerCurveDiscountFactors discountFactors, int[] coupons) {
+    FixedCouponBondCashFlows cashFlows = bond.getCashFlows();
+    double total =
+        nominalPricer.presentValue(bond.getNominalPayment(), discountFactors.getDiscountFactors()).getAmount();
+    for (int i : coupons) {
+      total += periodPricer.presentValue(cashFlows, i, discountFactors);
+    }
+    return total;
+  }
+
+  // calculates the present value of the nominal and the specified coupons with z-spread
+  double presentValueWithZSpread(
+      ResolvedFixedCouponBond bond,
+      IssuerCurveDiscountFactors discountFactors,
+      int[] coupons,
+      double zSpread,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    FixedCouponBondCashFlows cashFlows = bond.getCashFlows();
+    double total = nominalPricer.presentValueWithSpread(
+        bond.getNominalPayment(), discountFactors.getDiscountFactors(), zSpread, compoundedRateType, periodsPerYear)
+        .getAmount();
+    for (int i : coupons) {
+      total += periodPricer.presentValueWithSpread(
+          cashFlows, i, discountFactors, zSpread, compoundedRateType, periodsPerYear);
+    }
+    return total;
+  }
+
   //-------------------------------------------------------------------------
   private PointSensitivityBuilder presentValueSensitivityCoupon(
       ResolvedFixedCouponBond bond,
       IssuerCurveDiscountFactors discountFactors,
       LocalDate referenceDate) {
 
-    PointSensitivityBuilder builder = PointSensitivityBuilder.none();
-    for (FixedCouponBondPaymentPeriod period : bond.getPeriodicPayments()) {
-      if (period.getDetachmentDate().isAfter(referenceDate)) {
-        builder = builder.combinedWith(periodPricer.presentValueSensitivity(period, discountFactors));
+    FixedCouponBondCashFlows cashFlows = bond.getCashFlows();
+    int referenceDay = FixedCouponBondCashFlows.epochDay(referenceDate);
+    MutablePointSensitivities builder = new MutablePointSensitivities();
+    for (int i = 0; i < cashFlows.getCouponCount(); i++) {
+      if (cashFlows.getDetachmentDay(i) > referenceDay) {
+        periodPricer.presentValueSensitivity(cashFlows, i, discountFactors).buildInto(builder);
       }
     }
-    return builder;
+    return builder.size() == 0 ? PointSensitivityBuilder.none() : builder;
   }
 
   private PointSensitivityBuilder presentValueSensitivityCouponFromZSpread(
@@ -885,14 +1091,16 @@ public class DiscountingFixedCouponBondProductPricer {
       int periodsPerYear,
       LocalDate referenceDate) {
 
-    PointSensitivityBuilder builder = PointSensitivityBuilder.none();
-    for (FixedCouponBondPaymentPeriod period : bond.getPeriodicPayments()) {
-      if (period.getDetachmentDate().isAfter(referenceDate)) {
-        builder = builder.combinedWith(periodPricer.presentValueSensitivityWithSpread(
-            period, discountFactors, zSpread, compoundedRateType, periodsPerYear));
+    FixedCouponBondCashFlows cashFlows = bond.getCashFlows();
+    int referenceDay = FixedCouponBondCashFlows.epochDay(referenceDate);
+    MutablePointSensitivities builder = new MutablePointSensitivities();
+    for (int i = 0; i < cashFlows.getCouponCount(); i++) {
+      if (cashFlows.getDetachmentDay(i) > referenceDay) {
+        periodPricer.presentValueSensitivityWithSpread(
+            cashFlows, i, discountFactors, zSpread, compoundedRateType, periodsPerYear).buildInto(builder);
       }
     }
-    return builder;
+    return builder.size() == 0 ? PointSensitivityBuilder.none() : builder;
   }
 
   private PointSensitivityBuilder presentValueSensitivityNominal(
@@ -0,0 +1,236 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.fxopt;
+
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.fx.DiscountingFxSingleProductPricer;
+import com.opengamma.strata.pricer.impl.montecarlo.MonteCarloEngine;
+import com.opengamma.strata.pricer.impl.montecarlo.MonteCarloPathFunction;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.fx.ResolvedFxSingle;
+import com.opengamma.strata.product.fxopt.ResolvedFxVanillaOption;
+
+/**
+ * Pricer for foreign exchange vanilla option transaction products with a lognormal model
+ * using Monte Carlo simulation.
+ * <p>
+ * The forward FX rate at expiry is simulated by the {@link MonteCarloEngine} with the Black volatility
+ * of the option. The price, the forward delta and the vega are computed in the same simulation,
+ * the Greeks being computed by the pathwise method.
+ * <p>
+ * This is intended to validate and extend the analytical pricer, {@link BlackFxVanillaOptionProductPricer},
+ * which should be preferred for vanilla options.
+ * The methods follow the same conventions as the analytical pricer.
+ */
+public class BlackMonteCarloFxVanillaOptionProductPricer {
+
+  /**
+   * The Monte Carlo engine.
+   */
+  private final MonteCarloEngine engine;
+  /**
+   * Underlying FX pricer.
+   */
+  private final DiscountingFxSingleProductPricer fxPricer;
+
+  /**
+   * Creates an instance.
+   *
+   * @param engine  the Monte Carlo engine
+   */
+  public BlackMonteCarloFxVanillaOptionProductPricer(MonteCarloEngine engine) {
+    this(engine, DiscountingFxSingleProductPricer.DEFAULT);
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param engine  the Monte Carlo engine
+   * @param fxPricer  the pricer for {@link ResolvedFxSingle}
+   */
+  public BlackMonteCarloFxVanillaOptionProductPricer(
+      MonteCarloEngine engine,
+      DiscountingFxSingleProductPricer fxPricer) {
+
+    this.engine = ArgChecker.notNull(engine, "engine");
+    this.fxPricer = ArgChecker.notNull(fxPricer, "fxPricer");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the price of the foreign exchange vanilla option product.
+   * <p>
+   * The price of the product is the value on the valuation date for one unit of the base currency
+   * and is expressed in the counter currency. The price does not take into account the long/short flag.
+   *
+   * @param option  the option product
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the price of the product
+   */
+  public double price(
+      ResolvedFxVanillaOption option,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    return discountFactor(option, ratesProvider) * undiscountedPriceDeltaVega(option, ratesProvider, volatilities)[0];
+  }
+
+  /**
+   * Calculates the present value of the foreign exchange vanilla option product.
+   * <p>
+   * The present value of the product is the value on the valuation date.
+   * It is expressed in the counter currency.
+   *
+   * @param option  the option product
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the present value of the product
+   */
+  public CurrencyAmount presentValue(
+      ResolvedFxVanillaOption option,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    double price = price(option, ratesProvider, volatilities);
+    return CurrencyAmount.of(option.getCounterCurrency(), signedNotional(option) * price);
+  }
+
+  /**
+   * Calculates the present value delta of the foreign exchange vanilla option product.
+   * <p>
+   * The present value delta is the first derivative of {@link #presentValue} with respect to spot.
+   *
+   * @param option  the option product
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the present value delta of the product
+   */
+  public CurrencyAmount presentValueDelta(
+      ResolvedFxVanillaOption option,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    ResolvedFxSingle underlying = option.getUnderlying();
+    double fwdDelta = undiscountedPriceDeltaVega(option, ratesProvider, volatilities)[1];
+    double fwdRateSpotSensitivity = fxPricer.forwardFxRateSpotSensitivity(
+        option.getPutCall().isCall() ? underlying : underlying.inverse(), ratesProvider);
+    double delta = fwdDelta * discountFactor(option, ratesProvider) * fwdRateSpotSensitivity;
+    return CurrencyAmount.of(option.getCounterCurrency(), signedNotional(option) * delta);
+  }
+
+  /**
+   * Calculates the present value vega of the foreign exchange vanilla option product.
+   * <p>
+   * The present value vega is the first derivative of the {@link #presentValue} with respect to volatility.
+   *
+   * @param option  the option product
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the present value vega of the product
+   */
+  public CurrencyAmount presentValueVega(
+      ResolvedFxVanillaOption option,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    double fwdVega = undiscountedPriceDeltaVega(option, ratesProvider, volatilities)[2];
+    double vega = fwdVega * discountFactor(option, ratesProvider);
+    return CurrencyAmount.of(option.getCounterCurrency(), signedNotional(option) * vega);
+  }
+
+  //-------------------------------------------------------------------------
+  // the price, forward delta and vega without discounting
+  private double[] undiscountedPriceDeltaVega(
+      ResolvedFxVanillaOption option,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    double timeToExpiry = volatilities.relativeTime(option.getExpiry());
+    if (timeToExpiry < 0d) {
+      return new double[3];
+    }
+    ResolvedFxSingle underlying = option.getUnderlying();
+    CurrencyPair strikePair = underlying.getCurrencyPair();
+    double forwardRate = fxPricer.forwardFxRate(underlying, ratesProvider).fxRate(strikePair);
+    double strikeRate = option.getStrike();
+    double omega = option.getPutCall().isCall() ? 1d : -1d;
+    if (timeToExpiry == 0d) {
+      boolean isExercised = omega * (forwardRate - strikeRate) > 0d;
+      return isExercised ? new double[] {omega * (forwardRate - strikeRate), omega, 0d} : new double[3];
+    }
+    double volatility = volatilities.volatility(strikePair, option.getExpiry(), strikeRate, forwardRate);
+    DoubleArray simulated = engine.simulate(
+        new VanillaPathFunction(forwardRate, strikeRate, timeToExpiry, volatility, omega));
+    return simulated.toArrayUnsafe();
+  }
+
+  // the discount factor of the payment date in the counter currency
+  private double discountFactor(ResolvedFxVanillaOption option, RatesProvider ratesProvider) {
+    return ratesProvider.discountFactor(option.getCounterCurrency(), option.getUnderlying().getPaymentDate());
+  }
+
+  // signed notional amount to computed present value and value Greeks
+  private double signedNotional(ResolvedFxVanillaOption option) {
+    return (option.getLongShort().isLong() ? 1d : -1d) *
+        Math.abs(option.getUnderlying().getBaseCurrencyPayment().getAmount());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The path function of the vanilla option.
+   * <p>
+   * The values computed are the payoff, followed by its pathwise derivatives with respect to
+   * the forward and the volatility.
+   */
+  private static final class VanillaPathFunction implements MonteCarloPathFunction {
+    private final double forward;
+    private final double strike;
+    private final double omega;
+    private final double sqrtTime;
+    private final double drift;
+    private final double volatilityDrift;
+    private final double volatilitySqrtTime;
+
+    private VanillaPathFunction(double forward, double strike, double timeToExpiry, double volatility, double omega) {
+      this.forward = forward;
+      this.strike = strike;
+      this.omega = omega;
+      this.sqrtTime = Math.sqrt(timeToExpiry);
+      this.drift = -0.5 * volatility * volatility * timeToExpiry;
+      this.volatilityDrift = -volatility * timeToExpiry;
+      this.volatilitySqrtTime = volatility * sqrtTime;
+    }
+
+    @Override
+    public int getDimension() {
+      return 1;
+    }
+
+    @Override
+    public int getResultSize() {
+      return 3;
+    }
+
+    @Override
+    public void evaluate(double[] normals, int nPaths, double[] result) {
+      for (int looppath = 0; looppath < nPaths; looppath++) {
+        double x = normals[looppath];
+        double forwardAtExpiry = forward * Math.exp(drift + volatilitySqrtTime * x);
+        double payoff = omega * (forwardAtExpiry - strike);
+        if (payoff > 0d) {
+          result[0] += payoff;
+          result[1] += omega * forwardAtExpiry / forward;
+          result[2] += omega * forwardAtExpiry * (volatilityDrift + sqrtTime * x);
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.fxopt;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+
+/**
+ * Calibrator of implied trinomial tree to Black volatilities of FX options, caching the calibrated trees.
+ * <p>
+ * The calibrated tree depends only on the number of steps, the time to expiry, the currency pair,
+ * the FX rate, the discount factors of the two currencies and the Black volatilities.
+ * The trees are cached on these inputs, such that all of the options with the same currency pair and expiry
+ * priced against the same market data share one calibration.
+ * <p>
+ * The cache is bounded in size, and safe to use from multiple threads.
+ */
+public class CachingImpliedTrinomialTreeFxOptionCalibrator extends ImpliedTrinomialTreeFxOptionCalibrator {
+
+  /**
+   * Default maximum number of trees in the cache.
+   */
+  private static final int MAX_SIZE_DEFAULT = 1000;
+
+  /**
+   * The cache of calibrated trees.
+   */
+  private final Cache<CacheKey, RecombiningTrinomialTreeData> cache;
+
+  /**
+   * Calibrator with the specified number of time steps and the default cache size.
+   *
+   * @param nSteps  number of time steps
+   */
+  public CachingImpliedTrinomialTreeFxOptionCalibrator(int nSteps) {
+    this(nSteps, MAX_SIZE_DEFAULT);
+  }
+
+  /**
+   * Calibrator with the specified number of time steps and cache size.
+   *
+   * @param nSteps  number of time steps
+   * @param maxSize  the maximum number of trees in the cache
+   */
+  public CachingImpliedTrinomialTreeFxOptionCalibrator(int nSteps, int maxSize) {
+    super(nSteps);
+    ArgChecker.notNegativeOrZero(maxSize, "maxSize");
+    this.cache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public RecombiningTrinomialTreeData calibrateTrinomialTree(
+      double timeToExpiry,
+      CurrencyPair currencyPair,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    CacheKey key = new CacheKey(
+        timeToExpiry,
+        currencyPair,
+        ratesProvider.fxRate(currencyPair),
+        ratesProvider.discountFactors(currencyPair.getBase()),
+        ratesProvider.discountFactors(currencyPair.getCounter()),
+        volatilities);
+    // concurrent requests for the same key wait for a single calibration
+    try {
+      return cache.get(
+          key, () -> super.calibrateTrinomialTree(timeToExpiry, currencyPair, ratesProvider, volatilities));
+    } catch (ExecutionException | UncheckedExecutionException ex) {
+      throw Unchecked.propagate(ex.getCause());
+    }
+  }
+
+  /**
+   * Discards all of the cached trees.
+   */
+  public void clear() {
+    cache.invalidateAll();
+  }
+
+  //-------------------------------------------------------------------------
+  // the inputs determining the calibrated tree
+  private static final class CacheKey {
+    private final double timeToExpiry;
+    private final CurrencyPair currencyPair;
+    private final double fxRate;
+    private final DiscountFactors baseDiscountFactors;
+    private final DiscountFactors counterDiscountFactors;
+    private final BlackFxOptionVolatilities volatilities;
+    private final int hashCode;
+
+    private CacheKey(
+        double timeToExpiry,
+        CurrencyPair currencyPair,
+        double fxRate,
+        DiscountFactors baseDiscountFactors,
+        DiscountFactors counterDiscountFactors,
+        BlackFxOptionVolatilities volatilities) {
+
+      this.timeToExpiry = timeToExpiry;
+      this.currencyPair = currencyPair;
+      this.fxRate = fxRate;
+      this.baseDiscountFactors = baseDiscountFactors;
+      this.counterDiscountFactors = counterDiscountFactors;
+      this.volatilities = volatilities;
+      this.hashCode = Objects.hash(
+          timeToExpiry, currencyPair, fxRate, baseDiscountFactors, counterDiscountFactors, volatilities);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (obj instanceof CacheKey) {
+        CacheKey other = (CacheKey) obj;
+        return Double.compare(timeToExpiry, other.timeToExpiry) == 0 &&
+            Double.compare(fxRate, other.fxRate) == 0 &&
+            currencyPair.equals(other.currencyPair) &&
+            baseDiscountFactors.equals(other.baseDiscountFactors) &&
+            counterDiscountFactors.equals(other.counterDiscountFactors) &&
+            volatilities.equals(other.volatilities);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+}
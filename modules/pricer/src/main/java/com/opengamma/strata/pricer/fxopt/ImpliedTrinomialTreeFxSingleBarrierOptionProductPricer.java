@@ -5,11 +5,18 @@
  */
 package com.opengamma.strata.pricer.fxopt;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.math.DoubleMath;
 import com.opengamma.strata.basics.currency.Currency;
@@ -19,6 +26,7 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.pricer.DiscountFactors;
@@ -82,6 +90,18 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
     this.calibrator = new ImpliedTrinomialTreeFxOptionCalibrator(nSteps);
   }
 
+  /**
+   * Pricer with the specified calibrator.
+   * <p>
+   * For example, {@link CachingImpliedTrinomialTreeFxOptionCalibrator} can be used to avoid
+   * recalibrating the trinomial tree for options sharing the currency pair, expiry and market data.
+   * 
+   * @param calibrator  the calibrator
+   */
+  public ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(ImpliedTrinomialTreeFxOptionCalibrator calibrator) {
+    this.calibrator = ArgChecker.notNull(calibrator, "calibrator");
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Obtains the calibrator.
@@ -196,6 +216,37 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
     return CurrencyAmount.of(underlyingOption.getCounterCurrency(), signedNotional(underlyingOption) * price);
   }
 
+  /**
+   * Calculates the present value of a list of FX barrier option products.
+   * <p>
+   * The present value of each product is the value on the valuation date.
+   * It is expressed in the counter currency.
+   * <p>
+   * The trinomial tree is calibrated to Black volatilities once for each combination of currency pair and expiry,
+   * then shared by all of the options with that combination.
+   * 
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the present values of the products, in the same order as the options
+   */
+  public List<CurrencyAmount> presentValue(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    Map<Pair<CurrencyPair, ZonedDateTime>, RecombiningTrinomialTreeData> treeDataMap = new HashMap<>();
+    return options.stream()
+        .map(option -> presentValue(
+            option,
+            ratesProvider,
+            volatilities,
+            treeDataMap.computeIfAbsent(
+                treeKey(option),
+                k -> calibrator.calibrateTrinomialTree(option.getUnderlyingOption(), ratesProvider, volatilities))))
+        .collect(toImmutableList());
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the present value sensitivity of the FX barrier option product.
@@ -318,6 +369,76 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
     return result;
   }
 
+  /**
+   * Calculates the present value sensitivity of a list of FX barrier option products.
+   * <p>
+   * The present value sensitivity of each product is the sensitivity of {@link #presentValue} to
+   * the underlying curve parameters.
+   * <p>
+   * The sensitivity is computed by bump and re-price.
+   * For each bump, the trinomial tree is calibrated once for each combination of currency pair and expiry,
+   * then shared by all of the options with that combination.
+   * 
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the present value sensitivities of the products, in the same order as the options
+   */
+  public List<CurrencyParameterSensitivities> presentValueSensitivityRates(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    Map<Pair<CurrencyPair, ZonedDateTime>, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < options.size(); ++i) {
+      groups.computeIfAbsent(treeKey(options.get(i)), k -> new ArrayList<>()).add(i);
+    }
+    double shift = 1.0e-5;
+    ImmutableRatesProvider immRatesProvider = ratesProvider.toImmutableRatesProvider();
+    ImmutableMap<Currency, Curve> baseCurves = immRatesProvider.getDiscountCurves();
+    CurrencyParameterSensitivities[] result = new CurrencyParameterSensitivities[options.size()];
+    for (List<Integer> group : groups.values()) {
+      ResolvedFxVanillaOption firstOption = options.get(group.get(0)).getUnderlyingOption();
+      CurrencyPair currencyPair = firstOption.getUnderlying().getCurrencyPair();
+      RecombiningTrinomialTreeData baseTreeData =
+          calibrator.calibrateTrinomialTree(firstOption, ratesProvider, volatilities);
+      int nOptions = group.size();
+      double[] pvBase = new double[nOptions];
+      for (int k = 0; k < nOptions; ++k) {
+        int index = group.get(k);
+        pvBase[k] = presentValue(options.get(index), ratesProvider, volatilities, baseTreeData).getAmount();
+        result[index] = CurrencyParameterSensitivities.empty();
+      }
+      for (Entry<Currency, Curve> entry : baseCurves.entrySet()) {
+        if (currencyPair.contains(entry.getKey())) {
+          Curve curve = entry.getValue();
+          int nParams = curve.getParameterCount();
+          double[][] sensitivity = new double[nOptions][nParams];
+          for (int i = 0; i < nParams; ++i) {
+            Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
+            Map<Currency, Curve> mapBumped = new HashMap<>(baseCurves);
+            mapBumped.put(entry.getKey(), dscBumped);
+            ImmutableRatesProvider providerDscBumped = immRatesProvider.toBuilder().discountCurves(mapBumped).build();
+            RecombiningTrinomialTreeData bumpedTreeData =
+                calibrator.calibrateTrinomialTree(firstOption, providerDscBumped, volatilities);
+            for (int k = 0; k < nOptions; ++k) {
+              double pvBumped = presentValue(
+                  options.get(group.get(k)), providerDscBumped, volatilities, bumpedTreeData).getAmount();
+              sensitivity[k][i] = (pvBumped - pvBase[k]) / shift;
+            }
+          }
+          for (int k = 0; k < nOptions; ++k) {
+            int index = group.get(k);
+            Currency ccy = options.get(index).getUnderlyingOption().getCounterCurrency();
+            result[index] = result[index].combinedWith(
+                curve.createParameterSensitivity(ccy, DoubleArray.ofUnsafe(sensitivity[k])));
+          }
+        }
+      }
+    }
+    return ImmutableList.copyOf(result);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the currency exposure of the FX barrier option product.
@@ -460,6 +581,12 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
         "Volatility and rate data must be for the same date");
   }
 
+  // the options sharing this key can be priced using the same calibrated tree
+  private Pair<CurrencyPair, ZonedDateTime> treeKey(ResolvedFxSingleBarrierOption option) {
+    ResolvedFxVanillaOption underlyingOption = option.getUnderlyingOption();
+    return Pair.of(underlyingOption.getUnderlying().getCurrencyPair(), underlyingOption.getExpiry());
+  }
+
   // signed notional amount to computed present value and value Greeks
   private double signedNotional(ResolvedFxVanillaOption option) {
     return (option.getLongShort().isLong() ? 1d : -1d) *
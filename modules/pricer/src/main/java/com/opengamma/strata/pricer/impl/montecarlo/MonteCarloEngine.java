@@ -0,0 +1,254 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import java.util.stream.IntStream;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.random.RandomNumberGenerator;
+import com.opengamma.strata.math.impl.random.SobolNormalRandomNumberGenerator;
+import com.opengamma.strata.math.impl.random.SplittableNormalRandomNumberGenerator;
+
+/**
+ * Monte Carlo simulation engine.
+ * <p>
+ * The paths are split into blocks of a fixed size. The standard normal numbers of a block are generated
+ * into a single primitive array, and the block is evaluated by a {@link MonteCarloPathFunction}.
+ * By default the blocks are simulated sequentially in the calling thread.
+ * Parallel simulation can be requested using {@link #withParallel(boolean)}, in which case the blocks
+ * are simulated using the common fork-join pool. Since the calculation engine already runs calculations
+ * in parallel, this is only recommended when the engine is used outside a calculation runner.
+ * <p>
+ * The numbers are either pseudo-random or quasi-random.
+ * Pseudo-random numbers are produced by a {@link SplittableNormalRandomNumberGenerator},
+ * each block using its own stream split from a root generator in block order.
+ * Quasi-random numbers are produced by a {@link SobolNormalRandomNumberGenerator},
+ * each block using a disjoint part of the sequence.
+ * In both cases, the random numbers of each block and the order in which the block results are summed
+ * do not depend on the thread scheduling. As such the result is reproducible, and the same
+ * whether the simulation is parallel or not.
+ * <p>
+ * If antithetic variables are used, the second half of each block uses the negated numbers of the first half.
+ */
+public final class MonteCarloEngine {
+
+  /**
+   * The default block size.
+   */
+  private static final int DEFAULT_BLOCK_SIZE = 4096;
+
+  /**
+   * The number of paths.
+   */
+  private final int nPaths;
+  /**
+   * The number of paths per block.
+   */
+  private final int blockSize;
+  /**
+   * The seed of the pseudo-random numbers, ignored for quasi-random numbers.
+   */
+  private final long seed;
+  /**
+   * Whether the numbers are quasi-random.
+   */
+  private final boolean quasiRandom;
+  /**
+   * Whether antithetic variables are used.
+   */
+  private final boolean antithetic;
+  /**
+   * Whether the blocks are simulated in parallel.
+   */
+  private final boolean parallel;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an engine using pseudo-random numbers.
+   * <p>
+   * The engine does not use antithetic variables, and simulates the blocks sequentially.
+   *
+   * @param nPaths  the number of paths
+   * @param seed  the seed
+   * @return the engine
+   */
+  public static MonteCarloEngine ofPseudoRandom(int nPaths, long seed) {
+    return new MonteCarloEngine(nPaths, DEFAULT_BLOCK_SIZE, seed, false, false, false);
+  }
+
+  /**
+   * Obtains an engine using quasi-random numbers from a Sobol sequence.
+   * <p>
+   * The engine does not use antithetic variables, and simulates the blocks sequentially.
+   *
+   * @param nPaths  the number of paths
+   * @return the engine
+   */
+  public static MonteCarloEngine ofSobol(int nPaths) {
+    return new MonteCarloEngine(nPaths, DEFAULT_BLOCK_SIZE, 0L, true, false, false);
+  }
+
+  private MonteCarloEngine(
+      int nPaths,
+      int blockSize,
+      long seed,
+      boolean quasiRandom,
+      boolean antithetic,
+      boolean parallel) {
+
+    this.nPaths = ArgChecker.notNegativeOrZero(nPaths, "nPaths");
+    this.blockSize = ArgChecker.notNegativeOrZero(blockSize, "blockSize");
+    this.seed = seed;
+    this.quasiRandom = quasiRandom;
+    this.antithetic = antithetic;
+    this.parallel = parallel;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a copy of this engine with the specified use of antithetic variables.
+   *
+   * @param antithetic  whether antithetic variables are used
+   * @return the engine
+   */
+  public MonteCarloEngine withAntithetic(boolean antithetic) {
+    return new MonteCarloEngine(nPaths, blockSize, seed, quasiRandom, antithetic, parallel);
+  }
+
+  /**
+   * Returns a copy of this engine with the specified block size.
+   *
+   * @param blockSize  the number of paths per block
+   * @return the engine
+   */
+  public MonteCarloEngine withBlockSize(int blockSize) {
+    return new MonteCarloEngine(nPaths, blockSize, seed, quasiRandom, antithetic, parallel);
+  }
+
+  /**
+   * Returns a copy of this engine with the specified parallelism.
+   * <p>
+   * If parallel, the blocks are simulated using the common fork-join pool.
+   * The result is the same whether the simulation is parallel or not.
+   *
+   * @param parallel  whether the blocks are simulated in parallel
+   * @return the engine
+   */
+  public MonteCarloEngine withParallel(boolean parallel) {
+    return new MonteCarloEngine(nPaths, blockSize, seed, quasiRandom, antithetic, parallel);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of paths.
+   *
+   * @return the number of paths
+   */
+  public int getNumberOfPaths() {
+    return nPaths;
+  }
+
+  /**
+   * Gets the number of paths per block.
+   *
+   * @return the block size
+   */
+  public int getBlockSize() {
+    return blockSize;
+  }
+
+  /**
+   * Checks if the numbers are quasi-random.
+   *
+   * @return true if a Sobol sequence is used
+   */
+  public boolean isQuasiRandom() {
+    return quasiRandom;
+  }
+
+  /**
+   * Checks if antithetic variables are used.
+   *
+   * @return true if antithetic variables are used
+   */
+  public boolean isAntithetic() {
+    return antithetic;
+  }
+
+  /**
+   * Checks if the blocks are simulated in parallel.
+   *
+   * @return true if parallel
+   */
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Simulates the paths and returns the average of the values computed by the function.
+   *
+   * @param function  the path function
+   * @return the average values, of size {@link MonteCarloPathFunction#getResultSize()}
+   */
+  public DoubleArray simulate(MonteCarloPathFunction function) {
+    ArgChecker.notNull(function, "function");
+    int nBlocks = (nPaths + blockSize - 1) / blockSize;
+    // the pseudo-random streams are split in block order, before any parallel processing
+    SplittableNormalRandomNumberGenerator[] streams = new SplittableNormalRandomNumberGenerator[nBlocks];
+    if (!quasiRandom) {
+      SplittableNormalRandomNumberGenerator root = new SplittableNormalRandomNumberGenerator(seed);
+      for (int i = 0; i < nBlocks; i++) {
+        streams[i] = root.split();
+      }
+    }
+    double[][] blockResults = new double[nBlocks][];
+    IntStream blocks = IntStream.range(0, nBlocks);
+    if (parallel) {
+      blocks = blocks.parallel();
+    }
+    blocks.forEach(i -> blockResults[i] = simulateBlock(function, i, streams[i]));
+    // sum in block order
+    double[] result = new double[function.getResultSize()];
+    for (int i = 0; i < nBlocks; i++) {
+      for (int j = 0; j < result.length; j++) {
+        result[j] += blockResults[i][j];
+      }
+    }
+    for (int j = 0; j < result.length; j++) {
+      result[j] /= nPaths;
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  // simulates one block, returning the sum of the values of its paths
+  private double[] simulateBlock(
+      MonteCarloPathFunction function,
+      int blockIndex,
+      SplittableNormalRandomNumberGenerator stream) {
+
+    int dimension = function.getDimension();
+    int nBlockPaths = Math.min(blockSize, nPaths - blockIndex * blockSize);
+    int nDraws = antithetic ? (nBlockPaths + 1) / 2 : nBlockPaths;
+    RandomNumberGenerator generator = stream;
+    if (quasiRandom) {
+      int nDrawsPerBlock = antithetic ? (blockSize + 1) / 2 : blockSize;
+      SobolNormalRandomNumberGenerator sobol = new SobolNormalRandomNumberGenerator(dimension);
+      sobol.skipTo(blockIndex * nDrawsPerBlock);
+      generator = sobol;
+    }
+    double[] normals = new double[nBlockPaths * dimension];
+    generator.fill(normals, 0, nDraws * dimension);
+    for (int i = nDraws * dimension; i < normals.length; i++) {
+      normals[i] = -normals[i - nDraws * dimension];
+    }
+    double[] result = new double[function.getResultSize()];
+    function.evaluate(normals, nBlockPaths, result);
+    return result;
+  }
+
+}
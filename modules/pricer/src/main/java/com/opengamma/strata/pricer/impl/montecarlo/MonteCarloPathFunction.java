@@ -0,0 +1,46 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+/**
+ * Function evaluating the values of a block of Monte Carlo paths.
+ * <p>
+ * Each path is described by a fixed number of independent standard normal numbers, the dimension.
+ * The function transforms these into the path of the model and computes a fixed number of values for each path,
+ * typically a discounted payoff followed by its pathwise derivatives.
+ * <p>
+ * Implementations must be immutable and thread-safe, as blocks may be evaluated in parallel.
+ */
+public interface MonteCarloPathFunction {
+
+  /**
+   * Gets the number of standard normal numbers required per path.
+   * 
+   * @return the dimension
+   */
+  public abstract int getDimension();
+
+  /**
+   * Gets the number of values computed per path.
+   * 
+   * @return the number of values
+   */
+  public abstract int getResultSize();
+
+  /**
+   * Evaluates a block of paths.
+   * <p>
+   * The normal numbers are stored path by path, the numbers of path {@code i} being
+   * at indices {@code i * dimension} to {@code (i + 1) * dimension - 1}.
+   * The values of each path are added to the result array, which has a size of {@link #getResultSize()}.
+   * 
+   * @param normals  the standard normal numbers of the block
+   * @param nPaths  the number of paths in the block
+   * @param result  the array to which the sum of the values of the paths is added
+   */
+  public abstract void evaluate(double[] normals, int nPaths, double[] result);
+
+}
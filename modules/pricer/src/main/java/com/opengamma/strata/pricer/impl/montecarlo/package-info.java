@@ -0,0 +1,12 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ * 
+ * Please see distribution for license.
+ */
+
+/**
+ * Internal implementations of Monte Carlo simulation.
+ * <p>
+ * Code in this package and subpackages may change in a non-backwards compatible way.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
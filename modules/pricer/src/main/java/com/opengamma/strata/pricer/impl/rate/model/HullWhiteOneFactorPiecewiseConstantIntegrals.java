@@ -0,0 +1,272 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate.model;
+
+import java.util.Arrays;
+
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Precomputed integrals of the Hull-White one factor model with piecewise constant volatility.
+ * <p>
+ * The quantities in {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel} are expressed in terms of
+ * the integrals of {@code sigma(s)^2 exp(a s)} and {@code sigma(s)^2 exp(2 a s)} over an expiry period.
+ * This class computes the cumulative integrals from time zero up to each volatility time once,
+ * so that the integral over any period only requires the partial contribution of the last volatility period.
+ * <p>
+ * This is intended to be created once per set of model parameters and used to price many instruments,
+ * see {@code HullWhiteSwaptionPhysicalProductPricer} and {@code HullWhiteIborFutureProductPricer}.
+ * The results agree with the model up to rounding.
+ */
+public final class HullWhiteOneFactorPiecewiseConstantIntegrals {
+
+  /**
+   * The model used to fall back on when the Newton iteration for the exercise boundary fails.
+   */
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+  /**
+   * The maximum number of Newton iterations for the exercise boundary.
+   */
+  private static final int KAPPA_MAX_ITERATIONS = 50;
+  /**
+   * The absolute accuracy of the exercise boundary.
+   */
+  private static final double KAPPA_ACCURACY = 1.0e-12;
+
+  /**
+   * The mean reversion.
+   */
+  private final double meanReversion;
+  /**
+   * The piecewise constant volatilities.
+   */
+  private final double[] volatility;
+  /**
+   * The times separating the constant volatility periods.
+   */
+  private final double[] volatilityTime;
+  /**
+   * The integral of {@code sigma(s)^2 exp(a s)} from zero to the i-th volatility time.
+   */
+  private final double[] cumulative;
+  /**
+   * The integral of {@code sigma(s)^2 exp(2 a s)} from zero to the i-th volatility time.
+   */
+  private final double[] cumulative2;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the model parameters.
+   *
+   * @param parameters  the Hull-White model parameters
+   * @return the instance
+   */
+  public static HullWhiteOneFactorPiecewiseConstantIntegrals of(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters) {
+
+    ArgChecker.notNull(parameters, "parameters");
+    return new HullWhiteOneFactorPiecewiseConstantIntegrals(parameters);
+  }
+
+  private HullWhiteOneFactorPiecewiseConstantIntegrals(HullWhiteOneFactorPiecewiseConstantParameters parameters) {
+    this.meanReversion = parameters.getMeanReversion();
+    this.volatility = parameters.getVolatility().toArray();
+    this.volatilityTime = parameters.getVolatilityTime().toArray();
+    int nPeriods = volatility.length;
+    this.cumulative = new double[nPeriods];
+    this.cumulative2 = new double[nPeriods];
+    // the last volatility time represents infinity and is never reached
+    for (int i = 1; i < nPeriods; ++i) {
+      double volatility2 = volatility[i - 1] * volatility[i - 1];
+      cumulative[i] = cumulative[i - 1] + volatility2 *
+          (Math.exp(meanReversion * volatilityTime[i]) - Math.exp(meanReversion * volatilityTime[i - 1]));
+      cumulative2[i] = cumulative2[i - 1] + volatility2 *
+          (Math.exp(2 * meanReversion * volatilityTime[i]) - Math.exp(2 * meanReversion * volatilityTime[i - 1]));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of volatility parameters.
+   *
+   * @return the number of parameters
+   */
+  public int getParameterCount() {
+    return volatility.length;
+  }
+
+  /**
+   * Calculates the (zero-coupon) bond volatility divided by a bond numeraire, i.e., alpha, for a given period.
+   * <p>
+   * See {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel#alpha}.
+   *
+   * @param startExpiry the start time of the expiry period
+   * @param endExpiry  the end time of the expiry period
+   * @param numeraireTime  the time to maturity for the bond numeraire
+   * @param bondMaturity the time to maturity for the bond
+   * @return the re-based bond volatility
+   */
+  public double alpha(double startExpiry, double endExpiry, double numeraireTime, double bondMaturity) {
+    double factor1 = Math.exp(-meanReversion * numeraireTime) - Math.exp(-meanReversion * bondMaturity);
+    double numerator = 2 * meanReversion * meanReversion * meanReversion;
+    double factor2 = integral2(endExpiry) - integral2(startExpiry);
+    return factor1 * Math.sqrt(factor2 / numerator);
+  }
+
+  /**
+   * Calculates the (zero-coupon) bond volatility divided by a bond numeraire, i.e., alpha, for a given period and
+   * its derivatives.
+   * <p>
+   * See {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel#alphaAdjoint}.
+   *
+   * @param startExpiry  the start time of the expiry period
+   * @param endExpiry  the end time of the expiry period
+   * @param numeraireTime  the time to maturity for the bond numeraire
+   * @param bondMaturity  the time to maturity for the bond
+   * @return the re-based bond volatility and its derivatives with respect to the volatilities
+   */
+  public ValueDerivatives alphaAdjoint(
+      double startExpiry,
+      double endExpiry,
+      double numeraireTime,
+      double bondMaturity) {
+
+    // Forward sweep
+    double factor1 = Math.exp(-meanReversion * numeraireTime) - Math.exp(-meanReversion * bondMaturity);
+    double numerator = 2 * meanReversion * meanReversion * meanReversion;
+    double factor2 = integral2(endExpiry) - integral2(startExpiry);
+    double sqrtFactor2Num = Math.sqrt(factor2 / numerator);
+    double alpha = factor1 * sqrtFactor2Num;
+    // Backward sweep
+    double alphaBar = 1.0;
+    double factor2Bar = factor1 / sqrtFactor2Num / 2.0 / numerator * alphaBar;
+    double[] derivatives = new double[volatility.length];
+    addIntegralDerivatives(startExpiry, endExpiry, 2 * meanReversion, factor2Bar, derivatives);
+    return ValueDerivatives.of(alpha, DoubleArray.ofUnsafe(derivatives));
+  }
+
+  /**
+   * Calculates the future convexity factor used in future pricing.
+   * <p>
+   * See {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel#futuresConvexityFactor}.
+   *
+   * @param t0  the first expiry time
+   * @param t1  the first reference time
+   * @param t2  the second reference time
+   * @return the factor
+   */
+  public double futuresConvexityFactor(double t0, double t1, double t2) {
+    double factor1 = Math.exp(-meanReversion * t1) - Math.exp(-meanReversion * t2);
+    double numerator = 2 * meanReversion * meanReversion * meanReversion;
+    double factor2 = 2d * integral(t0) - Math.exp(-meanReversion * t2) * integral2(t0);
+    return Math.exp(factor1 / numerator * factor2);
+  }
+
+  /**
+   * Calculates the future convexity factor and its derivatives with respect to the model volatilities.
+   * <p>
+   * See {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel#futuresConvexityFactorAdjoint}.
+   *
+   * @param t0  the expiry time
+   * @param t1  the first reference time
+   * @param t2  the second reference time
+   * @return the factor and derivatives
+   */
+  public ValueDerivatives futuresConvexityFactorAdjoint(double t0, double t1, double t2) {
+    // Forward sweep
+    double factor1 = Math.exp(-meanReversion * t1) - Math.exp(-meanReversion * t2);
+    double numerator = 2 * meanReversion * meanReversion * meanReversion;
+    double expT2 = Math.exp(-meanReversion * t2);
+    double factor2 = 2d * integral(t0) - expT2 * integral2(t0);
+    double factor = Math.exp(factor1 / numerator * factor2);
+    // Backward sweep
+    double factorBar = 1.0;
+    double factor2Bar = factor1 / numerator * factor * factorBar;
+    double[] derivatives = new double[volatility.length];
+    addIntegralDerivatives(0d, t0, meanReversion, 2d * factor2Bar, derivatives);
+    addIntegralDerivatives(0d, t0, 2 * meanReversion, -expT2 * factor2Bar, derivatives);
+    return ValueDerivatives.of(factor, DoubleArray.ofUnsafe(derivatives));
+  }
+
+  /**
+   * Calculates the exercise boundary for swaptions.
+   * <p>
+   * The exercise boundary is the root of the swap value as a function of the standard normal random variable,
+   * see {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel#kappa}.
+   * The root is found by Newton iteration using the analytic derivative of the swap value.
+   * If the iteration does not converge, the bracketing root finder of the model is used instead.
+   *
+   * @param discountedCashFlow  the cash flow equivalent discounted to today
+   * @param alpha  the zero-coupon bond volatilities
+   * @return the exercise boundary
+   */
+  public double kappa(double[] discountedCashFlow, double[] alpha) {
+    int nCashFlows = alpha.length;
+    double[] weight = new double[nCashFlows];
+    double[] slope = new double[nCashFlows];
+    for (int loopcf = 0; loopcf < nCashFlows; loopcf++) {
+      weight[loopcf] = discountedCashFlow[loopcf] * Math.exp(-0.5 * alpha[loopcf] * alpha[loopcf]);
+      slope[loopcf] = alpha[loopcf] - alpha[0];
+    }
+    double x = 0d;
+    for (int i = 0; i < KAPPA_MAX_ITERATIONS; ++i) {
+      double value = 0d;
+      double derivative = 0d;
+      for (int loopcf = 0; loopcf < nCashFlows; loopcf++) {
+        double term = weight[loopcf] * Math.exp(-slope[loopcf] * x);
+        value += term;
+        derivative -= slope[loopcf] * term;
+      }
+      double step = value / derivative;
+      if (!Double.isFinite(step)) {
+        break;
+      }
+      x -= step;
+      if (Math.abs(step) < KAPPA_ACCURACY) {
+        return x;
+      }
+    }
+    return MODEL.kappa(DoubleArray.copyOf(discountedCashFlow), DoubleArray.copyOf(alpha));
+  }
+
+  //-------------------------------------------------------------------------
+  // the volatility period containing the time, volatilityTime[i] <= time < volatilityTime[i+1]
+  private int period(double time) {
+    int index = Arrays.binarySearch(volatilityTime, time);
+    int period = index >= 0 ? index : -index - 2;
+    return Math.max(0, Math.min(period, volatility.length - 1));
+  }
+
+  // integral of sigma(s)^2 exp(a s) from zero to time
+  private double integral(double time) {
+    int period = period(time);
+    return cumulative[period] + volatility[period] * volatility[period] *
+        (Math.exp(meanReversion * time) - Math.exp(meanReversion * volatilityTime[period]));
+  }
+
+  // integral of sigma(s)^2 exp(2 a s) from zero to time
+  private double integral2(double time) {
+    int period = period(time);
+    return cumulative2[period] + volatility[period] * volatility[period] *
+        (Math.exp(2 * meanReversion * time) - Math.exp(2 * meanReversion * volatilityTime[period]));
+  }
+
+  // adds the derivatives of the integral of sigma(s)^2 exp(rate s) from start to end, multiplied by scale
+  private void addIntegralDerivatives(double start, double end, double rate, double scale, double[] derivatives) {
+    int periodStart = period(start);
+    int periodEnd = period(end);
+    for (int i = periodStart; i <= periodEnd; ++i) {
+      double lower = i == periodStart ? start : volatilityTime[i];
+      double upper = i == periodEnd ? end : volatilityTime[i + 1];
+      derivatives[i] += scale * 2 * volatility[i] * (Math.exp(rate * upper) - Math.exp(rate * lower));
+    }
+  }
+
+}
@@ -413,11 +413,11 @@ public class DiscountingRatePaymentPeriodPricer
           child.put(ExplainKey.INDEX_VALUE, fxRate);
         });
       });
-      for (RateAccrualPeriod accrualPeriod : paymentPeriod.getAccrualPeriods()) {
-        builder.addListEntry(
-            ExplainKey.ACCRUAL_PERIODS,
-            child -> explainPresentValue(accrualPeriod, paymentPeriod.getDayCount(), currency, notional, provider, child));
-      }
+      builder.addLazyListEntries(
+          ExplainKey.ACCRUAL_PERIODS,
+          paymentPeriod.getAccrualPeriods(),
+          (accrualPeriod, child) ->
+              explainPresentValue(accrualPeriod, paymentPeriod.getDayCount(), currency, notional, provider, child));
       builder.put(ExplainKey.COMPOUNDING, paymentPeriod.getCompoundingMethod());
       builder.put(ExplainKey.DISCOUNT_FACTOR, provider.discountFactor(currency, paymentDate));
       builder.put(ExplainKey.FORECAST_VALUE, CurrencyAmount.of(currency, forecastValue(paymentPeriod, provider)));
@@ -25,6 +25,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.product.common.PutCall;
 
 /**
@@ -85,6 +86,22 @@ public final class EuropeanVanillaOptionFunction
     return DoubleArray.ofUnsafe(values);
   }
 
+  @Override
+  public void updateOptionValues(
+      double discountFactor,
+      DoubleMatrix transitionProbability,
+      DoubleArray stateValue,
+      double[] values,
+      int i) {
+
+    // ascending order, the j-th node only reads nodes j, j+1 and j+2 of the next layer
+    int nNodes = 2 * i + 1;
+    for (int j = 0; j < nNodes; ++j) {
+      values[j] = discountFactor * (transitionProbability.get(j, 2) * values[j + 2] +
+          transitionProbability.get(j, 1) * values[j + 1] + transitionProbability.get(j, 0) * values[j]);
+    }
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   ///CLOVER:OFF
   /**
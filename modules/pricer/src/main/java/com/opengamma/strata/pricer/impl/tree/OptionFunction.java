@@ -131,4 +131,34 @@ public interface OptionFunction {
             transitionProbability.get(j, 1) * value.get(j + 1) + transitionProbability.get(j, 0) * value.get(j)));
   }
 
+  /**
+   * Computes the option values in the intermediate nodes, overwriting the option values of the next layer.
+   * <p>
+   * On input, the first {@code (2*i+3)} elements of {@code values} hold the option values in the (i+1)-th layer.
+   * On output, the first {@code (2*i+1)} elements hold the option values in the i-th layer.
+   * The remaining elements of the array are undefined.
+   * <p>
+   * This allows the backward induction to be performed on a single buffer without allocating per time step.
+   * The default implementation delegates to
+   * {@link #getNextOptionValues(double, DoubleMatrix, DoubleArray, DoubleArray, int)} and copies the result,
+   * thus implementations should override this method if they override the other.
+   * 
+   * @param discountFactor  the discount factor between the two layers
+   * @param transitionProbability  the transition probability
+   * @param stateValue  the state value
+   * @param values  the option values, updated in place
+   * @param i  the step number for which the next option values are computed
+   */
+  public default void updateOptionValues(
+      double discountFactor,
+      DoubleMatrix transitionProbability,
+      DoubleArray stateValue,
+      double[] values,
+      int i) {
+
+    DoubleArray next = getNextOptionValues(
+        discountFactor, transitionProbability, stateValue, DoubleArray.copyOf(values, 0, 2 * i + 3), i);
+    System.arraycopy(next.toArrayUnsafe(), 0, values, 0, next.size());
+  }
+
 }
@@ -128,6 +128,45 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
     return DoubleArray.ofUnsafe(res);
   }
 
+  @Override
+  public void updateOptionValues(
+      double discountFactor,
+      DoubleMatrix transitionProbability,
+      DoubleArray stateValue,
+      double[] values,
+      int i) {
+
+    // ascending order, the j-th node only reads nodes j, j+1 and j+2 of the next layer
+    int nNodes = 2 * i + 1;
+    double barrierLevel = getBarrierLevel(i);
+    double rebate = getRebate(i);
+    boolean isDown = getBarrierType().isDown();
+    for (int j = 0; j < nNodes; ++j) {
+      if ((isDown && stateValue.get(j) <= barrierLevel) ||
+          (!isDown && stateValue.get(j) >= barrierLevel)) {
+        values[j] = rebate;
+      } else {
+        double upProb = transitionProbability.get(j, 2);
+        double middleProb = transitionProbability.get(j, 1);
+        double downProb = transitionProbability.get(j, 0);
+        values[j] = discountFactor *
+            (upProb * values[j + 2] + middleProb * values[j + 1] + downProb * values[j]);
+      }
+    }
+    // modification if barrier lies between two consecutive nodes 
+    int index = getLowerBoundIndex(stateValue, barrierLevel);
+    if (index > -1 && index < nNodes - 1) {
+      double bd = barrierLevel - stateValue.get(index);
+      double ub = stateValue.get(index + 1) - barrierLevel;
+      double ud = stateValue.get(index + 1) - stateValue.get(index);
+      if (isDown) {
+        values[index + 1] = 0.5 * values[index + 1] + 0.5 * (bd * rebate + ub * values[index + 1]) / ud;
+      } else {
+        values[index] = 0.5 * values[index] + 0.5 * (ub * rebate + bd * values[index]) / ud;
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   private int getLowerBoundIndex(DoubleArray set, double value) {
     int n = set.size();
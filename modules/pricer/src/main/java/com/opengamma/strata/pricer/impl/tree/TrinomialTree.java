@@ -8,6 +8,7 @@ package com.opengamma.strata.pricer.impl.tree;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
 
 /**
@@ -17,6 +18,8 @@ import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
  * and the option to price is specified by {@code OptionFunction}. 
  * <p>
  * Option pricing with non-uniform tree is realised by specifying {@code RecombiningTrinomialTreeData}.
+ * In this case the backward induction is performed in place on a single array,
+ * see {@link OptionFunction#updateOptionValues(double, DoubleMatrix, DoubleArray, double[], int)}.
  */
 public class TrinomialTree {
 
@@ -78,12 +81,12 @@ public class TrinomialTree {
 
     int nSteps = data.getNumberOfSteps();
     ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
+    double[] values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps)).toArray();
     for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
+      function.updateOptionValues(
           data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
     }
-    return values.get(0);
+    return values[0];
   }
 
   /**
@@ -102,19 +105,19 @@ public class TrinomialTree {
 
     int nSteps = data.getNumberOfSteps();
     ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
+    double[] values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps)).toArray();
     double delta = 0d;
     for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
+      function.updateOptionValues(
           data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
       if (i == 1) {
         DoubleArray stateValue = data.getStateValueAtLayer(1);
-        double d1 = (values.get(2) - values.get(1)) / (stateValue.get(2) - stateValue.get(1));
-        double d2 = (values.get(1) - values.get(0)) / (stateValue.get(1) - stateValue.get(0));
+        double d1 = (values[2] - values[1]) / (stateValue.get(2) - stateValue.get(1));
+        double d2 = (values[1] - values[0]) / (stateValue.get(1) - stateValue.get(0));
         delta = 0.5 * (d1 + d2);
       }
     }
-    return ValueDerivatives.of(values.get(0), DoubleArray.of(delta));
+    return ValueDerivatives.of(values[0], DoubleArray.of(delta));
   }
 
 }
@@ -6,10 +6,14 @@
 package com.opengamma.strata.pricer.index;
 
 import java.time.LocalDate;
+import java.util.List;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantIntegrals;
 import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
 import com.opengamma.strata.pricer.rate.IborRateSensitivity;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -190,4 +194,43 @@ public class HullWhiteIborFutureProductPricer {
     convexityDeriv = convexityDeriv.multipliedBy(-forward - 1d / fixingYearFraction);
     return convexityDeriv;
   }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the price and its sensitivity to the Hull-White model parameters for a list of Ibor futures.
+   * <p>
+   * The value of each result is the price of the future, in decimal form, as in {@link #price}.
+   * The derivatives are the price sensitivity to the piecewise constant volatility parameters,
+   * as in {@link #priceSensitivityModelParamsHullWhite}.
+   * <p>
+   * The integrals of the piecewise constant volatility are computed once and shared by all of the futures,
+   * and the price and the sensitivity of each future are computed in a single pass.
+   * 
+   * @param futures  the futures
+   * @param ratesProvider  the rates provider
+   * @param hwProvider  the Hull-White model parameter provider
+   * @return the price and Hull-White model parameter sensitivity of each future, in the same order
+   */
+  public List<ValueDerivatives> priceAndSensitivityModelParamsHullWhite(
+      List<ResolvedIborFuture> futures,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    HullWhiteOneFactorPiecewiseConstantIntegrals integrals =
+        HullWhiteOneFactorPiecewiseConstantIntegrals.of(hwProvider.getParameters());
+    ImmutableList.Builder<ValueDerivatives> builder = ImmutableList.builder();
+    for (ResolvedIborFuture future : futures) {
+      IborIndexObservation obs = future.getIborRate().getObservation();
+      double forward = ratesProvider.iborIndexRates(future.getIndex()).rate(obs);
+      double fixingYearFraction = obs.getYearFraction();
+      ValueDerivatives convexity = integrals.futuresConvexityFactorAdjoint(
+          hwProvider.relativeTime(future.getLastTradeDate()),
+          hwProvider.relativeTime(obs.getEffectiveDate()),
+          hwProvider.relativeTime(obs.getMaturityDate()));
+      double parRate = convexity.getValue() * forward - (1d - convexity.getValue()) / fixingYearFraction;
+      DoubleArray convexityDeriv = convexity.getDerivatives().multipliedBy(-forward - 1d / fixingYearFraction);
+      builder.add(ValueDerivatives.of(1d - parRate, convexityDeriv));
+    }
+    return builder.build();
+  }
 }
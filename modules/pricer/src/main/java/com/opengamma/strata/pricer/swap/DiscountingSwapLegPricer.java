@@ -605,20 +605,27 @@ public class DiscountingSwapLegPricer {
     builder.put(ExplainKey.ENTRY_TYPE, "Leg");
     builder.put(ExplainKey.PAY_RECEIVE, leg.getPayReceive());
     builder.put(ExplainKey.LEG_TYPE, leg.getType().toString());
-    for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
-      builder.addListEntry(
-          ExplainKey.PAYMENT_PERIODS, child -> paymentPeriodPricer.explainPresentValue(period, provider, child));
-    }
-    for (SwapPaymentEvent event : leg.getPaymentEvents()) {
-      builder.addListEntry(
-          ExplainKey.PAYMENT_EVENTS, child -> paymentEventPricer.explainPresentValue(event, provider, child));
-    }
+    // the payment periods and events are only explained when accessed
+    builder.addLazyListEntries(
+        ExplainKey.PAYMENT_PERIODS,
+        leg.getPaymentPeriods(),
+        (period, child) -> paymentPeriodPricer.explainPresentValue(period, provider, child));
+    builder.addLazyListEntries(
+        ExplainKey.PAYMENT_EVENTS,
+        leg.getPaymentEvents(),
+        (event, child) -> paymentEventPricer.explainPresentValue(event, provider, child));
     builder.put(ExplainKey.FORECAST_VALUE, forecastValue(leg, provider));
     builder.put(ExplainKey.PRESENT_VALUE, presentValue(leg, provider));
   }
   
   /**
    * Explain present value for a swap leg.
+   * <p>
+   * The lists of the explanation are populated when first accessed.
+   * The market data is validated when this method is called, by calculating the present value,
+   * such that missing market data causes this method to fail. Any other error is deferred until
+   * the affected list is accessed. The explanation retains the provider, and thus the market data,
+   * until every list has been populated.
    * 
    * @param leg  the swap log 
    * @param provider  the rates provider
@@ -445,6 +445,12 @@ public class DiscountingSwapProductPricer {
    * Explains the present value of the swap product.
    * <p>
    * This returns explanatory information about the calculation.
+   * <p>
+   * The lists of the explanation are populated when first accessed, see {@link ExplainMapBuilder}.
+   * The market data is validated when this method is called, by calculating the present value,
+   * such that missing market data causes this method to fail. Any other error is deferred until
+   * the affected list is accessed. The explanation retains the provider, and thus the market data,
+   * until every list has been populated.
    * 
    * @param swap  the product
    * @param provider  the rates provider
@@ -452,11 +458,13 @@ public class DiscountingSwapProductPricer {
    */
   public ExplainMap explainPresentValue(ResolvedSwap swap, RatesProvider provider) {
     ExplainMapBuilder builder = ExplainMap.builder();
+    // validate the market data eagerly, as the legs are only explained when accessed
+    presentValue(swap, provider);
     builder.put(ExplainKey.ENTRY_TYPE, "Swap");
-    for (ResolvedSwapLeg leg : swap.getLegs()) {
-      builder.addListEntryWithIndex(
-          ExplainKey.LEGS, child -> legPricer.explainPresentValueInternal(leg, provider, child));
-    }
+    builder.addLazyListEntriesWithIndex(
+        ExplainKey.LEGS,
+        swap.getLegs(),
+        (leg, child) -> legPricer.explainPresentValueInternal(leg, provider, child));
     return builder.build();
   }
 
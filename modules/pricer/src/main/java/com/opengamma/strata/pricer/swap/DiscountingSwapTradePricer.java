@@ -90,6 +90,12 @@ public class DiscountingSwapTradePricer {
    * Explains the present value of the swap trade.
    * <p>
    * This returns explanatory information about the calculation.
+   * <p>
+   * The lists of the explanation are populated when first accessed.
+   * The market data is validated when this method is called, by calculating the present value,
+   * such that missing market data causes this method to fail. Any other error is deferred until
+   * the affected list is accessed. The explanation retains the provider, and thus the market data,
+   * until every list has been populated.
    * 
    * @param trade  the trade
    * @param provider  the rates provider
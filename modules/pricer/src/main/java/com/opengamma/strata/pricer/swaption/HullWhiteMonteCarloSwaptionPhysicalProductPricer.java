@@ -0,0 +1,208 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.time.LocalDate;
+
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.DiscountingPaymentPricer;
+import com.opengamma.strata.pricer.impl.montecarlo.MonteCarloEngine;
+import com.opengamma.strata.pricer.impl.montecarlo.MonteCarloPathFunction;
+import com.opengamma.strata.pricer.impl.rate.swap.CashFlowEquivalentCalculator;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.common.SettlementType;
+import com.opengamma.strata.product.swap.NotionalExchange;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swaption.ResolvedSwaption;
+
+/**
+ * Pricer for swaption with physical settlement in Hull-White one factor model with piecewise constant volatility
+ * using Monte Carlo simulation.
+ * <p>
+ * The underlying swap is represented by its cash flow equivalent. Under the forward measure associated
+ * to the expiry date, the value of each cash flow at expiry is a lognormal function of a single
+ * standard normal variable, which is simulated by the {@link MonteCarloEngine}.
+ * <p>
+ * The sensitivity to the model parameters is computed by the pathwise method in the same simulation,
+ * through the derivatives of the bond volatilities with respect to the model parameters.
+ * <p>
+ * This is intended to validate and extend the analytical pricer, {@link HullWhiteSwaptionPhysicalProductPricer},
+ * which should be preferred for physical European swaptions.
+ */
+public class HullWhiteMonteCarloSwaptionPhysicalProductPricer {
+
+  /**
+   * The Monte Carlo engine.
+   */
+  private final MonteCarloEngine engine;
+  /**
+   * Pricer for {@link Payment}.
+   */
+  private final DiscountingPaymentPricer paymentPricer;
+
+  /**
+   * Creates an instance.
+   *
+   * @param engine  the Monte Carlo engine
+   */
+  public HullWhiteMonteCarloSwaptionPhysicalProductPricer(MonteCarloEngine engine) {
+    this(engine, DiscountingPaymentPricer.DEFAULT);
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param engine  the Monte Carlo engine
+   * @param paymentPricer  the pricer for {@link Payment}
+   */
+  public HullWhiteMonteCarloSwaptionPhysicalProductPricer(
+      MonteCarloEngine engine,
+      DiscountingPaymentPricer paymentPricer) {
+
+    this.engine = ArgChecker.notNull(engine, "engine");
+    this.paymentPricer = ArgChecker.notNull(paymentPricer, "paymentPricer");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the swaption product.
+   * <p>
+   * The result is expressed using the currency of the swaption.
+   *
+   * @param swaption  the product
+   * @param ratesProvider  the rates provider
+   * @param hwProvider  the Hull-White model parameter provider
+   * @return the present value
+   */
+  public CurrencyAmount presentValue(
+      ResolvedSwaption swaption,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    ValueDerivatives pv = presentValueAndSensitivityModelParamsHullWhite(swaption, ratesProvider, hwProvider);
+    return CurrencyAmount.of(swaption.getUnderlying().getLegs().get(0).getCurrency(), pv.getValue());
+  }
+
+  /**
+   * Calculates the present value and its sensitivity to the Hull-White model parameters.
+   * <p>
+   * The value is the present value of the swaption, expressed in the currency of the swaption.
+   * The derivatives are the present value sensitivity to the piecewise constant volatility parameters,
+   * computed by the pathwise method.
+   *
+   * @param swaption  the product
+   * @param ratesProvider  the rates provider
+   * @param hwProvider  the Hull-White model parameter provider
+   * @return the present value and Hull-White model parameter sensitivity
+   */
+  public ValueDerivatives presentValueAndSensitivityModelParamsHullWhite(
+      ResolvedSwaption swaption,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    validate(swaption, ratesProvider, hwProvider);
+    ResolvedSwap swap = swaption.getUnderlying();
+    LocalDate expiryDate = swaption.getExpiryDate();
+    if (expiryDate.isBefore(ratesProvider.getValuationDate())) { // Option has expired already
+      return ValueDerivatives.of(0d, DoubleArray.EMPTY);
+    }
+    ResolvedSwapLeg cashFlowEquiv = CashFlowEquivalentCalculator.cashFlowEquivalentSwap(swap, ratesProvider);
+    int nPayments = cashFlowEquiv.getPaymentEvents().size();
+    double[] alpha = new double[nPayments];
+    double[][] alphaAdjoint = new double[nPayments][];
+    double[] discountedCashFlow = new double[nPayments];
+    for (int loopcf = 0; loopcf < nPayments; loopcf++) {
+      NotionalExchange payment = (NotionalExchange) cashFlowEquiv.getPaymentEvents().get(loopcf);
+      ValueDerivatives valueDeriv = hwProvider.alphaAdjoint(
+          ratesProvider.getValuationDate(), expiryDate, expiryDate, payment.getPaymentDate());
+      alpha[loopcf] = valueDeriv.getValue();
+      alphaAdjoint[loopcf] = valueDeriv.getDerivatives().toArrayUnsafe();
+      discountedCashFlow[loopcf] = paymentPricer.presentValueAmount(payment.getPayment(), ratesProvider);
+    }
+    DoubleArray simulated = engine.simulate(new SwaptionPathFunction(discountedCashFlow, alpha));
+    double sign = (swaption.getLongShort().isLong() ? 1d : -1d);
+    int nParams = hwProvider.getParameters().getVolatility().size();
+    double[] pvSensi = new double[nParams];
+    for (int loopcf = 0; loopcf < nPayments; loopcf++) {
+      double alphaBar = simulated.get(loopcf + 1);
+      for (int i = 0; i < nParams; ++i) {
+        pvSensi[i] += sign * alphaBar * alphaAdjoint[loopcf][i];
+      }
+    }
+    return ValueDerivatives.of(sign * simulated.get(0), DoubleArray.ofUnsafe(pvSensi));
+  }
+
+  //-------------------------------------------------------------------------
+  // validate that the rates and volatilities providers are coherent
+  private void validate(ResolvedSwaption swaption, RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+    ArgChecker.isTrue(hwProvider.getValuationDateTime().toLocalDate().equals(ratesProvider.getValuationDate()),
+        "Hull-White model data and rate data should be for the same date");
+    ArgChecker.isFalse(swaption.getUnderlying().isCrossCurrency(), "underlying swap should be single currency");
+    ArgChecker.isTrue(swaption.getSwaptionSettlement().getSettlementType().equals(SettlementType.PHYSICAL),
+        "swaption should be physical settlement");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The path function of the swaption.
+   * <p>
+   * For a standard normal variable x, the value at expiry of the cash flow k, discounted to today,
+   * is {@code dcf[k] * exp(-alpha[k] * x - alpha[k]^2 / 2)}.
+   * The values computed are the exercised swap value, followed by its derivatives with respect to each alpha.
+   */
+  private static final class SwaptionPathFunction implements MonteCarloPathFunction {
+    private final double[] discountedCashFlow;
+    private final double[] alpha;
+    private final double[] alphaConvexity;
+
+    private SwaptionPathFunction(double[] discountedCashFlow, double[] alpha) {
+      this.discountedCashFlow = discountedCashFlow;
+      this.alpha = alpha;
+      this.alphaConvexity = new double[alpha.length];
+      for (int loopcf = 0; loopcf < alpha.length; loopcf++) {
+        alphaConvexity[loopcf] = -0.5 * alpha[loopcf] * alpha[loopcf];
+      }
+    }
+
+    @Override
+    public int getDimension() {
+      return 1;
+    }
+
+    @Override
+    public int getResultSize() {
+      return alpha.length + 1;
+    }
+
+    @Override
+    public void evaluate(double[] normals, int nPaths, double[] result) {
+      int nPayments = alpha.length;
+      double[] cashFlowValue = new double[nPayments];
+      for (int looppath = 0; looppath < nPaths; looppath++) {
+        double x = normals[looppath];
+        double swapValue = 0d;
+        for (int loopcf = 0; loopcf < nPayments; loopcf++) {
+          cashFlowValue[loopcf] = discountedCashFlow[loopcf] * Math.exp(alphaConvexity[loopcf] - alpha[loopcf] * x);
+          swapValue += cashFlowValue[loopcf];
+        }
+        if (swapValue > 0d) { // exercised
+          result[0] += swapValue;
+          for (int loopcf = 0; loopcf < nPayments; loopcf++) {
+            result[loopcf + 1] -= cashFlowValue[loopcf] * (x + alpha[loopcf]);
+          }
+        }
+      }
+    }
+  }
+
+}
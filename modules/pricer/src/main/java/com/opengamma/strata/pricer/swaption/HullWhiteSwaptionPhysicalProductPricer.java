@@ -5,7 +5,10 @@
  */
 package com.opengamma.strata.pricer.swaption;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
 import java.time.LocalDate;
+import java.util.List;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -20,6 +23,7 @@ import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
 import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
 import com.opengamma.strata.pricer.DiscountingPaymentPricer;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantIntegrals;
 import com.opengamma.strata.pricer.impl.rate.swap.CashFlowEquivalentCalculator;
 import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -224,6 +228,81 @@ public class HullWhiteSwaptionPhysicalProductPricer {
     return DoubleArray.ofUnsafe(pvSensi);
   }
 
+  /**
+   * Calculates the present value and its sensitivity to the Hull-White model parameters for a list of swaptions.
+   * <p>
+   * The value of each result is the present value of the swaption, expressed in the currency of the swaption.
+   * The derivatives are the present value sensitivity to the piecewise constant volatility parameters,
+   * as in {@link #presentValueSensitivityModelParamsHullWhite}.
+   * <p>
+   * The integrals of the piecewise constant volatility are computed once and shared by all of the swaptions,
+   * and the present value and the sensitivity of each swaption are computed in a single pass.
+   * 
+   * @param swaptions  the products
+   * @param ratesProvider  the rates provider
+   * @param hwProvider  the Hull-White model parameter provider
+   * @return the present value and Hull-White model parameter sensitivity of each swaption, in the same order
+   */
+  public List<ValueDerivatives> presentValueAndSensitivityModelParamsHullWhite(
+      List<ResolvedSwaption> swaptions,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    HullWhiteOneFactorPiecewiseConstantIntegrals integrals =
+        HullWhiteOneFactorPiecewiseConstantIntegrals.of(hwProvider.getParameters());
+    return swaptions.stream()
+        .map(swaption -> presentValueAndSensitivityModelParamsHullWhite(swaption, ratesProvider, hwProvider, integrals))
+        .collect(toImmutableList());
+  }
+
+  // present value and sensitivity to the Hull-White model parameters, using the precomputed integrals
+  private ValueDerivatives presentValueAndSensitivityModelParamsHullWhite(
+      ResolvedSwaption swaption,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider,
+      HullWhiteOneFactorPiecewiseConstantIntegrals integrals) {
+
+    validate(swaption, ratesProvider, hwProvider);
+    ResolvedSwap swap = swaption.getUnderlying();
+    LocalDate expiryDate = swaption.getExpiryDate();
+    if (expiryDate.isBefore(ratesProvider.getValuationDate())) { // Option has expired already
+      return ValueDerivatives.of(0d, DoubleArray.EMPTY);
+    }
+    ResolvedSwapLeg cashFlowEquiv = CashFlowEquivalentCalculator.cashFlowEquivalentSwap(swap, ratesProvider);
+    double valuationTime = hwProvider.relativeTime(ratesProvider.getValuationDate());
+    double expiryTime = hwProvider.relativeTime(expiryDate);
+    int nPayments = cashFlowEquiv.getPaymentEvents().size();
+    double[] alpha = new double[nPayments];
+    double[][] alphaAdjoint = new double[nPayments][];
+    double[] discountedCashFlow = new double[nPayments];
+    for (int loopcf = 0; loopcf < nPayments; loopcf++) {
+      NotionalExchange payment = (NotionalExchange) cashFlowEquiv.getPaymentEvents().get(loopcf);
+      double maturityTime = hwProvider.relativeTime(payment.getPaymentDate());
+      ValueDerivatives valueDeriv = integrals.alphaAdjoint(valuationTime, expiryTime, expiryTime, maturityTime);
+      alpha[loopcf] = valueDeriv.getValue();
+      alphaAdjoint[loopcf] = valueDeriv.getDerivatives().toArrayUnsafe();
+      discountedCashFlow[loopcf] = paymentPricer.presentValueAmount(payment.getPayment(), ratesProvider);
+    }
+    double omega = (swap.getLegs(SwapLegType.FIXED).get(0).getPayReceive().isPay() ? -1d : 1d);
+    double kappa = computeKappa(integrals, discountedCashFlow, alpha, omega);
+    double sign = (swaption.getLongShort().isLong() ? 1d : -1d);
+    int nParams = integrals.getParameterCount();
+    double pv = 0d;
+    double[] pvSensi = new double[nParams];
+    boolean isDecayed = Math.abs(kappa) > 1d / SMALL; // decays exponentially
+    for (int loopcf = 0; loopcf < nPayments; loopcf++) {
+      double x = omega * (kappa + alpha[loopcf]);
+      pv += discountedCashFlow[loopcf] * NORMAL.getCDF(x);
+      if (!isDecayed) {
+        double factor = sign * discountedCashFlow[loopcf] * NORMAL.getPDF(x) * omega;
+        for (int i = 0; i < nParams; ++i) {
+          pvSensi[i] += factor * alphaAdjoint[loopcf][i];
+        }
+      }
+    }
+    return ValueDerivatives.of(pv * sign, DoubleArray.ofUnsafe(pvSensi));
+  }
+
   //-------------------------------------------------------------------------
   // validate that the rates and volatilities providers are coherent
   private void validate(ResolvedSwaption swaption, RatesProvider ratesProvider,
@@ -248,4 +327,14 @@ public class HullWhiteSwaptionPhysicalProductPricer {
     return kappa;
   }
 
+  // handling short time to expiry, using the precomputed integrals
+  private double computeKappa(HullWhiteOneFactorPiecewiseConstantIntegrals integrals,
+      double[] discountedCashFlow, double[] alpha, double omega) {
+    if (DoubleArrayMath.fuzzyEqualsZero(alpha, SMALL)) { // threshold coherent to rootfinder in kappa computation
+      double totalPv = DoubleArrayMath.sum(discountedCashFlow);
+      return totalPv * omega > 0d ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+    }
+    return integrals.kappa(discountedCashFlow, alpha);
+  }
+
 }
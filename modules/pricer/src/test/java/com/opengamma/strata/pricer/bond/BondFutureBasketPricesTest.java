@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.product.bond.ResolvedBondFuture;
+
+/**
+ * Test {@link BondFutureBasketPrices}.
+ */
+@Test
+public class BondFutureBasketPricesTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ResolvedBondFuture FUTURE = BondDataSets.FUTURE_PRODUCT_USD.resolve(REF_DATA);
+  private static final int SIZE = FUTURE.getDeliveryBasket().size();
+  private static final DoubleArray DIRTY = DoubleArray.of(SIZE, i -> 1.1 + 0.01 * i);
+  private static final DoubleArray CLEAN = DoubleArray.of(SIZE, i -> 1.09 + 0.01 * i);
+
+  public void test_of() {
+    DoubleArray implied = DoubleArray.of(SIZE, i -> i == 2 ? 1.0 : 1.2);
+    BondFutureBasketPrices test = BondFutureBasketPrices.of(FUTURE, DIRTY, CLEAN, implied);
+    assertEquals(test.getBasket(), FUTURE.getDeliveryBasket());
+    assertEquals(test.getDirtyPrices(), DIRTY);
+    assertEquals(test.getCleanPrices(), CLEAN);
+    assertEquals(test.getImpliedFuturePrices(), implied);
+    assertEquals(test.getCheapestToDeliverIndex(), 2);
+    assertEquals(test.getCheapestToDeliver(), FUTURE.getDeliveryBasket().get(2));
+    assertEquals(test.getPrice(), 1.0);
+  }
+
+  public void test_of_firstMinimum() {
+    DoubleArray implied = DoubleArray.filled(SIZE, 1.2);
+    BondFutureBasketPrices test = BondFutureBasketPrices.of(FUTURE, DIRTY, CLEAN, implied);
+    assertEquals(test.getCheapestToDeliverIndex(), 0);
+  }
+
+  public void test_of_wrongSize() {
+    DoubleArray implied = DoubleArray.filled(SIZE + 1, 1.2);
+    assertThrowsIllegalArg(() -> BondFutureBasketPrices.of(FUTURE, DIRTY, CLEAN, implied));
+  }
+
+}
@@ -11,16 +11,22 @@ import static com.opengamma.strata.pricer.CompoundedRateType.PERIODIC;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
+import java.util.List;
+
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.curve.CurveMetadata;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.CompoundedRateType;
+import com.opengamma.strata.pricer.DiscountingPaymentPricer;
 import com.opengamma.strata.pricer.datasets.LegalEntityDiscountingProviderDataSets;
 import com.opengamma.strata.pricer.sensitivity.RatesFiniteDifferenceSensitivityCalculator;
+import com.opengamma.strata.product.bond.FixedCouponBondCashFlows;
 import com.opengamma.strata.product.bond.ResolvedBondFuture;
 import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
 
@@ -38,6 +44,8 @@ public class DiscountingBondFutureProductPricerTest {
   private static final Double[] CONVERSION_FACTOR = BondDataSets.CONVERSION_FACTOR_USD.clone();
   // curves
   private static final LegalEntityDiscountingProvider PROVIDER = LegalEntityDiscountingProviderDataSets.ISSUER_REPO_ZERO;
+  private static final LegalEntityDiscountingProvider PROVIDER_SIMPLE =
+      LegalEntityDiscountingProviderDataSets.ISSUER_REPO_SIMPLE;
   private static final CurveMetadata METADATA_ISSUER = LegalEntityDiscountingProviderDataSets.META_ZERO_ISSUER_USD;
   private static final CurveMetadata METADATA_REPO = LegalEntityDiscountingProviderDataSets.META_ZERO_REPO_USD;
   // parameters
@@ -93,6 +101,91 @@ public class DiscountingBondFutureProductPricerTest {
     assertEquals(computed, expected, TOL);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_basketPrices() {
+    BondFutureBasketPrices computed = FUTURE_PRICER.basketPrices(FUTURE_PRODUCT, PROVIDER);
+    int size = FUTURE_PRODUCT.getDeliveryBasket().size();
+    assertEquals(computed.getBasket(), FUTURE_PRODUCT.getDeliveryBasket());
+    assertEquals(computed.getImpliedFuturePrices().size(), size);
+    int indexCtd = 0;
+    double priceMin = Double.POSITIVE_INFINITY;
+    for (int i = 0; i < size; i++) {
+      ResolvedFixedCouponBond bond = FUTURE_PRODUCT.getDeliveryBasket().get(i);
+      double dirtyPrice = BOND_PRICER.dirtyPriceFromCurves(bond, PROVIDER, FUTURE_PRODUCT.getLastDeliveryDate());
+      double cleanPrice = BOND_PRICER.cleanPriceFromDirtyPrice(bond, FUTURE_PRODUCT.getLastDeliveryDate(), dirtyPrice);
+      assertEquals(computed.getDirtyPrices().get(i), dirtyPrice, TOL);
+      assertEquals(computed.getCleanPrices().get(i), cleanPrice, TOL);
+      double impliedPrice = cleanPrice / CONVERSION_FACTOR[i];
+      assertEquals(computed.getImpliedFuturePrices().get(i), impliedPrice, TOL);
+      if (impliedPrice < priceMin) {
+        priceMin = impliedPrice;
+        indexCtd = i;
+      }
+    }
+    assertEquals(computed.getCheapestToDeliverIndex(), indexCtd);
+    assertEquals(computed.getCheapestToDeliver(), FUTURE_PRODUCT.getDeliveryBasket().get(indexCtd));
+    assertEquals(computed.getPrice(), FUTURE_PRICER.price(FUTURE_PRODUCT, PROVIDER), TOL);
+  }
+
+  public void test_basketPrices_scenarios() {
+    List<LegalEntityDiscountingProvider> providers = ImmutableList.of(PROVIDER, PROVIDER_SIMPLE, PROVIDER);
+    List<BondFutureBasketPrices> computed = FUTURE_PRICER.basketPrices(FUTURE_PRODUCT, providers);
+    DoubleArray prices = FUTURE_PRICER.prices(FUTURE_PRODUCT, providers);
+    assertEquals(computed.size(), 3);
+    assertEquals(prices.size(), 3);
+    for (int i = 0; i < 3; i++) {
+      BondFutureBasketPrices expected = FUTURE_PRICER.basketPrices(FUTURE_PRODUCT, providers.get(i));
+      assertTrue(computed.get(i).getImpliedFuturePrices().equalWithTolerance(expected.getImpliedFuturePrices(), TOL));
+      assertEquals(computed.get(i).getCheapestToDeliverIndex(), expected.getCheapestToDeliverIndex());
+      assertEquals(prices.get(i), FUTURE_PRICER.price(FUTURE_PRODUCT, providers.get(i)), TOL);
+    }
+  }
+
+  public void test_basketPrices_periodPricer() {
+    DiscountingFixedCouponBondProductPricer bondPricer =
+        new DiscountingFixedCouponBondProductPricer(new ScaledPeriodPricer(), DiscountingPaymentPricer.DEFAULT);
+    DiscountingBondFutureProductPricer futurePricer = new DiscountingBondFutureProductPricer(bondPricer);
+    BondFutureBasketPrices computed = futurePricer.basketPrices(FUTURE_PRODUCT, PROVIDER);
+    BondFutureBasketPrices computedZSpread =
+        BondFutureBasketEvaluator.of(FUTURE_PRODUCT, bondPricer).evaluateWithZSpread(PROVIDER, Z_SPREAD, PERIODIC, 4);
+    BondFutureBasketPrices base = FUTURE_PRICER.basketPrices(FUTURE_PRODUCT, PROVIDER);
+    for (int i = 0; i < FUTURE_PRODUCT.getDeliveryBasket().size(); i++) {
+      ResolvedFixedCouponBond bond = FUTURE_PRODUCT.getDeliveryBasket().get(i);
+      double dirtyPrice = bondPricer.dirtyPriceFromCurves(bond, PROVIDER, FUTURE_PRODUCT.getLastDeliveryDate());
+      double dirtyPriceZSpread = bondPricer.dirtyPriceFromCurvesWithZSpread(
+          bond, PROVIDER, Z_SPREAD, PERIODIC, 4, FUTURE_PRODUCT.getLastDeliveryDate());
+      assertEquals(computed.getDirtyPrices().get(i), dirtyPrice, TOL);
+      assertEquals(computedZSpread.getDirtyPrices().get(i), dirtyPriceZSpread, TOL);
+      assertTrue(computed.getDirtyPrices().get(i) > base.getDirtyPrices().get(i));
+    }
+    assertEquals(computed.getPrice(), futurePricer.price(FUTURE_PRODUCT, PROVIDER), TOL);
+  }
+
+  // a period pricer that doubles the coupons
+  private static final class ScaledPeriodPricer extends DiscountingFixedCouponBondPaymentPeriodPricer {
+    @Override
+    public double presentValue(
+        FixedCouponBondCashFlows cashFlows,
+        int index,
+        IssuerCurveDiscountFactors discountFactors) {
+
+      return 2d * super.presentValue(cashFlows, index, discountFactors);
+    }
+
+    @Override
+    public double presentValueWithSpread(
+        FixedCouponBondCashFlows cashFlows,
+        int index,
+        IssuerCurveDiscountFactors discountFactors,
+        double zSpread,
+        CompoundedRateType compoundedRateType,
+        int periodsPerYear) {
+
+      return 2d * super.presentValueWithSpread(
+          cashFlows, index, discountFactors, zSpread, compoundedRateType, periodsPerYear);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_priceSensitivity() {
     PointSensitivities point = FUTURE_PRICER.priceSensitivity(FUTURE_PRODUCT, PROVIDER);
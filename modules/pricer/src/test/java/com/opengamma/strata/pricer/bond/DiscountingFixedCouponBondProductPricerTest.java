@@ -10,6 +10,7 @@ import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
 import static com.opengamma.strata.basics.date.HolidayCalendarIds.JPTO;
 import static com.opengamma.strata.basics.date.HolidayCalendarIds.SAT_SUN;
 import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static com.opengamma.strata.pricer.CompoundedRateType.CONTINUOUS;
 import static com.opengamma.strata.pricer.CompoundedRateType.PERIODIC;
@@ -17,9 +18,11 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
@@ -347,6 +350,45 @@ public class DiscountingFixedCouponBondProductPricerTest {
     assertTrue(computed.equalWithTolerance(expected, 20d * NOTIONAL * EPS));
   }
 
+  // the coupons are priced from the cash flows of the bond, which must match pricing the period beans
+  public void test_cashFlows_matchPeriods_exCoupon() {
+    IssuerCurveDiscountFactors issuerDf = IssuerCurveDiscountFactors.of(DSC_FACTORS_ISSUER, GROUP_ISSUER);
+    LocalDate afterMaturity = END_DATE.plusYears(1);
+    PointSensitivityBuilder nominalSensi = PRICER.presentValueSensitivity(PRODUCT, PROVIDER, afterMaturity);
+    PointSensitivityBuilder nominalSensiZ = PRICER.presentValueSensitivityWithZSpread(
+        PRODUCT, PROVIDER, Z_SPREAD, PERIODIC, PERIOD_PER_YEAR, afterMaturity);
+    for (int i = 1; i < 4; i++) {
+      FixedCouponBondPaymentPeriod exPeriod = PRODUCT.getPeriodicPayments().get(i);
+      // reference dates across the ex-coupon period, the last being the payment date
+      for (LocalDate refDate = exPeriod.getDetachmentDate().minusDays(2);
+          !refDate.isAfter(exPeriod.getPaymentDate());
+          refDate = refDate.plusDays(1)) {
+        double pv = PRICER.presentValue(PRODUCT, PROVIDER, afterMaturity).getAmount();
+        double pvZ = PRICER.presentValueWithZSpread(
+            PRODUCT, PROVIDER, Z_SPREAD, PERIODIC, PERIOD_PER_YEAR, afterMaturity).getAmount();
+        PointSensitivityBuilder sensi = nominalSensi;
+        PointSensitivityBuilder sensiZ = nominalSensiZ;
+        for (FixedCouponBondPaymentPeriod period : PRODUCT.getPeriodicPayments()) {
+          if (period.getDetachmentDate().isAfter(refDate)) {
+            pv += PRICER_COUPON.presentValue(period, issuerDf);
+            pvZ += PRICER_COUPON.presentValueWithSpread(period, issuerDf, Z_SPREAD, PERIODIC, PERIOD_PER_YEAR);
+            sensi = sensi.combinedWith(PRICER_COUPON.presentValueSensitivity(period, issuerDf));
+            sensiZ = sensiZ.combinedWith(PRICER_COUPON.presentValueSensitivityWithSpread(
+                period, issuerDf, Z_SPREAD, PERIODIC, PERIOD_PER_YEAR));
+          }
+        }
+        assertEquals(PRICER.presentValue(PRODUCT, PROVIDER, refDate).getAmount(), pv, NOTIONAL * TOL);
+        assertEquals(PRICER.presentValueWithZSpread(
+            PRODUCT, PROVIDER, Z_SPREAD, PERIODIC, PERIOD_PER_YEAR, refDate).getAmount(), pvZ, NOTIONAL * TOL);
+        assertTrue(PRICER.presentValueSensitivity(PRODUCT, PROVIDER, refDate).build().normalized()
+            .equalWithTolerance(sensi.build().normalized(), NOTIONAL * TOL));
+        assertTrue(PRICER.presentValueSensitivityWithZSpread(
+            PRODUCT, PROVIDER, Z_SPREAD, PERIODIC, PERIOD_PER_YEAR, refDate).build().normalized()
+            .equalWithTolerance(sensiZ.build().normalized(), NOTIONAL * TOL));
+      }
+    }
+  }
+
   public void test_dirtyPriceSensitivity() {
     PointSensitivityBuilder point = PRICER.dirtyPriceSensitivity(PRODUCT, PROVIDER, REF_DATA);
     CurrencyParameterSensitivities computed = PROVIDER.parameterSensitivity(point.build());
@@ -774,4 +816,45 @@ public class DiscountingFixedCouponBondProductPricerTest {
         UnsupportedOperationException.class, "The convention JP_SIMPLE is not supported.");
   }
 
+  //-------------------------------------------------------------------------
+  public void yieldFromDirtyPrice_range() {
+    double[] yields = {-0.02, 0d, 0.15, 0.6};
+    for (double yield : yields) {
+      double dirtyPriceUs = PRICER.dirtyPriceFromYield(PRODUCT_US, SETTLEMENT_US, yield);
+      assertEquals(PRICER.yieldFromDirtyPrice(PRODUCT_US, SETTLEMENT_US, dirtyPriceUs), yield, TOL);
+      double dirtyPriceUk = PRICER.dirtyPriceFromYield(PRODUCT_UK, SETTLEMENT_LAST_UK, yield);
+      assertEquals(PRICER.yieldFromDirtyPrice(PRODUCT_UK, SETTLEMENT_LAST_UK, dirtyPriceUk), yield, TOL);
+      double dirtyPriceGer = PRICER.dirtyPriceFromYield(PRODUCT_GER, SETTLEMENT_LAST_GER, yield);
+      assertEquals(PRICER.yieldFromDirtyPrice(PRODUCT_GER, SETTLEMENT_LAST_GER, dirtyPriceGer), yield, TOL);
+    }
+  }
+
+  public void yieldsFromDirtyPrices() {
+    List<ResolvedFixedCouponBond> bonds =
+        ImmutableList.of(PRODUCT_US, PRODUCT_US_0, PRODUCT_UK, PRODUCT_GER, PRODUCT_JP);
+    List<LocalDate> settlementDates =
+        ImmutableList.of(SETTLEMENT_US, SETTLEMENT_LAST_US, SETTLEMENT_UK, SETTLEMENT_GER, SETTLEMENT_JP);
+    DoubleArray yields = DoubleArray.of(YIELD_US, 0.01, YIELD_UK, -0.005, YIELD_JP);
+    DoubleArray dirtyPrices = DoubleArray.of(bonds.size(),
+        i -> PRICER.dirtyPriceFromYield(bonds.get(i), settlementDates.get(i), yields.get(i)));
+    DoubleArray computed = PRICER.yieldsFromDirtyPrices(bonds, settlementDates, dirtyPrices);
+    assertTrue(computed.equalWithTolerance(yields, TOL));
+    assertThrowsIllegalArg(() -> PRICER.yieldsFromDirtyPrices(bonds, settlementDates, DoubleArray.of(1d)));
+  }
+
+  public void zSpreadsFromCurvesAndDirtyPrices() {
+    List<ResolvedFixedCouponBond> bonds = ImmutableList.of(PRODUCT, PRODUCT_NO_EXCOUPON, PRODUCT);
+    DoubleArray zSpreads = DoubleArray.of(Z_SPREAD, -0.01, 0.2);
+    DoubleArray dirtyPrices = DoubleArray.of(bonds.size(), i -> PRICER.dirtyPriceFromCurvesWithZSpread(
+        bonds.get(i), PROVIDER, REF_DATA, zSpreads.get(i), PERIODIC, PERIOD_PER_YEAR));
+    DoubleArray computed = PRICER.zSpreadsFromCurvesAndDirtyPrices(
+        bonds, PROVIDER, REF_DATA, dirtyPrices, PERIODIC, PERIOD_PER_YEAR);
+    assertTrue(computed.equalWithTolerance(zSpreads, TOL));
+    DoubleArray dirtyPricesCont = DoubleArray.of(bonds.size(), i -> PRICER.dirtyPriceFromCurvesWithZSpread(
+        bonds.get(i), PROVIDER, REF_DATA, zSpreads.get(i), CONTINUOUS, 0));
+    DoubleArray computedCont = PRICER.zSpreadsFromCurvesAndDirtyPrices(
+        bonds, PROVIDER, REF_DATA, dirtyPricesCont, CONTINUOUS, 0);
+    assertTrue(computedCont.equalWithTolerance(zSpreads, TOL));
+  }
+
 }
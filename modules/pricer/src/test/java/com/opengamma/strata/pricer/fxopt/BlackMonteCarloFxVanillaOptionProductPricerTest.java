@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.fxopt;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.product.common.LongShort.LONG;
+import static com.opengamma.strata.product.common.LongShort.SHORT;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.fx.RatesProviderFxDataSets;
+import com.opengamma.strata.pricer.impl.montecarlo.MonteCarloEngine;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.fx.ResolvedFxSingle;
+import com.opengamma.strata.product.fxopt.ResolvedFxVanillaOption;
+
+/**
+ * Test {@link BlackMonteCarloFxVanillaOptionProductPricer}.
+ */
+@Test
+public class BlackMonteCarloFxVanillaOptionProductPricerTest {
+
+  private static final ZoneId ZONE = ZoneId.of("Z");
+  private static final ZonedDateTime EXPIRY = ZonedDateTime.of(2014, 5, 9, 13, 10, 0, 0, ZONE);
+  private static final LocalDate VAL_DATE = RatesProviderDataSets.VAL_DATE_2014_01_22;
+  private static final LocalTime VAL_TIME = LocalTime.of(13, 45);
+  private static final ZonedDateTime VAL_DATETIME = VAL_DATE.atTime(VAL_TIME).atZone(ZONE);
+  private static final RatesProvider RATES_PROVIDER = RatesProviderFxDataSets.createProviderEURUSD(VAL_DATE);
+  private static final BlackFxOptionSmileVolatilities VOLS =
+      FxVolatilitySmileDataSet.createVolatilitySmileProvider6(VAL_DATETIME);
+  private static final BlackFxOptionSmileVolatilities VOLS_AFTER =
+      FxVolatilitySmileDataSet.createVolatilitySmileProvider6(EXPIRY.plusDays(1));
+  private static final RatesProvider RATES_PROVIDER_AFTER =
+      RatesProviderFxDataSets.createProviderEURUSD(EXPIRY.plusDays(1).toLocalDate());
+
+  private static final double NOTIONAL = 1.0e6;
+  private static final LocalDate PAYMENT_DATE = LocalDate.of(2014, 5, 13);
+  private static final double STRIKE_RATE_HIGH = 1.44;
+  private static final double STRIKE_RATE_LOW = 1.36;
+  private static final CurrencyAmount EUR_AMOUNT = CurrencyAmount.of(EUR, NOTIONAL);
+  private static final CurrencyAmount USD_AMOUNT_HIGH = CurrencyAmount.of(USD, -NOTIONAL * STRIKE_RATE_HIGH);
+  private static final CurrencyAmount USD_AMOUNT_LOW = CurrencyAmount.of(USD, -NOTIONAL * STRIKE_RATE_LOW);
+  private static final ResolvedFxSingle FX_PRODUCT_HIGH =
+      ResolvedFxSingle.of(EUR_AMOUNT, USD_AMOUNT_HIGH, PAYMENT_DATE);
+  private static final ResolvedFxSingle FX_PRODUCT_LOW =
+      ResolvedFxSingle.of(EUR_AMOUNT, USD_AMOUNT_LOW, PAYMENT_DATE);
+  private static final ResolvedFxVanillaOption CALL_OTM = ResolvedFxVanillaOption.builder()
+      .longShort(SHORT)
+      .expiry(EXPIRY)
+      .underlying(FX_PRODUCT_HIGH)
+      .build();
+  private static final ResolvedFxVanillaOption PUT_ITM = ResolvedFxVanillaOption.builder()
+      .longShort(LONG)
+      .expiry(EXPIRY)
+      .underlying(FX_PRODUCT_HIGH.inverse())
+      .build();
+  private static final ResolvedFxVanillaOption CALL_ITM = ResolvedFxVanillaOption.builder()
+      .longShort(LONG)
+      .expiry(EXPIRY)
+      .underlying(FX_PRODUCT_LOW)
+      .build();
+  private static final ResolvedFxVanillaOption[] OPTIONS = {CALL_OTM, PUT_ITM, CALL_ITM};
+
+  private static final BlackFxVanillaOptionProductPricer PRICER = BlackFxVanillaOptionProductPricer.DEFAULT;
+  private static final BlackMonteCarloFxVanillaOptionProductPricer PRICER_SOBOL =
+      new BlackMonteCarloFxVanillaOptionProductPricer(MonteCarloEngine.ofSobol(1 << 16));
+  private static final BlackMonteCarloFxVanillaOptionProductPricer PRICER_PSEUDO =
+      new BlackMonteCarloFxVanillaOptionProductPricer(
+          MonteCarloEngine.ofPseudoRandom(200_000, 1234L).withAntithetic(true));
+  private static final double TOL_SOBOL = 2.0e-3;
+  private static final double TOL_PSEUDO = 2.0e-2;
+
+  //-------------------------------------------------------------------------
+  public void test_presentValue() {
+    for (ResolvedFxVanillaOption option : OPTIONS) {
+      double expected = PRICER.presentValue(option, RATES_PROVIDER, VOLS).getAmount();
+      CurrencyAmount sobol = PRICER_SOBOL.presentValue(option, RATES_PROVIDER, VOLS);
+      assertEquals(sobol.getCurrency(), USD);
+      assertEquals(sobol.getAmount(), expected, Math.abs(expected) * TOL_SOBOL);
+      double pseudo = PRICER_PSEUDO.presentValue(option, RATES_PROVIDER, VOLS).getAmount();
+      assertEquals(pseudo, expected, Math.abs(expected) * TOL_PSEUDO);
+      assertEquals(PRICER_SOBOL.price(option, RATES_PROVIDER, VOLS), PRICER.price(option, RATES_PROVIDER, VOLS),
+          Math.abs(PRICER.price(option, RATES_PROVIDER, VOLS)) * TOL_SOBOL);
+    }
+  }
+
+  public void test_presentValueDelta() {
+    for (ResolvedFxVanillaOption option : OPTIONS) {
+      double expected = PRICER.presentValueDelta(option, RATES_PROVIDER, VOLS).getAmount();
+      double computed = PRICER_SOBOL.presentValueDelta(option, RATES_PROVIDER, VOLS).getAmount();
+      assertEquals(computed, expected, Math.abs(expected) * TOL_SOBOL);
+    }
+  }
+
+  public void test_presentValueVega() {
+    for (ResolvedFxVanillaOption option : OPTIONS) {
+      double expected = PRICER.presentValueVega(option, RATES_PROVIDER, VOLS).getAmount();
+      double computed = PRICER_SOBOL.presentValueVega(option, RATES_PROVIDER, VOLS).getAmount();
+      assertEquals(computed, expected, Math.abs(expected) * TOL_SOBOL);
+    }
+  }
+
+  public void test_afterExpiry() {
+    assertEquals(PRICER_SOBOL.presentValue(CALL_ITM, RATES_PROVIDER_AFTER, VOLS_AFTER).getAmount(), 0d);
+    assertEquals(PRICER_SOBOL.presentValueDelta(CALL_ITM, RATES_PROVIDER_AFTER, VOLS_AFTER).getAmount(), 0d);
+    assertEquals(PRICER_SOBOL.presentValueVega(CALL_ITM, RATES_PROVIDER_AFTER, VOLS_AFTER).getAmount(), 0d);
+  }
+
+}
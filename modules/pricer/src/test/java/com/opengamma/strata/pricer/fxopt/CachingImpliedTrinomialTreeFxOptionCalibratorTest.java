@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.fxopt;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.pricer.fx.RatesProviderFxDataSets;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.common.LongShort;
+import com.opengamma.strata.product.fx.ResolvedFxSingle;
+import com.opengamma.strata.product.fxopt.ResolvedFxSingleBarrierOption;
+import com.opengamma.strata.product.fxopt.ResolvedFxVanillaOption;
+import com.opengamma.strata.product.option.BarrierType;
+import com.opengamma.strata.product.option.KnockType;
+import com.opengamma.strata.product.option.SimpleConstantContinuousBarrier;
+
+/**
+ * Test {@link CachingImpliedTrinomialTreeFxOptionCalibrator}.
+ */
+@Test
+public class CachingImpliedTrinomialTreeFxOptionCalibratorTest {
+
+  private static final ZoneId ZONE = ZoneId.of("Z");
+  private static final LocalDate VAL_DATE = LocalDate.of(2011, 6, 13);
+  private static final ZonedDateTime VAL_DATETIME = VAL_DATE.atStartOfDay(ZONE);
+  private static final LocalDate PAY_DATE = LocalDate.of(2012, 9, 15);
+  private static final LocalDate EXPIRY_DATE = LocalDate.of(2012, 9, 15);
+  private static final ZonedDateTime EXPIRY_DATETIME = EXPIRY_DATE.atStartOfDay(ZONE);
+  // providers
+  private static final BlackFxOptionSmileVolatilities VOLS =
+      FxVolatilitySmileDataSet.createVolatilitySmileProvider5(VAL_DATETIME);
+  private static final BlackFxOptionSmileVolatilities VOLS_MRKT =
+      FxVolatilitySmileDataSet.createVolatilitySmileProvider5Market(VAL_DATETIME);
+  private static final ImmutableRatesProvider RATE_PROVIDER =
+      RatesProviderFxDataSets.createProviderEurUsdFlat(VAL_DATE);
+  // call
+  private static final double NOTIONAL = 100_000_000d;
+  private static final double STRIKE_RATE = 1.35;
+  private static final CurrencyAmount EUR_AMOUNT_REC = CurrencyAmount.of(EUR, NOTIONAL);
+  private static final CurrencyAmount USD_AMOUNT_PAY = CurrencyAmount.of(USD, -NOTIONAL * STRIKE_RATE);
+  private static final ResolvedFxSingle FX_PRODUCT = ResolvedFxSingle.of(EUR_AMOUNT_REC, USD_AMOUNT_PAY, PAY_DATE);
+  private static final ResolvedFxVanillaOption CALL = ResolvedFxVanillaOption.builder()
+      .longShort(LongShort.LONG)
+      .expiry(EXPIRY_DATETIME)
+      .underlying(FX_PRODUCT)
+      .build();
+
+  public void test_calibrateTrinomialTree() {
+    CachingImpliedTrinomialTreeFxOptionCalibrator test = new CachingImpliedTrinomialTreeFxOptionCalibrator(21);
+    assertEquals(test.getNumberOfSteps(), 21);
+    RecombiningTrinomialTreeData computed = test.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS);
+    RecombiningTrinomialTreeData expected =
+        new ImpliedTrinomialTreeFxOptionCalibrator(21).calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS);
+    assertEquals(computed, expected);
+    // same inputs served from the cache
+    assertSame(test.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS), computed);
+    ImmutableRatesProvider equalProvider = RatesProviderFxDataSets.createProviderEurUsdFlat(VAL_DATE);
+    assertSame(test.calibrateTrinomialTree(CALL, equalProvider, VOLS), computed);
+    // different inputs
+    RecombiningTrinomialTreeData computedMrkt = test.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS_MRKT);
+    assertNotSame(computedMrkt, computed);
+    RecombiningTrinomialTreeData computedShort =
+        test.calibrateTrinomialTree(0.5, FX_PRODUCT.getCurrencyPair(), RATE_PROVIDER, VOLS);
+    assertEquals(computedShort.getTime(21), 0.5, 1.0e-14);
+    // cleared cache
+    test.clear();
+    RecombiningTrinomialTreeData recomputed = test.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS);
+    assertNotSame(recomputed, computed);
+    assertEquals(recomputed, computed);
+  }
+
+  public void test_pricer() {
+    SimpleConstantContinuousBarrier barrier =
+        SimpleConstantContinuousBarrier.of(BarrierType.DOWN, KnockType.KNOCK_OUT, 1.25);
+    ResolvedFxSingleBarrierOption option = ResolvedFxSingleBarrierOption.of(CALL, barrier);
+    CachingImpliedTrinomialTreeFxOptionCalibrator calibrator = new CachingImpliedTrinomialTreeFxOptionCalibrator(21);
+    ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer pricer =
+        new ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(calibrator);
+    assertSame(pricer.getCalibrator(), calibrator);
+    CurrencyAmount expected =
+        new ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(21).presentValue(option, RATE_PROVIDER, VOLS);
+    assertEquals(pricer.presentValue(option, RATE_PROVIDER, VOLS), expected);
+    assertEquals(pricer.presentValue(option, RATE_PROVIDER, VOLS), expected);
+  }
+
+  public void test_badSize() {
+    assertThrowsIllegalArg(() -> new CachingImpliedTrinomialTreeFxOptionCalibrator(21, 0));
+  }
+
+}
@@ -14,9 +14,11 @@ import static org.testng.Assert.assertTrue;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.currency.Payment;
@@ -315,6 +317,30 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricerTest {
   }
 
   //-------------------------------------------------------------------------
+  public void test_presentValue_list() {
+    ResolvedFxSingleBarrierOption putDko = ResolvedFxSingleBarrierOption.of(PUT, BARRIER_DKO, REBATE_BASE);
+    List<ResolvedFxSingleBarrierOption> options = ImmutableList.of(CALL_DKO, CALL_UKI_C, putDko);
+    List<CurrencyAmount> computed = PRICER_39.presentValue(options, RATE_PROVIDER, VOLS);
+    assertEquals(computed.size(), options.size());
+    for (int i = 0; i < options.size(); ++i) {
+      assertEquals(computed.get(i), PRICER_39.presentValue(options.get(i), RATE_PROVIDER, VOLS));
+    }
+  }
+
+  public void test_presentValueSensitivityRates_list() {
+    ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer pricer =
+        new ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(21);
+    List<ResolvedFxSingleBarrierOption> options = ImmutableList.of(CALL_DKO, CALL_UKI_C);
+    List<CurrencyParameterSensitivities> computed =
+        pricer.presentValueSensitivityRates(options, RATE_PROVIDER, VOLS);
+    assertEquals(computed.size(), options.size());
+    for (int i = 0; i < options.size(); ++i) {
+      CurrencyParameterSensitivities expected =
+          pricer.presentValueSensitivityRates(options.get(i), RATE_PROVIDER, VOLS);
+      assertTrue(computed.get(i).equalWithTolerance(expected, 1.0e-13));
+    }
+  }
+
   public void test_withData() {
     ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer pricer =
         new ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(5);
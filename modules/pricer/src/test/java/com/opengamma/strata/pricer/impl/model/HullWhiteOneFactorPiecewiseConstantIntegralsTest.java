@@ -0,0 +1,89 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.model;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.DoubleArrayMath;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantIntegrals;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Test {@link HullWhiteOneFactorPiecewiseConstantIntegrals}.
+ */
+@Test
+public class HullWhiteOneFactorPiecewiseConstantIntegralsTest {
+
+  private static final double MEAN_REVERSION = 0.01;
+  private static final DoubleArray VOLATILITY = DoubleArray.of(0.01, 0.011, 0.012, 0.013, 0.014);
+  private static final DoubleArray VOLATILITY_TIME = DoubleArray.of(0.5, 1.0, 2.0, 5.0);
+  private static final HullWhiteOneFactorPiecewiseConstantParameters MODEL_PARAMETERS =
+      HullWhiteOneFactorPiecewiseConstantParameters.of(MEAN_REVERSION, VOLATILITY, VOLATILITY_TIME);
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+  private static final HullWhiteOneFactorPiecewiseConstantIntegrals INTEGRALS =
+      HullWhiteOneFactorPiecewiseConstantIntegrals.of(MODEL_PARAMETERS);
+  private static final double[] START = {0.0, 0.0, 0.0, 0.25, 0.5, 1.2};
+  private static final double[] END = {0.25, 0.5, 1.5, 3.0, 5.0, 7.5};
+  private static final double TOLERANCE = 1.0E-14;
+  private static final double TOLERANCE_FACTOR = 1.0E-12;
+
+  public void test_parameterCount() {
+    assertEquals(INTEGRALS.getParameterCount(), VOLATILITY.size());
+  }
+
+  public void test_alpha() {
+    for (int i = 0; i < START.length; i++) {
+      double numeraire = END[i] + 0.5;
+      double maturity = END[i] + 2.0;
+      double expected = MODEL.alpha(MODEL_PARAMETERS, START[i], END[i], numeraire, maturity);
+      double computed = INTEGRALS.alpha(START[i], END[i], numeraire, maturity);
+      assertEquals(computed, expected, TOLERANCE);
+      ValueDerivatives expectedAdj = MODEL.alphaAdjoint(MODEL_PARAMETERS, START[i], END[i], numeraire, maturity);
+      ValueDerivatives computedAdj = INTEGRALS.alphaAdjoint(START[i], END[i], numeraire, maturity);
+      assertEquals(computedAdj.getValue(), expectedAdj.getValue(), TOLERANCE);
+      assertTrue(DoubleArrayMath.fuzzyEquals(
+          computedAdj.getDerivatives().toArray(), expectedAdj.getDerivatives().toArray(), TOLERANCE));
+    }
+  }
+
+  public void test_futuresConvexityFactor() {
+    for (int i = 0; i < END.length; i++) {
+      double t0 = END[i];
+      double t1 = t0 + 0.01;
+      double t2 = t1 + 0.25;
+      double expected = MODEL.futuresConvexityFactor(MODEL_PARAMETERS, t0, t1, t2);
+      double computed = INTEGRALS.futuresConvexityFactor(t0, t1, t2);
+      assertEquals(computed, expected, TOLERANCE_FACTOR);
+      ValueDerivatives expectedAdj = MODEL.futuresConvexityFactorAdjoint(MODEL_PARAMETERS, t0, t1, t2);
+      ValueDerivatives computedAdj = INTEGRALS.futuresConvexityFactorAdjoint(t0, t1, t2);
+      assertEquals(computedAdj.getValue(), expectedAdj.getValue(), TOLERANCE_FACTOR);
+      assertTrue(DoubleArrayMath.fuzzyEquals(
+          computedAdj.getDerivatives().toArray(), expectedAdj.getDerivatives().toArray(), TOLERANCE_FACTOR));
+    }
+  }
+
+  public void test_kappa() {
+    double[] dcf = {-1.0, 0.02, 0.02, 0.02, 0.02, 0.98};
+    double[] alpha = {0.01, 0.012, 0.014, 0.016, 0.018, 0.02};
+    double expected = MODEL.kappa(DoubleArray.copyOf(dcf), DoubleArray.copyOf(alpha));
+    double computed = INTEGRALS.kappa(dcf, alpha);
+    assertEquals(computed, expected, 1.0E-8);
+    // the swap value is zero at the exercise boundary
+    double swapValue = 0d;
+    for (int i = 0; i < dcf.length; i++) {
+      swapValue += dcf[i] * Math.exp(-0.5 * alpha[i] * alpha[i] - alpha[i] * computed);
+    }
+    assertEquals(swapValue, 0d, 1.0E-12);
+  }
+
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link MonteCarloEngine}.
+ */
+@Test
+public class MonteCarloEngineTest {
+
+  private static final int N_PATHS = 100_001;
+  private static final long SEED = 42L;
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    MonteCarloEngine pseudo = MonteCarloEngine.ofPseudoRandom(N_PATHS, SEED);
+    assertEquals(pseudo.getNumberOfPaths(), N_PATHS);
+    assertFalse(pseudo.isQuasiRandom());
+    assertFalse(pseudo.isAntithetic());
+    assertFalse(pseudo.isParallel());
+    assertTrue(pseudo.withParallel(true).isParallel());
+    MonteCarloEngine sobol = MonteCarloEngine.ofSobol(N_PATHS)
+        .withAntithetic(true)
+        .withParallel(true)
+        .withBlockSize(10);
+    assertTrue(sobol.isQuasiRandom());
+    assertTrue(sobol.isAntithetic());
+    assertTrue(sobol.isParallel());
+    assertFalse(MonteCarloEngine.ofSobol(N_PATHS).isParallel());
+    assertEquals(sobol.getBlockSize(), 10);
+  }
+
+  public void test_moments() {
+    MonteCarloEngine pseudo = MonteCarloEngine.ofPseudoRandom(N_PATHS, SEED);
+    DoubleArray computed = pseudo.simulate(new MomentsFunction(3));
+    for (int i = 0; i < 3; i++) {
+      assertEquals(computed.get(2 * i), 0d, 0.02);
+      assertEquals(computed.get(2 * i + 1), 1d, 0.02);
+    }
+    DoubleArray sobol = MonteCarloEngine.ofSobol(N_PATHS).simulate(new MomentsFunction(3));
+    for (int i = 0; i < 3; i++) {
+      assertEquals(sobol.get(2 * i), 0d, 1e-3);
+      assertEquals(sobol.get(2 * i + 1), 1d, 1e-2);
+    }
+  }
+
+  public void test_antithetic() {
+    int nPaths = 10_000;
+    DoubleArray computed = MonteCarloEngine.ofPseudoRandom(nPaths, SEED)
+        .withAntithetic(true)
+        .withBlockSize(1000)
+        .simulate(new MomentsFunction(2));
+    assertEquals(computed.get(0), 0d, 1e-14);
+    assertEquals(computed.get(2), 0d, 1e-14);
+  }
+
+  public void test_reproducible() {
+    MonteCarloEngine sequential = MonteCarloEngine.ofPseudoRandom(N_PATHS, SEED).withBlockSize(1000);
+    MonteCarloEngine parallel = sequential.withParallel(true);
+    assertEquals(parallel.simulate(new MomentsFunction(2)), sequential.simulate(new MomentsFunction(2)));
+    assertEquals(parallel.simulate(new MomentsFunction(2)), parallel.simulate(new MomentsFunction(2)));
+    MonteCarloEngine sobol = MonteCarloEngine.ofSobol(N_PATHS).withBlockSize(1000).withParallel(true);
+    DoubleArray sobolBlocks = sobol.simulate(new MomentsFunction(2));
+    DoubleArray sobolSingle = sobol.withBlockSize(N_PATHS).simulate(new MomentsFunction(2));
+    assertTrue(sobolBlocks.equalWithTolerance(sobolSingle, 1e-12));
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> MonteCarloEngine.ofPseudoRandom(0, SEED));
+    assertThrowsIllegalArg(() -> MonteCarloEngine.ofSobol(-1));
+    assertThrowsIllegalArg(() -> MonteCarloEngine.ofSobol(10).withBlockSize(0));
+  }
+
+  //-------------------------------------------------------------------------
+  // the first two moments of each dimension
+  private static final class MomentsFunction implements MonteCarloPathFunction {
+    private final int dimension;
+
+    private MomentsFunction(int dimension) {
+      this.dimension = dimension;
+    }
+
+    @Override
+    public int getDimension() {
+      return dimension;
+    }
+
+    @Override
+    public int getResultSize() {
+      return 2 * dimension;
+    }
+
+    @Override
+    public void evaluate(double[] normals, int nPaths, double[] result) {
+      for (int i = 0; i < nPaths; i++) {
+        for (int j = 0; j < dimension; j++) {
+          double x = normals[i * dimension + j];
+          result[2 * j] += x;
+          result[2 * j + 1] += x * x;
+        }
+      }
+    }
+  }
+
+}
@@ -12,6 +12,7 @@ import org.testng.annotations.Test;
 
 import com.opengamma.strata.collect.DoubleArrayMath;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.impl.option.BlackBarrierPriceFormulaRepository;
 import com.opengamma.strata.pricer.impl.option.BlackOneTouchCashPriceFormulaRepository;
 import com.opengamma.strata.product.common.PutCall;
@@ -89,6 +90,26 @@ public class ConstantContinuousSingleBarrierKnockoutFunctionTest {
     assertTrue(DoubleArrayMath.fuzzyEquals(computedNextValues.toArray(), expectedNextValues.toArray(), tol));
   }
 
+  public void test_updateOptionValues() {
+    double spot = 130d;
+    double u = 1.05;
+    double d = 0.98;
+    double m = Math.sqrt(u * d);
+    double df = 0.92;
+    int n = 4;
+    DoubleArray stateValue = DoubleArray.of(2 * n + 1, k -> spot * Math.pow(d, n - k) * Math.pow(m, k));
+    DoubleMatrix probability = DoubleMatrix.of(2 * n + 1, 3, (j, k) -> k == 0 ? 0.25 : (k == 1 ? 0.46 : 0.29));
+    DoubleArray values = DoubleArray.of(2 * n + 3, k -> 0.1 * k * k);
+    for (BarrierType type : BarrierType.values()) {
+      ConstantContinuousSingleBarrierKnockoutFunction test = ConstantContinuousSingleBarrierKnockoutFunction.of(
+          STRIKE, TIME_TO_EXPIRY, PutCall.PUT, NUM, type, BARRIER, REBATE);
+      DoubleArray expected = test.getNextOptionValues(df, probability, stateValue, values, n);
+      double[] computed = values.toArray();
+      test.updateOptionValues(df, probability, stateValue, computed, n);
+      assertEquals(DoubleArray.copyOf(computed, 0, 2 * n + 1), expected);
+    }
+  }
+
   public void test_optionPrice_down() {
     double tol = 1.0e-12;
     double barrier = 97d;
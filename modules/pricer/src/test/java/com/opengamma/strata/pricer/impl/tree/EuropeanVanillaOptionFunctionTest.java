@@ -12,6 +12,7 @@ import org.testng.annotations.Test;
 
 import com.opengamma.strata.collect.DoubleArrayMath;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.impl.option.BlackScholesFormulaRepository;
 import com.opengamma.strata.product.common.PutCall;
 
@@ -66,6 +67,19 @@ public class EuropeanVanillaOptionFunctionTest {
     assertTrue(DoubleArrayMath.fuzzyEquals(computedNextValues.toArray(), expectedNextValues.toArray(), tol));
   }
 
+  public void test_updateOptionValues() {
+    EuropeanVanillaOptionFunction test = EuropeanVanillaOptionFunction.of(STRIKE, TIME_TO_EXPIRY, PutCall.PUT, NUM);
+    double df = 0.92;
+    int n = 3;
+    DoubleArray stateValue = DoubleArray.of(2 * n + 1, k -> 100d + k);
+    DoubleMatrix probability = DoubleMatrix.of(2 * n + 1, 3, (j, k) -> k == 0 ? 0.25 : (k == 1 ? 0.46 : 0.29));
+    DoubleArray values = DoubleArray.of(1.4, 0.9, 0.1, 0.05, 0.0, 0.0, 0.0, 0.0, 0.0);
+    DoubleArray expected = test.getNextOptionValues(df, probability, stateValue, values, n);
+    double[] computed = values.toArray();
+    test.updateOptionValues(df, probability, stateValue, computed, n);
+    assertEquals(DoubleArray.copyOf(computed, 0, 2 * n + 1), expected);
+  }
+
   private static final TrinomialTree TRINOMIAL_TREE = new TrinomialTree();
   private static final double SPOT = 105.;
   private static final double[] STRIKES = new double[] {81., 97., 105., 105.1, 114., 128. };
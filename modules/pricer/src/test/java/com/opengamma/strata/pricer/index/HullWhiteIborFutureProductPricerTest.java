@@ -11,11 +11,14 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.DoubleArrayMath;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
@@ -25,6 +28,7 @@ import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantPara
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.sensitivity.RatesFiniteDifferenceSensitivityCalculator;
 import com.opengamma.strata.product.index.ResolvedIborFuture;
+import com.opengamma.strata.product.rate.IborRateComputation;
 
 /**
  * Test {@link HullWhiteIborFutureProductPricer}.
@@ -105,6 +109,22 @@ public class HullWhiteIborFutureProductPricerTest {
     assertTrue(DoubleArrayMath.fuzzyEquals(computed.toArray(), expected, TOL_FD));
   }
 
+  public void test_priceAndSensitivityHullWhiteParameter_list() {
+    IborRateComputation otherRate =
+        IborRateComputation.of(EUR_EURIBOR_3M, FUTURE.getLastTradeDate().minusMonths(3), REF_DATA);
+    ResolvedIborFuture other = FUTURE.toBuilder().iborRate(otherRate).build();
+    List<ResolvedIborFuture> futures = ImmutableList.of(FUTURE, other);
+    List<ValueDerivatives> computed =
+        PRICER.priceAndSensitivityModelParamsHullWhite(futures, RATE_PROVIDER, HW_PROVIDER);
+    assertEquals(computed.size(), futures.size());
+    for (int i = 0; i < futures.size(); i++) {
+      double price = PRICER.price(futures.get(i), RATE_PROVIDER, HW_PROVIDER);
+      DoubleArray sensi = PRICER.priceSensitivityModelParamsHullWhite(futures.get(i), RATE_PROVIDER, HW_PROVIDER);
+      assertEquals(computed.get(i).getValue(), price, TOL);
+      assertTrue(computed.get(i).getDerivatives().equalWithTolerance(sensi, TOL));
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void regression_value() {
     double price = PRICER.price(FUTURE, RATE_PROVIDER, HW_PROVIDER);
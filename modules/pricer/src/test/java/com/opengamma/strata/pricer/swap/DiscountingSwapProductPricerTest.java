@@ -714,6 +714,29 @@ public class DiscountingSwapProductPricerTest {
         pricerSwap.explainPresentValue(SWAP, MOCK_PROV));
   }
   
+  public void test_explainPresentValue_limitDepth() {
+    ResolvedSwap swap = SWAP_USD_FIXED_6M_LIBOR_3M_5Y.getProduct().resolve(REF_DATA);
+    ExplainMap explain = SWAP_PRODUCT_PRICER.explainPresentValue(swap, MULTI_USD);
+    ExplainMap test = explain.limitDepth(2);
+    assertEquals(test.get(ExplainKey.LEGS).get().size(), 2);
+    ExplainMap testLeg0 = test.get(ExplainKey.LEGS).get().get(0);
+    ExplainMap explainLeg0 = explain.get(ExplainKey.LEGS).get().get(0);
+    assertEquals(testLeg0.get(ExplainKey.PAYMENT_PERIODS).isPresent(), false);
+    assertEquals(testLeg0.get(ExplainKey.PRESENT_VALUE), explainLeg0.get(ExplainKey.PRESENT_VALUE));
+    assertEquals(
+        explainLeg0.get(ExplainKey.PAYMENT_PERIODS).get().size(),
+        swap.getLegs().get(0).getPaymentPeriods().size());
+    assertEquals(explain.limitDepth(10), explain);
+  }
+
+  public void test_explainPresentValue_missingMarketData() {
+    ResolvedSwap swap = SWAP_USD_FIXED_6M_LIBOR_3M_5Y.getProduct().resolve(REF_DATA);
+    ImmutableRatesProvider empty = ImmutableRatesProvider.builder(MULTI_USD.getValuationDate()).build();
+    assertThrowsIllegalArg(() -> SWAP_PRODUCT_PRICER.explainPresentValue(swap, empty));
+    ResolvedSwapTrade trade = SWAP_USD_FIXED_6M_LIBOR_3M_5Y.resolve(REF_DATA);
+    assertThrowsIllegalArg(() -> SWAP_TRADE_PRICER.explainPresentValue(trade, empty));
+  }
+
   //-------------------------------------------------------------------------
   public void test_parSpread_fixedIbor() {
     ResolvedSwapTrade swapTrade = SWAP_USD_FIXED_6M_LIBOR_3M_5Y.resolve(REF_DATA);
@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.common.BuySell.SELL;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Period;
+import java.time.ZoneId;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.AdjustableDate;
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.impl.montecarlo.MonteCarloEngine;
+import com.opengamma.strata.pricer.index.HullWhiteIborFutureDataSet;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.common.LongShort;
+import com.opengamma.strata.product.swap.Swap;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+import com.opengamma.strata.product.swaption.CashSwaptionSettlement;
+import com.opengamma.strata.product.swaption.CashSwaptionSettlementMethod;
+import com.opengamma.strata.product.swaption.PhysicalSwaptionSettlement;
+import com.opengamma.strata.product.swaption.ResolvedSwaption;
+import com.opengamma.strata.product.swaption.Swaption;
+import com.opengamma.strata.product.swaption.SwaptionSettlement;
+
+/**
+ * Test {@link HullWhiteMonteCarloSwaptionPhysicalProductPricer}.
+ */
+@Test
+public class HullWhiteMonteCarloSwaptionPhysicalProductPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = RatesProviderDataSets.VAL_DATE_2014_01_22;
+  private static final LocalDate SWAPTION_EXERCISE_DATE = VAL_DATE.plusYears(5);
+  private static final LocalTime SWAPTION_EXPIRY_TIME = LocalTime.of(11, 0);
+  private static final ZoneId SWAPTION_EXPIRY_ZONE = ZoneId.of("America/New_York");
+  private static final LocalDate SWAP_EFFECTIVE_DATE =
+      USD_LIBOR_3M.calculateEffectiveFromFixing(SWAPTION_EXERCISE_DATE, REF_DATA);
+  private static final LocalDate SWAP_MATURITY_DATE = SWAP_EFFECTIVE_DATE.plus(Period.ofYears(5));
+  private static final double STRIKE = 0.01;
+  private static final double NOTIONAL = 100_000_000;
+  private static final Swap SWAP_REC = FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M
+      .toTrade(VAL_DATE, SWAP_EFFECTIVE_DATE, SWAP_MATURITY_DATE, SELL, NOTIONAL, STRIKE).getProduct();
+  private static final Swap SWAP_PAY = FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M
+      .toTrade(VAL_DATE, SWAP_EFFECTIVE_DATE, SWAP_MATURITY_DATE, BUY, NOTIONAL, STRIKE).getProduct();
+  private static final SwaptionSettlement PHYSICAL_SETTLE = PhysicalSwaptionSettlement.DEFAULT;
+  private static final ResolvedSwaption SWAPTION_LONG_REC = swaption(SWAP_REC, LongShort.LONG, PHYSICAL_SETTLE);
+  private static final ResolvedSwaption SWAPTION_SHORT_PAY = swaption(SWAP_PAY, LongShort.SHORT, PHYSICAL_SETTLE);
+  private static final ResolvedSwaption SWAPTION_CASH = swaption(
+      SWAP_REC, LongShort.LONG, CashSwaptionSettlement.of(SWAP_EFFECTIVE_DATE, CashSwaptionSettlementMethod.PAR_YIELD));
+
+  private static final ImmutableRatesProvider MULTI_USD = RatesProviderDataSets.multiUsd(VAL_DATE);
+  private static final HullWhiteOneFactorPiecewiseConstantParametersProvider HW_PROVIDER =
+      HullWhiteIborFutureDataSet.createHullWhiteProvider(VAL_DATE);
+  private static final LocalDate VAL_DATE_AFTER = SWAPTION_EXERCISE_DATE.plusDays(1);
+  private static final ImmutableRatesProvider MULTI_USD_AFTER = RatesProviderDataSets.multiUsd(VAL_DATE_AFTER);
+  private static final HullWhiteOneFactorPiecewiseConstantParametersProvider HW_PROVIDER_AFTER =
+      HullWhiteIborFutureDataSet.createHullWhiteProvider(VAL_DATE_AFTER);
+
+  private static final HullWhiteSwaptionPhysicalProductPricer PRICER = HullWhiteSwaptionPhysicalProductPricer.DEFAULT;
+  private static final HullWhiteMonteCarloSwaptionPhysicalProductPricer PRICER_SOBOL =
+      new HullWhiteMonteCarloSwaptionPhysicalProductPricer(MonteCarloEngine.ofSobol(1 << 16));
+  private static final HullWhiteMonteCarloSwaptionPhysicalProductPricer PRICER_PSEUDO =
+      new HullWhiteMonteCarloSwaptionPhysicalProductPricer(
+          MonteCarloEngine.ofPseudoRandom(200_000, 1234L).withAntithetic(true));
+  private static final double TOL_SOBOL = 2.0e-3;
+  private static final double TOL_PSEUDO = 2.0e-2;
+
+  private static ResolvedSwaption swaption(Swap swap, LongShort longShort, SwaptionSettlement settlement) {
+    return Swaption.builder()
+        .swaptionSettlement(settlement)
+        .expiryDate(AdjustableDate.of(SWAPTION_EXERCISE_DATE))
+        .expiryTime(SWAPTION_EXPIRY_TIME)
+        .expiryZone(SWAPTION_EXPIRY_ZONE)
+        .longShort(longShort)
+        .underlying(swap)
+        .build()
+        .resolve(REF_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_presentValue() {
+    for (ResolvedSwaption swaption : new ResolvedSwaption[] {SWAPTION_LONG_REC, SWAPTION_SHORT_PAY}) {
+      CurrencyAmount expected = PRICER.presentValue(swaption, MULTI_USD, HW_PROVIDER);
+      CurrencyAmount sobol = PRICER_SOBOL.presentValue(swaption, MULTI_USD, HW_PROVIDER);
+      assertEquals(sobol.getCurrency(), USD);
+      assertEquals(sobol.getAmount(), expected.getAmount(), Math.abs(expected.getAmount()) * TOL_SOBOL);
+      CurrencyAmount pseudo = PRICER_PSEUDO.presentValue(swaption, MULTI_USD, HW_PROVIDER);
+      assertEquals(pseudo.getAmount(), expected.getAmount(), Math.abs(expected.getAmount()) * TOL_PSEUDO);
+    }
+  }
+
+  public void test_presentValueSensitivityHullWhiteParameter() {
+    for (ResolvedSwaption swaption : new ResolvedSwaption[] {SWAPTION_LONG_REC, SWAPTION_SHORT_PAY}) {
+      DoubleArray expected = PRICER.presentValueSensitivityModelParamsHullWhite(swaption, MULTI_USD, HW_PROVIDER);
+      ValueDerivatives computed =
+          PRICER_SOBOL.presentValueAndSensitivityModelParamsHullWhite(swaption, MULTI_USD, HW_PROVIDER);
+      double scale = expected.map(Math::abs).max();
+      assertEquals(computed.getDerivatives().size(), expected.size());
+      assertTrue(computed.getDerivatives().equalWithTolerance(expected, scale * TOL_SOBOL));
+    }
+  }
+
+  public void test_afterExpiry() {
+    ValueDerivatives computed = PRICER_SOBOL.presentValueAndSensitivityModelParamsHullWhite(
+        SWAPTION_LONG_REC, MULTI_USD_AFTER, HW_PROVIDER_AFTER);
+    assertEquals(computed.getValue(), 0d);
+    assertEquals(computed.getDerivatives(), DoubleArray.EMPTY);
+  }
+
+  public void test_cashSettlement() {
+    assertThrowsIllegalArg(() -> PRICER_SOBOL.presentValue(SWAPTION_CASH, MULTI_USD, HW_PROVIDER));
+  }
+
+}
@@ -22,9 +22,11 @@ import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
@@ -36,6 +38,7 @@ import com.opengamma.strata.basics.date.HolidayCalendarIds;
 import com.opengamma.strata.basics.schedule.PeriodicSchedule;
 import com.opengamma.strata.basics.schedule.RollConventions;
 import com.opengamma.strata.basics.schedule.StubConvention;
+import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.basics.value.ValueSchedule;
 import com.opengamma.strata.collect.DoubleArrayMath;
 import com.opengamma.strata.collect.array.DoubleArray;
@@ -464,6 +467,40 @@ public class HullWhiteSwaptionPhysicalProductPricerTest {
     assertTrue(pvSensiRecShort.equalWithTolerance(pvSensiPayShort, NOTIONAL * TOL));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_presentValueAndSensitivityHullWhiteParameter_list() {
+    List<ResolvedSwaption> swaptions =
+        ImmutableList.of(SWAPTION_REC_LONG, SWAPTION_REC_SHORT, SWAPTION_PAY_LONG, SWAPTION_PAY_SHORT);
+    List<ValueDerivatives> computed =
+        PRICER.presentValueAndSensitivityModelParamsHullWhite(swaptions, RATE_PROVIDER, HW_PROVIDER);
+    assertEquals(computed.size(), swaptions.size());
+    for (int i = 0; i < swaptions.size(); i++) {
+      CurrencyAmount pv = PRICER.presentValue(swaptions.get(i), RATE_PROVIDER, HW_PROVIDER);
+      DoubleArray sensi =
+          PRICER.presentValueSensitivityModelParamsHullWhite(swaptions.get(i), RATE_PROVIDER, HW_PROVIDER);
+      assertEquals(computed.get(i).getValue(), pv.getAmount(), NOTIONAL * TOL);
+      assertTrue(computed.get(i).getDerivatives().equalWithTolerance(sensi, NOTIONAL * TOL));
+    }
+  }
+
+  public void test_presentValueAndSensitivityHullWhiteParameter_list_atMaturity() {
+    List<ValueDerivatives> computed = PRICER.presentValueAndSensitivityModelParamsHullWhite(
+        ImmutableList.of(SWAPTION_REC_LONG, SWAPTION_PAY_SHORT), RATES_PROVIDER_AT_MATURITY, HW_PROVIDER_AT_MATURITY);
+    assertEquals(
+        computed.get(0).getValue(),
+        PRICER.presentValue(SWAPTION_REC_LONG, RATES_PROVIDER_AT_MATURITY, HW_PROVIDER_AT_MATURITY).getAmount(),
+        NOTIONAL * TOL);
+    assertTrue(computed.get(0).getDerivatives().equalZeroWithTolerance(NOTIONAL * TOL));
+    assertTrue(computed.get(1).getDerivatives().equalZeroWithTolerance(NOTIONAL * TOL));
+  }
+
+  public void test_presentValueAndSensitivityHullWhiteParameter_list_afterMaturity() {
+    List<ValueDerivatives> computed = PRICER.presentValueAndSensitivityModelParamsHullWhite(
+        ImmutableList.of(SWAPTION_REC_LONG), RATES_PROVIDER_AFTER_MATURITY, HW_PROVIDER_AFTER_MATURITY);
+    assertEquals(computed.get(0).getValue(), 0d);
+    assertEquals(computed.get(0).getDerivatives(), DoubleArray.EMPTY);
+  }
+
   //-------------------------------------------------------------------------
   public void regression_pv() {
     CurrencyAmount pv = PRICER.presentValue(SWAPTION_PAY_LONG, RATE_PROVIDER, HW_PROVIDER);
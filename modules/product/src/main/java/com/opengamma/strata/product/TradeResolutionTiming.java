@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.product;
+
+import java.time.Duration;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * The time spent resolving the trades of one type.
+ * <p>
+ * This is produced by {@link TradeResolver}, one instance for each type of trade that was resolved.
+ * The count includes the trades that failed to resolve.
+ */
+public final class TradeResolutionTiming {
+
+  /**
+   * The type of trade.
+   */
+  private final Class<?> tradeType;
+  /**
+   * The number of trades resolved.
+   */
+  private final long count;
+  /**
+   * The number of trades that failed to resolve.
+   */
+  private final long failureCount;
+  /**
+   * The total time spent resolving the trades.
+   */
+  private final Duration totalTime;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param tradeType  the type of trade
+   * @param count  the number of trades resolved
+   * @param failureCount  the number of trades that failed to resolve
+   * @param totalTime  the total time spent resolving the trades
+   * @return the timing
+   */
+  public static TradeResolutionTiming of(Class<?> tradeType, long count, long failureCount, Duration totalTime) {
+    ArgChecker.notNull(tradeType, "tradeType");
+    ArgChecker.notNegative(count, "count");
+    ArgChecker.isTrue(failureCount >= 0 && failureCount <= count, "Failure count must be between zero and count");
+    ArgChecker.notNull(totalTime, "totalTime");
+    return new TradeResolutionTiming(tradeType, count, failureCount, totalTime);
+  }
+
+  private TradeResolutionTiming(Class<?> tradeType, long count, long failureCount, Duration totalTime) {
+    this.tradeType = tradeType;
+    this.count = count;
+    this.failureCount = failureCount;
+    this.totalTime = totalTime;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the type of trade.
+   *
+   * @return the type of trade
+   */
+  public Class<?> getTradeType() {
+    return tradeType;
+  }
+
+  /**
+   * Gets the number of trades resolved, including failures.
+   *
+   * @return the number of trades
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Gets the number of trades that failed to resolve.
+   *
+   * @return the number of failures
+   */
+  public long getFailureCount() {
+    return failureCount;
+  }
+
+  /**
+   * Gets the total time spent resolving the trades.
+   * <p>
+   * When the trades are resolved in parallel, this is the sum of the time spent on each thread.
+   *
+   * @return the total time
+   */
+  public Duration getTotalTime() {
+    return totalTime;
+  }
+
+  /**
+   * Gets the average time spent resolving one trade.
+   *
+   * @return the average time, zero if no trades were resolved
+   */
+  public Duration getAverageTime() {
+    return count == 0 ? Duration.ZERO : totalTime.dividedBy(count);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof TradeResolutionTiming) {
+      TradeResolutionTiming other = (TradeResolutionTiming) obj;
+      return tradeType.equals(other.tradeType) &&
+          count == other.count &&
+          failureCount == other.failureCount &&
+          totalTime.equals(other.totalTime);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = tradeType.hashCode();
+    hash = hash * 31 + Long.hashCode(count);
+    hash = hash * 31 + Long.hashCode(failureCount);
+    return hash * 31 + totalTime.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return tradeType.getSimpleName() + "[count=" + count + ", failures=" + failureCount +
+        ", total=" + totalTime + ", average=" + getAverageTime() + "]";
+  }
+
+}
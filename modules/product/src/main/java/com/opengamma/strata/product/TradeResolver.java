@@ -0,0 +1,259 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.product;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.ReferenceDataId;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Resolves a portfolio of trades against reference data.
+ * <p>
+ * Each {@link ResolvableTrade} is resolved using {@link ResolvableTrade#resolve(ReferenceData)}.
+ * Trades in a portfolio typically repeat the same reference data queries, such as the holiday
+ * calendars, indices and securities they refer to. The resolver wraps the reference data
+ * so that each identifier is only queried once per resolver, the value being shared by
+ * all the trades. The trades can be resolved in parallel.
+ * <p>
+ * The resolved trades are delivered as a stream, in the same order as the input trades.
+ * The stream is lazy, thus the caller can start processing the resolved trades before
+ * the whole portfolio is resolved. A trade that cannot be resolved is returned as a failure,
+ * allowing the remaining trades to be processed.
+ * <p>
+ * The time spent resolving each type of trade is recorded and is available from {@link #getTimings()}.
+ * <p>
+ * An instance is intended to be used for a single run. The memoised reference data is held until
+ * the instance is discarded, thus a change to the underlying reference data will not be seen.
+ * This class is thread-safe.
+ */
+public final class TradeResolver {
+
+  /**
+   * The reference data, memoising the queries.
+   */
+  private final MemoizingReferenceData refData;
+  /**
+   * Whether the trades are resolved in parallel.
+   */
+  private final boolean parallel;
+  /**
+   * The timings, keyed by trade type.
+   */
+  private final ConcurrentHashMap<Class<?>, TimingAccumulator> timings = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a resolver that resolves trades in parallel.
+   *
+   * @param refData  the reference data to use when resolving
+   * @return the resolver
+   */
+  public static TradeResolver of(ReferenceData refData) {
+    return new TradeResolver(refData, true);
+  }
+
+  /**
+   * Obtains a resolver specifying whether the trades are resolved in parallel.
+   *
+   * @param refData  the reference data to use when resolving
+   * @param parallel  whether the trades are resolved in parallel
+   * @return the resolver
+   */
+  public static TradeResolver of(ReferenceData refData, boolean parallel) {
+    return new TradeResolver(refData, parallel);
+  }
+
+  private TradeResolver(ReferenceData refData, boolean parallel) {
+    this.refData = new MemoizingReferenceData(ArgChecker.notNull(refData, "refData"));
+    this.parallel = parallel;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the reference data used when resolving.
+   * <p>
+   * The returned instance memoises the queries, and can be used to resolve other objects
+   * sharing the same lookups.
+   *
+   * @return the reference data
+   */
+  public ReferenceData getReferenceData() {
+    return refData;
+  }
+
+  /**
+   * Checks if the trades are resolved in parallel.
+   *
+   * @return true if parallel
+   */
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Resolves the trades, returning a stream of results.
+   * <p>
+   * The stream is lazy, each trade being resolved when the stream is consumed.
+   * The results are in the same order as the trades, when consumed using an ordered operation.
+   * The stream is parallel if this resolver is parallel.
+   *
+   * @param trades  the trades to resolve
+   * @return the stream of resolved trades, a failure for each trade that cannot be resolved
+   */
+  public Stream<Result<ResolvedTrade>> stream(List<? extends ResolvableTrade<?>> trades) {
+    ArgChecker.noNulls(trades, "trades");
+    Stream<? extends ResolvableTrade<?>> stream = trades.stream();
+    if (parallel) {
+      stream = stream.parallel();
+    }
+    return stream.map(this::resolve);
+  }
+
+  /**
+   * Resolves the trades, returning a list of results.
+   * <p>
+   * The results are in the same order as the trades.
+   *
+   * @param trades  the trades to resolve
+   * @return the list of resolved trades, a failure for each trade that cannot be resolved
+   */
+  public List<Result<ResolvedTrade>> resolveAll(List<? extends ResolvableTrade<?>> trades) {
+    return stream(trades).collect(Collectors.toList());
+  }
+
+  /**
+   * Resolves a single trade.
+   *
+   * @param trade  the trade to resolve
+   * @return the resolved trade, a failure if the trade cannot be resolved
+   */
+  public Result<ResolvedTrade> resolve(ResolvableTrade<?> trade) {
+    ArgChecker.notNull(trade, "trade");
+    TimingAccumulator timing = timings.computeIfAbsent(trade.getClass(), type -> new TimingAccumulator());
+    long start = System.nanoTime();
+    try {
+      ResolvedTrade resolved = trade.resolve(refData);
+      timing.record(System.nanoTime() - start, false);
+      return Result.success(resolved);
+    } catch (RuntimeException ex) {
+      timing.record(System.nanoTime() - start, true);
+      return Result.failure(
+          ex,
+          "Unable to resolve trade '{}' of type {}: {}",
+          trade.getInfo().getId().map(Object::toString).orElse(""),
+          trade.getClass().getSimpleName(),
+          ex.getMessage());
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the timings of the trades resolved so far, keyed by trade type.
+   * <p>
+   * The returned map is a snapshot.
+   *
+   * @return the timings, keyed by trade type
+   */
+  public ImmutableMap<Class<?>, TradeResolutionTiming> getTimings() {
+    ImmutableMap.Builder<Class<?>, TradeResolutionTiming> builder = ImmutableMap.builder();
+    for (Map.Entry<Class<?>, TimingAccumulator> entry : timings.entrySet()) {
+      builder.put(entry.getKey(), entry.getValue().toTiming(entry.getKey()));
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Accumulates the time spent on one type of trade.
+   */
+  private static final class TimingAccumulator {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    private void record(long elapsedNanos, boolean failure) {
+      nanos.add(elapsedNanos);
+      if (failure) {
+        failureCount.increment();
+      }
+      count.increment();
+    }
+
+    private TradeResolutionTiming toTiming(Class<?> tradeType) {
+      // read the count last so that it is never less than the failure count
+      long failures = failureCount.sum();
+      Duration totalTime = Duration.ofNanos(nanos.sum());
+      return TradeResolutionTiming.of(tradeType, Math.max(count.sum(), failures), failures, totalTime);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Reference data that memoises the queries of the underlying reference data.
+   * <p>
+   * Both the resolved values, as returned by {@link #findValue(ReferenceDataId)}, and the
+   * raw values, as returned by {@link #queryValueOrNull(ReferenceDataId)}, are memoised.
+   * Missing values are memoised as well.
+   */
+  private static final class MemoizingReferenceData implements ReferenceData {
+    /**
+     * The marker for a missing value.
+     */
+    private static final Object MISSING = new Object();
+
+    private final ReferenceData underlying;
+    private final ConcurrentHashMap<ReferenceDataId<?>, Object> resolved = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ReferenceDataId<?>, Object> raw = new ConcurrentHashMap<>();
+
+    private MemoizingReferenceData(ReferenceData underlying) {
+      this.underlying = underlying;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> findValue(ReferenceDataId<T> id) {
+      Object value = resolved.get(id);
+      if (value == null) {
+        // not computeIfAbsent, as the lookup may query other identifiers
+        value = underlying.findValue(id).map(Object.class::cast).orElse(MISSING);
+        Object existing = resolved.putIfAbsent(id, value);
+        value = existing != null ? existing : value;
+      }
+      return value == MISSING ? Optional.empty() : Optional.of((T) value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T queryValueOrNull(ReferenceDataId<T> id) {
+      Object value = raw.get(id);
+      if (value == null) {
+        T found = underlying.queryValueOrNull(id);
+        value = found != null ? found : MISSING;
+        Object existing = raw.putIfAbsent(id, value);
+        value = existing != null ? existing : value;
+      }
+      return value == MISSING ? null : (T) value;
+    }
+
+    @Override
+    public String toString() {
+      return "MemoizingReferenceData[" + underlying + "]";
+    }
+  }
+
+}
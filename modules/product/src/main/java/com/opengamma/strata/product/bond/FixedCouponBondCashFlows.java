@@ -0,0 +1,222 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.product.bond;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * The cash flows of a fixed coupon bond, held as primitive arrays.
+ * <p>
+ * This is a view of the nominal payment and periodic payments of a {@link ResolvedFixedCouponBond}
+ * that allows the bond to be priced many times without iterating over the payment period beans.
+ * Dates are held as epoch days, such that a cash flow can be selected by comparing integers.
+ * The coupon amount of each period is the fixed rate multiplied by the notional and year fraction.
+ * <p>
+ * Instances are obtained using {@link ResolvedFixedCouponBond#getCashFlows()}.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class FixedCouponBondCashFlows {
+
+  /**
+   * The payment dates of the coupons.
+   */
+  private final LocalDate[] paymentDates;
+  /**
+   * The payment dates of the coupons, as epoch days.
+   */
+  private final int[] paymentDays;
+  /**
+   * The detachment dates of the coupons, as epoch days.
+   */
+  private final int[] detachmentDays;
+  /**
+   * The amounts of the coupons.
+   */
+  private final double[] amounts;
+  /**
+   * The flags indicating whether each coupon has an ex-coupon period.
+   */
+  private final boolean[] exCoupon;
+  /**
+   * The payment date of the nominal.
+   */
+  private final LocalDate nominalPaymentDate;
+  /**
+   * The amount of the nominal.
+   */
+  private final double nominalAmount;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the payments of a bond.
+   *
+   * @param nominalPayment  the nominal payment
+   * @param periodicPayments  the periodic payments
+   * @return the cash flows
+   */
+  public static FixedCouponBondCashFlows of(
+      Payment nominalPayment,
+      List<FixedCouponBondPaymentPeriod> periodicPayments) {
+
+    ArgChecker.notNull(nominalPayment, "nominalPayment");
+    ArgChecker.noNulls(periodicPayments, "periodicPayments");
+    int size = periodicPayments.size();
+    LocalDate[] paymentDates = new LocalDate[size];
+    int[] paymentDays = new int[size];
+    int[] detachmentDays = new int[size];
+    double[] amounts = new double[size];
+    boolean[] exCoupon = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      FixedCouponBondPaymentPeriod period = periodicPayments.get(i);
+      paymentDates[i] = period.getPaymentDate();
+      paymentDays[i] = epochDay(period.getPaymentDate());
+      detachmentDays[i] = epochDay(period.getDetachmentDate());
+      amounts[i] = period.getFixedRate() * period.getNotional() * period.getYearFraction();
+      exCoupon[i] = period.hasExCouponPeriod();
+    }
+    return new FixedCouponBondCashFlows(
+        paymentDates,
+        paymentDays,
+        detachmentDays,
+        amounts,
+        exCoupon,
+        nominalPayment.getDate(),
+        nominalPayment.getAmount());
+  }
+
+  // restricted constructor
+  private FixedCouponBondCashFlows(
+      LocalDate[] paymentDates,
+      int[] paymentDays,
+      int[] detachmentDays,
+      double[] amounts,
+      boolean[] exCoupon,
+      LocalDate nominalPaymentDate,
+      double nominalAmount) {
+
+    this.paymentDates = paymentDates;
+    this.paymentDays = paymentDays;
+    this.detachmentDays = detachmentDays;
+    this.amounts = amounts;
+    this.exCoupon = exCoupon;
+    this.nominalPaymentDate = nominalPaymentDate;
+    this.nominalAmount = nominalAmount;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Converts a date to the epoch day used by this class.
+   *
+   * @param date  the date
+   * @return the epoch day
+   */
+  public static int epochDay(LocalDate date) {
+    return Math.toIntExact(date.toEpochDay());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of coupons.
+   *
+   * @return the number of coupons
+   */
+  public int getCouponCount() {
+    return amounts.length;
+  }
+
+  /**
+   * Gets the payment date of a coupon.
+   *
+   * @param index  the index of the coupon
+   * @return the payment date
+   */
+  public LocalDate getPaymentDate(int index) {
+    return paymentDates[index];
+  }
+
+  /**
+   * Gets the payment date of a coupon, as an epoch day.
+   *
+   * @param index  the index of the coupon
+   * @return the payment epoch day
+   */
+  public int getPaymentDay(int index) {
+    return paymentDays[index];
+  }
+
+  /**
+   * Gets the detachment date of a coupon, as an epoch day.
+   * <p>
+   * The coupon is paid to the owner of the bond on the detachment date.
+   *
+   * @param index  the index of the coupon
+   * @return the detachment epoch day
+   */
+  public int getDetachmentDay(int index) {
+    return detachmentDays[index];
+  }
+
+  /**
+   * Gets the amount of a coupon.
+   *
+   * @param index  the index of the coupon
+   * @return the amount
+   */
+  public double getAmount(int index) {
+    return amounts[index];
+  }
+
+  /**
+   * Checks if a coupon has an ex-coupon period.
+   *
+   * @param index  the index of the coupon
+   * @return true if the coupon has an ex-coupon period
+   */
+  public boolean isExCoupon(int index) {
+    return exCoupon[index];
+  }
+
+  /**
+   * Gets the payment date of the nominal.
+   *
+   * @return the payment date
+   */
+  public LocalDate getNominalPaymentDate() {
+    return nominalPaymentDate;
+  }
+
+  /**
+   * Gets the payment date of the nominal, as an epoch day.
+   *
+   * @return the payment epoch day
+   */
+  public int getNominalPaymentDay() {
+    return epochDay(nominalPaymentDate);
+  }
+
+  /**
+   * Gets the amount of the nominal.
+   *
+   * @return the amount
+   */
+  public double getNominalAmount() {
+    return nominalAmount;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("FixedCouponBondCashFlows[coupons={}, nominal={} on {}]",
+        amounts.length, nominalAmount, nominalPaymentDate);
+  }
+
+}
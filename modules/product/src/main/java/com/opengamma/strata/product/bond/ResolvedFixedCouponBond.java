@@ -146,8 +146,30 @@ public final class ResolvedFixedCouponBond
    */
   @PropertyDefinition(validate = "notNull")
   private final DaysAdjustment settlementDateOffset;
+  /**
+   * The cash flows, derived from the payments on first use.
+   */
+  private transient volatile FixedCouponBondCashFlows cashFlows;  // not a property
 
   //-------------------------------------------------------------------------
+  /**
+   * Gets the cash flows of the product, held as primitive arrays.
+   * <p>
+   * The cash flows are derived from the nominal payment and periodic payments on first use
+   * and are then retained, allowing the product to be priced many times without iterating
+   * over the payment periods.
+   * 
+   * @return the cash flows
+   */
+  public FixedCouponBondCashFlows getCashFlows() {
+    FixedCouponBondCashFlows result = cashFlows;
+    if (result == null) {
+      result = FixedCouponBondCashFlows.of(nominalPayment, periodicPayments);
+      cashFlows = result;
+    }
+    return result;
+  }
+
   /**
    * Gets the start date of the product.
    * <p>
@@ -0,0 +1,184 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.product;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.date.BusinessDayConventions.MODIFIED_FOLLOWING;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.GBLO;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.ReferenceDataId;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.deposit.TermDeposit;
+import com.opengamma.strata.product.deposit.TermDepositTrade;
+import com.opengamma.strata.product.swap.SwapTrade;
+
+/**
+ * Test {@link TradeResolver}.
+ */
+@Test
+public class TradeResolverTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate TRADE_DATE = date(2016, 6, 30);
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    TradeResolver test = TradeResolver.of(REF_DATA);
+    assertTrue(test.isParallel());
+    assertFalse(TradeResolver.of(REF_DATA, false).isParallel());
+    assertEquals(test.getReferenceData().getValue(GBLO), REF_DATA.getValue(GBLO));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_resolveAll() {
+    List<ResolvableTrade<?>> trades = portfolio(200);
+    List<Result<ResolvedTrade>> test = TradeResolver.of(REF_DATA).resolveAll(trades);
+    assertEquals(test.size(), trades.size());
+    for (int i = 0; i < trades.size(); i++) {
+      assertEquals(test.get(i).getValue(), trades.get(i).resolve(REF_DATA));
+    }
+  }
+
+  public void test_stream_sequentialMatchesParallel() {
+    List<ResolvableTrade<?>> trades = portfolio(50);
+    List<ResolvedTrade> parallel = TradeResolver.of(REF_DATA, true).stream(trades)
+        .map(Result::getValue)
+        .collect(Collectors.toList());
+    List<ResolvedTrade> sequential = TradeResolver.of(REF_DATA, false).stream(trades)
+        .map(Result::getValue)
+        .collect(Collectors.toList());
+    assertEquals(parallel, sequential);
+  }
+
+  public void test_resolve_failure() {
+    TermDepositTrade badTrade = deposit(1, HolidayCalendarId.of("Unknown"));
+    List<ResolvableTrade<?>> trades = ImmutableList.of(deposit(0, GBLO), badTrade, deposit(2, GBLO));
+    TradeResolver resolver = TradeResolver.of(REF_DATA);
+    List<Result<ResolvedTrade>> test = resolver.resolveAll(trades);
+    assertTrue(test.get(0).isSuccess());
+    assertTrue(test.get(1).isFailure());
+    assertTrue(test.get(1).getFailure().getMessage().contains("OG-Test~1"));
+    assertTrue(test.get(2).isSuccess());
+    TradeResolutionTiming timing = resolver.getTimings().get(TermDepositTrade.class);
+    assertEquals(timing.getCount(), 3);
+    assertEquals(timing.getFailureCount(), 1);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_memoisedLookups() {
+    AtomicInteger queries = new AtomicInteger();
+    ReferenceData counting = new ReferenceData() {
+      @Override
+      public <T> Optional<T> findValue(ReferenceDataId<T> id) {
+        queries.incrementAndGet();
+        return REF_DATA.findValue(id);
+      }
+
+      @Override
+      public <T> T queryValueOrNull(ReferenceDataId<T> id) {
+        queries.incrementAndGet();
+        return REF_DATA.queryValueOrNull(id);
+      }
+    };
+    List<ResolvableTrade<?>> trades = portfolio(100);
+    TradeResolver resolver = TradeResolver.of(counting, false);
+    resolver.resolveAll(trades);
+    int firstRun = queries.get();
+    assertTrue(firstRun > 0);
+    // resolving the same trades again uses the memoised values
+    resolver.resolveAll(trades);
+    assertEquals(queries.get(), firstRun);
+  }
+
+  public void test_timings() {
+    List<ResolvableTrade<?>> trades = portfolio(20);
+    TradeResolver resolver = TradeResolver.of(REF_DATA);
+    assertTrue(resolver.getTimings().isEmpty());
+    resolver.resolveAll(trades);
+    assertEquals(resolver.getTimings().size(), 2);
+    TradeResolutionTiming swaps = resolver.getTimings().get(SwapTrade.class);
+    assertEquals(swaps.getTradeType(), SwapTrade.class);
+    assertEquals(swaps.getCount(), 10);
+    assertEquals(swaps.getFailureCount(), 0);
+    assertEquals(swaps.getAverageTime(), swaps.getTotalTime().dividedBy(10));
+    assertEquals(resolver.getTimings().get(TermDepositTrade.class).getCount(), 10);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test(enabled = false)
+  public void performance() {
+    List<ResolvableTrade<?>> trades = portfolio(20_000);
+    for (int i = 0; i < 5; i++) {
+      long start = System.nanoTime();
+      long count = 0;
+      for (ResolvableTrade<?> trade : trades) {
+        count += trade.resolve(REF_DATA).hashCode() & 1;
+      }
+      long mid = System.nanoTime();
+      TradeResolver resolver = TradeResolver.of(REF_DATA);
+      count += resolver.stream(trades).filter(Result::isSuccess).count();
+      long end = System.nanoTime();
+      System.out.println("Individual: " + ((mid - start) / 1_000_000) + "ms, resolver: " +
+          ((end - mid) / 1_000_000) + "ms " + resolver.getTimings().values());
+      System.out.println("Avoiding hotspot: " + count);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static List<ResolvableTrade<?>> portfolio(int size) {
+    List<ResolvableTrade<?>> trades = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      if (i % 2 == 0) {
+        trades.add(USD_FIXED_6M_LIBOR_3M.createTrade(
+            TRADE_DATE, Tenor.ofYears(1 + i % 10), BuySell.BUY, 1_000_000d, 0.01 + i * 1e-5, REF_DATA));
+      } else {
+        trades.add(deposit(i, GBLO));
+      }
+    }
+    return trades;
+  }
+
+  private static TermDepositTrade deposit(int index, HolidayCalendarId calendar) {
+    TermDeposit deposit = TermDeposit.builder()
+        .buySell(BuySell.BUY)
+        .currency(GBP)
+        .notional(1_000_000d)
+        .startDate(LocalDate.of(2016, 7, 4))
+        .endDate(LocalDate.of(2016, 7, 4).plusMonths(1 + index % 12))
+        .businessDayAdjustment(BusinessDayAdjustment.of(MODIFIED_FOLLOWING, calendar))
+        .dayCount(ACT_365F)
+        .rate(0.0250)
+        .build();
+    TradeInfo info = TradeInfo.builder()
+        .id(StandardId.of("OG-Test", Integer.toString(index)))
+        .tradeDate(TRADE_DATE)
+        .build();
+    return TermDepositTrade.of(info, deposit);
+  }
+
+}
@@ -9,6 +9,7 @@ import static com.opengamma.strata.collect.TestHelper.assertSerialization;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -40,6 +41,25 @@ public class ResolvedFixedCouponBondTest {
     assertEquals(test.hasExCouponPeriod(), true);
   }
 
+  public void test_getCashFlows() {
+    ResolvedFixedCouponBond test = sut();
+    FixedCouponBondCashFlows cashFlows = test.getCashFlows();
+    ImmutableList<FixedCouponBondPaymentPeriod> payments = test.getPeriodicPayments();
+    assertEquals(cashFlows.getCouponCount(), payments.size());
+    for (int i = 0; i < payments.size(); i++) {
+      FixedCouponBondPaymentPeriod period = payments.get(i);
+      assertEquals(cashFlows.getPaymentDate(i), period.getPaymentDate());
+      assertEquals(cashFlows.getPaymentDay(i), period.getPaymentDate().toEpochDay());
+      assertEquals(cashFlows.getDetachmentDay(i), period.getDetachmentDate().toEpochDay());
+      assertEquals(cashFlows.getAmount(i), period.getFixedRate() * period.getNotional() * period.getYearFraction());
+      assertEquals(cashFlows.isExCoupon(i), period.hasExCouponPeriod());
+    }
+    assertEquals(cashFlows.getNominalPaymentDate(), test.getNominalPayment().getDate());
+    assertEquals(cashFlows.getNominalPaymentDay(), test.getNominalPayment().getDate().toEpochDay());
+    assertEquals(cashFlows.getNominalAmount(), test.getNominalPayment().getAmount());
+    assertSame(test.getCashFlows(), cashFlows);
+  }
+
   //-------------------------------------------------------------------------
   public void test_yearFraction() {
     ResolvedFixedCouponBond test = sut();
@@ -0,0 +1,272 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.runner.CalculationListener;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.io.CsvOutput;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * A calculation listener that writes a report in CSV format as the results are calculated.
+ * <p>
+ * The calculation results of a target are held until every column of the target has been received.
+ * The row of the report is then formatted and written, and the results are discarded.
+ * The rows are written in the order of the targets, thus a row whose results are complete
+ * is held until the rows of all the preceding targets have been written.
+ * The memory required is therefore proportional to the number of rows in progress,
+ * rather than to the size of the report.
+ * <p>
+ * The number of rows held is not bounded.
+ * If the results of an early row are slow to arrive, for example because the target is
+ * expensive to calculate, the results of all later rows are held until that row is complete.
+ * In the worst case the results of the whole report are held in memory.
+ * <p>
+ * The writer should be buffered, for example using {@link java.nio.file.Files#newBufferedWriter}.
+ * It is flushed when the calculations are complete, and closed if requested when the listener was created.
+ * <p>
+ * The calculation runner invokes the listener from a single thread at a time.
+ * The number of rows written is available from {@link #result()} once the calculations are complete.
+ */
+public abstract class StreamingCsvReportListener implements CalculationListener {
+
+  /**
+   * The calculation targets, one row per target.
+   */
+  private final List<? extends CalculationTarget> targets;
+  /**
+   * The number of calculation columns.
+   */
+  private final int columnCount;
+  /**
+   * The underlying writer.
+   */
+  private final Writer writer;
+  /**
+   * The CSV output.
+   */
+  private final CsvOutput csvOutput;
+  /**
+   * The results of the rows not yet written, keyed by row index.
+   */
+  private final Map<Integer, PendingRow> pendingRows = new HashMap<>();
+  /**
+   * The future completed when the calculations are complete.
+   */
+  private final CompletableFuture<Integer> future = new CompletableFuture<>();
+  /**
+   * Whether the writer is closed when the calculations are complete.
+   */
+  private boolean closeWriter;
+  /**
+   * The index of the next row to write.
+   */
+  private int nextRow;
+  /**
+   * The first failure to write, null if none.
+   */
+  private RuntimeException writeFailure;
+
+  /**
+   * Creates an instance, writing the column headers.
+   *
+   * @param headers  the column headers of the report
+   * @param targets  the targets of the calculations
+   * @param columnCount  the number of columns of the calculations
+   * @param writer  the writer
+   */
+  protected StreamingCsvReportListener(
+      List<String> headers,
+      List<? extends CalculationTarget> targets,
+      int columnCount,
+      Writer writer) {
+
+    ArgChecker.notNull(headers, "headers");
+    this.targets = ImmutableList.copyOf(ArgChecker.notNull(targets, "targets"));
+    this.columnCount = ArgChecker.notNegative(columnCount, "columnCount");
+    this.writer = ArgChecker.notNull(writer, "writer");
+    this.csvOutput = new CsvOutput(writer);
+    write(headers);
+  }
+
+  /**
+   * Requests that the writer is closed when the calculations are complete.
+   * <p>
+   * This is used by subclasses that open the writer themselves.
+   */
+  protected final void closeWriterOnCompletion() {
+    this.closeWriter = true;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult result) {
+    int rowIndex = result.getRowIndex();
+    PendingRow row = pendingRows.computeIfAbsent(rowIndex, i -> new PendingRow(columnCount));
+    row.add(result.getColumnIndex(), result.getResult());
+    // write all complete rows that are next in order
+    while (nextRow < targets.size() && isComplete(pendingRows.get(nextRow))) {
+      writeRow(nextRow, pendingRows.remove(nextRow));
+      nextRow++;
+    }
+  }
+
+  @Override
+  public void calculationsComplete() {
+    try {
+      // rows without a complete set of results are written with failures for the missing cells
+      for (; nextRow < targets.size(); nextRow++) {
+        writeRow(nextRow, pendingRows.remove(nextRow));
+      }
+      writer.flush();
+    } catch (IOException ex) {
+      recordFailure(new UncheckedIOException(ex));
+    } catch (RuntimeException ex) {
+      recordFailure(ex);
+    } finally {
+      if (closeWriter) {
+        closeWriter();
+      }
+    }
+    if (writeFailure != null) {
+      future.completeExceptionally(writeFailure);
+    } else {
+      future.complete(nextRow);
+    }
+  }
+
+  /**
+   * Waits until the calculations are complete, returning the number of rows written.
+   *
+   * @return the number of rows written
+   * @throws RuntimeException if the report could not be written
+   */
+  public int result() {
+    try {
+      return future.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted waiting for the report", ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw new RuntimeException("Exception writing the report", ex.getCause());
+    }
+  }
+
+  /**
+   * Gets a completion stage that is completed with the number of rows written.
+   *
+   * @return the completion stage
+   */
+  public CompletionStage<Integer> completionStage() {
+    return future;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Formats a row of the report.
+   * <p>
+   * The results are the calculation results of the target, in the order of the calculation columns.
+   *
+   * @param target  the calculation target
+   * @param results  the calculation results of the target
+   * @return the formatted cells of the row
+   */
+  protected abstract List<String> formatRow(CalculationTarget target, List<Result<?>> results);
+
+  //-------------------------------------------------------------------------
+  // checks if all the results of a row have been received
+  private boolean isComplete(PendingRow row) {
+    return row != null && row.received == columnCount;
+  }
+
+  // closes the writer, even if the rows could not be written
+  private void closeWriter() {
+    try {
+      writer.close();
+    } catch (IOException ex) {
+      recordFailure(new UncheckedIOException(ex));
+    } catch (RuntimeException ex) {
+      recordFailure(ex);
+    }
+  }
+
+  // formats and writes a row, the pending row is null if no results were received
+  private void writeRow(int rowIndex, PendingRow row) {
+    if (writeFailure != null) {
+      return;
+    }
+    PendingRow received = row != null ? row : new PendingRow(columnCount);
+    try {
+      write(formatRow(targets.get(rowIndex), received.results()));
+    } catch (RuntimeException ex) {
+      recordFailure(ex);
+    }
+  }
+
+  // writes a line
+  private void write(List<String> line) {
+    try {
+      csvOutput.writeLine(line);
+    } catch (RuntimeException ex) {
+      recordFailure(ex);
+    }
+  }
+
+  // records the first failure, the remaining rows are then ignored
+  private void recordFailure(RuntimeException ex) {
+    if (writeFailure == null) {
+      writeFailure = ex;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The results received for a single row.
+   */
+  private static final class PendingRow {
+    private final Result<?>[] results;
+    private int received;
+
+    private PendingRow(int columnCount) {
+      this.results = new Result<?>[columnCount];
+    }
+
+    private void add(int columnIndex, Result<?> result) {
+      if (results[columnIndex] == null) {
+        received++;
+      }
+      results[columnIndex] = result;
+    }
+
+    private List<Result<?>> results() {
+      Result<?>[] copy = results.clone();
+      for (int i = 0; i < copy.length; i++) {
+        if (copy[i] == null) {
+          copy[i] = Result.failure(FailureReason.MISSING_DATA, "No result was calculated");
+        }
+      }
+      return ImmutableList.copyOf(copy);
+    }
+  }
+
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.framework.expression;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.MetaProperty;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.report.ReportCalculationResults;
+
+/**
+ * A value path that has been compiled for repeated evaluation.
+ * <p>
+ * The value path is split into tokens once. Each token after the root is then evaluated against
+ * the type of the value reached so far. The accessor used for a token is resolved the first time
+ * a type is seen at that position in the path and is then reused for every row of the report.
+ * In particular, the meta-property of an immutable bean is looked up once, rather than for every row.
+ * <p>
+ * The results are the same as evaluating the path using {@link ValuePathEvaluator#evaluate}.
+ * Instances are obtained from {@link ValuePathEvaluator#compile(String)} and are thread-safe.
+ */
+public final class CompiledValuePath {
+
+  /**
+   * The value path.
+   */
+  private final String valuePath;
+  /**
+   * The tokens of the value path.
+   */
+  private final ImmutableList<String> tokens;
+  /**
+   * The accessors, keyed by type, for each token index.
+   */
+  private final List<Map<Class<?>, Accessor>> accessors;
+
+  /**
+   * The accessor used when no evaluator supports a type.
+   */
+  private static final Accessor NO_EVALUATOR = (value, functions) -> {
+    throw new IllegalStateException("No evaluator");
+  };
+
+  /**
+   * Creates an instance.
+   *
+   * @param valuePath  the value path
+   * @param tokens  the tokens
+   */
+  CompiledValuePath(String valuePath, List<String> tokens) {
+    this.valuePath = valuePath;
+    this.tokens = ImmutableList.copyOf(tokens);
+    this.accessors = IntStream.range(0, tokens.size())
+        .mapToObj(i -> new ConcurrentHashMap<Class<?>, Accessor>())
+        .collect(toImmutableList());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the value path.
+   *
+   * @return the value path
+   */
+  public String getValuePath() {
+    return valuePath;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Evaluates this value path against a set of results, returning the resolved result for each trade.
+   *
+   * @param results  the calculation results
+   * @return the list of resolved results for each trade
+   */
+  public List<Result<?>> evaluate(ReportCalculationResults results) {
+    ArgChecker.notNull(results, "results");
+    int rowCount = results.getCalculationResults().getRowCount();
+    if (tokens.isEmpty()) {
+      return Collections.nCopies(
+          results.getTargets().size(),
+          Result.failure(FailureReason.INVALID, "Column expressions must not be empty"));
+    }
+    return IntStream.range(0, rowCount)
+        .mapToObj(rowIndex -> evaluate(results, rowIndex))
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Evaluates this value path against a single row of a set of results.
+   *
+   * @param results  the calculation results
+   * @param rowIndex  the row index
+   * @return the resolved result for the row
+   */
+  public Result<?> evaluate(ReportCalculationResults results, int rowIndex) {
+    ArgChecker.notNull(results, "results");
+    if (tokens.isEmpty()) {
+      return Result.failure(FailureReason.INVALID, "Column expressions must not be empty");
+    }
+    CalculationFunctions functions = results.getCalculationFunctions();
+    EvaluationResult evaluationResult = RootEvaluator.INSTANCE.evaluate(
+        new ResultsRow(results, rowIndex), functions, tokens.get(0), tokens.subList(1, tokens.size()));
+    int previousIndex = 0;
+    while (!evaluationResult.isComplete()) {
+      Object value = evaluationResult.getResult().getValue();
+      int index = tokens.size() - evaluationResult.getRemainingTokens().size();
+      Accessor accessor = accessor(index, value);
+      if (accessor == NO_EVALUATOR) {
+        return noEvaluatorResult(tokens.subList(previousIndex + 1, tokens.size()), value);
+      }
+      evaluationResult = accessor.evaluate(value, functions);
+      previousIndex = index;
+    }
+    return evaluationResult.getResult();
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the accessor for the type of the value at the token index
+  private Accessor accessor(int index, Object value) {
+    return accessors.get(index).computeIfAbsent(value.getClass(), type -> createAccessor(index, value));
+  }
+
+  // creates the accessor for the type of the value at the token index
+  private Accessor createAccessor(int index, Object value) {
+    Optional<TokenEvaluator<Object>> evaluator = ValuePathEvaluator.getEvaluator(value.getClass());
+    if (!evaluator.isPresent()) {
+      return NO_EVALUATOR;
+    }
+    TokenEvaluator<Object> tokenEvaluator = evaluator.get();
+    if (tokenEvaluator.getClass() == BeanTokenEvaluator.class && value instanceof ImmutableBean) {
+      // the properties of an immutable bean are the same for all instances of the type
+      Optional<Accessor> beanAccessor = beanAccessor(index, (ImmutableBean) value);
+      if (beanAccessor.isPresent()) {
+        return beanAccessor.get();
+      }
+    }
+    String token = tokens.get(index);
+    List<String> remaining = tokens.subList(index + 1, tokens.size());
+    return (target, functions) -> tokenEvaluator.evaluate(target, functions, token, remaining);
+  }
+
+  // creates an accessor that reads the meta-property of an immutable bean, matching BeanTokenEvaluator
+  private Optional<Accessor> beanAccessor(int index, ImmutableBean bean) {
+    Map<String, MetaProperty<?>> metaProperties = bean.metaBean().metaPropertyMap();
+    String token = tokens.get(index);
+    Optional<MetaProperty<?>> matched = metaProperties.values().stream()
+        .filter(mp -> mp.name().equalsIgnoreCase(token))
+        .findFirst();
+    if (matched.isPresent()) {
+      return Optional.of(propertyAccessor(matched.get(), token, tokens.subList(index + 1, tokens.size())));
+    }
+    if (metaProperties.size() == 1) {
+      // the single property is skipped over without consuming the token
+      MetaProperty<?> singleProperty = metaProperties.values().iterator().next();
+      return Optional.of(propertyAccessor(singleProperty, token, tokens.subList(index, tokens.size())));
+    }
+    return Optional.empty();
+  }
+
+  // creates an accessor that reads a meta-property
+  private static Accessor propertyAccessor(MetaProperty<?> metaProperty, String token, List<String> remaining) {
+    return (value, functions) -> {
+      Object propertyValue = metaProperty.get((ImmutableBean) value);
+      return propertyValue != null ?
+          EvaluationResult.success(propertyValue, remaining) :
+          EvaluationResult.failure("No value available for property '{}'", token);
+    };
+  }
+
+  // the failure when there is no evaluator for the value
+  private static Result<?> noEvaluatorResult(List<String> remaining, Object value) {
+    return Result.failure(
+        FailureReason.INVALID,
+        "Expression '{}' cannot be invoked on type {}",
+        Joiner.on('.').join(remaining),
+        value.getClass().getName());
+  }
+
+  @Override
+  public String toString() {
+    return valuePath;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Evaluates a token against a value of a known type.
+   */
+  private interface Accessor {
+    EvaluationResult evaluate(Object value, CalculationFunctions functions);
+  }
+
+}
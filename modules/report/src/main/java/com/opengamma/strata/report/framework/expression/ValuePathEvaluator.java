@@ -5,21 +5,15 @@
  */
 package com.opengamma.strata.report.framework.expression;
 
-import static com.opengamma.strata.collect.Guavate.toImmutableList;
-
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.IntStream;
 
-import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.calc.Measure;
-import com.opengamma.strata.calc.runner.CalculationFunctions;
-import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.product.fra.Fra;
 import com.opengamma.strata.product.fra.FraTrade;
@@ -36,6 +30,9 @@ import com.opengamma.strata.report.ReportCalculationResults;
  *   <li>{@code IborIndex.getName()} returning the index name</li>
  * </ul>
  * The result of evaluating the expression is the index name.
+ * <p>
+ * A value path can be compiled for repeated evaluation, see {@link CompiledValuePath}.
+ * The compiled form is retained by the caller, typically for the duration of a report.
  */
 public class ValuePathEvaluator {
 
@@ -83,47 +80,21 @@ public class ValuePathEvaluator {
    * @return the list of resolved results for each trade
    */
   public static List<Result<?>> evaluate(String valuePath, ReportCalculationResults results) {
-    List<String> tokens = tokenize(valuePath);
-
-    if (tokens.size() < 1) {
-      return Collections.nCopies(
-          results.getTargets().size(),
-          Result.failure(FailureReason.INVALID, "Column expressions must not be empty"));
-    }
-    CalculationFunctions functions = results.getCalculationFunctions();
-    int rowCount = results.getCalculationResults().getRowCount();
-    return IntStream.range(0, rowCount)
-        .mapToObj(rowIndex -> evaluate(functions, tokens, RootEvaluator.INSTANCE, new ResultsRow(results, rowIndex)))
-        .collect(toImmutableList());
-  }
-
-  // Tokens always has at least one token
-  private static <T> Result<?> evaluate(
-      CalculationFunctions functions,
-      List<String> tokens,
-      TokenEvaluator<T> evaluator,
-      T target) {
-
-    List<String> remaining = tokens.subList(1, tokens.size());
-    EvaluationResult evaluationResult = evaluator.evaluate(target, functions, tokens.get(0), remaining);
-
-    if (evaluationResult.isComplete()) {
-      return evaluationResult.getResult();
-    }
-    Object value = evaluationResult.getResult().getValue();
-    Optional<TokenEvaluator<Object>> nextEvaluator = getEvaluator(value.getClass());
-
-    return nextEvaluator.isPresent() ?
-        evaluate(functions, evaluationResult.getRemainingTokens(), nextEvaluator.get(), value) :
-        noEvaluatorResult(remaining, value);
+    return compile(valuePath).evaluate(results);
   }
 
-  private static Result<?> noEvaluatorResult(List<String> remaining, Object value) {
-    return Result.failure(
-        FailureReason.INVALID,
-        "Expression '{}' cannot be invoked on type {}",
-        Joiner.on('.').join(remaining),
-        value.getClass().getName());
+  /**
+   * Compiles a value path for repeated evaluation.
+   * <p>
+   * The compiled form resolves the accessor for each type it encounters once, and reuses it thereafter.
+   * A new instance is returned each time, which should be retained by the caller.
+   *
+   * @param valuePath  the value path
+   * @return the compiled value path
+   */
+  public static CompiledValuePath compile(String valuePath) {
+    ArgChecker.notNull(valuePath, "valuePath");
+    return new CompiledValuePath(valuePath, tokenize(valuePath));
   }
 
   /**
@@ -144,7 +115,7 @@ public class ValuePathEvaluator {
   }
 
   @SuppressWarnings("unchecked")
-  private static Optional<TokenEvaluator<Object>> getEvaluator(Class<?> targetClass) {
+  static Optional<TokenEvaluator<Object>> getEvaluator(Class<?> targetClass) {
     return EVALUATORS.stream()
         .filter(e -> e.getTargetType().isAssignableFrom(targetClass))
         .map(e -> (TokenEvaluator<Object>) e)
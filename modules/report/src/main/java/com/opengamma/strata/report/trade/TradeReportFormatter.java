@@ -68,7 +68,11 @@ public class TradeReportFormatter
   protected String formatData(TradeReport report, int rowIdx, int colIdx, ReportOutputFormat format) {
     TradeReportColumn templateColumn = report.getColumns().get(colIdx);
     Result<?> result = report.getData().get(rowIdx, colIdx);
+    return formatResult(templateColumn, result, format);
+  }
 
+  // formats the result of a single cell
+  String formatResult(TradeReportColumn templateColumn, Result<?> result, ReportOutputFormat format) {
     if (result.isFailure()) {
       return templateColumn.isIgnoreFailures() ? "" : Messages.format("FAIL: {}", result.getFailure().getMessage());
     }
@@ -7,19 +7,39 @@ package com.opengamma.strata.report.trade;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.IntStream;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableTable;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.CalculationRunner;
 import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.report.ReportCalculationResults;
 import com.opengamma.strata.report.ReportRequirements;
 import com.opengamma.strata.report.ReportRunner;
+import com.opengamma.strata.report.StreamingCsvReportListener;
+import com.opengamma.strata.report.framework.expression.CompiledValuePath;
 import com.opengamma.strata.report.framework.expression.ValuePathEvaluator;
+import com.opengamma.strata.report.framework.format.ReportOutputFormat;
 
 /**
  * Report runner for trade reports.
@@ -27,6 +47,9 @@ import com.opengamma.strata.report.framework.expression.ValuePathEvaluator;
  * Trade reports are driven by a {@linkplain TradeReportTemplate trade report template}.
  * The resulting report is a table containing one row per trade, and the requested columns each
  * showing a value for that trade.
+ * <p>
+ * Trade reports can also be written in CSV format as the calculation results are received,
+ * see {@link #csvListener(TradeReportTemplate, LocalDate, List, List, CalculationFunctions, ReferenceData, Writer)}.
  */
 public class TradeReportRunner
     implements ReportRunner<TradeReportTemplate> {
@@ -60,15 +83,7 @@ public class TradeReportRunner
 
     for (int reportColumnIdx = 0; reportColumnIdx < reportTemplate.getColumns().size(); reportColumnIdx++) {
       TradeReportColumn reportColumn = reportTemplate.getColumns().get(reportColumnIdx);
-      List<Result<?>> columnResults;
-
-      if (reportColumn.getValue().isPresent()) {
-        columnResults = ValuePathEvaluator.evaluate(reportColumn.getValue().get(), results);
-      } else {
-        columnResults = IntStream.range(0, results.getTargets().size())
-            .mapToObj(i -> Result.failure(FailureReason.INVALID, "No value specified in report template"))
-            .collect(toImmutableList());
-      }
+      List<Result<?>> columnResults = evaluate(reportColumn, results);
       int rowCount = results.getCalculationResults().getRowCount();
 
       for (int rowIdx = 0; rowIdx < rowCount; rowIdx++) {
@@ -84,4 +99,157 @@ public class TradeReportRunner
         .build();
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a listener that writes the report in CSV format as the calculation results are received.
+   * <p>
+   * The listener is passed to {@link CalculationRunner#calculateAsync} with the same targets and columns.
+   * The report is written incrementally and the full set of results is never held in memory.
+   * The writer is flushed, but not closed, when the calculations are complete.
+   *
+   * @param reportTemplate  the report template
+   * @param valuationDate  the valuation date of the calculations
+   * @param targets  the targets of the calculations
+   * @param columns  the columns of the calculations
+   * @param calculationFunctions  the calculation functions
+   * @param refData  the reference data
+   * @param writer  the writer, which should be buffered
+   * @return the listener
+   */
+  public StreamingCsvReportListener csvListener(
+      TradeReportTemplate reportTemplate,
+      LocalDate valuationDate,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      CalculationFunctions calculationFunctions,
+      ReferenceData refData,
+      Writer writer) {
+
+    return new TradeReportCsvListener(
+        reportTemplate, valuationDate, targets, columns, calculationFunctions, refData, writer, false);
+  }
+
+  /**
+   * Creates a listener that writes the report in CSV format to a file as the calculation results are received.
+   * <p>
+   * The file is written using a buffered writer, which is closed when the calculations are complete.
+   * See {@link #csvListener(TradeReportTemplate, LocalDate, List, List, CalculationFunctions, ReferenceData, Writer)}.
+   *
+   * @param reportTemplate  the report template
+   * @param valuationDate  the valuation date of the calculations
+   * @param targets  the targets of the calculations
+   * @param columns  the columns of the calculations
+   * @param calculationFunctions  the calculation functions
+   * @param refData  the reference data
+   * @param file  the file to write to
+   * @return the listener
+   * @throws UncheckedIOException if the file cannot be opened
+   */
+  public StreamingCsvReportListener csvListener(
+      TradeReportTemplate reportTemplate,
+      LocalDate valuationDate,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      CalculationFunctions calculationFunctions,
+      ReferenceData refData,
+      Path file) {
+
+    Writer writer;
+    try {
+      writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    try {
+      return new TradeReportCsvListener(
+          reportTemplate, valuationDate, targets, columns, calculationFunctions, refData, writer, true);
+    } catch (RuntimeException ex) {
+      try {
+        writer.close();
+      } catch (IOException ex2) {
+        ex.addSuppressed(ex2);
+      }
+      throw ex;
+    }
+  }
+
+  // evaluates a column of the report
+  private static List<Result<?>> evaluate(TradeReportColumn reportColumn, ReportCalculationResults results) {
+    if (reportColumn.getValue().isPresent()) {
+      return ValuePathEvaluator.evaluate(reportColumn.getValue().get(), results);
+    }
+    return IntStream.range(0, results.getTargets().size())
+        .mapToObj(i -> Result.failure(FailureReason.INVALID, "No value specified in report template"))
+        .collect(toImmutableList());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Listener that writes a trade report in CSV format as the results are received.
+   * <p>
+   * The value paths of the template are compiled once. Each row is evaluated against single-row
+   * calculation results, such that the values are the same as for {@link #runReport}.
+   */
+  private static final class TradeReportCsvListener extends StreamingCsvReportListener {
+
+    private final TradeReportTemplate reportTemplate;
+    private final List<Optional<CompiledValuePath>> compiledPaths;
+    private final LocalDate valuationDate;
+    private final List<Column> columns;
+    private final List<ColumnHeader> headers;
+    private final CalculationFunctions calculationFunctions;
+    private final ReferenceData refData;
+
+    private TradeReportCsvListener(
+        TradeReportTemplate reportTemplate,
+        LocalDate valuationDate,
+        List<? extends CalculationTarget> targets,
+        List<Column> columns,
+        CalculationFunctions calculationFunctions,
+        ReferenceData refData,
+        Writer writer,
+        boolean closeWriter) {
+
+      super(headers(reportTemplate), targets, columns.size(), writer);
+      if (closeWriter) {
+        closeWriterOnCompletion();
+      }
+      this.reportTemplate = reportTemplate;
+      this.compiledPaths = reportTemplate.getColumns().stream()
+          .map(column -> column.getValue().map(ValuePathEvaluator::compile))
+          .collect(toImmutableList());
+      this.valuationDate = ArgChecker.notNull(valuationDate, "valuationDate");
+      this.columns = ImmutableList.copyOf(columns);
+      this.headers = columns.stream().map(Column::toHeader).collect(toImmutableList());
+      this.calculationFunctions = ArgChecker.notNull(calculationFunctions, "calculationFunctions");
+      this.refData = ArgChecker.notNull(refData, "refData");
+    }
+
+    private static List<String> headers(TradeReportTemplate reportTemplate) {
+      return reportTemplate.getColumns().stream()
+          .map(TradeReportColumn::getHeader)
+          .collect(toImmutableList());
+    }
+
+    @Override
+    protected List<String> formatRow(CalculationTarget target, List<Result<?>> results) {
+      ReportCalculationResults rowResults = ReportCalculationResults.of(
+          valuationDate,
+          ImmutableList.of(target),
+          columns,
+          Results.of(headers, results),
+          calculationFunctions,
+          refData);
+      List<TradeReportColumn> reportColumns = reportTemplate.getColumns();
+      List<String> row = new ArrayList<>(reportColumns.size());
+      for (int i = 0; i < reportColumns.size(); i++) {
+        Result<?> result = compiledPaths.get(i)
+            .map(path -> path.evaluate(rowResults, 0))
+            .orElse(Result.failure(FailureReason.INVALID, "No value specified in report template"));
+        row.add(TradeReportFormatter.INSTANCE.formatResult(reportColumns.get(i), result, ReportOutputFormat.CSV));
+      }
+      return row;
+    }
+  }
+
 }
@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Test {@link StreamingCsvReportListener}.
+ */
+@Test
+public class StreamingCsvReportListenerTest {
+
+  private static final CalculationTarget TARGET = new CalculationTarget() {};
+
+  //-------------------------------------------------------------------------
+  public void test_closedWhenFlushFails() {
+    FailingWriter writer = new FailingWriter(false);
+    TestListener listener = new TestListener(writer);
+    listener.resultReceived(TARGET, CalculationResult.of(0, 0, Result.success("A")));
+    listener.calculationsComplete();
+    assertTrue(writer.closed);
+    assertThrows(listener::result, UncheckedIOException.class);
+  }
+
+  public void test_closedWhenFormatFails() {
+    FailingWriter writer = new FailingWriter(true);
+    TestListener listener = new TestListener(writer);
+    listener.calculationsComplete();
+    assertTrue(writer.closed);
+    assertThrows(listener::result, IllegalStateException.class);
+  }
+
+  public void test_closedWhenComplete() {
+    FailingWriter writer = new FailingWriter(true);
+    TestListener listener = new TestListener(writer);
+    listener.resultReceived(TARGET, CalculationResult.of(0, 0, Result.success("A")));
+    listener.calculationsComplete();
+    assertTrue(writer.closed);
+    assertEquals(listener.result(), 1);
+  }
+
+  //-------------------------------------------------------------------------
+  // listener with a single row and column, which fails to format a row without a result
+  private static final class TestListener extends StreamingCsvReportListener {
+    private TestListener(Writer writer) {
+      super(ImmutableList.of("Value"), ImmutableList.of(TARGET), 1, writer);
+      closeWriterOnCompletion();
+    }
+
+    @Override
+    protected List<String> formatRow(CalculationTarget target, List<Result<?>> results) {
+      if (results.get(0).isFailure()) {
+        throw new IllegalStateException("No result");
+      }
+      return ImmutableList.of(results.get(0).getValue().toString());
+    }
+  }
+
+  // writer that optionally fails to flush, recording whether it was closed
+  private static final class FailingWriter extends StringWriter {
+    private final boolean flushable;
+    private boolean closed;
+
+    private FailingWriter(boolean flushable) {
+      this.flushable = flushable;
+    }
+
+    @Override
+    public void flush() {
+      if (!flushable) {
+        throw new UncheckedIOException(new IOException("Flush failed"));
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      closed = true;
+    }
+  }
+
+}
@@ -122,6 +122,35 @@ public class ValuePathEvaluatorTest {
     assertThat(counterpartyResults).isEqualTo(expectedCounterparties);
   }
 
+  public void compile() {
+    CompiledValuePath test = ValuePathEvaluator.compile("Trade.Product.Notional");
+    assertThat(test.getValuePath()).isEqualTo("Trade.Product.Notional");
+    assertThat(ValuePathEvaluator.compile("Trade.Product.Notional")).isNotSameAs(test);
+    assertThat(test.toString()).isEqualTo("Trade.Product.Notional");
+  }
+
+  public void compiledPath_rows() {
+    ReportCalculationResults reportResults = reportResults();
+    CompiledValuePath test = ValuePathEvaluator.compile("Trade.Counterparty.Value");
+    assertThat(test.evaluate(reportResults, 1)).isEqualTo(Result.success("cpty2"));
+    // evaluating again uses the resolved accessors
+    List<Result<?>> expected = ValuePathEvaluator.evaluate("Target.Counterparty.Value", reportResults);
+    assertThat(test.evaluate(reportResults)).isEqualTo(expected);
+  }
+
+  public void compiledPath_failures() {
+    ReportCalculationResults reportResults = reportResults();
+    for (int i = 0; i < 2; i++) {
+      Result<?> invalid = ValuePathEvaluator.compile("Trade.Product.Wibble").evaluate(reportResults, 0);
+      assertThat(invalid.isFailure()).isTrue();
+      assertThat(invalid.getFailure().getMessage()).contains("Wibble");
+      assertThat(invalid.getFailure().getMessage()).contains("notional");
+      Result<?> noEvaluator = ValuePathEvaluator.compile("Trade.Product.Notional.Foo").evaluate(reportResults, 0);
+      assertThat(noEvaluator.isFailure()).isTrue();
+      assertThat(noEvaluator.getFailure().getMessage()).contains("Foo");
+    }
+  }
+
   //--------------------------------------------------------------------------------------------------
 
   private static ReportCalculationResults reportResults() {
@@ -0,0 +1,162 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.trade;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.AdjustableDate;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.product.TradeInfo;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.fra.Fra;
+import com.opengamma.strata.product.fra.FraTrade;
+import com.opengamma.strata.report.ReportCalculationResults;
+import com.opengamma.strata.report.StreamingCsvReportListener;
+
+/**
+ * Test {@link TradeReportRunner}.
+ */
+@Test
+public class TradeReportRunnerTest {
+
+  private static final LocalDate VAL_DATE = date(2016, 6, 30);
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final CalculationFunctions FUNCTIONS = StandardComponents.calculationFunctions();
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measures.PRESENT_VALUE), Column.of(Measures.PAR_RATE));
+  private static final TradeReportTemplate TEMPLATE = TradeReportTemplate.builder()
+      .columns(
+          TradeReportColumn.builder().header("Buy/Sell").value("Product.buySell").build(),
+          TradeReportColumn.builder().header("PV").value("Measures.PresentValue").build(),
+          TradeReportColumn.builder().header("Par Rate").value("Measures.ParRate").build(),
+          TradeReportColumn.builder().header("Empty").build())
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_csvListener_matchesReport() {
+    List<FraTrade> trades = trades(20);
+    List<CalculationResult> results = results(trades);
+    StringWriter writer = new StringWriter();
+    StreamingCsvReportListener listener = TradeReportRunner.INSTANCE.csvListener(
+        TEMPLATE, VAL_DATE, trades, COLUMNS, FUNCTIONS, REF_DATA, writer);
+    // deliver the results in reverse order
+    for (int i = results.size() - 1; i >= 0; i--) {
+      CalculationResult result = results.get(i);
+      listener.resultReceived(trades.get(result.getRowIndex()), result);
+    }
+    listener.calculationsComplete();
+    assertEquals(listener.result(), 20);
+    assertEquals(writer.toString(), expectedCsv(trades, results));
+  }
+
+  public void test_csvListener_writesRowsInOrder() {
+    List<FraTrade> trades = trades(3);
+    List<CalculationResult> results = results(trades);
+    StringWriter writer = new StringWriter();
+    StreamingCsvReportListener listener = TradeReportRunner.INSTANCE.csvListener(
+        TEMPLATE, VAL_DATE, trades, COLUMNS, FUNCTIONS, REF_DATA, writer);
+    int headerLength = writer.toString().length();
+    // row 1 is complete, but is held until row 0 is complete
+    listener.resultReceived(trades.get(1), results.get(2));
+    listener.resultReceived(trades.get(1), results.get(3));
+    listener.resultReceived(trades.get(0), results.get(0));
+    assertEquals(writer.toString().length(), headerLength);
+    listener.resultReceived(trades.get(0), results.get(1));
+    assertEquals(writer.toString().split(System.lineSeparator()).length, 3);
+    // row 2 is missing a result
+    listener.resultReceived(trades.get(2), results.get(4));
+    listener.calculationsComplete();
+    String[] lines = writer.toString().split(System.lineSeparator());
+    assertEquals(lines.length, 4);
+    assertTrue(lines[3].contains("FAIL: No result was calculated"));
+  }
+
+  public void test_csvListener_file() throws Exception {
+    List<FraTrade> trades = trades(5);
+    List<CalculationResult> results = results(trades);
+    Path file = Files.createTempFile("report", ".csv");
+    try {
+      StreamingCsvReportListener listener = TradeReportRunner.INSTANCE.csvListener(
+          TEMPLATE, VAL_DATE, trades, COLUMNS, FUNCTIONS, REF_DATA, file);
+      for (CalculationResult result : results) {
+        listener.resultReceived(trades.get(result.getRowIndex()), result);
+      }
+      listener.calculationsComplete();
+      assertEquals(listener.completionStage().toCompletableFuture().get().intValue(), 5);
+      String written = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+      assertEquals(written, expectedCsv(trades, results));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static String expectedCsv(List<FraTrade> trades, List<CalculationResult> results) {
+    List<Result<?>> cells = new ArrayList<>();
+    results.forEach(r -> cells.add(r.getResult()));
+    Results calcResults = Results.of(ImmutableList.of(COLUMNS.get(0).toHeader(), COLUMNS.get(1).toHeader()), cells);
+    ReportCalculationResults reportResults =
+        ReportCalculationResults.of(VAL_DATE, trades, COLUMNS, calcResults, FUNCTIONS, REF_DATA);
+    TradeReport report = TradeReportRunner.INSTANCE.runReport(reportResults, TEMPLATE);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    report.writeCsv(out);
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  // the results ordered by row then column, with a failure in every third row
+  private static List<CalculationResult> results(List<FraTrade> trades) {
+    List<CalculationResult> results = new ArrayList<>();
+    for (int i = 0; i < trades.size(); i++) {
+      results.add(CalculationResult.of(i, 0, Result.success(CurrencyAmount.of(GBP, 1000d * i))));
+      results.add(CalculationResult.of(i, 1, i % 3 == 2 ?
+          Result.failure(FailureReason.CALCULATION_FAILED, "Failed") :
+          Result.success(0.01 + i * 1e-4)));
+    }
+    return results;
+  }
+
+  private static List<FraTrade> trades(int size) {
+    List<FraTrade> trades = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      trades.add(FraTrade.of(TradeInfo.empty(), Fra.builder()
+          .buySell(i % 2 == 0 ? BuySell.BUY : BuySell.SELL)
+          .notional(1_000_000)
+          .startDate(date(2016, 8, 5))
+          .endDate(date(2016, 11, 5))
+          .paymentDate(AdjustableDate.of(date(2016, 8, 7)))
+          .fixedRate(0.01d)
+          .index(GBP_LIBOR_3M)
+          .build()));
+    }
+    return trades;
+  }
+
+}